@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+
+import org.web3j.abi.datatypes.Type;
+import org.web3j.utils.Numeric;
+
+/**
+ * Encodes and decodes single 32 byte words of elementary static ABI types without creating {@link
+ * Type} instances or resolving {@link TypeReference}s.
+ *
+ * <p>Used by wrappers generated with static codecs, which know the position of every value at
+ * generation time. All data is hex without a 0x prefix, words are addressed by their index.
+ */
+public final class WordCodec {
+
+    /** Length of an encoded word in hex characters. */
+    public static final int WORD_LENGTH = Type.MAX_BYTE_LENGTH << 1;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private WordCodec() {}
+
+    public static void appendUint(StringBuilder data, BigInteger value, int bitSize) {
+        if (value.signum() < 0 || value.bitLength() > bitSize) {
+            throw new UnsupportedOperationException(
+                    "Value " + value + " doesn't fit into uint" + bitSize);
+        }
+        appendSigned(data, value);
+    }
+
+    public static void appendInt(StringBuilder data, BigInteger value, int bitSize) {
+        if (value.bitLength() > bitSize - 1) {
+            throw new UnsupportedOperationException(
+                    "Value " + value + " doesn't fit into int" + bitSize);
+        }
+        appendSigned(data, value);
+    }
+
+    public static void appendAddress(StringBuilder data, String address, int bitSize) {
+        String hex = Numeric.cleanHexPrefix(address);
+        if (hex.length() > bitSize >> 2) {
+            throw new UnsupportedOperationException(
+                    "Address " + address + " is longer than " + bitSize + " bits");
+        }
+        for (int i = hex.length(); i < WORD_LENGTH; i++) {
+            data.append('0');
+        }
+        for (int i = 0; i < hex.length(); i++) {
+            data.append(Character.toLowerCase(hex.charAt(i)));
+        }
+    }
+
+    public static void appendBool(StringBuilder data, boolean value) {
+        for (int i = 1; i < WORD_LENGTH; i++) {
+            data.append('0');
+        }
+        data.append(value ? '1' : '0');
+    }
+
+    /** Appends a fixed size byte array, right padded with zeros as for {@code bytes<M>}. */
+    public static void appendBytes(StringBuilder data, byte[] value, int length) {
+        if (value.length != length) {
+            throw new UnsupportedOperationException(
+                    "Expected " + length + " bytes but got " + value.length);
+        }
+        for (byte b : value) {
+            data.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+        for (int i = length << 1; i < WORD_LENGTH; i++) {
+            data.append('0');
+        }
+    }
+
+    public static BigInteger readUint(String data, int word, int bitSize) {
+        byte[] value = new byte[(bitSize >> 3) + 1];
+        readBytes(data, word, Type.MAX_BYTE_LENGTH - (bitSize >> 3), value, 1);
+        return new BigInteger(value);
+    }
+
+    public static BigInteger readInt(String data, int word, int bitSize) {
+        byte[] value = new byte[(bitSize >> 3) + 1];
+        // the most significant bit of the word is the sign bit
+        checkLength(data, (word + 1) * WORD_LENGTH);
+        value[0] = hexValue(data, word * WORD_LENGTH) >= 8 ? (byte) 0xff : 0;
+        readBytes(data, word, Type.MAX_BYTE_LENGTH - (bitSize >> 3), value, 1);
+        return new BigInteger(value);
+    }
+
+    public static String readAddress(String data, int word, int bitSize) {
+        int end = (word + 1) * WORD_LENGTH;
+        checkLength(data, end);
+        return "0x" + data.substring(end - (bitSize >> 2), end).toLowerCase();
+    }
+
+    public static boolean readBool(String data, int word) {
+        int end = (word + 1) * WORD_LENGTH;
+        checkLength(data, end);
+        for (int i = end - WORD_LENGTH; i < end - 1; i++) {
+            if (data.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return data.charAt(end - 1) == '1';
+    }
+
+    public static byte[] readBytes(String data, int word, int length) {
+        byte[] value = new byte[length];
+        readBytes(data, word, 0, value, 0);
+        return value;
+    }
+
+    private static void appendSigned(StringBuilder data, BigInteger value) {
+        char padding = value.signum() < 0 ? 'f' : '0';
+        String hex = toTwosComplementHex(value);
+        for (int i = hex.length(); i < WORD_LENGTH; i++) {
+            data.append(padding);
+        }
+        data.append(hex);
+    }
+
+    private static String toTwosComplementHex(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int offset = 0;
+        // drop the sign byte of positive values with the most significant bit set
+        if (bytes.length > 1 && bytes[0] == 0) {
+            offset = 1;
+        }
+        char[] chars = new char[(bytes.length - offset) << 1];
+        for (int i = offset, j = 0; i < bytes.length; i++) {
+            chars[j++] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[j++] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static void readBytes(
+            String data, int word, int skipBytes, byte[] target, int targetOffset) {
+        int start = word * WORD_LENGTH + (skipBytes << 1);
+        checkLength(data, (word + 1) * WORD_LENGTH);
+        for (int i = targetOffset, j = start; i < target.length; i++, j += 2) {
+            target[i] = (byte) ((hexValue(data, j) << 4) | hexValue(data, j + 1));
+        }
+    }
+
+    private static void checkLength(String data, int length) {
+        if (data.length() < length) {
+            throw new IllegalArgumentException(
+                    "Expected at least " + length + " hex characters but got " + data.length());
+        }
+    }
+
+    private static int hexValue(String data, int index) {
+        int value = Character.digit(data.charAt(index), 16);
+        if (value < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid hex character '" + data.charAt(index) + "' at index " + index);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.generated.Bytes4;
+import org.web3j.abi.datatypes.generated.Int256;
+import org.web3j.abi.datatypes.generated.Int64;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WordCodecTest {
+
+    private static final BigInteger MAX_UINT256 =
+            BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+
+    @Test
+    public void testEncodeMatchesTypeEncoder() {
+        StringBuilder data = new StringBuilder();
+        WordCodec.appendUint(data, MAX_UINT256, 256);
+        WordCodec.appendUint(data, BigInteger.valueOf(255), 8);
+        WordCodec.appendInt(data, BigInteger.valueOf(-1234567), 256);
+        WordCodec.appendInt(data, BigInteger.valueOf(Long.MAX_VALUE), 64);
+        WordCodec.appendAddress(data, "0xBE5422d15f39373eb0a97ff8c10fbd0e40e29338", 160);
+        WordCodec.appendBool(data, true);
+        WordCodec.appendBytes(data, new byte[] {1, 2, 3, 4}, 4);
+
+        String expected =
+                TypeEncoder.encode(new Uint256(MAX_UINT256))
+                        + TypeEncoder.encode(new Uint8(255))
+                        + TypeEncoder.encode(new Int256(BigInteger.valueOf(-1234567)))
+                        + TypeEncoder.encode(new Int64(Long.MAX_VALUE))
+                        + TypeEncoder.encode(
+                                new Address("0xbe5422d15f39373eb0a97ff8c10fbd0e40e29338"))
+                        + TypeEncoder.encode(new Bool(true))
+                        + TypeEncoder.encode(new Bytes4(new byte[] {1, 2, 3, 4}));
+        assertEquals(expected, data.toString());
+    }
+
+    @Test
+    public void testDecode() {
+        String data =
+                TypeEncoder.encode(new Uint256(MAX_UINT256))
+                        + TypeEncoder.encode(new Int256(BigInteger.valueOf(-1234567)))
+                        + TypeEncoder.encode(new Int64(42))
+                        + TypeEncoder.encode(
+                                new Address("0xbe5422d15f39373eb0a97ff8c10fbd0e40e29338"))
+                        + TypeEncoder.encode(new Bool(true))
+                        + TypeEncoder.encode(new Bool(false))
+                        + TypeEncoder.encode(new Bytes4(new byte[] {1, 2, 3, 4}));
+
+        assertEquals(MAX_UINT256, WordCodec.readUint(data, 0, 256));
+        assertEquals(BigInteger.valueOf(255), WordCodec.readUint(data, 0, 8));
+        assertEquals(BigInteger.valueOf(-1234567), WordCodec.readInt(data, 1, 256));
+        assertEquals(BigInteger.valueOf(-1234567), WordCodec.readInt(data, 1, 32));
+        assertEquals(BigInteger.valueOf(42), WordCodec.readInt(data, 2, 64));
+        assertEquals(
+                "0xbe5422d15f39373eb0a97ff8c10fbd0e40e29338", WordCodec.readAddress(data, 3, 160));
+        assertTrue(WordCodec.readBool(data, 4));
+        assertFalse(WordCodec.readBool(data, 5));
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, WordCodec.readBytes(data, 6, 4));
+    }
+
+    @Test
+    public void testInvalidValues() {
+        StringBuilder data = new StringBuilder();
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> WordCodec.appendUint(data, BigInteger.valueOf(-1), 256));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> WordCodec.appendUint(data, BigInteger.valueOf(256), 8));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> WordCodec.appendInt(data, BigInteger.valueOf(128), 8));
+        assertThrows(IllegalArgumentException.class, () -> WordCodec.readUint("00", 0, 256));
+    }
+}
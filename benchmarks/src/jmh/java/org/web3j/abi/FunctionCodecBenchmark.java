@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+/** Encoding of function calls and decoding of their results, with static and dynamic types. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FunctionCodecBenchmark {
+
+    private Function transfer;
+    private Function store;
+
+    private String transferResult;
+    private List<TypeReference<Type>> transferOutputs;
+    private String storeResult;
+    private List<TypeReference<Type>> storeOutputs;
+
+    @Setup
+    public void setUp() {
+        transfer =
+                new Function(
+                        "transfer",
+                        Arrays.asList(
+                                new Address("0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d"),
+                                new Uint256(BigInteger.TEN.pow(21))),
+                        Collections.singletonList(new TypeReference<Bool>() {}));
+        transferResult =
+                FunctionEncoder.encodeConstructor(Collections.singletonList(new Bool(true)));
+        transferOutputs = transfer.getOutputParameters();
+
+        List<Type> values =
+                Arrays.asList(
+                        new Utf8String("The quick brown fox jumps over the lazy dog"),
+                        new DynamicBytes(new byte[96]),
+                        new DynamicArray<>(
+                                Uint256.class,
+                                new Uint256(BigInteger.ONE),
+                                new Uint256(BigInteger.TEN),
+                                new Uint256(BigInteger.valueOf(Long.MAX_VALUE))));
+        store =
+                new Function(
+                        "store",
+                        values,
+                        Arrays.asList(
+                                new TypeReference<Utf8String>() {},
+                                new TypeReference<DynamicBytes>() {},
+                                new TypeReference<DynamicArray<Uint256>>() {}));
+        storeResult = FunctionEncoder.encodeConstructor(values);
+        storeOutputs = store.getOutputParameters();
+    }
+
+    @Benchmark
+    public String encodeStaticFunction() {
+        return FunctionEncoder.encode(transfer);
+    }
+
+    @Benchmark
+    public String encodeDynamicFunction() {
+        return FunctionEncoder.encode(store);
+    }
+
+    @Benchmark
+    public List<Type> decodeStaticResult() {
+        return FunctionReturnDecoder.decode(transferResult, transferOutputs);
+    }
+
+    @Benchmark
+    public List<Type> decodeDynamicResult() {
+        return FunctionReturnDecoder.decode(storeResult, storeOutputs);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+/**
+ * Encoding and decoding of single values, the building blocks of function calls and event logs.
+ *
+ * <p>Lives in the package of {@link TypeDecoder} to measure its package private decoders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TypeCodecBenchmark {
+
+    private final TypeReference<DynamicArray<Uint256>> arrayType =
+            new TypeReference<DynamicArray<Uint256>>() {};
+
+    private Uint256 uint;
+    private Address address;
+    private Utf8String string;
+    private DynamicArray<Uint256> array;
+
+    private String encodedUint;
+    private String encodedAddress;
+    private String encodedString;
+    private String encodedArray;
+
+    @Setup
+    public void setUp() {
+        uint = new Uint256(new BigInteger("1234567890abcdef1234567890abcdef", 16));
+        address = new Address("0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d");
+        string = new Utf8String("The quick brown fox jumps over the lazy dog");
+        Uint256[] values = new Uint256[16];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Uint256(BigInteger.valueOf(i).shiftLeft(i * 8));
+        }
+        array = new DynamicArray<>(Uint256.class, values);
+
+        encodedUint = TypeEncoder.encode(uint);
+        encodedAddress = TypeEncoder.encode(address);
+        encodedString = TypeEncoder.encode(string);
+        encodedArray = TypeEncoder.encode(array);
+    }
+
+    @Benchmark
+    public String encodeUint256() {
+        return TypeEncoder.encode(uint);
+    }
+
+    @Benchmark
+    public String encodeAddress() {
+        return TypeEncoder.encode(address);
+    }
+
+    @Benchmark
+    public String encodeUtf8String() {
+        return TypeEncoder.encode(string);
+    }
+
+    @Benchmark
+    public String encodeDynamicArray() {
+        return TypeEncoder.encode(array);
+    }
+
+    @Benchmark
+    public Uint256 decodeUint256() {
+        return TypeDecoder.decodeNumeric(encodedUint, Uint256.class);
+    }
+
+    @Benchmark
+    public Address decodeAddress() {
+        return TypeDecoder.decodeAddress(encodedAddress);
+    }
+
+    @Benchmark
+    public Utf8String decodeUtf8String() {
+        return TypeDecoder.decodeUtf8String(encodedString, 0);
+    }
+
+    @Benchmark
+    public DynamicArray<Uint256> decodeDynamicArray() {
+        return TypeDecoder.decodeDynamicArray(encodedArray, 0, arrayType);
+    }
+}
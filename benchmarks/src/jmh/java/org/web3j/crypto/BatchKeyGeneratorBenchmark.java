@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Generation of key pairs and their addresses, one at a time with {@link Keys} compared to a
+ * {@link BatchKeyGenerator}.
+ *
+ * <p>The batch is generated once on a single thread, which shows the gain of the batch inversion
+ * alone, and once on the common pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchKeyGeneratorBenchmark {
+
+    @Param({"1000"})
+    private int count;
+
+    private ForkJoinPool singleThread;
+    private BatchKeyGenerator singleThreadGenerator;
+    private BatchKeyGenerator parallelGenerator;
+
+    @Setup
+    public void setUp() {
+        singleThread = new ForkJoinPool(1);
+        singleThreadGenerator =
+                new BatchKeyGenerator(SecureRandomUtils.secureRandom(), singleThread);
+        parallelGenerator = new BatchKeyGenerator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        singleThread.shutdown();
+    }
+
+    @Benchmark
+    public void perKey(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(Keys.getAddress(Keys.createEcKeyPair()));
+        }
+    }
+
+    @Benchmark
+    public KeyBatch batchSingleThread() {
+        return singleThreadGenerator.generate(count);
+    }
+
+    @Benchmark
+    public KeyBatch batchParallel() {
+        return parallelGenerator.generate(count);
+    }
+}
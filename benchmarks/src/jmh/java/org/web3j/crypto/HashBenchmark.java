@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.web3j.utils.Numeric;
+
+/** Keccak-256 of inputs of the given length, as bytes and as a hex string. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashBenchmark {
+
+    @Param({"32", "1024", "65536"})
+    public int length;
+
+    private byte[] input;
+    private String hexInput;
+
+    @Setup
+    public void setUp() {
+        input = new byte[length];
+        new Random(0).nextBytes(input);
+        hexInput = Numeric.toHexString(input);
+    }
+
+    @Benchmark
+    public byte[] sha3() {
+        return Hash.sha3(input);
+    }
+
+    @Benchmark
+    public String sha3Hex() {
+        return Hash.sha3(hexInput);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.web3j.utils.Numeric;
+
+import static org.web3j.crypto.Bip32ECKeyPair.HARDENED_BIT;
+
+/**
+ * Derivation of the addresses m/44'/60'/0'/0/0 to m/44'/60'/0'/0/(count - 1).
+ *
+ * <p>The per key benchmarks walk the whole path for every address, from the master key with
+ * {@link Bip32ECKeyPair} and from a new {@link HdKeyDeriver} which caches the parent. The range
+ * benchmarks derive all children of the cached parent in parallel chunks, with and without the
+ * private key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HdKeyDeriverBenchmark {
+
+    private static final int[] CHAIN_PATH = {44 | HARDENED_BIT, 60 | HARDENED_BIT, HARDENED_BIT, 0};
+
+    @Param({"100", "1000"})
+    private int count;
+
+    private Bip32ECKeyPair master;
+    private HdKeyDeriver deriver;
+    private HdKeyDeriver publicDeriver;
+
+    @Setup
+    public void setUp() {
+        master =
+                Bip32ECKeyPair.generateKeyPair(
+                        Numeric.hexStringToByteArray("000102030405060708090a0b0c0d0e0f"));
+        deriver = new HdKeyDeriver(master);
+        publicDeriver = deriver.neuter(CHAIN_PATH);
+    }
+
+    @Benchmark
+    public void bip32PerKey(Blackhole blackhole) {
+        int[] path = Arrays.copyOf(CHAIN_PATH, CHAIN_PATH.length + 1);
+        for (int i = 0; i < count; i++) {
+            path[CHAIN_PATH.length] = i;
+            blackhole.consume(
+                    Credentials.create(Bip32ECKeyPair.deriveKeyPair(master, path)).getAddress());
+        }
+    }
+
+    @Benchmark
+    public void deriverPerKey(Blackhole blackhole) {
+        HdKeyDeriver deriver = new HdKeyDeriver(master);
+        int[] path = Arrays.copyOf(CHAIN_PATH, CHAIN_PATH.length + 1);
+        for (int i = 0; i < count; i++) {
+            path[CHAIN_PATH.length] = i;
+            blackhole.consume(deriver.deriveAddress(path));
+        }
+    }
+
+    @Benchmark
+    public byte[] deriverRange() {
+        return deriver.deriveAddresses(CHAIN_PATH, 0, count);
+    }
+
+    @Benchmark
+    public byte[] publicDeriverRange() {
+        return publicDeriver.deriveAddresses(new int[0], 0, count);
+    }
+}
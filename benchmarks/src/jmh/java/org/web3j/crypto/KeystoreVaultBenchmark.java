@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Startup of an application loading a directory of light keystore files, one after the other with
+ * {@link WalletUtils#loadCredentials(String, File)} compared to a {@link KeystoreVault}.
+ *
+ * <p>Each measurement is a single load of the whole directory. Standard keystore files take about
+ * ten times the scrypt work of light ones, both loads scale accordingly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class KeystoreVaultBenchmark {
+
+    private static final String PASSWORD = "Insecure Pa55w0rd";
+
+    @Param({"100", "300"})
+    private int count;
+
+    private File directory;
+    private File[] files;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("keystores").toFile();
+        for (int i = 0; i < count; i++) {
+            WalletUtils.generateWalletFile(PASSWORD, Keys.createEcKeyPair(), directory, false);
+        }
+        files = directory.listFiles();
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (File file : files) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) throws IOException, CipherException {
+        for (File file : files) {
+            blackhole.consume(WalletUtils.loadCredentials(PASSWORD, file));
+        }
+    }
+
+    @Benchmark
+    public List<String> vault() throws IOException, CipherException {
+        try (KeystoreVault vault = new KeystoreVault()) {
+            return vault.loadDirectory(directory, PASSWORD);
+        }
+    }
+}
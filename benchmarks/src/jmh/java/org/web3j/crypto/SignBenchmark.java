@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.SignatureException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.web3j.utils.Numeric;
+
+/** Signing of a message and recovery of the public key from the signature. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignBenchmark {
+
+    private static final String PRIVATE_KEY =
+            "0xa392604efc2fad9c0b3da43b5f698a2e3f270f170d859912be0d54742275c5f6";
+
+    private final byte[] message =
+            "A message of about the length of a transaction hash"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private ECKeyPair keyPair;
+    private Sign.SignatureData signature;
+
+    @Setup
+    public void setUp() {
+        keyPair = ECKeyPair.create(Numeric.toBigInt(PRIVATE_KEY));
+        signature = Sign.signMessage(message, keyPair);
+    }
+
+    @Benchmark
+    public Sign.SignatureData signMessage() {
+        return Sign.signMessage(message, keyPair);
+    }
+
+    @Benchmark
+    public BigInteger recoverPublicKey() throws SignatureException {
+        return Sign.signedMessageToKey(message, signature);
+    }
+
+    @Benchmark
+    public BigInteger publicKeyFromPrivate() {
+        return Sign.publicKeyFromPrivate(keyPair.getPrivateKey());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import org.web3j.protocol.core.methods.response.TolGetBlockCount;
+import org.web3j.protocol.core.methods.response.TolGetTransactionList;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.stub.LatencyDistribution;
+import org.web3j.protocol.stub.StubChain;
+import org.web3j.protocol.stub.StubHttpServer;
+import org.web3j.protocol.stub.StubTolarNode;
+
+/**
+ * End-to-end calls of {@link HttpService} against a {@link StubTolarNode} served on a loopback
+ * port, with the given median node latency in microseconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class HttpServiceBenchmark {
+
+    @Param({"0", "500"})
+    public int latencyMicros;
+
+    private StubTolarNode node;
+    private StubHttpServer server;
+    private Web3j web3j;
+    private String account;
+
+    @Setup
+    public void setUp() throws IOException {
+        StubChain chain = new StubChain(0, 16, 50, 2);
+        for (int i = 0; i < 10; i++) {
+            chain.produceBlock();
+        }
+        account = chain.getAccounts().get(0);
+
+        node = new StubTolarNode(chain);
+        if (latencyMicros > 0) {
+            node.setLatency(
+                    LatencyDistribution.logNormal(Duration.ofNanos(latencyMicros * 1000L), 0.5));
+        }
+        server = new StubHttpServer(node);
+        web3j = Web3j.build(new HttpService(server.getUrl()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        web3j.shutdown();
+        server.close();
+        node.close();
+    }
+
+    @Benchmark
+    public TolGetBlockCount getBlockCount() throws IOException {
+        return web3j.tolGetBlockCount().send();
+    }
+
+    @Benchmark
+    public TolGetTransactionList getTransactionList() throws IOException {
+        return web3j.tolGetTransactionList(Collections.singletonList(account), 50, 0).send();
+    }
+}
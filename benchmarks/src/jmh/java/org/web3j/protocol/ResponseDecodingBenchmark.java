@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetTransactionList;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.deserializer.ResponseDeserializers;
+import org.web3j.protocol.stub.StubChain;
+import org.web3j.protocol.stub.StubTolarNode;
+
+/**
+ * Decoding of the results of the largest responses, with the {@link ResponseDeserializers}
+ * registered by {@link ObjectMapperFactory} ({@code streaming}) and with the Jackson bean
+ * deserializers they replace ({@code beans}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseDecodingBenchmark {
+
+    @Param({"streaming", "beans"})
+    public String deserializers;
+
+    @Param({"100"})
+    public int transactionCount;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] block;
+    private byte[] receipt;
+    private byte[] transactionList;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (deserializers.equals("streaming")) {
+            objectMapper = ObjectMapperFactory.getObjectMapper();
+        } else {
+            objectMapper = new ObjectMapper();
+            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        }
+
+        StubChain chain = new StubChain(0, 16, transactionCount, 2);
+        chain.produceBlock();
+        StubTolarNode node = new StubTolarNode(chain);
+
+        String hash = chain.getBlock(1).get("transaction_hashes").get(0).asText();
+        block = result(node, "tol_getBlockByIndex", "\"1\"");
+        receipt = result(node, "tol_getTransactionReceipt", "\"" + hash + "\"");
+        transactionList =
+                result(
+                        node,
+                        "tol_getTransactionList",
+                        objectMapper.writeValueAsString(chain.getAccounts())
+                                + ","
+                                + transactionCount
+                                + ",0");
+    }
+
+    @Benchmark
+    public TolBlock.Block decodeBlock() throws IOException {
+        return objectMapper.readValue(block, TolBlock.Block.class);
+    }
+
+    @Benchmark
+    public TransactionReceipt decodeReceipt() throws IOException {
+        return objectMapper.readValue(receipt, TransactionReceipt.class);
+    }
+
+    @Benchmark
+    public TolGetTransactionList.TransactionList decodeTransactionList() throws IOException {
+        return objectMapper.readValue(transactionList, TolGetTransactionList.TransactionList.class);
+    }
+
+    private byte[] result(StubTolarNode node, String method, String params) throws IOException {
+        String response =
+                node.handle(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\""
+                                + method
+                                + "\",\"params\":["
+                                + params
+                                + "]}");
+        JsonNode result = objectMapper.readTree(response).get("result");
+        return objectMapper.writeValueAsBytes(result);
+    }
+}
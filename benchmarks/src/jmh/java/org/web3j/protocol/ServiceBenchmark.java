@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.TolGetTransactionReceipt;
+import org.web3j.protocol.stub.StubChain;
+import org.web3j.protocol.stub.StubTolarNode;
+
+/**
+ * Client side cost of {@link Service#send} and {@link Service#sendBatch}: serializing the
+ * requests and deserializing the responses of a batch of receipt lookups.
+ *
+ * <p>The transport replays responses recorded from a {@link StubTolarNode}, so neither the network
+ * nor the node are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int batchSize;
+
+    private Web3j web3j;
+    private Request<?, TolGetTransactionReceipt> request;
+    private BatchRequest batchRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        StubChain chain = new StubChain(0, 16, batchSize, 2);
+        chain.produceBlock();
+        StubTolarNode node = new StubTolarNode(chain);
+        JsonNode hashes = chain.getBlock(1).get("transaction_hashes");
+
+        ReplayService service = new ReplayService(node);
+        web3j = Web3j.build(service);
+        request = web3j.tolGetTransactionReceipt(hashes.get(0).asText());
+        batchRequest = web3j.newBatch();
+        for (JsonNode hash : hashes) {
+            batchRequest.add(web3j.tolGetTransactionReceipt(hash.asText()));
+        }
+
+        service.record(request, batchRequest);
+    }
+
+    @TearDown
+    public void tearDown() {
+        web3j.shutdown();
+    }
+
+    @Benchmark
+    public TolGetTransactionReceipt send() throws IOException {
+        return request.send();
+    }
+
+    @Benchmark
+    public BatchResponse sendBatch() throws IOException {
+        return batchRequest.send();
+    }
+
+    /** In-memory transport answering with the response the node gave to the same request. */
+    private static class ReplayService extends Service {
+
+        private final StubTolarNode node;
+
+        private byte[] response;
+        private byte[] batchResponse;
+
+        ReplayService(StubTolarNode node) {
+            super(false);
+            this.node = node;
+        }
+
+        void record(Request<?, ?> request, BatchRequest batchRequest) throws IOException {
+            response = node.handle(objectMapper.writeValueAsString(request)).getBytes("UTF-8");
+            batchResponse =
+                    node.handle(objectMapper.writeValueAsString(batchRequest.getRequests()))
+                            .getBytes("UTF-8");
+        }
+
+        @Override
+        protected InputStream performIO(String payload) {
+            return replay(payload.startsWith("["));
+        }
+
+        @Override
+        protected InputStream performIO(RequestPayload payload) {
+            ByteBuffer bytes = payload.asByteBuffer();
+            return replay(bytes.get(bytes.position()) == '[');
+        }
+
+        private InputStream replay(boolean batch) {
+            return new ByteArrayInputStream(batch ? batchResponse : response);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
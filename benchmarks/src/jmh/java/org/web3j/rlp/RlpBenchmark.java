@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.rlp;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** RLP encoding and decoding of a signed transaction with a payload of the given length. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RlpBenchmark {
+
+    @Param({"0", "128", "4096"})
+    public int dataLength;
+
+    private RlpList transaction;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        byte[] receiver = new byte[20];
+        byte[] data = new byte[dataLength];
+        byte[] r = new byte[32];
+        byte[] s = new byte[32];
+        random.nextBytes(receiver);
+        random.nextBytes(data);
+        random.nextBytes(r);
+        random.nextBytes(s);
+
+        transaction =
+                new RlpList(
+                        Arrays.asList(
+                                RlpString.create(BigInteger.valueOf(42)),
+                                RlpString.create(BigInteger.valueOf(20_000_000_000L)),
+                                RlpString.create(BigInteger.valueOf(6_000_000)),
+                                RlpString.create(receiver),
+                                RlpString.create(BigInteger.TEN.pow(21)),
+                                RlpString.create(data),
+                                RlpString.create((byte) 27),
+                                RlpString.create(r),
+                                RlpString.create(s)));
+        encoded = RlpEncoder.encode(transaction);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return RlpEncoder.encode(transaction);
+    }
+
+    @Benchmark
+    public RlpList decode() {
+        return RlpDecoder.decode(encoded);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.WordCodec;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.BaseEventResponse;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+/**
+ * The ERC20 and ERC721 calls and events of a generated wrapper, encoded and decoded as by default
+ * with {@link Function}s and {@link TypeReference}s, and by the static codecs generated with
+ * {@code --staticCodecs}.
+ *
+ * <p>The private static methods are the code the generator emits for these functions and events,
+ * SolidityFunctionWrapperGeneratorTest checks that it matches the default encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StaticCodecBenchmark {
+
+    private static final String FROM = "0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d";
+    private static final String TO = "0xbf3a46fd41ceee5f6c0a2a9eb1a7b4e1b1c8fa0e";
+    private static final BigInteger VALUE = BigInteger.TEN.pow(21);
+    private static final BigInteger TOKEN_ID = BigInteger.valueOf(4242);
+
+    private static final Event ERC20_TRANSFER_EVENT =
+            new Event(
+                    "Transfer",
+                    Arrays.asList(
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Uint256>() {}));
+
+    private static final Event ERC721_TRANSFER_EVENT =
+            new Event(
+                    "Transfer",
+                    Arrays.asList(
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Uint256>(true) {}));
+
+    private static final String TRANSFER_TOPIC =
+            "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    private String balanceOfOutput;
+    private String ownerOfOutput;
+    private Log erc20TransferLog;
+    private Log erc721TransferLog;
+
+    @Setup
+    public void setUp() {
+        balanceOfOutput = TypeEncoder.encode(new Uint256(VALUE));
+        ownerOfOutput = TypeEncoder.encode(new Address(TO));
+
+        String fromTopic = "0x" + TypeEncoder.encode(new Address(FROM));
+        String toTopic = "0x" + TypeEncoder.encode(new Address(TO));
+        erc20TransferLog = new Log();
+        erc20TransferLog.setTopics(
+                Arrays.asList(EventEncoder.encode(ERC20_TRANSFER_EVENT), fromTopic, toTopic));
+        erc20TransferLog.setData("0x" + TypeEncoder.encode(new Uint256(VALUE)));
+
+        erc721TransferLog = new Log();
+        erc721TransferLog.setTopics(
+                Arrays.asList(
+                        EventEncoder.encode(ERC721_TRANSFER_EVENT),
+                        fromTopic,
+                        toTopic,
+                        "0x" + TypeEncoder.encode(new Uint256(TOKEN_ID))));
+        erc721TransferLog.setData("0x");
+    }
+
+    @Benchmark
+    public String erc20EncodeTransfer() {
+        return FunctionEncoder.encode(
+                new Function(
+                        "transfer",
+                        Arrays.<Type>asList(new Address(TO), new Uint256(VALUE)),
+                        Collections.<TypeReference<?>>emptyList()));
+    }
+
+    @Benchmark
+    public String erc20EncodeTransferStatic() {
+        return encodeTransfer(TO, VALUE);
+    }
+
+    @Benchmark
+    public BigInteger erc20DecodeBalanceOf() {
+        Function function =
+                new Function(
+                        "balanceOf",
+                        Arrays.<Type>asList(new Address(FROM)),
+                        Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}));
+        List<Type> values =
+                FunctionReturnDecoder.decode(balanceOfOutput, function.getOutputParameters());
+        return (BigInteger) values.get(0).getValue();
+    }
+
+    @Benchmark
+    public BigInteger erc20DecodeBalanceOfStatic() {
+        return decodeBalanceOf(balanceOfOutput);
+    }
+
+    @Benchmark
+    public EventValues erc20DecodeTransferEvent() {
+        return Contract.staticExtractEventParameters(ERC20_TRANSFER_EVENT, erc20TransferLog);
+    }
+
+    @Benchmark
+    public TransferEventResponse erc20DecodeTransferEventStatic() {
+        return decodeErc20TransferEvent(erc20TransferLog);
+    }
+
+    @Benchmark
+    public String erc721EncodeTransferFrom() {
+        return FunctionEncoder.encode(
+                new Function(
+                        "transferFrom",
+                        Arrays.<Type>asList(
+                                new Address(FROM), new Address(TO), new Uint256(TOKEN_ID)),
+                        Collections.<TypeReference<?>>emptyList()));
+    }
+
+    @Benchmark
+    public String erc721EncodeTransferFromStatic() {
+        return encodeTransferFrom(FROM, TO, TOKEN_ID);
+    }
+
+    @Benchmark
+    public String erc721DecodeOwnerOf() {
+        Function function =
+                new Function(
+                        "ownerOf",
+                        Arrays.<Type>asList(new Uint256(TOKEN_ID)),
+                        Arrays.<TypeReference<?>>asList(new TypeReference<Address>() {}));
+        List<Type> values =
+                FunctionReturnDecoder.decode(ownerOfOutput, function.getOutputParameters());
+        return (String) values.get(0).getValue();
+    }
+
+    @Benchmark
+    public String erc721DecodeOwnerOfStatic() {
+        return decodeOwnerOf(ownerOfOutput);
+    }
+
+    @Benchmark
+    public EventValues erc721DecodeTransferEvent() {
+        return Contract.staticExtractEventParameters(ERC721_TRANSFER_EVENT, erc721TransferLog);
+    }
+
+    @Benchmark
+    public TransferEventResponse erc721DecodeTransferEventStatic() {
+        return decodeErc721TransferEvent(erc721TransferLog);
+    }
+
+    private static String encodeTransfer(String _to, BigInteger _value) {
+        StringBuilder data = new StringBuilder(138);
+        data.append("0xa9059cbb");
+        WordCodec.appendAddress(data, _to, 160);
+        WordCodec.appendUint(data, _value, 256);
+        return data.toString();
+    }
+
+    private static BigInteger decodeBalanceOf(String output) {
+        return WordCodec.readUint(output, 0, 256);
+    }
+
+    private static String encodeTransferFrom(String _from, String _to, BigInteger _tokenId) {
+        StringBuilder data = new StringBuilder(202);
+        data.append("0x23b872dd");
+        WordCodec.appendAddress(data, _from, 160);
+        WordCodec.appendAddress(data, _to, 160);
+        WordCodec.appendUint(data, _tokenId, 256);
+        return data.toString();
+    }
+
+    private static String decodeOwnerOf(String output) {
+        return WordCodec.readAddress(output, 0, 160);
+    }
+
+    private static TransferEventResponse decodeErc20TransferEvent(Log log) {
+        List<String> topics = log.getTopics();
+        if (topics == null || topics.size() != 3 || !TRANSFER_TOPIC.equals(topics.get(0))) {
+            return null;
+        }
+        String data = Numeric.cleanHexPrefix(log.getData());
+        TransferEventResponse typedResponse = new TransferEventResponse();
+        typedResponse.log = log;
+        typedResponse._from = WordCodec.readAddress(Numeric.cleanHexPrefix(topics.get(1)), 0, 160);
+        typedResponse._to = WordCodec.readAddress(Numeric.cleanHexPrefix(topics.get(2)), 0, 160);
+        typedResponse._value = WordCodec.readUint(data, 0, 256);
+        return typedResponse;
+    }
+
+    private static TransferEventResponse decodeErc721TransferEvent(Log log) {
+        List<String> topics = log.getTopics();
+        if (topics == null || topics.size() != 4 || !TRANSFER_TOPIC.equals(topics.get(0))) {
+            return null;
+        }
+        TransferEventResponse typedResponse = new TransferEventResponse();
+        typedResponse.log = log;
+        typedResponse._from = WordCodec.readAddress(Numeric.cleanHexPrefix(topics.get(1)), 0, 160);
+        typedResponse._to = WordCodec.readAddress(Numeric.cleanHexPrefix(topics.get(2)), 0, 160);
+        typedResponse._value = WordCodec.readUint(Numeric.cleanHexPrefix(topics.get(3)), 0, 256);
+        return typedResponse;
+    }
+
+    public static class TransferEventResponse extends BaseEventResponse {
+        public String _from;
+
+        public String _to;
+
+        public BigInteger _value;
+    }
+}
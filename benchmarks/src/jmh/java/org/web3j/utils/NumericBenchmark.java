@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Hex conversions of byte arrays of the given length and of quantities. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumericBenchmark {
+
+    @Param({"32", "1024"})
+    public int length;
+
+    private byte[] bytes;
+    private String hex;
+    private BigInteger quantity;
+    private String encodedQuantity;
+
+    @Setup
+    public void setUp() {
+        bytes = new byte[length];
+        new Random(0).nextBytes(bytes);
+        hex = Numeric.toHexString(bytes);
+        quantity = new BigInteger(1, Arrays.copyOf(bytes, 32));
+        encodedQuantity = Numeric.encodeQuantity(quantity);
+    }
+
+    @Benchmark
+    public String toHexString() {
+        return Numeric.toHexString(bytes);
+    }
+
+    @Benchmark
+    public byte[] hexStringToByteArray() {
+        return Numeric.hexStringToByteArray(hex);
+    }
+
+    @Benchmark
+    public BigInteger toBigInt() {
+        return Numeric.toBigInt(hex);
+    }
+
+    @Benchmark
+    public String encodeQuantity() {
+        return Numeric.encodeQuantity(quantity);
+    }
+
+    @Benchmark
+    public BigInteger decodeQuantity() {
+        return Numeric.decodeQuantity(encodedQuantity);
+    }
+
+    @Benchmark
+    public String toHexStringZeroPadded() {
+        return Numeric.toHexStringWithPrefixZeroPadded(quantity, 64);
+    }
+}
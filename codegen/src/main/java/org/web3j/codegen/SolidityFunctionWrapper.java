@@ -40,6 +40,7 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
 import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -114,6 +115,7 @@ public class SolidityFunctionWrapper extends Generator {
     private final boolean useNativeJavaTypes;
     private final boolean useJavaPrimitiveTypes;
     private final boolean generateSendTxForCalls;
+    private final StaticCodecGenerator staticCodecs;
 
     private final int addressLength;
 
@@ -154,11 +156,61 @@ public class SolidityFunctionWrapper extends Generator {
             boolean generateSendTxForCalls,
             int addressLength,
             GenerationReporter reporter) {
+        this(
+                useNativeJavaTypes,
+                useJavaPrimitiveTypes,
+                generateSendTxForCalls,
+                false,
+                addressLength,
+                reporter);
+    }
+
+    public SolidityFunctionWrapper(
+            boolean useNativeJavaTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateSendTxForCalls,
+            boolean generateStaticCodecs,
+            int addressLength) {
+        this(
+                useNativeJavaTypes,
+                useJavaPrimitiveTypes,
+                generateSendTxForCalls,
+                generateStaticCodecs,
+                addressLength,
+                new LogGenerationReporter(LOGGER));
+    }
+
+    /**
+     * Creates a wrapper generator.
+     *
+     * <p>With {@code generateStaticCodecs} functions and events which only use elementary static
+     * types are encoded and decoded by generated code, without {@link TypeReference}s. Static
+     * codecs require native Java types and are ignored otherwise.
+     */
+    public SolidityFunctionWrapper(
+            boolean useNativeJavaTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateSendTxForCalls,
+            boolean generateStaticCodecs,
+            int addressLength,
+            GenerationReporter reporter) {
         this.useNativeJavaTypes = useNativeJavaTypes;
         this.useJavaPrimitiveTypes = useJavaPrimitiveTypes;
         this.addressLength = addressLength;
         this.reporter = reporter;
         this.generateSendTxForCalls = generateSendTxForCalls;
+        if (generateStaticCodecs && useNativeJavaTypes && !useJavaPrimitiveTypes) {
+            int addressBitSize =
+                    addressLength == Address.DEFAULT_LENGTH
+                            ? Address.DEFAULT_LENGTH
+                            : addressLength * java.lang.Byte.SIZE;
+            this.staticCodecs = new StaticCodecGenerator(addressBitSize);
+        } else {
+            if (generateStaticCodecs) {
+                reporter.report("Static codecs require native Java types, ignoring them");
+            }
+            this.staticCodecs = null;
+        }
     }
 
     public void generateJavaFiles(
@@ -190,6 +242,9 @@ public class SolidityFunctionWrapper extends Generator {
 
         String className = Strings.capitaliseFirstLetter(contractName);
         TypeSpec.Builder classBuilder = createClassBuilder(contractClass, className, bin);
+        if (staticCodecs != null) {
+            staticCodecs.reset();
+        }
 
         classBuilder.addAnnotation(
                 AnnotationSpec.builder(SuppressWarnings.class)
@@ -966,7 +1021,9 @@ public class SolidityFunctionWrapper extends Generator {
 
         if (isFunctionDefinitionConstant) {
             // Avoid generating runtime exception call
-            if (functionDefinition.hasOutputs()) {
+            if (functionDefinition.hasOutputs() && hasStaticCodec(functionDefinition)) {
+                results.addAll(buildStaticConstantFunction(functionDefinition, methodBuilder));
+            } else if (functionDefinition.hasOutputs()) {
                 buildConstantFunction(
                         functionDefinition,
                         methodBuilder,
@@ -983,7 +1040,11 @@ public class SolidityFunctionWrapper extends Generator {
             }
         }
 
-        if (!isFunctionDefinitionConstant) {
+        if (!isFunctionDefinitionConstant && hasStaticCodec(functionDefinition)) {
+            results.addAll(
+                    buildStaticTransactionFunction(
+                            functionDefinition, methodBuilder, useUpperCase));
+        } else if (!isFunctionDefinitionConstant) {
             buildTransactionFunction(functionDefinition, methodBuilder, inputParams, useUpperCase);
             results.add(methodBuilder.build());
         }
@@ -1100,6 +1161,82 @@ public class SolidityFunctionWrapper extends Generator {
         }
     }
 
+    private boolean hasStaticCodec(AbiDefinition functionDefinition) {
+        return staticCodecs != null
+                && StaticCodecGenerator.isSupported(functionDefinition.getInputs())
+                && StaticCodecGenerator.isSupported(functionDefinition.getOutputs());
+    }
+
+    private List<MethodSpec> buildStaticConstantFunction(
+            AbiDefinition functionDefinition, MethodSpec.Builder methodBuilder) {
+
+        MethodSpec encoder =
+                staticCodecs.buildEncoder(
+                        functionDefinition, getParameterNames(functionDefinition.getInputs()));
+        MethodSpec decoder = staticCodecs.buildDecoder(functionDefinition);
+
+        methodBuilder.returns(
+                buildRemoteCall(
+                        StaticCodecGenerator.getReturnType(functionDefinition.getOutputs())));
+        methodBuilder.addStatement(
+                "return new $T<>(() -> $N(executeCall($N($L), $L)))",
+                RemoteCall.class,
+                decoder,
+                encoder,
+                String.join(", ", getParameterNames(functionDefinition.getInputs())),
+                functionDefinition.getOutputs().size());
+
+        return Arrays.asList(methodBuilder.build(), encoder, decoder);
+    }
+
+    private List<MethodSpec> buildStaticTransactionFunction(
+            AbiDefinition functionDefinition,
+            MethodSpec.Builder methodBuilder,
+            boolean useUpperCase) {
+
+        reportUnreadableOutputs(functionDefinition);
+
+        MethodSpec encoder =
+                staticCodecs.buildEncoder(
+                        functionDefinition, getParameterNames(functionDefinition.getInputs()));
+        CodeBlock weiValue;
+        if (functionDefinition.isPayable()) {
+            methodBuilder.addParameter(BigInteger.class, WEI_VALUE);
+            weiValue = CodeBlock.of("$N", WEI_VALUE);
+        } else {
+            weiValue = CodeBlock.of("$T.ZERO", BigInteger.class);
+        }
+
+        methodBuilder.returns(buildRemoteCall(TypeName.get(TransactionReceipt.class)));
+        methodBuilder.addStatement(
+                "return new $T<>(() -> executeTransaction($N($L), $L, $N))",
+                RemoteCall.class,
+                encoder,
+                String.join(", ", getParameterNames(functionDefinition.getInputs())),
+                weiValue,
+                funcNameToConst(functionDefinition.getName(), useUpperCase));
+
+        return Arrays.asList(methodBuilder.build(), encoder);
+    }
+
+    private void reportUnreadableOutputs(AbiDefinition functionDefinition) {
+        if (functionDefinition.hasOutputs()) {
+            reporter.report(
+                    String.format(
+                            "Definition of the function %s returns a value but is not defined as a view function. "
+                                    + "Please ensure it contains the view modifier if you want to read the return value",
+                            functionDefinition.getName()));
+        }
+    }
+
+    private static List<String> getParameterNames(List<AbiDefinition.NamedType> namedTypes) {
+        List<String> names = new ArrayList<>(namedTypes.size());
+        for (int i = 0; i < namedTypes.size(); i++) {
+            names.add(createValidParamName(namedTypes.get(i).getName(), i));
+        }
+        return names;
+    }
+
     private static ParameterizedTypeName buildRemoteCall(TypeName typeName) {
         return ParameterizedTypeName.get(ClassName.get(RemoteCall.class), typeName);
     }
@@ -1115,13 +1252,7 @@ public class SolidityFunctionWrapper extends Generator {
             boolean useUpperCase)
             throws ClassNotFoundException {
 
-        if (functionDefinition.hasOutputs()) {
-            reporter.report(
-                    String.format(
-                            "Definition of the function %s returns a value but is not defined as a view function. "
-                                    + "Please ensure it contains the view modifier if you want to read the return value",
-                            functionDefinition.getName()));
-        }
+        reportUnreadableOutputs(functionDefinition);
 
         if (functionDefinition.isPayable()) {
             methodBuilder.addParameter(BigInteger.class, WEI_VALUE);
@@ -1302,6 +1433,49 @@ public class SolidityFunctionWrapper extends Generator {
         return transactionMethodBuilder.build();
     }
 
+    private MethodSpec buildStaticEventTransactionReceiptFunction(
+            String responseClassName, String functionName, MethodSpec decoder) {
+        ClassName responseType = ClassName.get("", responseClassName);
+
+        return MethodSpec.methodBuilder(
+                        "get" + Strings.capitaliseFirstLetter(functionName) + "Events")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TransactionReceipt.class, "transactionReceipt")
+                .returns(ParameterizedTypeName.get(ClassName.get(List.class), responseType))
+                .addStatement(
+                        "$T responses = new $T<>()",
+                        ParameterizedTypeName.get(ClassName.get(List.class), responseType),
+                        ArrayList.class)
+                .beginControlFlow("for ($T log : transactionReceipt.getLogs())", Log.class)
+                .addStatement("$T typedResponse = $N(log)", responseType, decoder)
+                .beginControlFlow("if (typedResponse != null)")
+                .addStatement("responses.add(typedResponse)")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return responses")
+                .build();
+    }
+
+    private MethodSpec buildStaticEventFlowableFunction(
+            String responseClassName, String functionName, MethodSpec decoder) {
+
+        // logs of other events decode to null and are skipped by the empty Maybe
+        return MethodSpec.methodBuilder(
+                        Strings.lowercaseFirstLetter(functionName) + "EventFlowable")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(EthFilter.class, FILTER)
+                .returns(
+                        ParameterizedTypeName.get(
+                                ClassName.get(Flowable.class),
+                                ClassName.get("", responseClassName)))
+                .addStatement(
+                        "return web3j.ethLogFlowable(filter)"
+                                + ".flatMapMaybe(log -> $T.fromCallable(() -> $N(log)))",
+                        Maybe.class,
+                        decoder)
+                .build();
+    }
+
     List<MethodSpec> buildEventFunctions(
             AbiDefinition functionDefinition, TypeSpec.Builder classBuilder)
             throws ClassNotFoundException {
@@ -1334,13 +1508,33 @@ public class SolidityFunctionWrapper extends Generator {
                         responseClassName, indexedParameters, nonIndexedParameters));
 
         List<MethodSpec> methods = new ArrayList<>();
-        methods.add(
-                buildEventTransactionReceiptFunction(
-                        responseClassName, functionName, indexedParameters, nonIndexedParameters));
-
-        methods.add(
-                buildEventFlowableFunction(
-                        responseClassName, functionName, indexedParameters, nonIndexedParameters));
+        if (staticCodecs != null && StaticCodecGenerator.isSupported(inputs)) {
+            MethodSpec decoder =
+                    staticCodecs.buildEventDecoder(
+                            functionDefinition,
+                            responseClassName,
+                            parameters.stream()
+                                    .map(NamedTypeName::getName)
+                                    .collect(Collectors.toList()));
+            methods.add(
+                    buildStaticEventTransactionReceiptFunction(
+                            responseClassName, functionName, decoder));
+            methods.add(buildStaticEventFlowableFunction(responseClassName, functionName, decoder));
+            methods.add(decoder);
+        } else {
+            methods.add(
+                    buildEventTransactionReceiptFunction(
+                            responseClassName,
+                            functionName,
+                            indexedParameters,
+                            nonIndexedParameters));
+            methods.add(
+                    buildEventFlowableFunction(
+                            responseClassName,
+                            functionName,
+                            indexedParameters,
+                            nonIndexedParameters));
+        }
         methods.add(buildDefaultEventFlowableFunction(responseClassName, functionName));
         return methods;
     }
@@ -54,6 +54,7 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
      * -jt, --javaTypes       use native java types.
      * Default: true
      * -st, --solidityTypes   use solidity types.
+     * -sc, --staticCodecs    generate static encoders and decoders.
      */
 
     private final File binFile;
@@ -65,6 +66,8 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
 
     private final boolean generateSendTxForCalls;
 
+    private final boolean generateStaticCodecs;
+
     protected SolidityFunctionWrapperGenerator(
             File binFile,
             File abiFile,
@@ -100,6 +103,33 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
             Class<? extends Contract> contractClass,
             int addressLength) {
 
+        this(
+                binFile,
+                abiFile,
+                destinationDir,
+                contractName,
+                basePackageName,
+                useJavaNativeTypes,
+                useJavaPrimitiveTypes,
+                generateSendTxForCalls,
+                false,
+                contractClass,
+                addressLength);
+    }
+
+    protected SolidityFunctionWrapperGenerator(
+            File binFile,
+            File abiFile,
+            File destinationDir,
+            String contractName,
+            String basePackageName,
+            boolean useJavaNativeTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateSendTxForCalls,
+            boolean generateStaticCodecs,
+            Class<? extends Contract> contractClass,
+            int addressLength) {
+
         super(
                 contractClass,
                 destinationDir,
@@ -112,6 +142,7 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
         this.contractName = contractName;
         this.addressLength = addressLength;
         this.generateSendTxForCalls = generateSendTxForCalls;
+        this.generateStaticCodecs = generateStaticCodecs;
     }
 
     protected List<AbiDefinition> loadContractDefinition(File absFile) throws IOException {
@@ -138,6 +169,7 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
                             useJavaNativeTypes,
                             useJavaPrimitiveTypes,
                             generateSendTxForCalls,
+                            generateStaticCodecs,
                             addressLength)
                     .generateJavaFiles(
                             contractClass,
@@ -227,6 +259,14 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
                 required = false)
         private boolean primitiveTypes = false;
 
+        @Option(
+                names = {"-sc", STATIC_CODECS_ARG},
+                description =
+                        "generate static encoders and decoders for functions and events "
+                                + "with elementary static types only.",
+                required = false)
+        private boolean staticCodecs = false;
+
         @Override
         public void run() {
             try {
@@ -246,6 +286,9 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
                                 packageName,
                                 useJavaTypes,
                                 primitiveTypes,
+                                false,
+                                staticCodecs,
+                                Contract.class,
                                 addressLength)
                         .generate();
             } catch (Exception e) {
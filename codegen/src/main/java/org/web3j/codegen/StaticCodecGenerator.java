@@ -0,0 +1,319 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.codegen;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+
+import org.web3j.abi.WordCodec;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.methods.response.AbiDefinition;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.Strings;
+
+/**
+ * Builds the static encoders and decoders of wrappers generated with static codecs.
+ *
+ * <p>Functions and events whose parameters are all elementary static types, i.e. integers,
+ * addresses, booleans and fixed size byte arrays, are encoded and decoded word by word with {@link
+ * WordCodec}. Selectors, topics and offsets are computed at generation time, so the generated code
+ * doesn't need any {@link org.web3j.abi.TypeReference}. All other functions and events are
+ * generated as usual.
+ */
+final class StaticCodecGenerator {
+
+    static final String OUTPUT = "output";
+
+    private static final String DATA = "data";
+    private static final String LOG = "log";
+    private static final String TYPED_RESPONSE = "typedResponse";
+
+    private static final Pattern ELEMENTARY_TYPE =
+            Pattern.compile("(uint|int|bytes)(\\d*)|address|bool");
+
+    private final int addressBitSize;
+    private final Set<String> methodNames = new HashSet<>();
+
+    StaticCodecGenerator(int addressBitSize) {
+        this.addressBitSize = addressBitSize;
+    }
+
+    /** Forgets the names of the methods built for the previous contract. */
+    void reset() {
+        methodNames.clear();
+    }
+
+    static boolean isSupported(List<AbiDefinition.NamedType> namedTypes) {
+        for (AbiDefinition.NamedType namedType : namedTypes) {
+            Matcher matcher = ELEMENTARY_TYPE.matcher(namedType.getType());
+            if (!matcher.matches()
+                    || ("bytes".equals(matcher.group(1)) && matcher.group(2).isEmpty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static TypeName getNativeType(String type) {
+        if (type.equals("address")) {
+            return TypeName.get(String.class);
+        } else if (type.equals("bool")) {
+            return TypeName.get(Boolean.class);
+        } else if (type.startsWith("bytes")) {
+            return TypeName.get(byte[].class);
+        } else {
+            return TypeName.get(BigInteger.class);
+        }
+    }
+
+    static String getSelector(AbiDefinition functionDefinition) {
+        return Hash.sha3String(buildSignature(functionDefinition)).substring(0, 10);
+    }
+
+    static String getTopic(AbiDefinition eventDefinition) {
+        return Hash.sha3String(buildSignature(eventDefinition));
+    }
+
+    /**
+     * Builds a static method encoding a call of the given function, including its selector.
+     *
+     * @param parameterNames the names of the parameters of the wrapper method
+     */
+    MethodSpec buildEncoder(AbiDefinition functionDefinition, List<String> parameterNames) {
+        List<AbiDefinition.NamedType> inputs = functionDefinition.getInputs();
+        String selector = getSelector(functionDefinition);
+
+        MethodSpec.Builder builder =
+                MethodSpec.methodBuilder(
+                                uniqueName("encode", functionDefinition.getName(), selector))
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(String.class);
+        for (int i = 0; i < inputs.size(); i++) {
+            builder.addParameter(getNativeType(inputs.get(i).getType()), parameterNames.get(i));
+        }
+
+        builder.addStatement(
+                "$T $N = new $T($L)",
+                StringBuilder.class,
+                DATA,
+                StringBuilder.class,
+                selector.length() + inputs.size() * WordCodec.WORD_LENGTH);
+        builder.addStatement("$N.append($S)", DATA, selector);
+        for (int i = 0; i < inputs.size(); i++) {
+            builder.addStatement("$L", buildAppend(inputs.get(i).getType(), parameterNames.get(i)));
+        }
+        builder.addStatement("return $N.toString()", DATA);
+        return builder.build();
+    }
+
+    /**
+     * Builds a static method decoding the output of the given function, as returned by {@link
+     * org.web3j.tx.Contract#executeCall(String, int)}.
+     */
+    MethodSpec buildDecoder(AbiDefinition functionDefinition) {
+        List<AbiDefinition.NamedType> outputs = functionDefinition.getOutputs();
+        TypeName returnType = getReturnType(outputs);
+
+        MethodSpec.Builder builder =
+                MethodSpec.methodBuilder(
+                                uniqueName(
+                                        "decode",
+                                        functionDefinition.getName(),
+                                        getSelector(functionDefinition)))
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(String.class, OUTPUT)
+                        .returns(returnType);
+
+        if (outputs.size() == 1) {
+            builder.addStatement("return $L", buildRead(outputs.get(0).getType(), OUTPUT, 0));
+        } else {
+            CodeBlock.Builder values = CodeBlock.builder();
+            for (int i = 0; i < outputs.size(); i++) {
+                values.add(i == 0 ? "$L" : ",\n$L", buildRead(outputs.get(i).getType(), OUTPUT, i));
+            }
+            builder.addStatement("return new $T(\n$L)", returnType, values.build());
+        }
+        return builder.build();
+    }
+
+    static TypeName getReturnType(List<AbiDefinition.NamedType> outputs) {
+        if (outputs.size() == 1) {
+            return getNativeType(outputs.get(0).getType());
+        }
+        TypeName[] typeArguments = new TypeName[outputs.size()];
+        for (int i = 0; i < typeArguments.length; i++) {
+            typeArguments[i] = getNativeType(outputs.get(i).getType());
+        }
+        return ParameterizedTypeName.get(
+                ClassName.get("org.web3j.tuples.generated", "Tuple" + outputs.size()),
+                typeArguments);
+    }
+
+    /**
+     * Builds a static method decoding a log of the given event, which returns null if the log
+     * belongs to another event.
+     */
+    MethodSpec buildEventDecoder(
+            AbiDefinition eventDefinition, String responseClassName, List<String> fieldNames) {
+        ClassName responseType = ClassName.get("", responseClassName);
+        List<AbiDefinition.NamedType> inputs = eventDefinition.getInputs();
+        long indexedCount = inputs.stream().filter(AbiDefinition.NamedType::isIndexed).count();
+
+        MethodSpec.Builder builder =
+                MethodSpec.methodBuilder(
+                                "decode"
+                                        + Strings.capitaliseFirstLetter(eventDefinition.getName())
+                                        + "Event")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(Log.class, LOG)
+                        .returns(responseType);
+
+        builder.addStatement(
+                "$T topics = $N.getTopics()",
+                ParameterizedTypeName.get(List.class, String.class),
+                LOG);
+        builder.beginControlFlow(
+                        "if (topics == null || topics.size() != $L || !$S.equals(topics.get(0)))",
+                        indexedCount + 1,
+                        getTopic(eventDefinition))
+                .addStatement("return null")
+                .endControlFlow();
+        if (indexedCount < inputs.size()) {
+            builder.addStatement(
+                    "$T $N = $T.cleanHexPrefix($N.getData())",
+                    String.class,
+                    DATA,
+                    Numeric.class,
+                    LOG);
+        }
+
+        builder.addStatement("$1T $2N = new $1T()", responseType, TYPED_RESPONSE);
+        builder.addStatement("$N.log = $N", TYPED_RESPONSE, LOG);
+        int topic = 1;
+        int word = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            AbiDefinition.NamedType input = inputs.get(i);
+            CodeBlock value;
+            if (input.isIndexed()) {
+                value =
+                        buildRead(
+                                input.getType(),
+                                CodeBlock.of(
+                                        "$T.cleanHexPrefix(topics.get($L))",
+                                        Numeric.class,
+                                        topic++),
+                                0);
+            } else {
+                value = buildRead(input.getType(), DATA, word++);
+            }
+            builder.addStatement("$N.$N = $L", TYPED_RESPONSE, fieldNames.get(i), value);
+        }
+        builder.addStatement("return $N", TYPED_RESPONSE);
+        return builder.build();
+    }
+
+    private CodeBlock buildAppend(String type, String parameterName) {
+        if (type.equals("address")) {
+            return CodeBlock.of(
+                    "$T.appendAddress($N, $N, $L)",
+                    WordCodec.class,
+                    DATA,
+                    parameterName,
+                    addressBitSize);
+        } else if (type.equals("bool")) {
+            return CodeBlock.of("$T.appendBool($N, $N)", WordCodec.class, DATA, parameterName);
+        } else if (type.startsWith("bytes")) {
+            return CodeBlock.of(
+                    "$T.appendBytes($N, $N, $L)",
+                    WordCodec.class,
+                    DATA,
+                    parameterName,
+                    getSize(type));
+        } else {
+            return CodeBlock.of(
+                    "$T.$L($N, $N, $L)",
+                    WordCodec.class,
+                    type.startsWith("uint") ? "appendUint" : "appendInt",
+                    DATA,
+                    parameterName,
+                    getSize(type));
+        }
+    }
+
+    private CodeBlock buildRead(String type, String source, int word) {
+        return buildRead(type, CodeBlock.of("$N", source), word);
+    }
+
+    private CodeBlock buildRead(String type, CodeBlock source, int word) {
+        if (type.equals("address")) {
+            return CodeBlock.of(
+                    "$T.readAddress($L, $L, $L)", WordCodec.class, source, word, addressBitSize);
+        } else if (type.equals("bool")) {
+            return CodeBlock.of("$T.readBool($L, $L)", WordCodec.class, source, word);
+        } else if (type.startsWith("bytes")) {
+            return CodeBlock.of(
+                    "$T.readBytes($L, $L, $L)", WordCodec.class, source, word, getSize(type));
+        } else {
+            return CodeBlock.of(
+                    "$T.$L($L, $L, $L)",
+                    WordCodec.class,
+                    type.startsWith("uint") ? "readUint" : "readInt",
+                    source,
+                    word,
+                    getSize(type));
+        }
+    }
+
+    private String uniqueName(String prefix, String name, String selector) {
+        String methodName = prefix + Strings.capitaliseFirstLetter(name);
+        // overloaded functions share their name, tell them apart by their selector
+        if (!methodNames.add(methodName)) {
+            methodName += "_" + Numeric.cleanHexPrefix(selector);
+            methodNames.add(methodName);
+        }
+        return methodName;
+    }
+
+    private static int getSize(String type) {
+        String size = type.replaceAll("\\D", "");
+        if (size.isEmpty()) {
+            // uint and int are aliases of uint256 and int256
+            return 256;
+        }
+        return Integer.parseInt(size);
+    }
+
+    private static String buildSignature(AbiDefinition definition) {
+        return definition.getName()
+                + definition.getInputs().stream()
+                        .map(namedType -> getCanonicalType(namedType.getType()))
+                        .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static String getCanonicalType(String type) {
+        return type.equals("uint") || type.equals("int") ? type + "256" : type;
+    }
+}
@@ -16,7 +16,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -30,14 +33,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.web3j.TempFileProvider;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.utils.Strings;
 
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.web3j.codegen.FunctionWrapperGenerator.JAVA_TYPES_ARG;
 import static org.web3j.codegen.FunctionWrapperGenerator.PRIMITIVE_TYPES_ARG;
 import static org.web3j.codegen.FunctionWrapperGenerator.SOLIDITY_TYPES_ARG;
+import static org.web3j.codegen.FunctionWrapperGenerator.STATIC_CODECS_ARG;
 import static org.web3j.codegen.SolidityFunctionWrapperGenerator.COMMAND_GENERATE;
 import static org.web3j.codegen.SolidityFunctionWrapperGenerator.COMMAND_SOLIDITY;
 import static org.web3j.codegen.SolidityFunctionWrapperGenerator.getFileNameNoExtension;
@@ -146,6 +158,57 @@ public class SolidityFunctionWrapperGeneratorTest extends TempFileProvider {
         testCodeGenerationJvmTypes("primitive", "Primitive", true);
     }
 
+    @Test
+    public void testStaticCodecs() throws Exception {
+        testCodeGeneration(
+                emptyList(),
+                "contracts",
+                "HumanStandardToken",
+                JAVA_TYPES_ARG,
+                true,
+                false,
+                true);
+
+        String from = "0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d";
+        String to = "0xbf3a46fd41ceee5f6c0a2a9eb1a7b4e1b1c8fa0e";
+        BigInteger value = BigInteger.TEN.pow(21).add(BigInteger.ONE);
+
+        URL[] classPath = {new File(tempDirPath).toURI().toURL()};
+        try (URLClassLoader classLoader =
+                new URLClassLoader(classPath, getClass().getClassLoader())) {
+            Class<?> token = classLoader.loadClass("org.web3j.unittests.java.HumanStandardToken");
+
+            Method encodeTransfer =
+                    token.getMethod("encodeTransfer", String.class, BigInteger.class);
+            Function transfer =
+                    new Function(
+                            "transfer",
+                            Arrays.asList(new Address(to), new Uint256(value)),
+                            emptyList());
+            assertEquals(FunctionEncoder.encode(transfer), encodeTransfer.invoke(null, to, value));
+
+            Method decodeBalanceOf = token.getMethod("decodeBalanceOf", String.class);
+            String output = TypeEncoder.encode(new Uint256(value));
+            assertEquals(value, decodeBalanceOf.invoke(null, output));
+
+            Log log = new Log();
+            log.setTopics(
+                    Arrays.asList(
+                            EventEncoder.buildEventSignature("Transfer(address,address,uint256)"),
+                            "0x" + TypeEncoder.encode(new Address(from)),
+                            "0x" + TypeEncoder.encode(new Address(to))));
+            log.setData("0x" + TypeEncoder.encode(new Uint256(value)));
+            Object event = token.getMethod("decodeTransferEvent", Log.class).invoke(null, log);
+            Class<?> eventType = event.getClass();
+            assertEquals(from, eventType.getField("_from").get(event));
+            assertEquals(to, eventType.getField("_to").get(event));
+            assertEquals(value, eventType.getField("_value").get(event));
+
+            log.setTopics(Arrays.asList(EventEncoder.buildEventSignature("Other()")));
+            assertNull(token.getMethod("decodeTransferEvent", Log.class).invoke(null, log));
+        }
+    }
+
     private void testCodeGenerationJvmTypes(String contractName, String inputFileName)
             throws Exception {
         testCodeGeneration(contractName, inputFileName, JAVA_TYPES_ARG, true);
@@ -186,6 +249,19 @@ public class SolidityFunctionWrapperGeneratorTest extends TempFileProvider {
             boolean useBin,
             boolean primitives)
             throws Exception {
+        testCodeGeneration(
+                prefixes, contractName, inputFileName, types, useBin, primitives, false);
+    }
+
+    private void testCodeGeneration(
+            List<String> prefixes,
+            String contractName,
+            String inputFileName,
+            String types,
+            boolean useBin,
+            boolean primitives,
+            boolean staticCodecs)
+            throws Exception {
         String packageName = null;
         if (types.equals(JAVA_TYPES_ARG)) {
             packageName = "org.web3j.unittests.java";
@@ -226,6 +302,9 @@ public class SolidityFunctionWrapperGeneratorTest extends TempFileProvider {
         if (primitives) {
             options.add(PRIMITIVE_TYPES_ARG);
         }
+        if (staticCodecs) {
+            options.add(STATIC_CODECS_ARG);
+        }
 
         SolidityFunctionWrapperGenerator.main(options.toArray(new String[options.size()]));
 
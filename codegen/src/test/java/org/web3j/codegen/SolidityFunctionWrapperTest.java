@@ -498,6 +498,99 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
         assertEquals(builder.build().toString(), (expected));
     }
 
+    @Test
+    public void testBuildStaticCodecConstantFunction() throws Exception {
+        SolidityFunctionWrapper wrapper =
+                new SolidityFunctionWrapper(
+                        true, false, false, true, Address.DEFAULT_LENGTH, generationReporter);
+        AbiDefinition functionDefinition =
+                new AbiDefinition(
+                        true,
+                        Arrays.asList(new AbiDefinition.NamedType("_owner", "address")),
+                        "balanceOf",
+                        Arrays.asList(new AbiDefinition.NamedType("balance", "uint256")),
+                        "function",
+                        false);
+
+        List<MethodSpec> methodSpecs = wrapper.buildFunctions(functionDefinition);
+        assertEquals(3, methodSpecs.size());
+
+        String expected =
+                "public org.web3j.protocol.core.RemoteCall<java.math.BigInteger> balanceOf(java.lang.String _owner) {\n"
+                        + "  return new org.web3j.protocol.core.RemoteCall<>(() -> decodeBalanceOf(executeCall(encodeBalanceOf(_owner), 1)));\n"
+                        + "}\n";
+        String expectedEncoder =
+                "public static java.lang.String encodeBalanceOf(java.lang.String _owner) {\n"
+                        + "  java.lang.StringBuilder data = new java.lang.StringBuilder(74);\n"
+                        + "  data.append(\"0x70a08231\");\n"
+                        + "  org.web3j.abi.WordCodec.appendAddress(data, _owner, 160);\n"
+                        + "  return data.toString();\n"
+                        + "}\n";
+        String expectedDecoder =
+                "public static java.math.BigInteger decodeBalanceOf(java.lang.String output) {\n"
+                        + "  return org.web3j.abi.WordCodec.readUint(output, 0, 256);\n"
+                        + "}\n";
+
+        assertEquals(expected, methodSpecs.get(0).toString());
+        assertEquals(expectedEncoder, methodSpecs.get(1).toString());
+        assertEquals(expectedDecoder, methodSpecs.get(2).toString());
+    }
+
+    @Test
+    public void testBuildStaticCodecTransactionFunction() throws Exception {
+        SolidityFunctionWrapper wrapper =
+                new SolidityFunctionWrapper(
+                        true, false, false, true, Address.DEFAULT_LENGTH, generationReporter);
+        AbiDefinition functionDefinition =
+                new AbiDefinition(
+                        false,
+                        Arrays.asList(
+                                new AbiDefinition.NamedType("_to", "address"),
+                                new AbiDefinition.NamedType("_value", "uint256")),
+                        "transfer",
+                        Collections.emptyList(),
+                        "function",
+                        false);
+
+        List<MethodSpec> methodSpecs = wrapper.buildFunctions(functionDefinition);
+        assertEquals(2, methodSpecs.size());
+
+        String expected =
+                "public org.web3j.protocol.core.RemoteCall<org.web3j.protocol.core.methods.response.TransactionReceipt> transfer(java.lang.String _to, java.math.BigInteger _value) {\n"
+                        + "  return new org.web3j.protocol.core.RemoteCall<>(() -> executeTransaction(encodeTransfer(_to, _value), java.math.BigInteger.ZERO, FUNC_TRANSFER));\n"
+                        + "}\n";
+        String expectedEncoder =
+                "public static java.lang.String encodeTransfer(java.lang.String _to, java.math.BigInteger _value) {\n"
+                        + "  java.lang.StringBuilder data = new java.lang.StringBuilder(138);\n"
+                        + "  data.append(\"0xa9059cbb\");\n"
+                        + "  org.web3j.abi.WordCodec.appendAddress(data, _to, 160);\n"
+                        + "  org.web3j.abi.WordCodec.appendUint(data, _value, 256);\n"
+                        + "  return data.toString();\n"
+                        + "}\n";
+
+        assertEquals(expected, methodSpecs.get(0).toString());
+        assertEquals(expectedEncoder, methodSpecs.get(1).toString());
+    }
+
+    @Test
+    public void testStaticCodecsFallBackForDynamicTypes() throws Exception {
+        SolidityFunctionWrapper wrapper =
+                new SolidityFunctionWrapper(
+                        true, false, false, true, Address.DEFAULT_LENGTH, generationReporter);
+        AbiDefinition functionDefinition =
+                new AbiDefinition(
+                        true,
+                        Collections.emptyList(),
+                        "name",
+                        Arrays.asList(new AbiDefinition.NamedType("", "string")),
+                        "function",
+                        false);
+
+        List<MethodSpec> methodSpecs = wrapper.buildFunctions(functionDefinition);
+        assertEquals(1, methodSpecs.size());
+        assertTrue(methodSpecs.get(0).toString().contains("executeRemoteCallSingleValueReturn"));
+    }
+
     @Test
     public void testBuildFuncNameConstants() throws Exception {
         AbiDefinition functionDefinition =
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Decrypts keystore files in parallel and keeps the resulting keys in memory, so that {@link
+ * Credentials} can be looked up by address without running the key derivation function again.
+ *
+ * <p>Scrypt needs roughly {@code 128 * r * N} bytes of memory per derivation, which is 256 MB for
+ * standard wallet files. Decryptions therefore only start once their estimated memory fits in
+ * the configured budget, whatever the number of threads. A file which needs more than the whole
+ * budget is decrypted on its own.
+ *
+ * <p>Private keys are held in direct buffers outside of the heap and are overwritten with zeros
+ * when they are removed or the vault is closed. The {@link Credentials} returned by the vault are
+ * created on each lookup and hold a copy of the key, which can't be cleared.
+ */
+public class KeystoreVault implements Closeable {
+
+    private static final int PRIVATE_KEY_SIZE = 32;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    static {
+        objectMapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    private final ExecutorService executorService;
+    private final boolean shutdownExecutor;
+    private final Semaphore memoryBudget;
+    private final int memoryBudgetKb;
+
+    private final Map<String, KeyEntry> keys = new ConcurrentHashMap<>();
+
+    /** Creates a vault which may use half of the maximum heap size for key derivation. */
+    public KeystoreVault() {
+        this(Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    public KeystoreVault(long memoryBudget) {
+        this(
+                memoryBudget,
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()),
+                true);
+    }
+
+    public KeystoreVault(long memoryBudget, ExecutorService executorService) {
+        this(memoryBudget, executorService, false);
+    }
+
+    private KeystoreVault(
+            long memoryBudget, ExecutorService executorService, boolean shutdownExecutor) {
+        if (memoryBudget < 1024) {
+            throw new IllegalArgumentException("Invalid memory budget: " + memoryBudget);
+        }
+        this.memoryBudgetKb = (int) Math.min(Integer.MAX_VALUE, memoryBudget / 1024);
+        this.memoryBudget = new Semaphore(memoryBudgetKb, true);
+        this.executorService = executorService;
+        this.shutdownExecutor = shutdownExecutor;
+    }
+
+    /**
+     * Decrypts all JSON files of a directory with the same password.
+     *
+     * <p>Files which fail to decrypt don't prevent the other files from being loaded, but cause a
+     * {@link CipherException} once all files have been processed.
+     *
+     * @return the addresses of the loaded keys
+     */
+    public List<String> loadDirectory(File directory, String password)
+            throws IOException, CipherException {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) {
+            throw new IOException("Unable to list keystore directory " + directory);
+        }
+        Arrays.sort(files);
+        return loadFiles(Arrays.asList(files), password);
+    }
+
+    /** Decrypts the given keystore files with the same password, see {@link #loadDirectory}. */
+    public List<String> loadFiles(Collection<File> files, String password)
+            throws IOException, CipherException {
+        List<WalletFile> walletFiles = new ArrayList<>(files.size());
+        for (File file : files) {
+            walletFiles.add(objectMapper.readValue(file, WalletFile.class));
+        }
+        return load(walletFiles, password);
+    }
+
+    /** Decrypts the given wallet files with the same password, see {@link #loadDirectory}. */
+    public List<String> load(Collection<WalletFile> walletFiles, String password)
+            throws CipherException {
+        List<Future<String>> futures = new ArrayList<>(walletFiles.size());
+        for (WalletFile walletFile : walletFiles) {
+            futures.add(executorService.submit(() -> decrypt(password, walletFile)));
+        }
+
+        List<String> addresses = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        int failed = 0;
+        for (Future<String> future : futures) {
+            try {
+                addresses.add(future.get());
+            } catch (ExecutionException e) {
+                failed++;
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new CipherException(e);
+            }
+        }
+
+        if (failure != null) {
+            throw new CipherException(
+                    "Unable to decrypt "
+                            + failed
+                            + " of "
+                            + futures.size()
+                            + " keystore files: "
+                            + failure.getMessage(),
+                    failure);
+        }
+        return addresses;
+    }
+
+    /**
+     * Decrypts a single wallet file, waiting for enough of the memory budget to become available.
+     *
+     * @return the address of the loaded key
+     */
+    public String load(WalletFile walletFile, String password) throws CipherException {
+        try {
+            return decrypt(password, walletFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CipherException(e);
+        }
+    }
+
+    public Optional<Credentials> getCredentials(String address) {
+        KeyEntry entry = keys.get(normalise(address));
+        return entry == null ? Optional.empty() : entry.toCredentials();
+    }
+
+    public boolean contains(String address) {
+        return keys.containsKey(normalise(address));
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /** Removes the key of an address and overwrites it. */
+    public boolean remove(String address) {
+        KeyEntry entry = keys.remove(normalise(address));
+        if (entry == null) {
+            return false;
+        }
+        entry.destroy();
+        return true;
+    }
+
+    /** Overwrites all keys and shuts down the executor if it was created by the vault. */
+    @Override
+    public void close() {
+        for (String address : new ArrayList<>(keys.keySet())) {
+            remove(address);
+        }
+        if (shutdownExecutor) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private String decrypt(String password, WalletFile walletFile)
+            throws CipherException, InterruptedException {
+        int permits = Math.min(memoryBudgetKb, requiredMemoryKb(walletFile));
+        ECKeyPair ecKeyPair;
+        memoryBudget.acquire(permits);
+        try {
+            ecKeyPair = Wallet.decrypt(password, walletFile);
+        } finally {
+            memoryBudget.release(permits);
+        }
+
+        String address = Credentials.create(ecKeyPair).getAddress();
+        KeyEntry previous = keys.put(normalise(address), new KeyEntry(ecKeyPair));
+        if (previous != null) {
+            previous.destroy();
+        }
+        return address;
+    }
+
+    /** Estimates the memory in KB needed to derive the key of a wallet file. */
+    static int requiredMemoryKb(WalletFile walletFile) {
+        WalletFile.Crypto crypto = walletFile.getCrypto();
+        if (crypto == null || !(crypto.getKdfparams() instanceof WalletFile.ScryptKdfParams)) {
+            return 1;
+        }
+        WalletFile.ScryptKdfParams params = (WalletFile.ScryptKdfParams) crypto.getKdfparams();
+        // the working memory V of scrypt plus the p blocks B it mixes
+        long bytes = 128L * params.getR() * ((long) params.getN() + params.getP());
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes / 1024));
+    }
+
+    private static String normalise(String address) {
+        return Numeric.cleanHexPrefix(address).toLowerCase();
+    }
+
+    private static class KeyEntry {
+
+        private final ByteBuffer privateKey = ByteBuffer.allocateDirect(PRIVATE_KEY_SIZE);
+        private final BigInteger publicKey;
+        private boolean destroyed;
+
+        KeyEntry(ECKeyPair ecKeyPair) {
+            byte[] bytes = Numeric.toBytesPadded(ecKeyPair.getPrivateKey(), PRIVATE_KEY_SIZE);
+            privateKey.put(bytes);
+            Arrays.fill(bytes, (byte) 0);
+            publicKey = ecKeyPair.getPublicKey();
+        }
+
+        synchronized Optional<Credentials> toCredentials() {
+            if (destroyed) {
+                return Optional.empty();
+            }
+            byte[] bytes = new byte[PRIVATE_KEY_SIZE];
+            for (int i = 0; i < PRIVATE_KEY_SIZE; i++) {
+                bytes[i] = privateKey.get(i);
+            }
+            BigInteger key = new BigInteger(1, bytes);
+            Arrays.fill(bytes, (byte) 0);
+            return Optional.of(Credentials.create(new ECKeyPair(key, publicKey)));
+        }
+
+        synchronized void destroy() {
+            for (int i = 0; i < PRIVATE_KEY_SIZE; i++) {
+                privateKey.put(i, (byte) 0);
+            }
+            destroyed = true;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.deserializer.RawResponseDeserializer;
+import org.web3j.protocol.deserializer.ResponseDeserializers;
 
 /** Factory for managing our ObjectMapper instances. */
 public class ObjectMapperFactory {
@@ -72,6 +73,8 @@ public class ObjectMapperFactory {
             objectMapper.registerModule(module);
         }
 
+        objectMapper.registerModule(ResponseDeserializers.module());
+
         objectMapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
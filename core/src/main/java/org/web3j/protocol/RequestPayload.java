@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.web3j.protocol.core.Request;
+
+/**
+ * A JSON-RPC request or batch request serialized into a buffer, which is reused for the next
+ * payload created on the same thread once this one is closed.
+ *
+ * <p>Requests are written with a streaming generator straight into the buffer, so that the
+ * transports can send the bytes without an intermediate string. The field names, the jsonrpc
+ * version and the method names are encoded once and written as raw bytes.
+ *
+ * <p>A payload which is used after it has been closed, for example by an HTTP interceptor keeping
+ * the request body, is serialized again into a buffer of its own.
+ */
+public final class RequestPayload implements Closeable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_POOLED_CAPACITY = 4 * 1024 * 1024;
+    private static final int MAX_METHODS = 1024;
+
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    private static final SerializableString JSONRPC = new SerializedString("jsonrpc");
+    private static final SerializableString METHOD = new SerializedString("method");
+    private static final SerializableString PARAMS = new SerializedString("params");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString JSONRPC_VERSION = new SerializedString("2.0");
+
+    private static final ConcurrentHashMap<String, SerializableString> METHODS =
+            new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+    private final Content content;
+
+    private Buffer buffer;
+    private boolean closed;
+
+    private RequestPayload(ObjectMapper objectMapper, Content content) throws IOException {
+        this.objectMapper = objectMapper;
+        this.content = content;
+        this.buffer = serialize(new Buffer(true));
+    }
+
+    /** Serializes a single request. */
+    public static RequestPayload of(ObjectMapper objectMapper, Request<?, ?> request)
+            throws IOException {
+        return new RequestPayload(
+                objectMapper, generator -> writeRequest(objectMapper, generator, request));
+    }
+
+    /** Serializes the requests of a batch request. */
+    public static RequestPayload of(
+            ObjectMapper objectMapper, List<? extends Request<?, ?>> requests) throws IOException {
+        return new RequestPayload(
+                objectMapper,
+                generator -> {
+                    generator.writeStartArray();
+                    for (Request<?, ?> request : requests) {
+                        writeRequest(objectMapper, generator, request);
+                    }
+                    generator.writeEndArray();
+                });
+    }
+
+    /** Returns the size of the payload in bytes. */
+    public int size() {
+        return buffer.count;
+    }
+
+    /** Returns a read only view of the payload. */
+    public ByteBuffer asByteBuffer() {
+        Buffer current = current();
+        return ByteBuffer.wrap(current.bytes, 0, current.count).asReadOnlyBuffer();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        Buffer current = current();
+        out.write(current.bytes, 0, current.count);
+    }
+
+    @Override
+    public String toString() {
+        Buffer current = current();
+        return new String(current.bytes, 0, current.count, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            buffer.release();
+        }
+    }
+
+    private synchronized Buffer current() {
+        if (buffer.bytes == null) {
+            try {
+                buffer = serialize(new Buffer(false));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return buffer;
+    }
+
+    private Buffer serialize(Buffer target) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            content.write(generator);
+        } catch (IOException | RuntimeException e) {
+            target.release();
+            throw e;
+        }
+        return target;
+    }
+
+    private static void writeRequest(
+            ObjectMapper objectMapper, JsonGenerator generator, Request<?, ?> request)
+            throws IOException {
+        if (request.getClass() != Request.class) {
+            // subclasses may add properties of their own
+            objectMapper.writeValue(generator, request);
+            return;
+        }
+
+        generator.writeStartObject();
+        generator.writeFieldName(JSONRPC);
+        if (JSONRPC_VERSION.getValue().equals(request.getJsonrpc())) {
+            generator.writeString(JSONRPC_VERSION);
+        } else {
+            generator.writeString(request.getJsonrpc());
+        }
+        generator.writeFieldName(METHOD);
+        if (request.getMethod() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(methodToken(request.getMethod()));
+        }
+        generator.writeFieldName(PARAMS);
+        objectMapper.writeValue(generator, request.getParams());
+        generator.writeFieldName(ID);
+        generator.writeNumber(request.getId());
+        generator.writeEndObject();
+    }
+
+    private static SerializableString methodToken(String method) {
+        SerializableString token = METHODS.get(method);
+        if (token == null) {
+            token = new SerializedString(method);
+            // methods are a small fixed set, but don't let arbitrary names grow the cache
+            if (METHODS.size() < MAX_METHODS) {
+                METHODS.putIfAbsent(method, token);
+            }
+        }
+        return token;
+    }
+
+    private interface Content {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static class Buffer extends OutputStream {
+
+        private final boolean pooled;
+
+        private byte[] bytes;
+        private int count;
+
+        Buffer(boolean pooled) {
+            this.pooled = pooled;
+            byte[] buffer = pooled ? BUFFERS.get() : null;
+            if (buffer != null) {
+                BUFFERS.remove();
+                bytes = buffer;
+            } else {
+                bytes = new byte[INITIAL_CAPACITY];
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // the generator closes its target, the buffer is released with the payload
+        }
+
+        void release() {
+            if (pooled && bytes != null && bytes.length <= MAX_POOLED_CAPACITY) {
+                BUFFERS.set(bytes);
+            }
+            bytes = null;
+        }
+
+        private void ensureCapacity(int length) {
+            if (count + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, count + length));
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.web3j.protocol;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -27,33 +28,109 @@ import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
+import org.web3j.protocol.deserializer.RawResponseInputStream;
+import org.web3j.protocol.instrumentation.ServiceInstrumentation;
 import org.web3j.protocol.websocket.events.Notification;
 import org.web3j.utils.Async;
 
 /** Base service implementation. */
 public abstract class Service implements Web3jService {
 
+    private static final String BATCH_METHOD = "batch";
+
     protected final ObjectMapper objectMapper;
 
+    private final boolean includeRawResponses;
+
+    private volatile ServiceInstrumentation instrumentation = ServiceInstrumentation.DISABLED;
+
     public Service(boolean includeRawResponses) {
         objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        this.includeRawResponses = includeRawResponses;
     }
 
     protected abstract InputStream performIO(String payload) throws IOException;
 
+    /**
+     * Perform a request given as a payload, which is closed once this method returns.
+     *
+     * <p>By default the payload is decoded and passed to {@link #performIO(String)}, transports
+     * override this method to send the bytes of the payload as they are.
+     *
+     * @param payload the serialized request
+     * @return the response, or null if the transport did not return a response
+     * @throws IOException thrown if failed to perform a request
+     */
+    protected InputStream performIO(RequestPayload payload) throws IOException {
+        return performIO(payload.toString());
+    }
+
+    /** Report the request and response sizes to the given instrumentation. */
+    public void setInstrumentation(ServiceInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
     @Override
     public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
-        String payload = objectMapper.writeValueAsString(request);
+        long requestSize;
+        InputStream response;
+        try (RequestPayload payload = RequestPayload.of(objectMapper, request)) {
+            requestSize = payload.size();
+            response = performIO(payload);
+        }
 
-        try (InputStream result = performIO(payload)) {
-            if (result != null) {
-                return objectMapper.readValue(result, responseType);
-            } else {
+        try (InputStream result = response) {
+            if (result == null) {
                 return null;
             }
+
+            ServiceInstrumentation instrumentation = this.instrumentation;
+            if (!instrumentation.isEnabled()) {
+                return readResponse(result, responseType);
+            }
+
+            CountingInputStream countingResult = new CountingInputStream(result);
+            T value = readResponse(countingResult, responseType);
+            instrumentation.onBytesTransferred(
+                    request.getMethod(), requestSize, countingResult.getCount());
+            return value;
         }
     }
 
+    /**
+     * Perform a synchronous JSON-RPC request without deserializing the response, so that large
+     * responses can be parsed incrementally.
+     *
+     * @param request request to perform
+     * @return the raw JSON-RPC response, which must be closed by the caller, or null if the
+     *     transport did not return a response
+     * @throws IOException thrown if failed to perform a request
+     */
+    public InputStream sendStreaming(Request request) throws IOException {
+        long requestSize;
+        InputStream result;
+        try (RequestPayload payload = RequestPayload.of(objectMapper, request)) {
+            requestSize = payload.size();
+            result = performIO(payload);
+        }
+        if (result == null) {
+            return null;
+        }
+
+        ServiceInstrumentation instrumentation = this.instrumentation;
+        if (!instrumentation.isEnabled()) {
+            return result;
+        }
+
+        return new CountingInputStream(result) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                instrumentation.onBytesTransferred(request.getMethod(), requestSize, getCount());
+            }
+        };
+    }
+
     @Override
     public <T extends Response> CompletableFuture<T> sendAsync(
             Request jsonRpc20Request, Class<T> responseType) {
@@ -66,11 +143,28 @@ public abstract class Service implements Web3jService {
             return new BatchResponse(Collections.emptyList(), Collections.emptyList());
         }
 
-        String payload = objectMapper.writeValueAsString(batchRequest.getRequests());
+        long requestSize;
+        InputStream batchResult;
+        try (RequestPayload payload = RequestPayload.of(objectMapper, batchRequest.getRequests())) {
+            requestSize = payload.size();
+            batchResult = performIO(payload);
+        }
 
-        try (InputStream result = performIO(payload)) {
+        try (InputStream result = batchResult) {
             if (result != null) {
-                ArrayNode nodes = (ArrayNode) objectMapper.readTree(result);
+                ServiceInstrumentation instrumentation = this.instrumentation;
+                CountingInputStream countingResult = null;
+                InputStream input = result;
+                if (instrumentation.isEnabled()) {
+                    countingResult = new CountingInputStream(result);
+                    input = countingResult;
+                }
+
+                ArrayNode nodes = (ArrayNode) objectMapper.readTree(input);
+                if (countingResult != null) {
+                    instrumentation.onBytesTransferred(
+                            BATCH_METHOD, requestSize, countingResult.getCount());
+                }
                 List<Response<?>> responses = new ArrayList<>(nodes.size());
 
                 for (int i = 0; i < nodes.size(); i++) {
@@ -100,4 +194,54 @@ public abstract class Service implements Web3jService {
                         "Service %s does not support subscriptions",
                         this.getClass().getSimpleName()));
     }
+
+    private <T extends Response> T readResponse(InputStream result, Class<T> responseType)
+            throws IOException {
+        if (!includeRawResponses) {
+            return objectMapper.readValue(result, responseType);
+        }
+
+        // the raw response is captured while it is parsed
+        try (RawResponseInputStream rawResult = new RawResponseInputStream(result)) {
+            return objectMapper.readValue(rawResult, responseType);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result != -1) {
+                count++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = super.read(b, off, len);
+            if (result > 0) {
+                count += result;
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long result = super.skip(n);
+            count += result;
+            return result;
+        }
+    }
 }
@@ -57,6 +57,26 @@ public interface Web3j extends Tolar, Web3jRx, Batcher {
         return new JsonRpc2_0Web3j(web3jService, pollingInterval, scheduledExecutorService);
     }
 
+    /**
+     * Construct a new Web3j instance.
+     *
+     * @param web3jService web3j service instance - i.e. HTTP or IPC
+     * @param pollingInterval polling interval for responses from network nodes
+     * @param scheduledExecutorService executor service to use for scheduled tasks. <strong>You are
+     *     responsible for terminating this thread pool</strong>
+     * @param batchFilterPolling poll the changes of all filters with a single batch request per
+     *     polling interval, see {@link org.web3j.protocol.core.filters.FilterPoller}
+     * @return new Web3j instance
+     */
+    static Web3j build(
+            Web3jService web3jService,
+            long pollingInterval,
+            ScheduledExecutorService scheduledExecutorService,
+            boolean batchFilterPolling) {
+        return new JsonRpc2_0Web3j(
+                web3jService, pollingInterval, scheduledExecutorService, batchFilterPolling);
+    }
+
     /** Shutdowns a Web3j instance and closes opened resources. */
     void shutdown();
 }
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.admission;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.RequestRejectedException;
+import org.web3j.protocol.websocket.events.Notification;
+
+/**
+ * {@link Web3jService} decorator limiting the number of concurrent requests to the limit of a
+ * {@link GradientLimit}, which follows the round trip times of the requests.
+ *
+ * <p>Requests beyond the limit wait in a bounded queue and are admitted by {@link
+ * RequestPriority}, transactions first. When the queue is full, a new request replaces the latest
+ * queued request of a lower priority, if there is one, and is rejected otherwise. Requests which
+ * have waited longer than the maximum queue time are rejected as well, even if no other request
+ * completes in the meantime. Rejected requests fail with a {@link RequestRejectedException}
+ * without being sent.
+ *
+ * <p>Subscriptions are passed on without any limit.
+ */
+public class ConcurrencyLimitedWeb3jService implements Web3jService {
+
+    public static final int DEFAULT_MAX_QUEUE_DEPTH = 100;
+    public static final long DEFAULT_MAX_QUEUE_TIME = 5000;
+
+    private static final String BATCH_METHOD = "batch";
+
+    /** Rejects asynchronous requests which have waited too long, shared by all instances. */
+    private static final ScheduledExecutorService EXPIRY =
+            Executors.newSingleThreadScheduledExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "admission-expiry");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final Web3jService web3jService;
+    private final GradientLimit limit;
+    private final int maxQueueDepth;
+    private final long maxQueueTime;
+
+    private final List<ArrayDeque<Waiter>> queues = new ArrayList<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private int inFlight;
+    private int queueDepth;
+
+    public ConcurrencyLimitedWeb3jService(Web3jService web3jService) {
+        this(web3jService, new GradientLimit(), DEFAULT_MAX_QUEUE_DEPTH, DEFAULT_MAX_QUEUE_TIME);
+    }
+
+    /**
+     * @param web3jService the service to send requests with
+     * @param limit the concurrency limit
+     * @param maxQueueDepth maximum number of requests waiting for admission
+     * @param maxQueueTime maximum time in milliseconds a request waits for admission
+     */
+    public ConcurrencyLimitedWeb3jService(
+            Web3jService web3jService, GradientLimit limit, int maxQueueDepth, long maxQueueTime) {
+        this.web3jService = web3jService;
+        this.limit = limit;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxQueueTime = TimeUnit.MILLISECONDS.toNanos(maxQueueTime);
+        for (int i = 0; i < RequestPriority.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /** Returns the current concurrency limit. */
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /** Returns the number of requests waiting for admission. */
+    public synchronized int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public synchronized int getQueueDepth(RequestPriority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    /** Returns the number of requests rejected so far. */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        long start = admit(request.getMethod(), RequestPriority.of(request.getMethod()));
+        T response;
+        try {
+            response = web3jService.send(request, responseType);
+        } catch (IOException | RuntimeException e) {
+            release(start, true);
+            throw e;
+        }
+        release(start, false);
+        return response;
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        String method = request.getMethod();
+        return sendAsync(
+                method,
+                RequestPriority.of(method),
+                () -> web3jService.sendAsync(request, responseType));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        long start = admit(BATCH_METHOD, priorityOf(batchRequest));
+        BatchResponse batchResponse;
+        try {
+            batchResponse = web3jService.sendBatch(batchRequest);
+        } catch (IOException | RuntimeException e) {
+            release(start, true);
+            throw e;
+        }
+        release(start, false);
+        return batchResponse;
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return sendAsync(
+                BATCH_METHOD,
+                priorityOf(batchRequest),
+                () -> web3jService.sendBatchAsync(batchRequest));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+
+    private <T> CompletableFuture<T> sendAsync(
+            String method, RequestPriority priority, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Long> admission = acquire(method, priority);
+        if (!admission.isDone()) {
+            ScheduledFuture<?> timeout =
+                    EXPIRY.schedule(() -> expire(admission), maxQueueTime, TimeUnit.NANOSECONDS);
+            admission.whenComplete((start, rejection) -> timeout.cancel(false));
+        }
+        admission.whenComplete(
+                (start, rejection) -> {
+                    if (rejection != null) {
+                        result.completeExceptionally(rejection);
+                        return;
+                    }
+                    try {
+                        call.get()
+                                .whenComplete(
+                                        (value, throwable) -> {
+                                            release(start, throwable != null);
+                                            if (throwable != null) {
+                                                result.completeExceptionally(throwable);
+                                            } else {
+                                                result.complete(value);
+                                            }
+                                        });
+                    } catch (Throwable e) {
+                        release(start, true);
+                        result.completeExceptionally(e);
+                    }
+                });
+        return result;
+    }
+
+    /** Waits for admission and returns the time the request was admitted at. */
+    private long admit(String method, RequestPriority priority) throws IOException {
+        CompletableFuture<Long> admission = acquire(method, priority);
+        try {
+            try {
+                return admission.get(maxQueueTime, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                expire(admission);
+                // either rejected now or admitted just before
+                return admission.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!admission.cancel(false) && !admission.isCompletedExceptionally()) {
+                // admitted in the meantime
+                abandon();
+            }
+            throw new IOException("Interrupted while waiting for admission", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    /**
+     * Returns a future completed with the admission time once the request has been admitted, or
+     * with a {@link RequestRejectedException} if it has been rejected.
+     */
+    private CompletableFuture<Long> acquire(String method, RequestPriority priority) {
+        long now = System.nanoTime();
+        List<Waiter> admitted = new ArrayList<>();
+        List<Waiter> expired = new ArrayList<>();
+        Waiter waiter = null;
+        Waiter replaced = null;
+        synchronized (this) {
+            expire(now, expired);
+            if (queueDepth == 0 && inFlight < limit.getLimit()) {
+                inFlight++;
+            } else {
+                waiter = new Waiter(method, now);
+                if (queueDepth >= maxQueueDepth) {
+                    replaced = removeLowerThan(priority);
+                }
+                if (queueDepth < maxQueueDepth) {
+                    queues.get(priority.ordinal()).addLast(waiter);
+                    queueDepth++;
+                    // the limit may have grown since the last request completed
+                    drain(admitted);
+                } else {
+                    replaced = waiter;
+                }
+            }
+        }
+
+        complete(now, admitted, expired);
+        if (replaced != null) {
+            reject(replaced, "Request %s rejected, the admission queue is full");
+        }
+        return waiter == null ? CompletableFuture.completedFuture(now) : waiter.admission;
+    }
+
+    private void release(long start, boolean failed) {
+        long now = System.nanoTime();
+        List<Waiter> admitted = new ArrayList<>();
+        List<Waiter> expired = new ArrayList<>();
+        synchronized (this) {
+            limit.onSample(now - start, inFlight, failed);
+            inFlight--;
+            expire(now, expired);
+            drain(admitted);
+        }
+
+        complete(now, admitted, expired);
+    }
+
+    /** Gives back the admission of a request which won't be sent. */
+    private void abandon() {
+        List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            drain(admitted);
+        }
+        complete(System.nanoTime(), admitted, new ArrayList<>());
+    }
+
+    private void drain(List<Waiter> admitted) {
+        int currentLimit = limit.getLimit();
+        while (inFlight < currentLimit && queueDepth > 0) {
+            Waiter waiter = poll();
+            // skip requests whose callers have given up waiting
+            if (!waiter.admission.isDone()) {
+                admitted.add(waiter);
+                inFlight++;
+            }
+        }
+    }
+
+    private void complete(long now, List<Waiter> admitted, List<Waiter> expired) {
+        for (Waiter waiter : expired) {
+            reject(waiter, "Request %s has waited too long for admission");
+        }
+        for (Waiter waiter : admitted) {
+            if (!waiter.admission.complete(now)) {
+                abandon();
+            }
+        }
+    }
+
+    private Waiter poll() {
+        for (ArrayDeque<Waiter> queue : queues) {
+            Waiter waiter = queue.pollFirst();
+            if (waiter != null) {
+                queueDepth--;
+                return waiter;
+            }
+        }
+        throw new IllegalStateException("Queue is empty");
+    }
+
+    private Waiter removeLowerThan(RequestPriority priority) {
+        for (int i = queues.size() - 1; i > priority.ordinal(); i--) {
+            Waiter waiter = queues.get(i).pollLast();
+            if (waiter != null) {
+                queueDepth--;
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private void expire(long now, List<Waiter> expired) {
+        for (ArrayDeque<Waiter> queue : queues) {
+            while (!queue.isEmpty() && now - queue.peekFirst().queued > maxQueueTime) {
+                expired.add(queue.pollFirst());
+                queueDepth--;
+            }
+        }
+    }
+
+    /** Rejects a request which is still waiting for admission. */
+    private void expire(CompletableFuture<Long> admission) {
+        Waiter expired = null;
+        synchronized (this) {
+            for (ArrayDeque<Waiter> queue : queues) {
+                for (Iterator<Waiter> iterator = queue.iterator(); iterator.hasNext(); ) {
+                    Waiter waiter = iterator.next();
+                    if (waiter.admission == admission) {
+                        iterator.remove();
+                        queueDepth--;
+                        expired = waiter;
+                        break;
+                    }
+                }
+            }
+        }
+        if (expired != null) {
+            reject(expired, "Request %s has waited too long for admission");
+        }
+    }
+
+    private void reject(Waiter waiter, String message) {
+        if (waiter.admission.completeExceptionally(
+                new RequestRejectedException(
+                        waiter.method, String.format(message, waiter.method)))) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    private static RequestPriority priorityOf(BatchRequest batchRequest) {
+        RequestPriority priority = RequestPriority.HISTORY;
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            RequestPriority requestPriority = RequestPriority.of(request.getMethod());
+            if (requestPriority.compareTo(priority) < 0) {
+                priority = requestPriority;
+            }
+        }
+        return priority;
+    }
+
+    private static class Waiter {
+
+        private final String method;
+        private final long queued;
+        private final CompletableFuture<Long> admission = new CompletableFuture<>();
+
+        Waiter(String method, long queued) {
+            this.method = method;
+            this.queued = queued;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.admission;
+
+/**
+ * Concurrency limit following the round trip time of requests.
+ *
+ * <p>The limit is multiplied by the ratio of the long term average round trip time to the current
+ * one, so that it shrinks as soon as requests take longer than usual, and grows by its square root
+ * otherwise. Failed requests reduce the limit by a fixed factor. The limit only grows while it is
+ * actually used, so that it can't drift upwards while the load is low.
+ */
+public class GradientLimit {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 2;
+    public static final int DEFAULT_MAX_LIMIT = 500;
+
+    private static final double RTT_WEIGHT = 0.01;
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private double longRtt;
+
+    public GradientLimit() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException(
+                    "Invalid limits: " + initialLimit + ", " + minLimit + ", " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /** Returns the long term average round trip time in nanoseconds. */
+    public synchronized long getRtt() {
+        return (long) longRtt;
+    }
+
+    /**
+     * Updates the limit with a completed request.
+     *
+     * @param rtt round trip time of the request in nanoseconds
+     * @param inFlight number of requests in flight when the request completed, including it
+     * @param failed whether the request failed without a response
+     */
+    public synchronized void onSample(long rtt, int inFlight, boolean failed) {
+        if (failed) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+            return;
+        }
+
+        longRtt = longRtt == 0 ? rtt : longRtt + RTT_WEIGHT * (rtt - longRtt);
+        if (inFlight < limit / 2) {
+            return;
+        }
+
+        double ratio = TOLERANCE * longRtt / Math.max(rtt, 1);
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1, ratio));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit + SMOOTHING * (newLimit - limit)));
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.admission;
+
+/** Priority of a request waiting for admission, in descending order. */
+public enum RequestPriority {
+    /**
+     * Transactions, such as {@code tx_sendSignedTransaction}, and the requests preparing them.
+     */
+    WRITE,
+    /** Transaction receipts, which transactions are waiting for. */
+    RECEIPT,
+    /** Reads of the current state, such as balances and nonces. */
+    READ,
+    /** Reads of historical blocks and transactions. */
+    HISTORY;
+
+    public static RequestPriority of(String method) {
+        if (method == null) {
+            return READ;
+        } else if (method.startsWith("tx_") || method.startsWith("account_send")) {
+            return WRITE;
+        }
+
+        switch (method) {
+            case "tol_getTransactionProtobuf":
+                // fetched to sign every transaction
+                return WRITE;
+            case "tol_getTransactionReceipt":
+                return RECEIPT;
+            case "tol_getBlockByHash":
+            case "tol_getBlockByIndex":
+            case "tol_getTransaction":
+            case "tol_getTransactionList":
+                return HISTORY;
+            default:
+                return READ;
+        }
+    }
+}
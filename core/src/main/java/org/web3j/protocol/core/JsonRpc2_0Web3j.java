@@ -22,6 +22,7 @@ import io.reactivex.Flowable;
 import org.web3j.crypto.RawTransaction;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.filters.FilterPoller;
 import org.web3j.protocol.core.methods.request.ShhFilter;
 import org.web3j.protocol.core.methods.request.ShhPost;
 import org.web3j.protocol.core.methods.request.SignedTransaction;
@@ -29,6 +30,7 @@ import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
 import org.web3j.protocol.core.methods.response.admin.AdminNodeInfo;
 import org.web3j.protocol.core.methods.response.admin.AdminPeers;
+import org.web3j.protocol.rx.FilterBackpressure;
 import org.web3j.protocol.rx.JsonRpc2_0Rx;
 import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
@@ -52,8 +54,27 @@ public class JsonRpc2_0Web3j implements Web3j {
             Web3jService web3jService,
             long pollingInterval,
             ScheduledExecutorService scheduledExecutorService) {
+        this(web3jService, pollingInterval, scheduledExecutorService, false);
+    }
+
+    /**
+     * Creates a new instance which, if {@code batchFilterPolling} is set, polls the changes of all
+     * of its filter flowables through one {@link FilterPoller} with a single batch request per
+     * polling interval.
+     */
+    public JsonRpc2_0Web3j(
+            Web3jService web3jService,
+            long pollingInterval,
+            ScheduledExecutorService scheduledExecutorService,
+            boolean batchFilterPolling) {
         this.web3jService = web3jService;
-        this.web3jRx = new JsonRpc2_0Rx(this, scheduledExecutorService);
+        this.web3jRx =
+                new JsonRpc2_0Rx(
+                        this,
+                        scheduledExecutorService,
+                        batchFilterPolling
+                                ? new FilterPoller(this, scheduledExecutorService, pollingInterval)
+                                : null);
         this.blockTime = pollingInterval;
         this.scheduledExecutorService = scheduledExecutorService;
     }
@@ -508,6 +529,23 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.ethLogFlowable(ethFilter, blockTime);
     }
 
+    @Override
+    public Flowable<String> ethBlockHashFlowable(FilterBackpressure backpressure) {
+        return web3jRx.ethBlockHashFlowable(blockTime, backpressure);
+    }
+
+    @Override
+    public Flowable<String> ethPendingTransactionHashFlowable(FilterBackpressure backpressure) {
+        return web3jRx.ethPendingTransactionHashFlowable(blockTime, backpressure);
+    }
+
+    @Override
+    public Flowable<Log> ethLogFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            FilterBackpressure backpressure) {
+        return web3jRx.ethLogFlowable(ethFilter, blockTime, backpressure);
+    }
+
     @Override
     public Flowable<org.web3j.protocol.core.methods.response.Transaction> transactionFlowable() {
         return web3jRx.transactionFlowable(blockTime);
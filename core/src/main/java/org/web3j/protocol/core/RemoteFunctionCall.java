@@ -28,10 +28,27 @@ import org.web3j.abi.datatypes.Type;
 public class RemoteFunctionCall<T> extends RemoteCall<T> {
 
     private final Function function;
+    private final java.util.function.Function<List<Type>, T> resultConverter;
 
     public RemoteFunctionCall(Function function, Callable<T> callable) {
+        this(function, callable, null);
+    }
+
+    /**
+     * @param resultConverter converts the decoded response into the result of the call, so that
+     *     the call can also be sent outside of this object, e.g. in a batch
+     */
+    public RemoteFunctionCall(
+            Function function,
+            Callable<T> callable,
+            java.util.function.Function<List<Type>, T> resultConverter) {
         super(callable);
         this.function = function;
+        this.resultConverter = resultConverter;
+    }
+
+    public Function getFunction() {
+        return function;
     }
 
     /**
@@ -52,4 +69,22 @@ public class RemoteFunctionCall<T> extends RemoteCall<T> {
     public List<Type> decodeFunctionResponse(String response) {
         return FunctionReturnDecoder.decode(response, function.getOutputParameters());
     }
+
+    public boolean canDecodeResult() {
+        return resultConverter != null;
+    }
+
+    /**
+     * decode a method response into the result of this call
+     *
+     * @param response the encoded response
+     * @return the same result as when sending this call
+     */
+    public T decodeResult(String response) {
+        if (resultConverter == null) {
+            throw new UnsupportedOperationException(
+                    "The result of " + function.getName() + " can only be decoded by sending it");
+        }
+        return resultConverter.apply(decodeFunctionResponse(response));
+    }
 }
@@ -83,6 +83,25 @@ public class Request<S, T extends Response> {
         return responseType;
     }
 
+    /**
+     * Returns a copy of this request which deserializes its response into another type, such as
+     * one of the lite response types of {@link org.web3j.protocol.core.methods.response.lite}.
+     *
+     * @param responseType the response type to use
+     * @param <R> the response type to use
+     * @return a copy of this request with the same id
+     */
+    public <R extends Response> Request<S, R> withResponseType(Class<R> responseType) {
+        Request<S, R> request = new Request<>();
+        request.jsonrpc = jsonrpc;
+        request.method = method;
+        request.params = params;
+        request.id = id;
+        request.web3jService = web3jService;
+        request.responseType = responseType;
+        return request;
+    }
+
     public T send() throws IOException {
         return web3jService.send(this, responseType);
     }
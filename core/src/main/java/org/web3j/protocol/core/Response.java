@@ -12,6 +12,9 @@
  */
 package org.web3j.protocol.core;
 
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
@@ -28,7 +31,8 @@ public class Response<T> {
     private String jsonrpc;
     private T result;
     private Error error;
-    private String rawResponse;
+    private volatile String rawResponse;
+    private volatile byte[] rawResponseBytes;
 
     public Response() {}
 
@@ -69,11 +73,39 @@ public class Response<T> {
     }
 
     public String getRawResponse() {
+        byte[] bytes = rawResponseBytes;
+        if (bytes != null) {
+            rawResponse = decodeRawResponse(bytes);
+            rawResponseBytes = null;
+        }
         return rawResponse;
     }
 
     public void setRawResponse(String rawResponse) {
         this.rawResponse = rawResponse;
+        this.rawResponseBytes = null;
+    }
+
+    /**
+     * Set the raw response as UTF-8 encoded bytes, which are only decoded once {@link
+     * #getRawResponse()} is called.
+     */
+    @JsonIgnore
+    public void setRawResponseBytes(byte[] rawResponse) {
+        this.rawResponse = null;
+        this.rawResponseBytes = rawResponse;
+    }
+
+    private static String decodeRawResponse(byte[] bytes) {
+        // a single trailing line terminator is not part of the response
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\n') {
+            length--;
+            if (length > 0 && bytes[length - 1] == '\r') {
+                length--;
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
     }
 
     public static class Error {
@@ -12,7 +12,6 @@
  */
 package org.web3j.protocol.core.filters;
 
-import java.io.IOException;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
@@ -30,8 +29,8 @@ public class BlockFilter extends Filter<String> {
     }
 
     @Override
-    EthFilter sendRequest() throws IOException {
-        return web3j.ethNewBlockFilter().send();
+    Request<?, EthFilter> newFilterRequest() {
+        return web3j.ethNewBlockFilter();
     }
 
     @Override
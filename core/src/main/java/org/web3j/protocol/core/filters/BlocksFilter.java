@@ -12,7 +12,6 @@
  */
 package org.web3j.protocol.core.filters;
 
-import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
@@ -32,8 +31,8 @@ public class BlocksFilter extends Filter<List<String>> {
     }
 
     @Override
-    EthFilter sendRequest() throws IOException {
-        return web3j.ethNewBlockFilter().send();
+    Request<?, EthFilter> newFilterRequest() {
+        return web3j.ethNewBlockFilter();
     }
 
     @Override
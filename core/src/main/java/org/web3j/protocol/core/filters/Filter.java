@@ -49,6 +49,10 @@ public abstract class Filter<T> {
 
     private long blockTime;
 
+    private FilterPoller filterPoller;
+
+    private volatile boolean paused;
+
     public Filter(Web3j web3j, Callback<T> callback) {
         this.web3j = web3j;
         this.callback = callback;
@@ -57,11 +61,7 @@ public abstract class Filter<T> {
     public void run(ScheduledExecutorService scheduledExecutorService, long blockTime) {
         try {
             EthFilter ethFilter = sendRequest();
-            if (ethFilter.hasError()) {
-                throwException(ethFilter.getError());
-            }
-
-            filterId = ethFilter.getFilterId();
+            install(ethFilter);
             this.scheduledExecutorService = scheduledExecutorService;
             this.blockTime = blockTime;
             // this runs in the caller thread as if any exceptions are encountered, we shouldn't
@@ -89,7 +89,9 @@ public abstract class Filter<T> {
                     scheduledExecutorService.scheduleAtFixedRate(
                             () -> {
                                 try {
-                                    this.pollFilter(ethFilter);
+                                    if (!paused) {
+                                        this.pollFilter(ethFilter);
+                                    }
                                 } catch (Throwable e) {
                                     // All exceptions must be caught, otherwise our job terminates
                                     // without
@@ -105,7 +107,59 @@ public abstract class Filter<T> {
         }
     }
 
-    private void getInitialFilterLogs() {
+    /**
+     * Run this filter using a shared {@link FilterPoller}, which polls for the changes of all its
+     * filters in a single batch request.
+     *
+     * @param filterPoller poller to register this filter with
+     */
+    public void run(FilterPoller filterPoller) {
+        try {
+            install(sendRequest());
+        } catch (IOException e) {
+            throwException(e);
+        }
+        getInitialFilterLogs();
+
+        this.filterPoller = filterPoller;
+        filterPoller.register(this);
+    }
+
+    /**
+     * Stop polling for changes until {@link #resume()} is called. Changes collected by the node in
+     * the meantime are delivered with the first poll after resuming.
+     *
+     * <p>Nodes uninstall filters which haven't been polled for a while, e.g. after five minutes
+     * for Geth. A filter paused for longer is reinstalled when it is resumed and the changes of
+     * the pause are lost, apart from log filters which deliver the logs of the reinstalled filter
+     * again. Pauses should therefore be kept shorter than the filter timeout of the node.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /** Resume polling for changes after {@link #pause()}. */
+    public void resume() {
+        paused = false;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    void install(EthFilter ethFilter) {
+        if (ethFilter.hasError()) {
+            throwException(ethFilter.getError());
+        }
+
+        filterId = ethFilter.getFilterId();
+    }
+
+    BigInteger getFilterId() {
+        return filterId;
+    }
+
+    void getInitialFilterLogs() {
         try {
             Optional<Request<?, EthLog>> maybeRequest = this.getFilterLogs(this.filterId);
             EthLog ethLog = null;
@@ -145,7 +199,11 @@ public abstract class Filter<T> {
         }
     }
 
-    abstract EthFilter sendRequest() throws IOException;
+    EthFilter sendRequest() throws IOException {
+        return newFilterRequest().send();
+    }
+
+    abstract Request<?, EthFilter> newFilterRequest();
 
     abstract void process(List<EthLog.LogResult> logResults);
 
@@ -156,7 +214,12 @@ public abstract class Filter<T> {
     }
 
     public void cancel() {
-        schedule.cancel(false);
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        if (filterPoller != null) {
+            filterPoller.unregister(this);
+        }
 
         try {
             EthUninstallFilter ethUninstallFilter = web3j.ethUninstallFilter(filterId).send();
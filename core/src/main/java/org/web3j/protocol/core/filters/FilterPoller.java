@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.RpcErrors;
+import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+
+/**
+ * Polls the changes of many {@link Filter}s with a single JSON-RPC batch request per tick.
+ *
+ * <p>Filters are added using {@link Filter#run(FilterPoller)} and removed when they are cancelled.
+ * Filters which are no longer known to the node are reinstalled together in one batch request.
+ *
+ * <p>While none of the filters receive any changes the polling interval is stretched, up to the
+ * configured maximum, and it is reset as soon as changes arrive again. Paused filters are left out
+ * of the batch until they are resumed.
+ */
+public class FilterPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(FilterPoller.class);
+
+    private final Web3j web3j;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long pollingInterval;
+    private final long maxPollingInterval;
+
+    private final List<Filter<?>> filters = new CopyOnWriteArrayList<>();
+
+    private ScheduledFuture<?> schedule;
+    private long generation;
+    private volatile long currentPollingInterval;
+
+    public FilterPoller(
+            Web3j web3j, ScheduledExecutorService scheduledExecutorService, long pollingInterval) {
+        this(web3j, scheduledExecutorService, pollingInterval, pollingInterval * 4);
+    }
+
+    public FilterPoller(
+            Web3j web3j,
+            ScheduledExecutorService scheduledExecutorService,
+            long pollingInterval,
+            long maxPollingInterval) {
+        if (pollingInterval <= 0 || maxPollingInterval < pollingInterval) {
+            throw new IllegalArgumentException(
+                    "Invalid polling intervals: " + pollingInterval + ", " + maxPollingInterval);
+        }
+        this.web3j = web3j;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.pollingInterval = pollingInterval;
+        this.maxPollingInterval = maxPollingInterval;
+        this.currentPollingInterval = pollingInterval;
+    }
+
+    public int getFilterCount() {
+        return filters.size();
+    }
+
+    public long getCurrentPollingInterval() {
+        return currentPollingInterval;
+    }
+
+    synchronized void register(Filter<?> filter) {
+        filters.add(filter);
+        currentPollingInterval = pollingInterval;
+        if (schedule == null) {
+            long current = ++generation;
+            schedule =
+                    scheduledExecutorService.schedule(
+                            () -> tick(current), 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void unregister(Filter<?> filter) {
+        filters.remove(filter);
+        if (filters.isEmpty() && schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+            // make sure a poll which is currently running doesn't schedule another one
+            generation++;
+        }
+    }
+
+    private void tick(long current) {
+        try {
+            poll();
+        } catch (Throwable e) {
+            // All exceptions must be caught, otherwise polling stops without any notification
+            log.error("Error polling filters", e);
+        }
+
+        synchronized (this) {
+            if (current == generation && !filters.isEmpty()) {
+                schedule =
+                        scheduledExecutorService.schedule(
+                                () -> tick(current),
+                                currentPollingInterval,
+                                TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    void poll() throws IOException {
+        List<Filter<?>> polled = new ArrayList<>(filters.size());
+        for (Filter<?> filter : filters) {
+            if (!filter.isPaused()) {
+                polled.add(filter);
+            }
+        }
+        if (polled.isEmpty()) {
+            return;
+        }
+
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Filter<?> filter : polled) {
+            batchRequest.add(web3j.ethGetFilterChanges(filter.getFilterId()));
+        }
+        List<? extends Response<?>> responses = batchRequest.send().getResponses();
+
+        boolean changed = false;
+        List<Filter<?>> notFound = new ArrayList<>();
+        for (int i = 0; i < polled.size(); i++) {
+            Filter<?> filter = polled.get(i);
+            EthLog ethLog = (EthLog) responses.get(i);
+
+            if (ethLog.hasError()) {
+                if (ethLog.getError().getCode() == RpcErrors.FILTER_NOT_FOUND) {
+                    notFound.add(filter);
+                } else {
+                    log.error(
+                            "Error polling filter {}: {}",
+                            filter.getFilterId(),
+                            ethLog.getError().getMessage());
+                }
+            } else if (ethLog.getLogs() != null && !ethLog.getLogs().isEmpty()) {
+                changed = true;
+                process(filter, ethLog.getLogs());
+            }
+        }
+
+        if (!notFound.isEmpty()) {
+            reinstall(notFound);
+        }
+
+        if (changed) {
+            currentPollingInterval = pollingInterval;
+        } else {
+            currentPollingInterval =
+                    Math.min(maxPollingInterval, currentPollingInterval + pollingInterval / 2);
+        }
+    }
+
+    private void reinstall(List<Filter<?>> notFound) throws IOException {
+        log.warn("{} filters have not been found, reinstalling them", notFound.size());
+
+        BatchRequest installRequest = web3j.newBatch();
+        for (Filter<?> filter : notFound) {
+            installRequest.add(filter.newFilterRequest());
+        }
+        List<? extends Response<?>> installed = installRequest.send().getResponses();
+
+        BatchRequest logsRequest = web3j.newBatch();
+        List<Filter<?>> withLogs = new ArrayList<>();
+        for (int i = 0; i < notFound.size(); i++) {
+            Filter<?> filter = notFound.get(i);
+            try {
+                filter.install((EthFilter) installed.get(i));
+            } catch (FilterException e) {
+                log.error("Failed to reinstall filter", e);
+                continue;
+            }
+
+            Optional<Request<?, EthLog>> filterLogs = filter.getFilterLogs(filter.getFilterId());
+            if (filterLogs.isPresent()) {
+                logsRequest.add(filterLogs.get());
+                withLogs.add(filter);
+            }
+        }
+
+        if (!withLogs.isEmpty()) {
+            List<? extends Response<?>> logs = logsRequest.send().getResponses();
+            for (int i = 0; i < withLogs.size(); i++) {
+                EthLog ethLog = (EthLog) logs.get(i);
+                if (!ethLog.hasError() && ethLog.getLogs() != null) {
+                    process(withLogs.get(i), ethLog.getLogs());
+                }
+            }
+        }
+    }
+
+    private void process(Filter<?> filter, List<EthLog.LogResult> logResults) {
+        try {
+            filter.process(logResults);
+        } catch (Throwable e) {
+            // a failing callback must not prevent the other filters from being notified
+            log.error("Error processing changes of filter " + filter.getFilterId(), e);
+        }
+    }
+}
@@ -12,7 +12,6 @@
  */
 package org.web3j.protocol.core.filters;
 
-import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,8 +38,8 @@ public class LogsFilter extends Filter<List<Log>> {
     }
 
     @Override
-    EthFilter sendRequest() throws IOException {
-        return web3j.ethNewFilter(ethFilter).send();
+    Request<?, EthFilter> newFilterRequest() {
+        return web3j.ethNewFilter(ethFilter);
     }
 
     @Override
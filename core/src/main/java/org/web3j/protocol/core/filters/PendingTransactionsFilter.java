@@ -12,7 +12,6 @@
  */
 package org.web3j.protocol.core.filters;
 
-import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,8 +30,8 @@ public class PendingTransactionsFilter extends Filter<List<String>> {
     }
 
     @Override
-    EthFilter sendRequest() throws IOException {
-        return web3j.ethNewPendingTransactionFilter().send();
+    Request<?, EthFilter> newFilterRequest() {
+        return web3j.ethNewPendingTransactionFilter();
     }
 
     @Override
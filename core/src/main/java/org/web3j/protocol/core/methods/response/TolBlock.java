@@ -121,7 +121,7 @@ public class TolBlock extends Response<TolBlock.Block> {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Block block = (Block) o;
-            return blockIndex == block.blockIndex
+            return Objects.equals(blockIndex, block.blockIndex)
                     && confirmationTimestamp == block.confirmationTimestamp
                     && Objects.equals(previousBlockHash, block.previousBlockHash)
                     && Objects.equals(transactionHashes, block.transactionHashes);
@@ -216,7 +216,7 @@ public class Transaction {
         if (o == null || getClass() != o.getClass()) return false;
         Transaction that = (Transaction) o;
         return excepted == that.excepted
-                && confirmationTimestamp == that.confirmationTimestamp
+                && Objects.equals(confirmationTimestamp, that.confirmationTimestamp)
                 && Objects.equals(blockHash, that.blockHash)
                 && Objects.equals(transactionIndex, that.transactionIndex)
                 && Objects.equals(senderAddress, that.senderAddress)
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.lite;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.deserializer.JsonTokens;
+
+import static org.web3j.protocol.core.methods.response.lite.LiteCodec.ABSENT;
+
+/**
+ * Compact, lazily decoded alternative to {@link TolBlock.Block}, see {@link LiteTolBlock}.
+ *
+ * <p>Transaction hashes are kept as bytes and only converted to strings when they are accessed.
+ */
+@JsonDeserialize(using = LiteBlock.Deserializer.class)
+public class LiteBlock {
+
+    private long blockIndex = ABSENT;
+    private byte[] previousBlockHash;
+    private byte[][] transactionHashes;
+    private long confirmationTimestamp;
+
+    public long getBlockIndex() {
+        return blockIndex;
+    }
+
+    public String getPreviousBlockHash() {
+        return LiteCodec.toHex(previousBlockHash);
+    }
+
+    public int getTransactionCount() {
+        return transactionHashes == null ? 0 : transactionHashes.length;
+    }
+
+    public String getTransactionHash(int index) {
+        return LiteCodec.toHex(transactionHashes[index]);
+    }
+
+    public List<String> getTransactionHashes() {
+        return LiteCodec.toHex(transactionHashes);
+    }
+
+    public long getConfirmationTimestamp() {
+        return confirmationTimestamp;
+    }
+
+    /** Decode all fields into a regular {@link TolBlock.Block}. */
+    public TolBlock.Block toBlock() {
+        return new TolBlock.Block(
+                LiteCodec.toBigInteger(blockIndex, null),
+                getPreviousBlockHash(),
+                getTransactionHashes(),
+                confirmationTimestamp);
+    }
+
+    static LiteBlock read(JsonParser parser) throws IOException {
+        LiteBlock block = new LiteBlock();
+        String name = JsonTokens.firstField(parser, LiteBlock.class);
+        for (; name != null; name = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (name) {
+                case "block_index":
+                    block.blockIndex = JsonTokens.readLong(parser);
+                    break;
+                case "previous_block_hash":
+                    block.previousBlockHash = LiteCodec.readHex(parser);
+                    break;
+                case "transaction_hashes":
+                    block.transactionHashes = LiteCodec.readHexArray(parser);
+                    break;
+                case "confirmation_timestamp":
+                    block.confirmationTimestamp = parser.getValueAsLong();
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return block;
+    }
+
+    public static class Deserializer extends JsonDeserializer<LiteBlock> {
+
+        @Override
+        public LiteBlock deserialize(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            return read(jsonParser);
+        }
+    }
+}
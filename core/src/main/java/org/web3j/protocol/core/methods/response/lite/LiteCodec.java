@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.lite;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.web3j.protocol.deserializer.JsonTokens;
+
+/**
+ * Decoding of the compact field representations used by the lite response models.
+ *
+ * <ul>
+ *   <li>Quantities are kept as {@code long}, {@link #ABSENT} if the field is missing. Quantities
+ *       which may exceed a long keep their text, which is only decoded when accessed.
+ *   <li>Hex strings are kept as bytes, with a leading byte recording whether they had a {@code 0x}
+ *       prefix. Strings which are not lower case hex are kept as UTF-8 text.
+ *   <li>Addresses are interned, so that the many repetitions of the same address share a single
+ *       instance.
+ * </ul>
+ *
+ * <p>Values are read straight from the character buffer of the parser where possible.
+ */
+final class LiteCodec {
+
+    static final long ABSENT = JsonTokens.ABSENT;
+
+    private static final byte HEX = 0;
+    private static final byte PREFIXED_HEX = 1;
+    private static final byte TEXT = 2;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Interner ADDRESSES = new Interner(4096);
+
+    private LiteCodec() {}
+
+    static BigInteger toBigInteger(long value, String text) {
+        if (text != null) {
+            return JsonTokens.toBigInteger(text);
+        }
+        return value == ABSENT ? null : BigInteger.valueOf(value);
+    }
+
+    static byte[] readHex(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+
+        boolean prefixed = length >= 2 && chars[offset] == '0' && chars[offset + 1] == 'x';
+        int start = prefixed ? offset + 2 : offset;
+        int digits = length - (start - offset);
+        if (digits % 2 == 0) {
+            byte[] value = new byte[digits / 2 + 1];
+            value[0] = prefixed ? PREFIXED_HEX : HEX;
+            int i = 1;
+            for (; i < value.length; i++) {
+                int high = hexDigit(chars[start + 2 * (i - 1)]);
+                int low = hexDigit(chars[start + 2 * (i - 1) + 1]);
+                if (high < 0 || low < 0) {
+                    break;
+                }
+                value[i] = (byte) ((high << 4) | low);
+            }
+            if (i == value.length) {
+                return value;
+            }
+        }
+
+        byte[] text = parser.getText().getBytes(StandardCharsets.UTF_8);
+        byte[] value = new byte[text.length + 1];
+        value[0] = TEXT;
+        System.arraycopy(text, 0, value, 1, text.length);
+        return value;
+    }
+
+    static byte[][] readHexArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<byte[]> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readHex(parser));
+        }
+        return values.toArray(new byte[values.size()][]);
+    }
+
+    static String toHex(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        if (value[0] == TEXT) {
+            return new String(value, 1, value.length - 1, StandardCharsets.UTF_8);
+        }
+
+        int i = 0;
+        char[] chars = new char[(value.length - 1) * 2 + (value[0] == PREFIXED_HEX ? 2 : 0)];
+        if (value[0] == PREFIXED_HEX) {
+            chars[i++] = '0';
+            chars[i++] = 'x';
+        }
+        for (int j = 1; j < value.length; j++) {
+            chars[i++] = HEX_DIGITS[(value[j] >> 4) & 0xF];
+            chars[i++] = HEX_DIGITS[value[j] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    static List<String> toHex(byte[][] values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> result = new ArrayList<>(values.length);
+        for (byte[] value : values) {
+            result.add(toHex(value));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    static String readAddress(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ADDRESSES.intern(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Lossy intern table, a string is looked up without being created first and replaces the
+     * entry of its slot on a miss.
+     */
+    private static class Interner {
+
+        private final String[] table;
+
+        Interner(int size) {
+            table = new String[size];
+        }
+
+        String intern(char[] chars, int offset, int length) {
+            int hash = 0;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + chars[i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & (table.length - 1);
+
+            String value = table[slot];
+            if (value != null && matches(value, chars, offset, length)) {
+                return value;
+            }
+            value = new String(chars, offset, length);
+            table[slot] = value;
+            return value;
+        }
+
+        private static boolean matches(String value, char[] chars, int offset, int length) {
+            if (value.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) != chars[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
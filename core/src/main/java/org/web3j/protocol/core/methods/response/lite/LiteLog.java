@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.lite;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.deserializer.JsonTokens;
+import org.web3j.utils.Numeric;
+
+import static org.web3j.protocol.core.methods.response.lite.LiteCodec.ABSENT;
+
+/**
+ * Compact, lazily decoded alternative to {@link Log}, used by {@link LiteTransactionReceipt}.
+ *
+ * <p>Quantities which are absent from the response are returned as -1.
+ */
+@JsonDeserialize(using = LiteLog.Deserializer.class)
+public class LiteLog {
+
+    private boolean removed;
+    private long logIndex = ABSENT;
+    private long transactionIndex = ABSENT;
+    private byte[] transactionHash;
+    private byte[] blockHash;
+    private long blockNumber = ABSENT;
+    private String address;
+    private byte[] data;
+    private String type;
+    private byte[][] topics;
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public long getLogIndex() {
+        return logIndex;
+    }
+
+    public long getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    public String getTransactionHash() {
+        return LiteCodec.toHex(transactionHash);
+    }
+
+    public String getBlockHash() {
+        return LiteCodec.toHex(blockHash);
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getData() {
+        return LiteCodec.toHex(data);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getTopicCount() {
+        return topics == null ? 0 : topics.length;
+    }
+
+    public String getTopic(int index) {
+        return LiteCodec.toHex(topics[index]);
+    }
+
+    public List<String> getTopics() {
+        return LiteCodec.toHex(topics);
+    }
+
+    /** Decode all fields into a regular {@link Log}, quantities are encoded as hex. */
+    public Log toLog() {
+        return new Log(
+                removed,
+                encodeQuantity(logIndex),
+                encodeQuantity(transactionIndex),
+                getTransactionHash(),
+                getBlockHash(),
+                encodeQuantity(blockNumber),
+                address,
+                getData(),
+                type,
+                getTopics());
+    }
+
+    private static String encodeQuantity(long value) {
+        return value == ABSENT ? null : Numeric.encodeQuantity(BigInteger.valueOf(value));
+    }
+
+    static LiteLog read(JsonParser parser) throws IOException {
+        LiteLog log = new LiteLog();
+        String name = JsonTokens.firstField(parser, LiteLog.class);
+        for (; name != null; name = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (name) {
+                case "removed":
+                    log.removed = parser.getValueAsBoolean();
+                    break;
+                case "logIndex":
+                    log.logIndex = JsonTokens.readLong(parser);
+                    break;
+                case "transactionIndex":
+                    log.transactionIndex = JsonTokens.readLong(parser);
+                    break;
+                case "transactionHash":
+                    log.transactionHash = LiteCodec.readHex(parser);
+                    break;
+                case "blockHash":
+                    log.blockHash = LiteCodec.readHex(parser);
+                    break;
+                case "blockNumber":
+                    log.blockNumber = JsonTokens.readLong(parser);
+                    break;
+                case "address":
+                    log.address = LiteCodec.readAddress(parser);
+                    break;
+                case "data":
+                    log.data = LiteCodec.readHex(parser);
+                    break;
+                case "type":
+                    log.type = parser.getValueAsString();
+                    break;
+                case "topics":
+                    log.topics = LiteCodec.readHexArray(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return log;
+    }
+
+    public static class Deserializer extends JsonDeserializer<LiteLog> {
+
+        @Override
+        public LiteLog deserialize(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            return read(jsonParser);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.lite;
+
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolBlock;
+
+/**
+ * Lite alternative to {@link TolBlock} for tol_getBlockByIndex and tol_getBlockByHash.
+ *
+ * <pre>
+ * LiteBlock block = web3j.tolGetBlockByIndex(blockParameter)
+ *         .withResponseType(LiteTolBlock.class)
+ *         .send()
+ *         .getBlock();
+ * </pre>
+ */
+public class LiteTolBlock extends Response<LiteBlock> {
+
+    public LiteBlock getBlock() {
+        return getResult();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.lite;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.deserializer.JsonTokens;
+
+import static org.web3j.protocol.core.methods.response.lite.LiteCodec.ABSENT;
+
+/**
+ * Compact, lazily decoded alternative to {@link Transaction}, see {@link LiteTolTransaction}.
+ *
+ * <p>Quantities which are absent from the response are returned as -1 by the primitive getters
+ * and as null by the {@link BigInteger} getters.
+ */
+@JsonDeserialize(using = LiteTransaction.Deserializer.class)
+public class LiteTransaction {
+
+    private byte[] blockHash;
+    private long transactionIndex = ABSENT;
+    private String senderAddress;
+    private String receiverAddress;
+    private long value = ABSENT;
+    private String valueText;
+    private long gas = ABSENT;
+    private long gasPrice = ABSENT;
+    private String gasPriceText;
+    private byte[] data;
+    private long nonce = ABSENT;
+    private long gasUsed = ABSENT;
+    private long gasRefunded = ABSENT;
+    private String newAddress;
+    private byte[] output;
+    private boolean excepted;
+    private long confirmationTimestamp = ABSENT;
+
+    public String getBlockHash() {
+        return LiteCodec.toHex(blockHash);
+    }
+
+    public long getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    public String getSenderAddress() {
+        return senderAddress;
+    }
+
+    public String getReceiverAddress() {
+        return receiverAddress;
+    }
+
+    public BigInteger getValue() {
+        return LiteCodec.toBigInteger(value, valueText);
+    }
+
+    public long getGas() {
+        return gas;
+    }
+
+    public BigInteger getGasPrice() {
+        return LiteCodec.toBigInteger(gasPrice, gasPriceText);
+    }
+
+    public String getData() {
+        return LiteCodec.toHex(data);
+    }
+
+    public long getNonce() {
+        return nonce;
+    }
+
+    public long getGasUsed() {
+        return gasUsed;
+    }
+
+    public long getGasRefunded() {
+        return gasRefunded;
+    }
+
+    public String getNewAddress() {
+        return newAddress;
+    }
+
+    public String getOutput() {
+        return LiteCodec.toHex(output);
+    }
+
+    public boolean isExcepted() {
+        return excepted;
+    }
+
+    public long getConfirmationTimestamp() {
+        return confirmationTimestamp;
+    }
+
+    /** Decode all fields into a regular {@link Transaction}. */
+    public Transaction toTransaction() {
+        return new Transaction(
+                getBlockHash(),
+                LiteCodec.toBigInteger(transactionIndex, null),
+                senderAddress,
+                receiverAddress,
+                getValue(),
+                LiteCodec.toBigInteger(gas, null),
+                getGasPrice(),
+                getData(),
+                LiteCodec.toBigInteger(nonce, null),
+                LiteCodec.toBigInteger(gasUsed, null),
+                LiteCodec.toBigInteger(gasRefunded, null),
+                newAddress,
+                getOutput(),
+                excepted,
+                LiteCodec.toBigInteger(confirmationTimestamp, null));
+    }
+
+    static LiteTransaction read(JsonParser parser) throws IOException {
+        LiteTransaction transaction = new LiteTransaction();
+        String name = JsonTokens.firstField(parser, LiteTransaction.class);
+        for (; name != null; name = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (name) {
+                case "block_hash":
+                    transaction.blockHash = LiteCodec.readHex(parser);
+                    break;
+                case "transaction_index":
+                    transaction.transactionIndex = JsonTokens.readLong(parser);
+                    break;
+                case "sender_address":
+                    transaction.senderAddress = LiteCodec.readAddress(parser);
+                    break;
+                case "receiver_address":
+                    transaction.receiverAddress = LiteCodec.readAddress(parser);
+                    break;
+                case "value":
+                    transaction.value = JsonTokens.readQuantity(parser);
+                    if (transaction.value == JsonTokens.OVERFLOW) {
+                        transaction.valueText = parser.getText();
+                    }
+                    break;
+                case "gas":
+                    transaction.gas = JsonTokens.readLong(parser);
+                    break;
+                case "gas_price":
+                    transaction.gasPrice = JsonTokens.readQuantity(parser);
+                    if (transaction.gasPrice == JsonTokens.OVERFLOW) {
+                        transaction.gasPriceText = parser.getText();
+                    }
+                    break;
+                case "data":
+                    transaction.data = LiteCodec.readHex(parser);
+                    break;
+                case "nonce":
+                    transaction.nonce = JsonTokens.readLong(parser);
+                    break;
+                case "gas_used":
+                    transaction.gasUsed = JsonTokens.readLong(parser);
+                    break;
+                case "gas_refunded":
+                    transaction.gasRefunded = JsonTokens.readLong(parser);
+                    break;
+                case "new_address":
+                    transaction.newAddress = LiteCodec.readAddress(parser);
+                    break;
+                case "output":
+                    transaction.output = LiteCodec.readHex(parser);
+                    break;
+                case "excepted":
+                    transaction.excepted = parser.getValueAsBoolean();
+                    break;
+                case "confirmation_timestamp":
+                    transaction.confirmationTimestamp = JsonTokens.readLong(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return transaction;
+    }
+
+    public static class Deserializer extends JsonDeserializer<LiteTransaction> {
+
+        @Override
+        public LiteTransaction deserialize(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            return read(jsonParser);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.lite;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.deserializer.JsonTokens;
+
+import static org.web3j.protocol.core.methods.response.lite.LiteCodec.ABSENT;
+
+/**
+ * Compact, lazily decoded alternative to {@link TransactionReceipt}, see {@link
+ * LiteTolGetTransactionReceipt}.
+ *
+ * <p>Quantities which are absent from the response are returned as -1.
+ */
+@JsonDeserialize(using = LiteTransactionReceipt.Deserializer.class)
+public class LiteTransactionReceipt {
+
+    private byte[] blockHash;
+    private long transactionIndex = ABSENT;
+    private String senderAddress;
+    private String receiverAddress;
+    private long gasUsed = ABSENT;
+    private String newAddress;
+    private boolean excepted;
+    private long blockNumber = ABSENT;
+    private byte[] hash;
+    private List<LiteLog> logs;
+
+    public String getBlockHash() {
+        return LiteCodec.toHex(blockHash);
+    }
+
+    public long getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    public String getSenderAddress() {
+        return senderAddress;
+    }
+
+    public String getReceiverAddress() {
+        return receiverAddress;
+    }
+
+    public long getGasUsed() {
+        return gasUsed;
+    }
+
+    public String getNewAddress() {
+        return newAddress;
+    }
+
+    public boolean isExcepted() {
+        return excepted;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public String getHash() {
+        return LiteCodec.toHex(hash);
+    }
+
+    public List<LiteLog> getLogs() {
+        return logs;
+    }
+
+    /** Decode all fields into a regular {@link TransactionReceipt}. */
+    public TransactionReceipt toTransactionReceipt() {
+        List<Log> decodedLogs = null;
+        if (logs != null) {
+            decodedLogs = new ArrayList<>(logs.size());
+            for (LiteLog log : logs) {
+                decodedLogs.add(log.toLog());
+            }
+        }
+        return new TransactionReceipt(
+                getBlockHash(),
+                transactionIndex == ABSENT ? null : Long.toString(transactionIndex),
+                senderAddress,
+                receiverAddress,
+                LiteCodec.toBigInteger(gasUsed, null),
+                newAddress,
+                excepted,
+                LiteCodec.toBigInteger(blockNumber, null),
+                getHash(),
+                decodedLogs);
+    }
+
+    static LiteTransactionReceipt read(JsonParser parser) throws IOException {
+        LiteTransactionReceipt receipt = new LiteTransactionReceipt();
+        String name = JsonTokens.firstField(parser, LiteTransactionReceipt.class);
+        for (; name != null; name = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (name) {
+                case "block_hash":
+                    receipt.blockHash = LiteCodec.readHex(parser);
+                    break;
+                case "transaction_index":
+                    receipt.transactionIndex = JsonTokens.readLong(parser);
+                    break;
+                case "sender_address":
+                    receipt.senderAddress = LiteCodec.readAddress(parser);
+                    break;
+                case "receiver_address":
+                    receipt.receiverAddress = LiteCodec.readAddress(parser);
+                    break;
+                case "gas_used":
+                    receipt.gasUsed = JsonTokens.readLong(parser);
+                    break;
+                case "new_address":
+                    receipt.newAddress = LiteCodec.readAddress(parser);
+                    break;
+                case "excepted":
+                    receipt.excepted = parser.getValueAsBoolean();
+                    break;
+                case "block_number":
+                    receipt.blockNumber = JsonTokens.readLong(parser);
+                    break;
+                case "hash":
+                    receipt.hash = LiteCodec.readHex(parser);
+                    break;
+                case "logs":
+                    receipt.logs = readLogs(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return receipt;
+    }
+
+    private static List<LiteLog> readLogs(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<LiteLog> logs = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            logs.add(LiteLog.read(parser));
+        }
+        return Collections.unmodifiableList(logs);
+    }
+
+    public static class Deserializer extends JsonDeserializer<LiteTransactionReceipt> {
+
+        @Override
+        public LiteTransactionReceipt deserialize(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            return read(jsonParser);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+/**
+ * Helpers for deserializers which walk the tokens of a {@link JsonParser} directly, shared by
+ * {@link ResponseDeserializers} and the lite response models so that both accept the same input.
+ *
+ * <p>Quantities are parsed straight from the character buffer of the parser. They are either
+ * decimal or hex with a {@code 0x} prefix, hex digits may be upper or lower case and leading zeros
+ * are allowed. A {@code 0x} prefix without digits, signs and any other character are rejected. An
+ * empty string is read like null.
+ */
+public final class JsonTokens {
+
+    /** Value of a null or empty quantity. */
+    public static final long ABSENT = -1;
+
+    /** Value of a quantity which doesn't fit in a long, see {@link #toBigInteger(String)}. */
+    public static final long OVERFLOW = Long.MIN_VALUE;
+
+    private JsonTokens() {}
+
+    /**
+     * Returns the name of the first field of the object the parser is positioned at, null if the
+     * object is empty.
+     *
+     * @throws JsonMappingException if the parser is not positioned at an object
+     */
+    public static String firstField(JsonParser p, Class<?> type) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return p.nextFieldName();
+        } else if (token == JsonToken.FIELD_NAME) {
+            return p.getCurrentName();
+        } else if (token == JsonToken.END_OBJECT) {
+            return null;
+        }
+        throw JsonMappingException.from(
+                p, "Cannot deserialize " + type.getName() + " out of " + token + " token");
+    }
+
+    /**
+     * Reads the quantity at the current token.
+     *
+     * @return the quantity, {@link #ABSENT} or {@link #OVERFLOW}
+     * @throws JsonMappingException if the token is not a non-negative integer quantity
+     */
+    public static long readQuantity(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return ABSENT;
+        } else if (token == JsonToken.VALUE_NUMBER_INT) {
+            if (p.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                if (p.getBigIntegerValue().signum() >= 0) {
+                    return OVERFLOW;
+                }
+            } else if (p.getLongValue() >= 0) {
+                return p.getLongValue();
+            }
+            throw invalidQuantity(p);
+        } else if (token == JsonToken.VALUE_STRING) {
+            try {
+                return parseQuantity(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            } catch (NumberFormatException e) {
+                throw invalidQuantity(p);
+            }
+        }
+        throw JsonMappingException.from(p, "Expected a quantity but got " + token);
+    }
+
+    /**
+     * Reads the quantity at the current token, which has to fit in a long.
+     *
+     * @return the quantity or {@link #ABSENT}
+     */
+    public static long readLong(JsonParser p) throws IOException {
+        long value = readQuantity(p);
+        if (value == OVERFLOW) {
+            throw JsonMappingException.from(p, "Quantity out of range: " + p.getText());
+        }
+        return value;
+    }
+
+    /**
+     * Reads the quantity at the current token as a {@link BigInteger}, null if absent. Like the
+     * bean deserializer, negative and fractional JSON numbers are accepted as well.
+     */
+    public static BigInteger readBigInteger(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? p.getBigIntegerValue()
+                    : BigInteger.valueOf(p.getLongValue());
+        } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDecimalValue().toBigInteger();
+        }
+        long value = readQuantity(p);
+        if (value == ABSENT) {
+            return null;
+        } else if (value == OVERFLOW) {
+            return toBigInteger(p.getText());
+        }
+        return BigInteger.valueOf(value);
+    }
+
+    /** Decodes the text of a quantity which was read as {@link #OVERFLOW}. */
+    public static BigInteger toBigInteger(String text) {
+        return text.startsWith("0x")
+                ? new BigInteger(text.substring(2), 16)
+                : new BigInteger(text);
+    }
+
+    static long parseQuantity(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return ABSENT;
+        }
+        boolean hex = length >= 2 && chars[offset] == '0' && chars[offset + 1] == 'x';
+        int start = hex ? offset + 2 : offset;
+        int end = offset + length;
+        if (start == end) {
+            throw new NumberFormatException("Hex quantity without digits");
+        }
+
+        long value = 0;
+        boolean overflow = false;
+        for (int i = start; i < end; i++) {
+            int digit = hex ? hexDigit(chars[i]) : decimalDigit(chars[i]);
+            if (digit < 0) {
+                throw new NumberFormatException(
+                        "Invalid quantity: " + new String(chars, offset, length));
+            }
+            // keep validating the remaining digits once the value overflows
+            if (overflow) {
+                continue;
+            }
+            if (hex) {
+                overflow = (value & 0xF800000000000000L) != 0;
+                value = (value << 4) | digit;
+            } else {
+                overflow = value > (Long.MAX_VALUE - digit) / 10;
+                value = value * 10 + digit;
+            }
+        }
+        return overflow ? OVERFLOW : value;
+    }
+
+    private static int decimalDigit(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static JsonMappingException invalidQuantity(JsonParser p) throws IOException {
+        return InvalidFormatException.from(
+                p, "Invalid quantity: " + p.getText(), p.getText(), BigInteger.class);
+    }
+}
@@ -12,10 +12,9 @@
  */
 package org.web3j.protocol.deserializer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
@@ -41,7 +40,8 @@ public class RawResponseDeserializer extends StdDeserializer<Response>
     public Response deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
         Response deserializedResponse = (Response) defaultDeserializer.deserialize(jp, ctxt);
 
-        deserializedResponse.setRawResponse(getRawResponse(jp));
+        // decoded lazily, only if the raw response is actually used
+        deserializedResponse.setRawResponseBytes(getRawResponse(jp.getInputSource()));
         return deserializedResponse;
     }
 
@@ -52,19 +52,22 @@ public class RawResponseDeserializer extends StdDeserializer<Response>
         ((ResolvableDeserializer) defaultDeserializer).resolve(ctxt);
     }
 
-    private String getRawResponse(JsonParser jp) throws IOException {
-        final InputStream inputSource = (InputStream) jp.getInputSource();
-
-        if (inputSource == null) {
-            return "";
+    private byte[] getRawResponse(Object inputSource) throws IOException {
+        if (inputSource instanceof RawResponseInputStream) {
+            return ((RawResponseInputStream) inputSource).toByteArray();
+        } else if (!(inputSource instanceof InputStream)) {
+            return new byte[0];
         }
 
-        inputSource.reset();
-
-        return streamToString(inputSource);
-    }
+        InputStream input = (InputStream) inputSource;
+        input.reset();
 
-    private String streamToString(InputStream input) throws IOException {
-        return new Scanner(input, StandardCharsets.UTF_8.name()).useDelimiter("\\Z").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(input.available(), 32));
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = input.read(chunk)) != -1) {
+            output.write(chunk, 0, read);
+        }
+        return output.toByteArray();
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.deserializer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Input stream keeping a copy of the bytes read from the underlying stream, so that {@link
+ * RawResponseDeserializer} can capture the raw response while it is parsed, instead of the whole
+ * response being buffered up front and read a second time.
+ *
+ * <p>The copy is kept in a buffer which is reused for the next response read on the same thread
+ * once this stream is closed.
+ */
+public class RawResponseInputStream extends FilterInputStream {
+
+    private static final int INITIAL_CAPACITY = 8192;
+    private static final int MAX_POOLED_CAPACITY = 4 * 1024 * 1024;
+
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    private byte[] buffer;
+    private int count;
+
+    public RawResponseInputStream(InputStream in) {
+        super(in);
+        byte[] pooled = BUFFERS.get();
+        if (pooled != null) {
+            BUFFERS.remove();
+            buffer = pooled;
+        } else {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    /** Returns a copy of the bytes read so far, or an empty array once the stream is closed. */
+    public byte[] toByteArray() {
+        return buffer == null ? new byte[0] : Arrays.copyOf(buffer, count);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int result = super.read();
+        if (result != -1) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) result;
+        }
+        return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int result = super.read(b, off, len);
+        if (result > 0) {
+            ensureCapacity(result);
+            System.arraycopy(b, off, buffer, count, result);
+            count += result;
+        }
+        return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        // skipped bytes are part of the response as well
+        byte[] skipped = new byte[(int) Math.min(n, INITIAL_CAPACITY)];
+        int result = read(skipped, 0, skipped.length);
+        return Math.max(result, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (buffer != null) {
+            if (buffer.length <= MAX_POOLED_CAPACITY) {
+                BUFFERS.set(buffer);
+            }
+            buffer = null;
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer == null) {
+            throw new IllegalStateException("Stream has been closed");
+        }
+        if (count + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+        }
+    }
+}
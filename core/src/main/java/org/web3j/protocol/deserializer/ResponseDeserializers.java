@@ -0,0 +1,358 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetTransactionList;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * Hand written deserializers for the objects of the most frequently decoded responses: blocks,
+ * transactions, transaction lists, receipts and logs.
+ *
+ * <p>They walk the tokens of an object directly and match field names with a switch, instead of
+ * going through the property lookup of the bean deserializer, and parse quantities straight from
+ * the character buffer of the parser with {@link JsonTokens}. They accept the same input as the
+ * bean deserializers, hex quantities are accepted in addition to decimal ones.
+ */
+public final class ResponseDeserializers {
+
+    private ResponseDeserializers() {}
+
+    /** Returns a module registering all deserializers. */
+    public static Module module() {
+        SimpleModule module = new SimpleModule(ResponseDeserializers.class.getSimpleName());
+        module.addDeserializer(TolBlock.Block.class, new BlockDeserializer());
+        module.addDeserializer(Transaction.class, new TransactionDeserializer());
+        module.addDeserializer(
+                TolGetTransactionList.TransactionList.class, new TransactionListDeserializer());
+        module.addDeserializer(TransactionReceipt.class, new TransactionReceiptDeserializer());
+        module.addDeserializer(Log.class, new LogDeserializer<>(Log.class, Log::new));
+        module.addDeserializer(
+                EthLog.LogObject.class,
+                new LogDeserializer<>(EthLog.LogObject.class, EthLog.LogObject::new));
+        return module;
+    }
+
+    public static class BlockDeserializer extends StdDeserializer<TolBlock.Block> {
+
+        public BlockDeserializer() {
+            super(TolBlock.Block.class);
+        }
+
+        @Override
+        public TolBlock.Block deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            TolBlock.Block block = new TolBlock.Block();
+            for (String name = JsonTokens.firstField(p, _valueClass);
+                    name != null;
+                    name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+                    case "block_index":
+                        block.setBlockIndex(JsonTokens.readBigInteger(p));
+                        break;
+                    case "previous_block_hash":
+                        block.setPreviousBlockHash(readString(p, ctxt));
+                        break;
+                    case "transaction_hashes":
+                        block.setTransactionHashes(readStrings(p, ctxt));
+                        break;
+                    case "confirmation_timestamp":
+                        long timestamp = JsonTokens.readLong(p);
+                        block.setConfirmationTimestamp(
+                                timestamp == JsonTokens.ABSENT ? 0 : timestamp);
+                        break;
+                    default:
+                        p.skipChildren();
+                        break;
+                }
+            }
+            return block;
+        }
+    }
+
+    public static class TransactionDeserializer extends StdDeserializer<Transaction> {
+
+        public TransactionDeserializer() {
+            super(Transaction.class);
+        }
+
+        @Override
+        public Transaction deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            Transaction transaction = new Transaction();
+            for (String name = JsonTokens.firstField(p, _valueClass);
+                    name != null;
+                    name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+                    case "block_hash":
+                        transaction.setBlockHash(readString(p, ctxt));
+                        break;
+                    case "transaction_index":
+                        transaction.setTransactionIndex(JsonTokens.readBigInteger(p));
+                        break;
+                    case "sender_address":
+                        transaction.setSenderAddress(readString(p, ctxt));
+                        break;
+                    case "receiver_address":
+                        transaction.setReceiverAddress(readString(p, ctxt));
+                        break;
+                    case "value":
+                        transaction.setValue(JsonTokens.readBigInteger(p));
+                        break;
+                    case "gas":
+                        transaction.setGas(JsonTokens.readBigInteger(p));
+                        break;
+                    case "gas_price":
+                        transaction.setGasPrice(JsonTokens.readBigInteger(p));
+                        break;
+                    case "data":
+                        transaction.setData(readString(p, ctxt));
+                        break;
+                    case "nonce":
+                        transaction.setNonce(JsonTokens.readBigInteger(p));
+                        break;
+                    case "gas_used":
+                        transaction.setGasUsed(JsonTokens.readBigInteger(p));
+                        break;
+                    case "gas_refunded":
+                        transaction.setGasRefunded(JsonTokens.readBigInteger(p));
+                        break;
+                    case "new_address":
+                        transaction.setNewAddress(readString(p, ctxt));
+                        break;
+                    case "output":
+                        transaction.setOutput(readString(p, ctxt));
+                        break;
+                    case "excepted":
+                        transaction.setExcepted(p.getValueAsBoolean());
+                        break;
+                    case "confirmation_timestamp":
+                        transaction.setConfirmationTimestamp(JsonTokens.readBigInteger(p));
+                        break;
+                    default:
+                        p.skipChildren();
+                        break;
+                }
+            }
+            return transaction;
+        }
+    }
+
+    public static class TransactionListDeserializer
+            extends StdDeserializer<TolGetTransactionList.TransactionList> {
+
+        private final TransactionDeserializer transactionDeserializer =
+                new TransactionDeserializer();
+
+        public TransactionListDeserializer() {
+            super(TolGetTransactionList.TransactionList.class);
+        }
+
+        @Override
+        public TolGetTransactionList.TransactionList deserialize(
+                JsonParser p, DeserializationContext ctxt) throws IOException {
+            TolGetTransactionList.TransactionList transactionList =
+                    new TolGetTransactionList.TransactionList();
+            for (String name = JsonTokens.firstField(p, _valueClass);
+                    name != null;
+                    name = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                if ("transactions".equals(name)) {
+                    transactionList.setTransactions(
+                            readList(p, ctxt, token, transactionDeserializer));
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return transactionList;
+        }
+    }
+
+    public static class TransactionReceiptDeserializer
+            extends StdDeserializer<TransactionReceipt> {
+
+        private final LogDeserializer<Log> logDeserializer =
+                new LogDeserializer<>(Log.class, Log::new);
+
+        public TransactionReceiptDeserializer() {
+            super(TransactionReceipt.class);
+        }
+
+        @Override
+        public TransactionReceipt deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            TransactionReceipt receipt = new TransactionReceipt();
+            for (String name = JsonTokens.firstField(p, _valueClass);
+                    name != null;
+                    name = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                switch (name) {
+                    case "block_hash":
+                        receipt.setBlockHash(readString(p, ctxt));
+                        break;
+                    case "transaction_index":
+                        receipt.setTransactionIndex(readString(p, ctxt));
+                        break;
+                    case "sender_address":
+                        receipt.setSenderAddress(readString(p, ctxt));
+                        break;
+                    case "receiver_address":
+                        receipt.setReceiverAddress(readString(p, ctxt));
+                        break;
+                    case "gas_used":
+                        receipt.setGasUsed(JsonTokens.readBigInteger(p));
+                        break;
+                    case "new_address":
+                        receipt.setNewAddress(readString(p, ctxt));
+                        break;
+                    case "excepted":
+                        receipt.setExcepted(p.getValueAsBoolean());
+                        break;
+                    case "block_number":
+                        receipt.setBlockNumber(JsonTokens.readBigInteger(p));
+                        break;
+                    case "hash":
+                        receipt.setHash(readString(p, ctxt));
+                        break;
+                    case "logs":
+                        receipt.setLogs(readList(p, ctxt, token, logDeserializer));
+                        break;
+                    default:
+                        p.skipChildren();
+                        break;
+                }
+            }
+            return receipt;
+        }
+    }
+
+    public static class LogDeserializer<T extends Log> extends StdDeserializer<T> {
+
+        private final Supplier<T> factory;
+
+        public LogDeserializer(Class<T> type, Supplier<T> factory) {
+            super(type);
+            this.factory = factory;
+        }
+
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            T log = factory.get();
+            for (String name = JsonTokens.firstField(p, _valueClass);
+                    name != null;
+                    name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+                    case "removed":
+                        log.setRemoved(p.getValueAsBoolean());
+                        break;
+                    case "logIndex":
+                        log.setLogIndex(readString(p, ctxt));
+                        break;
+                    case "transactionIndex":
+                        log.setTransactionIndex(readString(p, ctxt));
+                        break;
+                    case "transactionHash":
+                        log.setTransactionHash(readString(p, ctxt));
+                        break;
+                    case "blockHash":
+                        log.setBlockHash(readString(p, ctxt));
+                        break;
+                    case "blockNumber":
+                        log.setBlockNumber(readString(p, ctxt));
+                        break;
+                    case "address":
+                        log.setAddress(readString(p, ctxt));
+                        break;
+                    case "data":
+                        log.setData(readString(p, ctxt));
+                        break;
+                    case "type":
+                        log.setType(readString(p, ctxt));
+                        break;
+                    case "topics":
+                        log.setTopics(readStrings(p, ctxt));
+                        break;
+                    default:
+                        p.skipChildren();
+                        break;
+                }
+            }
+            return log;
+        }
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        } else if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (token.isScalarValue()) {
+            // scalars are coerced to strings, as by the bean deserializer
+            return p.getText();
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+
+    private static List<String> readStrings(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (token != JsonToken.START_ARRAY) {
+            ctxt.handleUnexpectedToken(List.class, p);
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readString(p, ctxt));
+        }
+        return values;
+    }
+
+    private static <T> List<T> readList(
+            JsonParser p, DeserializationContext ctxt, JsonToken token, StdDeserializer<T> element)
+            throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (token != JsonToken.START_ARRAY) {
+            ctxt.handleUnexpectedToken(List.class, p);
+            return null;
+        }
+        List<T> values = new ArrayList<>();
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            values.add(token == JsonToken.VALUE_NULL ? null : element.deserialize(p, ctxt));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Request which has not been sent, because the client side concurrency limit has been reached and
+ * the request could not be queued.
+ */
+public class RequestRejectedException extends IOException {
+
+    private final String method;
+
+    public RequestRejectedException(String method, String message) {
+        super(message);
+        this.method = method;
+    }
+
+    /** Returns the method of the rejected request, or {@code "batch"} for batch requests. */
+    public String getMethod() {
+        return method;
+    }
+}
@@ -12,7 +12,6 @@
  */
 package org.web3j.protocol.http;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -29,11 +28,11 @@ import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
-import okio.Buffer;
-import okio.BufferedSource;
+import okio.BufferedSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.web3j.protocol.RequestPayload;
 import org.web3j.protocol.Service;
 import org.web3j.protocol.exceptions.ClientConnectionException;
 
@@ -95,15 +94,12 @@ public class HttpService extends Service {
 
     private final String url;
 
-    private final boolean includeRawResponse;
-
     private HashMap<String, String> headers = new HashMap<>();
 
     public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
         super(includeRawResponses);
         this.url = url;
         this.httpClient = httpClient;
-        this.includeRawResponse = includeRawResponses;
     }
 
     public HttpService(OkHttpClient httpClient, boolean includeRawResponses) {
@@ -161,8 +157,31 @@ public class HttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
+        return execute(RequestBody.create(request, JSON_MEDIA_TYPE));
+    }
 
-        RequestBody requestBody = RequestBody.create(request, JSON_MEDIA_TYPE);
+    @Override
+    protected InputStream performIO(RequestPayload payload) throws IOException {
+        return execute(
+                new RequestBody() {
+                    @Override
+                    public MediaType contentType() {
+                        return JSON_MEDIA_TYPE;
+                    }
+
+                    @Override
+                    public long contentLength() {
+                        return payload.size();
+                    }
+
+                    @Override
+                    public void writeTo(BufferedSink sink) throws IOException {
+                        sink.write(payload.asByteBuffer());
+                    }
+                });
+    }
+
+    private InputStream execute(RequestBody requestBody) throws IOException {
         Headers headers = buildHeaders();
 
         okhttp3.Request httpRequest =
@@ -173,7 +192,7 @@ public class HttpService extends Service {
         ResponseBody responseBody = response.body();
         if (response.isSuccessful()) {
             if (responseBody != null) {
-                return buildInputStream(responseBody);
+                return responseBody.byteStream();
             } else {
                 return null;
             }
@@ -189,35 +208,6 @@ public class HttpService extends Service {
         // Default implementation is empty
     }
 
-    private InputStream buildInputStream(ResponseBody responseBody) throws IOException {
-        InputStream inputStream = responseBody.byteStream();
-
-        if (includeRawResponse) {
-            // we have to buffer the entire input payload, so that after processing
-            // it can be re-read and used to populate the rawResponse field.
-
-            BufferedSource source = responseBody.source();
-            source.request(Long.MAX_VALUE); // Buffer the entire body
-            Buffer buffer = source.buffer();
-
-            long size = buffer.size();
-            if (size > Integer.MAX_VALUE) {
-                throw new UnsupportedOperationException(
-                        "Non-integer input buffer size specified: " + size);
-            }
-
-            int bufferSize = (int) size;
-            BufferedInputStream bufferedinputStream =
-                    new BufferedInputStream(inputStream, bufferSize);
-
-            bufferedinputStream.mark(inputStream.available());
-            return bufferedinputStream;
-
-        } else {
-            return inputStream;
-        }
-    }
-
     private Headers buildHeaders() {
         return Headers.of(headers);
     }
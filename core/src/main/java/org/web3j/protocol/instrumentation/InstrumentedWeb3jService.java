@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.instrumentation;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Service;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+/**
+ * {@link Web3jService} decorator reporting every request to a {@link ServiceInstrumentation}.
+ *
+ * <p>If the decorated service is a {@link Service}, it reports the request and response sizes to
+ * the same instrumentation. While the instrumentation is disabled, requests are passed on without
+ * any further work.
+ */
+public class InstrumentedWeb3jService implements Web3jService {
+
+    private final Web3jService web3jService;
+    private final ServiceInstrumentation instrumentation;
+
+    public InstrumentedWeb3jService(Web3jService web3jService) {
+        this(web3jService, new Web3jMetrics());
+    }
+
+    public InstrumentedWeb3jService(
+            Web3jService web3jService, ServiceInstrumentation instrumentation) {
+        this.web3jService = web3jService;
+        this.instrumentation = instrumentation;
+        if (web3jService instanceof Service) {
+            ((Service) web3jService).setInstrumentation(instrumentation);
+        }
+    }
+
+    public ServiceInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        if (!instrumentation.isEnabled()) {
+            return web3jService.send(request, responseType);
+        }
+
+        String method = request.getMethod();
+        instrumentation.onRequestStarted(method);
+        long start = System.nanoTime();
+        T response;
+        try {
+            response = web3jService.send(request, responseType);
+        } catch (IOException | RuntimeException e) {
+            instrumentation.onRequestFailed(method, System.nanoTime() - start, e);
+            throw e;
+        }
+        instrumentation.onRequestCompleted(method, System.nanoTime() - start, errorOf(response));
+        return response;
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        if (!instrumentation.isEnabled()) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        String method = request.getMethod();
+        instrumentation.onRequestStarted(method);
+        long start = System.nanoTime();
+        CompletableFuture<T> result = web3jService.sendAsync(request, responseType);
+        result.whenComplete(
+                (response, throwable) -> {
+                    long duration = System.nanoTime() - start;
+                    if (throwable != null) {
+                        instrumentation.onRequestFailed(method, duration, throwable);
+                    } else {
+                        instrumentation.onRequestCompleted(method, duration, errorOf(response));
+                    }
+                });
+        return result;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        if (!instrumentation.isEnabled()) {
+            return web3jService.sendBatch(batchRequest);
+        }
+
+        onBatchStarted(batchRequest);
+        long start = System.nanoTime();
+        BatchResponse batchResponse;
+        try {
+            batchResponse = web3jService.sendBatch(batchRequest);
+        } catch (IOException | RuntimeException e) {
+            onBatchFailed(batchRequest, System.nanoTime() - start, e);
+            throw e;
+        }
+        onBatchCompleted(batchRequest, batchResponse, System.nanoTime() - start);
+        return batchResponse;
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        if (!instrumentation.isEnabled()) {
+            return web3jService.sendBatchAsync(batchRequest);
+        }
+
+        onBatchStarted(batchRequest);
+        long start = System.nanoTime();
+        CompletableFuture<BatchResponse> result = web3jService.sendBatchAsync(batchRequest);
+        result.whenComplete(
+                (batchResponse, throwable) -> {
+                    long duration = System.nanoTime() - start;
+                    if (throwable != null) {
+                        onBatchFailed(batchRequest, duration, throwable);
+                    } else {
+                        onBatchCompleted(batchRequest, batchResponse, duration);
+                    }
+                });
+        return result;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+
+    private void onBatchStarted(BatchRequest batchRequest) {
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            instrumentation.onRequestStarted(request.getMethod());
+        }
+    }
+
+    private void onBatchFailed(BatchRequest batchRequest, long duration, Throwable cause) {
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            instrumentation.onRequestFailed(request.getMethod(), duration, cause);
+        }
+    }
+
+    private void onBatchCompleted(
+            BatchRequest batchRequest, BatchResponse batchResponse, long duration) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        List<? extends Response<?>> responses =
+                batchResponse == null ? null : batchResponse.getResponses();
+        for (int i = 0; i < requests.size(); i++) {
+            Response<?> response =
+                    responses != null && i < responses.size() ? responses.get(i) : null;
+            instrumentation.onRequestCompleted(
+                    requests.get(i).getMethod(), duration, errorOf(response));
+        }
+        instrumentation.onBatchCompleted(requests.size(), duration);
+    }
+
+    private static Response.Error errorOf(Response<?> response) {
+        return response == null ? null : response.getError();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.instrumentation;
+
+import org.web3j.protocol.core.Response;
+
+/**
+ * Receives timing and size information about the JSON-RPC requests sent by a {@link
+ * org.web3j.protocol.Web3jService}.
+ *
+ * <p>Implementations are called concurrently from all threads sending requests and must not block.
+ * When {@link #isEnabled()} returns false no other method is called.
+ *
+ * @see InstrumentedWeb3jService
+ * @see Web3jMetrics
+ */
+public interface ServiceInstrumentation {
+
+    /** Instrumentation which doesn't record anything. */
+    ServiceInstrumentation DISABLED =
+            new ServiceInstrumentation() {
+                @Override
+                public boolean isEnabled() {
+                    return false;
+                }
+
+                @Override
+                public void onRequestStarted(String method) {}
+
+                @Override
+                public void onRequestCompleted(
+                        String method, long durationNanos, Response.Error error) {}
+
+                @Override
+                public void onRequestFailed(String method, long durationNanos, Throwable cause) {}
+
+                @Override
+                public void onBatchCompleted(int size, long durationNanos) {}
+
+                @Override
+                public void onBytesTransferred(
+                        String method, long requestBytes, long responseBytes) {}
+            };
+
+    boolean isEnabled();
+
+    /** Called before a request is sent, also for every request of a batch. */
+    void onRequestStarted(String method);
+
+    /**
+     * Called when the response to a request has been received. Requests which are part of a batch
+     * are reported with the duration of the whole batch.
+     *
+     * @param error the error returned by the node, or null if the request succeeded
+     */
+    void onRequestCompleted(String method, long durationNanos, Response.Error error);
+
+    /** Called when a request failed without a response, e.g. because of a connection problem. */
+    void onRequestFailed(String method, long durationNanos, Throwable cause);
+
+    /** Called after the responses to a batch have been received. */
+    void onBatchCompleted(int size, long durationNanos);
+
+    /**
+     * Called by {@link org.web3j.protocol.Service} implementations after the response has been
+     * read. Batches are reported with the method {@code "batch"}.
+     */
+    void onBytesTransferred(String method, long requestBytes, long responseBytes);
+}
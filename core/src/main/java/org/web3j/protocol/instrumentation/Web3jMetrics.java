@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.instrumentation;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.web3j.protocol.core.Response;
+
+/**
+ * Default {@link ServiceInstrumentation} collecting per method latency histograms, transferred
+ * bytes, error counts and the number of requests in flight.
+ *
+ * <p>Use {@link #snapshot()} to export the collected values to a metrics backend. Recording can be
+ * switched off at any time with {@link #setEnabled(boolean)}.
+ */
+public class Web3jMetrics implements ServiceInstrumentation {
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final Histogram batchSizes = new Histogram();
+    private final Histogram batchLatencies = new Histogram();
+
+    private volatile boolean enabled = true;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void onRequestStarted(String method) {
+        metrics(method).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onRequestCompleted(String method, long durationNanos, Response.Error error) {
+        MethodMetrics metrics = metrics(method);
+        metrics.inFlight.decrementAndGet();
+        metrics.latencies.record(durationNanos);
+        if (error != null) {
+            metrics.errors.computeIfAbsent(error.getCode(), code -> new LongAdder()).increment();
+        }
+    }
+
+    @Override
+    public void onRequestFailed(String method, long durationNanos, Throwable cause) {
+        MethodMetrics metrics = metrics(method);
+        metrics.inFlight.decrementAndGet();
+        metrics.latencies.record(durationNanos);
+        metrics.failures.increment();
+    }
+
+    @Override
+    public void onBatchCompleted(int size, long durationNanos) {
+        batchSizes.record(size);
+        batchLatencies.record(durationNanos);
+    }
+
+    @Override
+    public void onBytesTransferred(String method, long requestBytes, long responseBytes) {
+        MethodMetrics metrics = metrics(method);
+        metrics.requestBytes.add(requestBytes);
+        metrics.responseBytes.add(responseBytes);
+    }
+
+    public Snapshot snapshot() {
+        Map<String, MethodSnapshot> snapshots = new TreeMap<>();
+        methods.forEach((method, metrics) -> snapshots.put(method, metrics.snapshot(method)));
+        return new Snapshot(snapshots, batchSizes.snapshot(), batchLatencies.snapshot());
+    }
+
+    private MethodMetrics metrics(String method) {
+        MethodMetrics metrics = methods.get(method);
+        if (metrics == null) {
+            metrics = methods.computeIfAbsent(method, m -> new MethodMetrics());
+        }
+        return metrics;
+    }
+
+    private static class MethodMetrics {
+        private final Histogram latencies = new Histogram();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+        MethodSnapshot snapshot(String method) {
+            Map<Integer, Long> errorCounts = new HashMap<>();
+            errors.forEach((code, count) -> errorCounts.put(code, count.sum()));
+            return new MethodSnapshot(
+                    method,
+                    latencies.snapshot(),
+                    inFlight.get(),
+                    failures.sum(),
+                    requestBytes.sum(),
+                    responseBytes.sum(),
+                    errorCounts);
+        }
+    }
+
+    /** Point in time copy of all metrics. */
+    public static class Snapshot {
+
+        private final Map<String, MethodSnapshot> methods;
+        private final Histogram.Snapshot batchSizes;
+        private final Histogram.Snapshot batchLatencies;
+
+        Snapshot(
+                Map<String, MethodSnapshot> methods,
+                Histogram.Snapshot batchSizes,
+                Histogram.Snapshot batchLatencies) {
+            this.methods = Collections.unmodifiableMap(methods);
+            this.batchSizes = batchSizes;
+            this.batchLatencies = batchLatencies;
+        }
+
+        /** @return the metrics of every method which has been called, by method name */
+        public Map<String, MethodSnapshot> getMethods() {
+            return methods;
+        }
+
+        public Histogram.Snapshot getBatchSizes() {
+            return batchSizes;
+        }
+
+        /** @return the latencies of whole batches in nanoseconds */
+        public Histogram.Snapshot getBatchLatencies() {
+            return batchLatencies;
+        }
+    }
+
+    /** Point in time copy of the metrics of a single JSON-RPC method. */
+    public static class MethodSnapshot {
+
+        private final String method;
+        private final Histogram.Snapshot latencies;
+        private final int inFlight;
+        private final long failures;
+        private final long requestBytes;
+        private final long responseBytes;
+        private final Map<Integer, Long> errors;
+
+        MethodSnapshot(
+                String method,
+                Histogram.Snapshot latencies,
+                int inFlight,
+                long failures,
+                long requestBytes,
+                long responseBytes,
+                Map<Integer, Long> errors) {
+            this.method = method;
+            this.latencies = latencies;
+            this.inFlight = inFlight;
+            this.failures = failures;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.errors = Collections.unmodifiableMap(errors);
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        /** @return the latencies of all finished requests in nanoseconds */
+        public Histogram.Snapshot getLatencies() {
+            return latencies;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        /** @return the number of requests which failed without a response */
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getRequestBytes() {
+            return requestBytes;
+        }
+
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+
+        /** @return the number of error responses by {@link Response.Error} code */
+        public Map<Integer, Long> getErrors() {
+            return errors;
+        }
+
+        public long getErrorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
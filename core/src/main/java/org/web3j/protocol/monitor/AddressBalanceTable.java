@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.monitor;
+
+import java.math.BigInteger;
+
+/**
+ * Open addressing hash table from addresses to balances.
+ *
+ * <p>Addresses are kept as raw bytes in a single array rather than as one String object per entry,
+ * which keeps the footprint of large watch lists small. An unknown balance is stored as null.
+ */
+final class AddressBalanceTable {
+
+    static final int ADDRESS_SIZE = 25;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private byte[] keys;
+    private int[] hashes; // 0 marks an empty slot
+    private BigInteger[] balances;
+    private int mask;
+    private int size;
+
+    AddressBalanceTable(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** @return the number of slots, occupied or not */
+    int capacity() {
+        return hashes.length;
+    }
+
+    /** @return true if the address has been added, false if it was already present */
+    boolean add(byte[] address) {
+        if (find(address) >= 0) {
+            return false;
+        }
+        if ((size + 1) * 2 > hashes.length) {
+            resize(hashes.length * 2);
+        }
+        insert(address, hash(address), null);
+        size++;
+        return true;
+    }
+
+    /** @return true if the address has been removed, false if it wasn't present */
+    boolean remove(byte[] address) {
+        int slot = find(address);
+        if (slot < 0) {
+            return false;
+        }
+
+        // backward shift deletion keeps probe sequences intact without tombstones
+        int free = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (hashes[next] == 0) {
+                break;
+            }
+            int ideal = hashes[next] & mask;
+            boolean movable =
+                    next > free ? (ideal <= free || ideal > next) : (ideal <= free && ideal > next);
+            if (movable) {
+                move(next, free);
+                free = next;
+            }
+        }
+        hashes[free] = 0;
+        balances[free] = null;
+        size--;
+        return true;
+    }
+
+    /** @return the slot of the address, or -1 if it isn't present */
+    int find(byte[] address) {
+        int hash = hash(address);
+        int slot = hash & mask;
+        while (hashes[slot] != 0) {
+            if (hashes[slot] == hash && keyEquals(slot, address)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** @return the first occupied slot at or after the given one, or -1 if there is none */
+    int nextOccupied(int slot) {
+        for (int i = slot; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    byte[] address(int slot) {
+        byte[] address = new byte[ADDRESS_SIZE];
+        System.arraycopy(keys, slot * ADDRESS_SIZE, address, 0, ADDRESS_SIZE);
+        return address;
+    }
+
+    BigInteger balance(int slot) {
+        return balances[slot];
+    }
+
+    void setBalance(int slot, BigInteger balance) {
+        balances[slot] = balance;
+    }
+
+    private void insert(byte[] address, int hash, BigInteger balance) {
+        int slot = hash & mask;
+        while (hashes[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        balances[slot] = balance;
+        System.arraycopy(address, 0, keys, slot * ADDRESS_SIZE, ADDRESS_SIZE);
+    }
+
+    private void move(int from, int to) {
+        hashes[to] = hashes[from];
+        balances[to] = balances[from];
+        System.arraycopy(keys, from * ADDRESS_SIZE, keys, to * ADDRESS_SIZE, ADDRESS_SIZE);
+    }
+
+    private boolean keyEquals(int slot, byte[] address) {
+        int offset = slot * ADDRESS_SIZE;
+        for (int i = 0; i < ADDRESS_SIZE; i++) {
+            if (keys[offset + i] != address[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void resize(int capacity) {
+        byte[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        BigInteger[] oldBalances = balances;
+        allocate(capacity);
+
+        byte[] address = new byte[ADDRESS_SIZE];
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                System.arraycopy(oldKeys, i * ADDRESS_SIZE, address, 0, ADDRESS_SIZE);
+                insert(address, oldHashes[i], oldBalances[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new byte[capacity * ADDRESS_SIZE];
+        hashes = new int[capacity];
+        balances = new BigInteger[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(byte[] address) {
+        int hash = 1;
+        for (int i = 0; i < ADDRESS_SIZE; i++) {
+            hash = 31 * hash + address[i];
+        }
+        // spread the bits, as only the low bits are used for the slot index
+        hash ^= (hash >>> 16);
+        hash *= 0x85ebca6b;
+        hash ^= (hash >>> 13);
+        return hash == 0 ? 1 : hash;
+    }
+}
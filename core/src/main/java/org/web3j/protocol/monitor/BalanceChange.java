@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.monitor;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/** Change of the balance of a watched address, as emitted by {@link BalanceMonitor}. */
+public class BalanceChange {
+
+    private final String address;
+    private final BigInteger previousBalance;
+    private final BigInteger balance;
+    private final BigInteger blockIndex;
+
+    public BalanceChange(
+            String address, BigInteger previousBalance, BigInteger balance, BigInteger blockIndex) {
+        this.address = address;
+        this.previousBalance = previousBalance;
+        this.balance = balance;
+        this.blockIndex = blockIndex;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public BigInteger getPreviousBalance() {
+        return previousBalance;
+    }
+
+    public BigInteger getBalance() {
+        return balance;
+    }
+
+    /** @return the index of the block at which the new balance has been observed */
+    public BigInteger getBlockIndex() {
+        return blockIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BalanceChange)) {
+            return false;
+        }
+        BalanceChange that = (BalanceChange) o;
+        return Objects.equals(address, that.address)
+                && Objects.equals(previousBalance, that.previousBalance)
+                && Objects.equals(balance, that.balance)
+                && Objects.equals(blockIndex, that.blockIndex);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(address, previousBalance, balance, blockIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceChange{"
+                + "address='"
+                + address
+                + '\''
+                + ", previousBalance="
+                + previousBalance
+                + ", balance="
+                + balance
+                + ", blockIndex="
+                + blockIndex
+                + '}';
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.monitor;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetBalance;
+import org.web3j.protocol.core.methods.response.TolTransaction;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.utils.Numeric;
+
+/**
+ * Keeps track of the balances of a large set of addresses.
+ *
+ * <p>On every new block only the watched addresses which take part in one of the block's
+ * transactions are refreshed, together with newly watched addresses and an optional fixed number
+ * of other addresses in round robin order. This way the cost of a refresh depends on the activity
+ * on the chain rather than on the number of watched addresses. Balances are requested in JSON-RPC
+ * batches of at most {@code batchSize} requests.
+ *
+ * <p>The round robin sweep picks up balance changes which aren't caused by a transaction of the
+ * address itself, e.g. transfers made by contracts.
+ */
+public class BalanceMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceMonitor.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final Web3j web3j;
+    private final int batchSize;
+    private final int sweepSize;
+
+    private final AddressBalanceTable balances = new AddressBalanceTable(1024);
+    private final ArrayDeque<String> unknown = new ArrayDeque<>();
+    private int sweepSlot;
+
+    public BalanceMonitor(Web3j web3j) {
+        this(web3j, DEFAULT_BATCH_SIZE, 0);
+    }
+
+    /**
+     * @param web3j client to request blocks, transactions and balances with
+     * @param batchSize maximum number of requests per batch
+     * @param sweepSize number of addresses not seen in a block which are refreshed per block
+     */
+    public BalanceMonitor(Web3j web3j, int batchSize, int sweepSize) {
+        if (batchSize <= 0 || sweepSize < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid batch or sweep size: " + batchSize + ", " + sweepSize);
+        }
+        this.web3j = web3j;
+        this.batchSize = batchSize;
+        this.sweepSize = sweepSize;
+    }
+
+    /**
+     * Start watching an address. Its balance is requested with the next refresh, changes are
+     * emitted from then on.
+     *
+     * @return true if the address wasn't watched yet
+     */
+    public synchronized boolean watch(String address) {
+        String cleanAddress = cleanAddress(address);
+        if (balances.add(toBytes(cleanAddress))) {
+            unknown.add(cleanAddress);
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void watchAll(Collection<String> addresses) {
+        for (String address : addresses) {
+            watch(address);
+        }
+    }
+
+    /** @return true if the address was watched */
+    public synchronized boolean unwatch(String address) {
+        return balances.remove(toBytes(cleanAddress(address)));
+    }
+
+    public synchronized boolean isWatched(String address) {
+        return balances.find(toBytes(cleanAddress(address))) >= 0;
+    }
+
+    /** @return the number of watched addresses */
+    public synchronized int size() {
+        return balances.size();
+    }
+
+    /** @return the last known balance of a watched address */
+    public synchronized Optional<BigInteger> getBalance(String address) {
+        int slot = balances.find(toBytes(cleanAddress(address)));
+        return slot < 0 ? Optional.empty() : Optional.ofNullable(balances.balance(slot));
+    }
+
+    /**
+     * Refresh balances on every new block.
+     *
+     * @return a {@link Flowable} instance emitting the balance changes of the watched addresses
+     */
+    public Flowable<BalanceChange> balanceChangeFlowable() {
+        return balanceChangeFlowable(web3j.blockFlowable());
+    }
+
+    /**
+     * Refresh balances on every block emitted by the given flowable.
+     *
+     * @param blocks blocks to refresh the balances for, in ascending order
+     * @return a {@link Flowable} instance emitting the balance changes of the watched addresses
+     */
+    public Flowable<BalanceChange> balanceChangeFlowable(Flowable<TolBlock> blocks) {
+        return blocks.filter(tolBlock -> tolBlock.getBlock() != null)
+                .concatMapIterable(tolBlock -> refresh(tolBlock.getBlock()));
+    }
+
+    /**
+     * Refresh the balances affected by a block.
+     *
+     * @param block the new block
+     * @return the balance changes of the watched addresses, addresses taking part in the block's
+     *     transactions first
+     * @throws IOException if the balances can't be requested
+     */
+    public List<BalanceChange> refresh(TolBlock.Block block) throws IOException {
+        Set<String> addresses = new LinkedHashSet<>(getTransactionAddresses(block));
+
+        List<String> newlyWatched;
+        synchronized (this) {
+            newlyWatched = new ArrayList<>(unknown);
+            unknown.clear();
+            addresses.addAll(newlyWatched);
+            addSweepAddresses(addresses);
+        }
+
+        try {
+            return refreshBalances(new ArrayList<>(addresses), block.getBlockIndex());
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                // request the balances of the new addresses again with the next refresh
+                unknown.addAll(newlyWatched);
+            }
+            throw e;
+        }
+    }
+
+    private List<String> getTransactionAddresses(TolBlock.Block block) throws IOException {
+        List<String> transactionHashes = block.getTransactionHashes();
+        if (transactionHashes == null || transactionHashes.isEmpty() || size() == 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> addresses = new ArrayList<>();
+        for (int from = 0; from < transactionHashes.size(); from += batchSize) {
+            BatchRequest batchRequest = web3j.newBatch();
+            int to = Math.min(from + batchSize, transactionHashes.size());
+            for (String transactionHash : transactionHashes.subList(from, to)) {
+                batchRequest.add(web3j.tolGetTransaction(transactionHash));
+            }
+
+            for (Response<?> response : batchRequest.send().getResponses()) {
+                Optional<Transaction> transaction = ((TolTransaction) response).getTransaction();
+                if (transaction.isPresent()) {
+                    addWatched(addresses, transaction.get().getSenderAddress());
+                    addWatched(addresses, transaction.get().getReceiverAddress());
+                    addWatched(addresses, transaction.get().getNewAddress());
+                }
+            }
+        }
+        return addresses;
+    }
+
+    private synchronized void addWatched(List<String> addresses, String address) {
+        if (address == null || address.isEmpty()) {
+            return;
+        }
+        String cleanAddress = cleanAddress(address);
+        if (isValid(cleanAddress) && balances.find(toBytes(cleanAddress)) >= 0) {
+            addresses.add(cleanAddress);
+        }
+    }
+
+    private void addSweepAddresses(Set<String> addresses) {
+        int count = Math.min(sweepSize, balances.size());
+        for (int i = 0; i < count; i++) {
+            int slot = balances.nextOccupied(sweepSlot);
+            if (slot < 0) {
+                slot = balances.nextOccupied(0);
+            }
+            addresses.add(Numeric.toHexStringNoPrefix(balances.address(slot)));
+            sweepSlot = (slot + 1) % balances.capacity();
+        }
+    }
+
+    private List<BalanceChange> refreshBalances(List<String> addresses, BigInteger blockIndex)
+            throws IOException {
+        List<BalanceChange> changes = new ArrayList<>();
+        for (int from = 0; from < addresses.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, addresses.size());
+            List<String> batch = addresses.subList(from, to);
+            BatchRequest batchRequest = web3j.newBatch();
+            for (String address : batch) {
+                batchRequest.add(web3j.tolGetBalance(address, blockIndex));
+            }
+            List<? extends Response<?>> responses = batchRequest.send().getResponses();
+
+            synchronized (this) {
+                for (int i = 0; i < batch.size(); i++) {
+                    TolGetBalance response = (TolGetBalance) responses.get(i);
+                    String address = batch.get(i);
+                    if (response.hasError() || response.getResult() == null) {
+                        log.warn(
+                                "Unable to get balance of {}: {}",
+                                address,
+                                response.hasError() ? response.getError().getMessage() : null);
+                        requeueIfUnknown(address);
+                        continue;
+                    }
+
+                    int slot = balances.find(toBytes(address));
+                    if (slot < 0) {
+                        continue; // no longer watched
+                    }
+                    BigInteger previous = balances.balance(slot);
+                    BigInteger balance = response.getBalance();
+                    balances.setBalance(slot, balance);
+                    if (previous != null && !previous.equals(balance)) {
+                        changes.add(new BalanceChange(address, previous, balance, blockIndex));
+                    }
+                }
+            }
+        }
+        return changes;
+    }
+
+    private void requeueIfUnknown(String address) {
+        int slot = balances.find(toBytes(address));
+        if (slot >= 0 && balances.balance(slot) == null && !unknown.contains(address)) {
+            unknown.add(address);
+        }
+    }
+
+    private static String cleanAddress(String address) {
+        return Numeric.cleanHexPrefix(address).toLowerCase();
+    }
+
+    private static boolean isValid(String cleanAddress) {
+        if (cleanAddress.length() != AddressBalanceTable.ADDRESS_SIZE * 2) {
+            return false;
+        }
+        for (int i = 0; i < cleanAddress.length(); i++) {
+            if (Character.digit(cleanAddress.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] toBytes(String cleanAddress) {
+        if (!isValid(cleanAddress)) {
+            throw new IllegalArgumentException("Invalid address: " + cleanAddress);
+        }
+        return Numeric.hexStringToByteArray(cleanAddress);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.routing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.web3j.protocol.Web3jService;
+
+/**
+ * Latency, error rate and health of one node of a {@link RoutingWeb3jService}.
+ *
+ * <p>Latency and error rate are exponentially weighted moving averages, so that they follow
+ * changes of the node within a few dozen requests.
+ */
+public class NodeStats {
+
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final double ERROR_WEIGHT = 0.1;
+
+    /** Latency in nanoseconds assumed until the first request to a node has completed. */
+    private static final double INITIAL_LATENCY = 1e8;
+
+    /** Latency in nanoseconds a failure counts for in the cost of a node. */
+    private static final double FAILURE_PENALTY = 1e9;
+
+    /** Standard deviations above the mean of the 95th percentile of a normal distribution. */
+    private static final double P95_DEVIATIONS = 1.645;
+
+    private static final int MIN_SAMPLES = 10;
+
+    private final Web3jService service;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double latency;
+    private double variance;
+    private double errorRate;
+    private long samples;
+
+    private volatile boolean healthy = true;
+    private volatile long blockCount = -1;
+
+    volatile CompletableFuture<?> healthCheck;
+
+    NodeStats(Web3jService service) {
+        this.service = service;
+    }
+
+    public Web3jService getService() {
+        return service;
+    }
+
+    /** Returns the average latency of successful requests in nanoseconds. */
+    public synchronized double getLatency() {
+        return latency;
+    }
+
+    /** Returns the average share of failed requests, between 0 and 1. */
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /** Returns the block count reported by the last health check, or -1 if it is unknown. */
+    public long getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Returns the 95th percentile latency in nanoseconds, estimated from the average latency and
+     * its variance, or -1 as long as too few requests have completed.
+     */
+    public synchronized long getLatencyP95() {
+        if (samples < MIN_SAMPLES) {
+            return -1;
+        }
+        return (long) (latency + P95_DEVIATIONS * Math.sqrt(variance));
+    }
+
+    void onStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    synchronized void onCompleted(long duration, boolean failed) {
+        inFlight.decrementAndGet();
+        errorRate += ERROR_WEIGHT * ((failed ? 1 : 0) - errorRate);
+        if (failed) {
+            return;
+        }
+
+        if (samples++ == 0) {
+            latency = duration;
+        } else {
+            double difference = duration - latency;
+            latency += LATENCY_WEIGHT * difference;
+            variance = (1 - LATENCY_WEIGHT) * (variance + LATENCY_WEIGHT * difference * difference);
+        }
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void setBlockCount(long blockCount) {
+        this.blockCount = blockCount;
+    }
+
+    /**
+     * Returns the cost of sending the next request to this node. It grows with the latency, with
+     * the requests already waiting for the node and with the error rate, so that a node failing
+     * fast doesn't look like a fast node.
+     */
+    synchronized double cost() {
+        double expected = samples == 0 ? INITIAL_LATENCY : latency + 1;
+        return expected * (inFlight.get() + 1) + errorRate * FAILURE_PENALTY;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeStats{"
+                + "service="
+                + service
+                + ", latency="
+                + getLatency()
+                + ", errorRate="
+                + getErrorRate()
+                + ", inFlight="
+                + getInFlight()
+                + ", healthy="
+                + healthy
+                + ", blockCount="
+                + blockCount
+                + '}';
+    }
+}
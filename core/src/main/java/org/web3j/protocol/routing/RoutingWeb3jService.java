@@ -0,0 +1,423 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.routing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolGetBlockCount;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+/**
+ * {@link Web3jService} spreading requests over several nodes.
+ *
+ * <p>Every request is sent to the cheaper of two randomly chosen healthy nodes, where the cost of
+ * a node is based on its average latency, the requests it is working on and its error rate, see
+ * {@link NodeStats}.
+ *
+ * <p>Idempotent reads, that is {@code tol_get*} requests and {@code tol_tryCallTransaction}, are
+ * hedged: if the first node hasn't replied within its estimated 95th percentile latency, or has
+ * failed, the request is sent to a second node as well and the first reply is used. All other
+ * requests, including transactions, subscriptions and batch requests, are sent to exactly one
+ * node.
+ *
+ * <p>The nodes are checked with {@code tol_getBlockCount} in the background. A node is left out
+ * while its check fails, is still pending from the previous round, or its block count is more
+ * than the allowed number of blocks behind the other nodes. If no node is healthy, requests are
+ * sent to all nodes.
+ */
+public class RoutingWeb3jService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingWeb3jService.class);
+
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL = 5000;
+    public static final long DEFAULT_MAX_BLOCK_LAG = 2;
+
+    /** Hedge delay used until a node has completed enough requests to estimate its latency. */
+    private static final long INITIAL_HEDGE_DELAY = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final String TRY_CALL_TRANSACTION = "tol_tryCallTransaction";
+    private static final String GET_PREFIX = "tol_get";
+
+    private final List<NodeStats> nodes;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long maxBlockLag;
+    private final ScheduledFuture<?> healthCheck;
+
+    public RoutingWeb3jService(List<? extends Web3jService> services) {
+        this(services, Async.defaultExecutorService(), DEFAULT_HEALTH_CHECK_INTERVAL);
+    }
+
+    public RoutingWeb3jService(
+            List<? extends Web3jService> services,
+            ScheduledExecutorService scheduledExecutorService,
+            long healthCheckInterval) {
+        this(services, scheduledExecutorService, healthCheckInterval, DEFAULT_MAX_BLOCK_LAG);
+    }
+
+    /**
+     * @param services services of the nodes to route requests to
+     * @param scheduledExecutorService executor for health checks and hedged requests
+     * @param healthCheckInterval interval of the health checks in milliseconds, or 0 to disable
+     *     them
+     * @param maxBlockLag number of blocks a node may be behind the other nodes
+     */
+    public RoutingWeb3jService(
+            List<? extends Web3jService> services,
+            ScheduledExecutorService scheduledExecutorService,
+            long healthCheckInterval,
+            long maxBlockLag) {
+        if (services.isEmpty()) {
+            throw new IllegalArgumentException("At least one service is required");
+        }
+        List<NodeStats> nodes = new ArrayList<>(services.size());
+        for (Web3jService service : services) {
+            nodes.add(new NodeStats(service));
+        }
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.maxBlockLag = maxBlockLag;
+        this.healthCheck =
+                healthCheckInterval > 0
+                        ? scheduledExecutorService.scheduleWithFixedDelay(
+                                this::checkHealth,
+                                0,
+                                healthCheckInterval,
+                                TimeUnit.MILLISECONDS)
+                        : null;
+    }
+
+    public List<NodeStats> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        if (!isIdempotentRead(request.getMethod())) {
+            NodeStats node = choose(null);
+            node.onStarted();
+            long start = System.nanoTime();
+            T response;
+            try {
+                response = node.getService().send(request, responseType);
+            } catch (IOException | RuntimeException e) {
+                node.onCompleted(System.nanoTime() - start, true);
+                throw e;
+            }
+            node.onCompleted(System.nanoTime() - start, false);
+            return response;
+        }
+
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        Function<Web3jService, CompletableFuture<T>> call =
+                service -> service.sendAsync(request, responseType);
+        if (isIdempotentRead(request.getMethod())) {
+            return new HedgedCall<>(call).start();
+        }
+        return sendAsync(choose(null), call);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        NodeStats node = choose(null);
+        node.onStarted();
+        long start = System.nanoTime();
+        BatchResponse batchResponse;
+        try {
+            batchResponse = node.getService().sendBatch(batchRequest);
+        } catch (IOException | RuntimeException e) {
+            node.onCompleted(System.nanoTime() - start, true);
+            throw e;
+        }
+        node.onCompleted(System.nanoTime() - start, false);
+        return batchResponse;
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return sendAsync(choose(null), service -> service.sendBatchAsync(batchRequest));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return choose(null).getService().subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (healthCheck != null) {
+            healthCheck.cancel(false);
+        }
+
+        IOException failure = null;
+        for (NodeStats node : nodes) {
+            try {
+                node.getService().close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns whether requests of the given method may be sent to more than one node.
+     *
+     * @param method the JSON-RPC method
+     * @return true for {@code tol_get*} methods and {@code tol_tryCallTransaction}
+     */
+    protected boolean isIdempotentRead(String method) {
+        return method != null
+                && (method.startsWith(GET_PREFIX) || TRY_CALL_TRANSACTION.equals(method));
+    }
+
+    /**
+     * Chooses the cheaper of two random healthy nodes.
+     *
+     * @param excluded node which must not be chosen, may be null
+     * @return the chosen node, or null if there is no node but the excluded one
+     */
+    NodeStats choose(NodeStats excluded) {
+        List<NodeStats> candidates = new ArrayList<>(nodes.size());
+        for (NodeStats node : nodes) {
+            if (node != excluded && node.isHealthy()) {
+                candidates.add(node);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (NodeStats node : nodes) {
+                if (node != excluded) {
+                    candidates.add(node);
+                }
+            }
+        }
+
+        int size = candidates.size();
+        if (size <= 1) {
+            return size == 0 ? null : candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        NodeStats a = candidates.get(first);
+        NodeStats b = candidates.get(second);
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    private static <T> CompletableFuture<T> sendAsync(
+            NodeStats node, Function<Web3jService, CompletableFuture<T>> call) {
+        node.onStarted();
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = call.apply(node.getService());
+        } catch (RuntimeException e) {
+            node.onCompleted(System.nanoTime() - start, true);
+            throw e;
+        }
+        result.whenComplete(
+                (value, throwable) ->
+                        node.onCompleted(System.nanoTime() - start, throwable != null));
+        return result;
+    }
+
+    private void checkHealth() {
+        try {
+            for (NodeStats node : nodes) {
+                checkHealth(node);
+            }
+        } catch (Throwable e) {
+            // All exceptions must be caught, otherwise the health checks stop
+            log.error("Error checking node health", e);
+        }
+    }
+
+    private void checkHealth(NodeStats node) {
+        if (node.healthCheck != null && !node.healthCheck.isDone()) {
+            // the node hasn't even answered the previous check
+            updateHealth(node, false);
+            return;
+        }
+
+        Request<?, TolGetBlockCount> request =
+                new Request<>(
+                        "tol_getBlockCount",
+                        Collections.<String>emptyList(),
+                        node.getService(),
+                        TolGetBlockCount.class);
+        try {
+            // tracked like any other request, so that the error rate of a node recovers
+            node.healthCheck =
+                    sendAsync(node, service -> request.sendAsync())
+                            .whenComplete(
+                                    (response, throwable) ->
+                                            onHealthCheck(node, response, throwable));
+        } catch (RuntimeException e) {
+            onHealthCheck(node, null, e);
+        }
+    }
+
+    private void onHealthCheck(NodeStats node, TolGetBlockCount response, Throwable throwable) {
+        if (throwable != null || response == null || response.hasError()) {
+            log.debug("Health check of {} failed", node.getService(), throwable);
+            updateHealth(node, false);
+            return;
+        }
+
+        try {
+            node.setBlockCount(response.getBlockCount().longValueExact());
+        } catch (RuntimeException e) {
+            // the node is reachable, but its block count is unknown
+            node.setBlockCount(-1);
+        }
+
+        long highest = -1;
+        for (NodeStats other : nodes) {
+            highest = Math.max(highest, other.getBlockCount());
+        }
+        long blockCount = node.getBlockCount();
+        updateHealth(node, blockCount < 0 || highest - blockCount <= maxBlockLag);
+    }
+
+    private static void updateHealth(NodeStats node, boolean healthy) {
+        if (node.isHealthy() != healthy) {
+            log.info(
+                    "Node {} is {}", node.getService(), healthy ? "healthy again" : "unhealthy");
+            node.setHealthy(healthy);
+        }
+    }
+
+    /**
+     * Idempotent read which is sent to a second node if the first one is slow or fails, completed
+     * by the first successful reply.
+     */
+    private class HedgedCall<T> {
+
+        private final Function<Web3jService, CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private NodeStats primary;
+        private int pending;
+        private boolean hedged;
+
+        HedgedCall(Function<Web3jService, CompletableFuture<T>> call) {
+            this.call = call;
+        }
+
+        CompletableFuture<T> start() {
+            synchronized (this) {
+                primary = choose(null);
+                send(primary);
+            }
+
+            if (nodes.size() > 1 && !result.isDone()) {
+                long p95 = primary.getLatencyP95();
+                long delay = p95 < 0 ? INITIAL_HEDGE_DELAY : p95;
+                ScheduledFuture<?> timer =
+                        scheduledExecutorService.schedule(
+                                this::hedge, delay, TimeUnit.NANOSECONDS);
+                result.whenComplete((value, throwable) -> timer.cancel(false));
+            }
+            return result;
+        }
+
+        private synchronized void send(NodeStats node) {
+            pending++;
+            try {
+                sendAsync(node, call)
+                        .whenComplete(
+                                (value, throwable) -> {
+                                    if (throwable == null) {
+                                        result.complete(value);
+                                    } else {
+                                        onFailure(throwable);
+                                    }
+                                });
+            } catch (RuntimeException e) {
+                onFailure(e);
+            }
+        }
+
+        private synchronized void onFailure(Throwable throwable) {
+            pending--;
+            // ask another node right away, unless one has been asked already
+            if (!hedge() && pending == 0) {
+                result.completeExceptionally(
+                        throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause()
+                                : throwable);
+            }
+        }
+
+        private synchronized boolean hedge() {
+            if (result.isDone() || hedged) {
+                return false;
+            }
+            hedged = true;
+            NodeStats secondary = choose(primary);
+            if (secondary == null) {
+                return false;
+            }
+            send(secondary);
+            return true;
+        }
+    }
+}
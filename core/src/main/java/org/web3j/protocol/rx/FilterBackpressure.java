@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+/**
+ * Backpressure settings for the polling filter flowables of {@link JsonRpc2_0Rx}.
+ *
+ * <p>Filter results are kept in a buffer of at most {@code capacity} entries until the subscriber
+ * requests them. Polling is paused while the buffer is full and the subscriber has no outstanding
+ * demand. If a single poll returns more results than fit into the buffer, the {@link
+ * OverflowPolicy} decides what happens with them.
+ *
+ * <p>A subscriber which requests nothing for longer than the filter timeout of the node loses the
+ * changes of that time, see {@link org.web3j.protocol.core.filters.Filter#pause()}.
+ */
+public class FilterBackpressure {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** What to do with filter results which don't fit into the buffer anymore. */
+    public enum OverflowPolicy {
+        /** Drop the oldest buffered results to make room for new ones. */
+        DROP_OLDEST,
+        /** Drop all buffered results, keeping only the latest one. */
+        LATEST,
+        /** Signal a {@link io.reactivex.exceptions.MissingBackpressureException}. */
+        ERROR
+    }
+
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final FilterBufferMetrics metrics;
+
+    public FilterBackpressure(OverflowPolicy overflowPolicy) {
+        this(DEFAULT_CAPACITY, overflowPolicy);
+    }
+
+    public FilterBackpressure(int capacity, OverflowPolicy overflowPolicy) {
+        this(capacity, overflowPolicy, new FilterBufferMetrics());
+    }
+
+    /**
+     * @param capacity maximum number of buffered results per subscription
+     * @param overflowPolicy what to do with results which don't fit into the buffer
+     * @param metrics buffer metrics to update, may be shared between several flowables
+     */
+    public FilterBackpressure(
+            int capacity, OverflowPolicy overflowPolicy, FilterBufferMetrics metrics) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.metrics = metrics;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public FilterBufferMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Occupancy of the buffers of the flowables created with a {@link FilterBackpressure}. When the
+ * same instance is used for several flowables, the values are aggregated over all of them.
+ */
+public class FilterBufferMetrics {
+
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicInteger peakBuffered = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger pausedFilters = new AtomicInteger();
+
+    /** @return the number of results currently waiting for subscriber demand */
+    public int getBuffered() {
+        return buffered.get();
+    }
+
+    /** @return the highest number of results that have been buffered at the same time */
+    public int getPeakBuffered() {
+        return peakBuffered.get();
+    }
+
+    /** @return the number of results dropped because of a full buffer */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** @return the number of filters which currently aren't polled because of a full buffer */
+    public int getPausedFilters() {
+        return pausedFilters.get();
+    }
+
+    void onBuffered(int delta) {
+        int current = buffered.addAndGet(delta);
+        peakBuffered.accumulateAndGet(current, Math::max);
+    }
+
+    void onDropped(int count) {
+        dropped.addAndGet(count);
+    }
+
+    void onPaused(boolean paused) {
+        pausedFilters.addAndGet(paused ? 1 : -1);
+    }
+}
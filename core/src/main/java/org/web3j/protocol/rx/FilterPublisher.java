@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.reactivex.exceptions.MissingBackpressureException;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import org.web3j.protocol.core.filters.Callback;
+import org.web3j.protocol.core.filters.Filter;
+
+/**
+ * Publishes the results of a polling {@link Filter} according to the demand of its subscriber.
+ *
+ * <p>Results are buffered until they are requested, see {@link FilterBackpressure} for how the
+ * buffer is bounded.
+ */
+class FilterPublisher<T> implements Publisher<T> {
+
+    private final Function<Callback<T>, Filter<T>> filterFactory;
+    private final Consumer<Filter<T>> filterRunner;
+    private final FilterBackpressure backpressure;
+
+    FilterPublisher(
+            Function<Callback<T>, Filter<T>> filterFactory,
+            Consumer<Filter<T>> filterRunner,
+            FilterBackpressure backpressure) {
+        this.filterFactory = filterFactory;
+        this.filterRunner = filterRunner;
+        this.backpressure = backpressure;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        FilterSubscription<T> subscription = new FilterSubscription<>(subscriber, backpressure);
+        subscriber.onSubscribe(subscription);
+
+        Filter<T> filter = filterFactory.apply(subscription::onEvent);
+        try {
+            filterRunner.accept(filter);
+        } catch (Throwable e) {
+            subscription.onError(e);
+            return;
+        }
+        subscription.setFilter(filter);
+    }
+
+    static final class FilterSubscription<T> implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final int capacity;
+        private final FilterBackpressure.OverflowPolicy overflowPolicy;
+        private final FilterBufferMetrics metrics;
+
+        private final ArrayDeque<T> buffer = new ArrayDeque<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicBoolean filterCancelled = new AtomicBoolean();
+
+        private volatile Filter<T> filter;
+        private volatile Throwable error;
+        private boolean paused;
+
+        FilterSubscription(Subscriber<? super T> subscriber, FilterBackpressure backpressure) {
+            this.subscriber = subscriber;
+            this.capacity = backpressure.getCapacity();
+            this.overflowPolicy = backpressure.getOverflowPolicy();
+            this.metrics = backpressure.getMetrics();
+        }
+
+        void setFilter(Filter<T> filter) {
+            this.filter = filter;
+            if (cancelled.get()) {
+                cancelFilter();
+            } else {
+                drain();
+            }
+        }
+
+        void onEvent(T value) {
+            if (cancelled.get() || error != null) {
+                return;
+            }
+
+            synchronized (this) {
+                if (buffer.size() >= capacity) {
+                    switch (overflowPolicy) {
+                        case DROP_OLDEST:
+                            buffer.poll();
+                            metrics.onBuffered(-1);
+                            metrics.onDropped(1);
+                            break;
+                        case LATEST:
+                            metrics.onBuffered(-buffer.size());
+                            metrics.onDropped(buffer.size());
+                            buffer.clear();
+                            break;
+                        default:
+                            error =
+                                    new MissingBackpressureException(
+                                            "Buffer of " + capacity + " filter results is full");
+                            break;
+                    }
+                }
+                if (error == null) {
+                    buffer.offer(value);
+                    metrics.onBuffered(1);
+                }
+            }
+            drain();
+        }
+
+        void onError(Throwable e) {
+            error = e;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                onError(new IllegalArgumentException("Requested amount must be positive: " + n));
+                return;
+            }
+            requested.accumulateAndGet(n, FilterSubscription::addCapped);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                cancelFilter();
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled.get() && error == null) {
+                    T value;
+                    synchronized (this) {
+                        value = buffer.poll();
+                    }
+                    if (value == null) {
+                        break;
+                    }
+                    metrics.onBuffered(-1);
+                    subscriber.onNext(value);
+                    emitted++;
+                }
+
+                if (cancelled.get()) {
+                    clear();
+                    return;
+                }
+
+                Throwable e = error;
+                if (e != null) {
+                    cancelled.set(true);
+                    cancelFilter();
+                    clear();
+                    subscriber.onError(e);
+                    return;
+                }
+
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    demand = requested.addAndGet(-emitted);
+                }
+                updatePolling(demand);
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /** Pause the filter while there is no demand and no room left for further results. */
+        private synchronized void updatePolling(long demand) {
+            Filter<T> filter = this.filter;
+            if (filter == null) {
+                return;
+            }
+
+            boolean pause = demand == 0 && buffer.size() >= capacity;
+            if (pause != paused) {
+                paused = pause;
+                metrics.onPaused(pause);
+                if (pause) {
+                    filter.pause();
+                } else {
+                    filter.resume();
+                }
+            }
+        }
+
+        private synchronized void clear() {
+            metrics.onBuffered(-buffer.size());
+            buffer.clear();
+            if (paused) {
+                paused = false;
+                metrics.onPaused(false);
+            }
+        }
+
+        private void cancelFilter() {
+            Filter<T> filter = this.filter;
+            if (filter != null && filterCancelled.compareAndSet(false, true)) {
+                filter.cancel();
+            }
+        }
+
+        private static long addCapped(long current, long n) {
+            long result = current + n;
+            return result < 0 ? Long.MAX_VALUE : result;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.filters.BlockFilter;
+import org.web3j.protocol.core.filters.FilterPoller;
 import org.web3j.protocol.core.filters.LogFilter;
 import org.web3j.protocol.core.filters.PendingTransactionFilter;
 import org.web3j.protocol.core.methods.response.Log;
@@ -42,11 +43,25 @@ public class JsonRpc2_0Rx {
     private final Web3j web3j;
     private final ScheduledExecutorService scheduledExecutorService;
     private final Scheduler scheduler;
+    private final FilterPoller filterPoller;
 
     public JsonRpc2_0Rx(Web3j web3j, ScheduledExecutorService scheduledExecutorService) {
+        this(web3j, scheduledExecutorService, null);
+    }
+
+    /**
+     * Creates a reactive API which polls all of its filters through the given {@link
+     * FilterPoller}, using one batch request per polling interval instead of one request per
+     * filter. The polling intervals passed to the individual flowables are ignored in this case.
+     */
+    public JsonRpc2_0Rx(
+            Web3j web3j,
+            ScheduledExecutorService scheduledExecutorService,
+            FilterPoller filterPoller) {
         this.web3j = web3j;
         this.scheduledExecutorService = scheduledExecutorService;
         this.scheduler = Schedulers.from(scheduledExecutorService);
+        this.filterPoller = filterPoller;
     }
 
     public Flowable<String> ethBlockHashFlowable(long pollingInterval) {
@@ -80,15 +95,52 @@ public class JsonRpc2_0Rx {
                 BackpressureStrategy.BUFFER);
     }
 
+    public Flowable<String> ethBlockHashFlowable(
+            long pollingInterval, FilterBackpressure backpressure) {
+        return Flowable.fromPublisher(
+                new FilterPublisher<String>(
+                        callback -> new BlockFilter(web3j, callback),
+                        filter -> run(filter, pollingInterval),
+                        backpressure));
+    }
+
+    public Flowable<String> ethPendingTransactionHashFlowable(
+            long pollingInterval, FilterBackpressure backpressure) {
+        return Flowable.fromPublisher(
+                new FilterPublisher<String>(
+                        callback -> new PendingTransactionFilter(web3j, callback),
+                        filter -> run(filter, pollingInterval),
+                        backpressure));
+    }
+
+    public Flowable<Log> ethLogFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            long pollingInterval,
+            FilterBackpressure backpressure) {
+        return Flowable.fromPublisher(
+                new FilterPublisher<Log>(
+                        callback -> new LogFilter(web3j, callback, ethFilter),
+                        filter -> run(filter, pollingInterval),
+                        backpressure));
+    }
+
     private <T> void run(
             org.web3j.protocol.core.filters.Filter<T> filter,
             FlowableEmitter<? super T> emitter,
             long pollingInterval) {
 
-        filter.run(scheduledExecutorService, pollingInterval);
+        run(filter, pollingInterval);
         emitter.setCancellable(filter::cancel);
     }
 
+    private <T> void run(org.web3j.protocol.core.filters.Filter<T> filter, long pollingInterval) {
+        if (filterPoller != null) {
+            filter.run(filterPoller);
+        } else {
+            filter.run(scheduledExecutorService, pollingInterval);
+        }
+    }
+
     public Flowable<Transaction> transactionFlowable(long pollingInterval) {
         return blockFlowable(pollingInterval).flatMapIterable(JsonRpc2_0Rx::toTransactions);
     }
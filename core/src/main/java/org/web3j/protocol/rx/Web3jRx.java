@@ -35,6 +35,16 @@ public interface Web3jRx {
      */
     Flowable<Log> ethLogFlowable(EthFilter ethFilter);
 
+    /**
+     * Create a flowable to filter for specific log events on the blockchain, which only polls for
+     * new events as long as the subscriber keeps up with them.
+     *
+     * @param ethFilter filter criteria
+     * @param backpressure bounds of the buffer for events which haven't been requested yet
+     * @return a {@link Flowable} instance that emits all Log events matching the filter
+     */
+    Flowable<Log> ethLogFlowable(EthFilter ethFilter, FilterBackpressure backpressure);
+
     /**
      * Create an Flowable to emit block hashes.
      *
@@ -43,6 +53,16 @@ public interface Web3jRx {
      */
     Flowable<String> ethBlockHashFlowable();
 
+    /**
+     * Create a Flowable to emit block hashes, which only polls for new blocks as long as the
+     * subscriber keeps up with them.
+     *
+     * @param backpressure bounds of the buffer for block hashes which haven't been requested yet
+     * @return a {@link Flowable} instance that emits all new block hashes as new blocks are created
+     *     on the blockchain
+     */
+    Flowable<String> ethBlockHashFlowable(FilterBackpressure backpressure);
+
     /**
      * Create an Flowable to emit pending transactions, i.e. those transactions that have been
      * submitted by a node, but don't yet form part of a block (haven't been mined yet).
@@ -51,6 +71,16 @@ public interface Web3jRx {
      */
     Flowable<String> ethPendingTransactionHashFlowable();
 
+    /**
+     * Create a Flowable to emit pending transactions, which only polls for new transactions as
+     * long as the subscriber keeps up with them.
+     *
+     * @param backpressure bounds of the buffer for transaction hashes which haven't been requested
+     *     yet
+     * @return a {@link Flowable} instance to emit pending transaction hashes.
+     */
+    Flowable<String> ethPendingTransactionHashFlowable(FilterBackpressure backpressure);
+
     /**
      * Create an {@link Flowable} instance to emit all new transactions as they are confirmed on the
      * blockchain. i.e. they have been mined and are incorporated into a block.
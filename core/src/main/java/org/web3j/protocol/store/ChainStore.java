@@ -0,0 +1,366 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import static org.web3j.protocol.store.ChainStoreCodec.BLOCK;
+import static org.web3j.protocol.store.ChainStoreCodec.HEADER_SIZE;
+import static org.web3j.protocol.store.ChainStoreCodec.RECEIPT;
+import static org.web3j.protocol.store.ChainStoreCodec.TRANSACTION;
+
+/**
+ * Local, append-only store of blocks, transactions and transaction receipts.
+ *
+ * <p>Records are appended to segment files in a compact binary format and are read back through
+ * memory-mapped buffers. The block index and hash indexes are kept in memory and rebuilt from the
+ * segment files when a store is opened, a partially written record at the end of the last segment
+ * is discarded.
+ *
+ * <p>Writes are serialised, reads may be performed concurrently from any thread.
+ */
+public class ChainStore implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainStore.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    // block index -> offset + 1, split into pages of primitive offsets
+    private final Map<Long, AtomicLongArray> blockOffsets = new ConcurrentHashMap<>();
+    private final Map<String, Long> blockIndexesByHash = new ConcurrentHashMap<>();
+    private final Map<String, Long> transactionOffsets = new ConcurrentHashMap<>();
+    private final Map<String, Long> receiptOffsets = new ConcurrentHashMap<>();
+
+    private volatile long latestBlockIndex = -1;
+
+    public ChainStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public ChainStore(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        Files.createDirectories(directory);
+        openSegments();
+    }
+
+    public synchronized void putBlock(TolBlock.Block block) throws IOException {
+        putBlock(null, block);
+    }
+
+    /**
+     * Store a block.
+     *
+     * @param blockHash hash of the block if known, blocks can also be looked up by hash once the
+     *     following block, which references it as its previous block, has been stored
+     * @param block block to store
+     * @throws IOException if the block can't be written
+     */
+    public synchronized void putBlock(String blockHash, TolBlock.Block block) throws IOException {
+        long offset = append(ChainStoreCodec.encodeBlock(blockHash, block));
+        indexBlock(blockHash, block.getBlockIndex().longValueExact(), block, offset);
+    }
+
+    public synchronized void putTransaction(String transactionHash, Transaction transaction)
+            throws IOException {
+        long offset = append(ChainStoreCodec.encodeTransaction(transactionHash, transaction));
+        transactionOffsets.put(toKey(transactionHash), offset);
+    }
+
+    public synchronized void putTransactionReceipt(TransactionReceipt transactionReceipt)
+            throws IOException {
+        long offset = append(ChainStoreCodec.encodeReceipt(transactionReceipt));
+        receiptOffsets.put(toKey(transactionReceipt.getHash()), offset);
+    }
+
+    public boolean containsBlock(long blockIndex) {
+        return getBlockOffset(blockIndex) >= 0;
+    }
+
+    public boolean containsTransaction(String transactionHash) {
+        return transactionOffsets.containsKey(toKey(transactionHash));
+    }
+
+    public boolean containsTransactionReceipt(String transactionHash) {
+        return receiptOffsets.containsKey(toKey(transactionHash));
+    }
+
+    public Optional<TolBlock.Block> getBlock(BigInteger blockIndex) throws IOException {
+        return getBlock(blockIndex.longValueExact());
+    }
+
+    public Optional<TolBlock.Block> getBlock(long blockIndex) throws IOException {
+        long offset = getBlockOffset(blockIndex);
+        return offset < 0
+                ? Optional.empty()
+                : Optional.of(read(offset, ChainStoreCodec::decodeBlock));
+    }
+
+    public Optional<TolBlock.Block> getBlockByHash(String blockHash) throws IOException {
+        Long blockIndex = blockIndexesByHash.get(toKey(blockHash));
+        return blockIndex == null ? Optional.empty() : getBlock(blockIndex);
+    }
+
+    public Optional<Transaction> getTransaction(String transactionHash) throws IOException {
+        Long offset = transactionOffsets.get(toKey(transactionHash));
+        return offset == null
+                ? Optional.empty()
+                : Optional.of(read(offset, ChainStoreCodec::decodeTransaction));
+    }
+
+    public Optional<TransactionReceipt> getTransactionReceipt(String transactionHash)
+            throws IOException {
+        Long offset = receiptOffsets.get(toKey(transactionHash));
+        return offset == null
+                ? Optional.empty()
+                : Optional.of(read(offset, ChainStoreCodec::decodeReceipt));
+    }
+
+    /** @return the highest block index held by the store, or -1 if the store is empty */
+    public long getLatestBlockIndex() {
+        return latestBlockIndex;
+    }
+
+    /**
+     * Force any written records to the storage device.
+     *
+     * @throws IOException if the segments can't be synced
+     */
+    public synchronized void flush() throws IOException {
+        for (Segment segment : segments) {
+            segment.channel.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+        segments.clear();
+    }
+
+    private void openSegments() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream =
+                Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+        paths.sort(null);
+
+        for (Path path : paths) {
+            Segment segment = new Segment(path);
+            segments.add(segment);
+            scan(segments.size() - 1, segment);
+        }
+
+        if (segments.isEmpty()) {
+            addSegment();
+        }
+    }
+
+    private void scan(int segmentNumber, Segment segment) throws IOException {
+        long size = segment.channel.size();
+        MappedByteBuffer buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        int position = 0;
+        while (position + HEADER_SIZE <= size) {
+            byte type = buffer.get(position);
+            int length = buffer.getInt(position + 1);
+            if (length < 0 || position + HEADER_SIZE + (long) length > size) {
+                break;
+            }
+
+            ByteBuffer payload = slice(buffer, position, length);
+            long offset = toOffset(segmentNumber, position);
+            switch (type) {
+                case BLOCK:
+                    String blockHash = ChainStoreCodec.readString(payload);
+                    TolBlock.Block block =
+                            ChainStoreCodec.decodeBlock(slice(buffer, position, length));
+                    indexBlock(blockHash, block.getBlockIndex().longValueExact(), block, offset);
+                    break;
+                case TRANSACTION:
+                    transactionOffsets.put(toKey(ChainStoreCodec.readString(payload)), offset);
+                    break;
+                case RECEIPT:
+                    receiptOffsets.put(toKey(ChainStoreCodec.readString(payload)), offset);
+                    break;
+                default:
+                    throw new IOException(
+                            "Corrupt record of type " + type + " in segment " + segment.path);
+            }
+            position += HEADER_SIZE + length;
+        }
+
+        if (position < size) {
+            log.warn(
+                    "Discarding {} bytes of incomplete record data in segment {}",
+                    size - position,
+                    segment.path);
+            segment.channel.truncate(position);
+        }
+        segment.size = position;
+    }
+
+    private void indexBlock(String blockHash, long blockIndex, TolBlock.Block block, long offset) {
+        AtomicLongArray page =
+                blockOffsets.computeIfAbsent(
+                        blockIndex >>> PAGE_BITS, key -> new AtomicLongArray(PAGE_SIZE));
+        page.set((int) (blockIndex & (PAGE_SIZE - 1)), offset + 1);
+
+        if (blockHash != null) {
+            blockIndexesByHash.put(toKey(blockHash), blockIndex);
+        }
+        if (block.getPreviousBlockHash() != null && blockIndex > 0) {
+            blockIndexesByHash.putIfAbsent(toKey(block.getPreviousBlockHash()), blockIndex - 1);
+        }
+        if (blockIndex > latestBlockIndex) {
+            latestBlockIndex = blockIndex;
+        }
+    }
+
+    private long getBlockOffset(long blockIndex) {
+        AtomicLongArray page = blockOffsets.get(blockIndex >>> PAGE_BITS);
+        return page == null ? -1 : page.get((int) (blockIndex & (PAGE_SIZE - 1))) - 1;
+    }
+
+    private long append(ByteBuffer record) throws IOException {
+        if (segments.isEmpty()) {
+            throw new IOException("Chain store has been closed");
+        }
+
+        Segment segment = segments.get(segments.size() - 1);
+        if (segment.size > 0 && segment.size + record.remaining() > segmentSize) {
+            segment = addSegment();
+        }
+
+        int position = (int) segment.size;
+        long filePosition = position;
+        while (record.hasRemaining()) {
+            filePosition += segment.channel.write(record, filePosition);
+        }
+        segment.size = filePosition;
+        return toOffset(segments.size() - 1, position);
+    }
+
+    private Segment addSegment() throws IOException {
+        Path path =
+                directory.resolve(
+                        String.format(
+                                "%s%08d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+        Segment segment = new Segment(path);
+        segments.add(segment);
+        return segment;
+    }
+
+    private <T> T read(long offset, Function<ByteBuffer, T> decoder) throws IOException {
+        Segment segment = segments.get((int) (offset >>> 32));
+        int position = (int) offset;
+
+        MappedByteBuffer buffer = segment.map(position + HEADER_SIZE);
+        int length = buffer.getInt(position + 1);
+        buffer = segment.map(position + HEADER_SIZE + length);
+
+        return decoder.apply(slice(buffer, position, length));
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(position + HEADER_SIZE);
+        payload.limit(position + HEADER_SIZE + length);
+        return payload;
+    }
+
+    private static long toOffset(int segmentNumber, int position) {
+        return ((long) segmentNumber << 32) | position;
+    }
+
+    private static String toKey(String hash) {
+        return Numeric.cleanHexPrefix(hash).toLowerCase();
+    }
+
+    private static class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private volatile long size;
+        private volatile MappedByteBuffer mapped;
+
+        Segment(Path path) throws IOException {
+            this.path = path;
+            this.channel =
+                    FileChannel.open(
+                            path,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+        }
+
+        /** Returns a mapping of this segment covering at least the requested number of bytes. */
+        MappedByteBuffer map(long required) throws IOException {
+            MappedByteBuffer current = mapped;
+            if (current != null && current.capacity() >= required) {
+                return current;
+            }
+
+            synchronized (this) {
+                if (mapped == null || mapped.capacity() < required) {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+                return mapped;
+            }
+        }
+    }
+}
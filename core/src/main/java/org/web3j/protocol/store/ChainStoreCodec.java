@@ -0,0 +1,372 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * Compact binary encoding of the records kept by {@link ChainStore}.
+ *
+ * <p>Every record starts with a one byte type followed by a four byte payload length. The first
+ * field of every payload is the key the record is indexed by, so that the index can be rebuilt by
+ * reading keys only. Hex strings, which make up most of the payload, are stored as raw bytes.
+ */
+final class ChainStoreCodec {
+
+    static final byte BLOCK = 1;
+    static final byte TRANSACTION = 2;
+    static final byte RECEIPT = 3;
+
+    static final int HEADER_SIZE = 5;
+
+    private static final byte NULL = 0;
+    private static final byte HEX = 1;
+    private static final byte PREFIXED_HEX = 2;
+    private static final byte TEXT = 3;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ChainStoreCodec() {}
+
+    static ByteBuffer encodeBlock(String blockHash, TolBlock.Block block) throws IOException {
+        RecordWriter writer = new RecordWriter();
+        writer.writeString(blockHash);
+        writer.writeBigInteger(block.getBlockIndex());
+        writer.writeString(block.getPreviousBlockHash());
+        writer.writeStrings(block.getTransactionHashes());
+        writer.writeLong(block.getConfirmationTimestamp());
+        return writer.toRecord(BLOCK);
+    }
+
+    static TolBlock.Block decodeBlock(ByteBuffer payload) {
+        readString(payload); // block hash, only used for indexing
+        return new TolBlock.Block(
+                readBigInteger(payload),
+                readString(payload),
+                readStrings(payload),
+                payload.getLong());
+    }
+
+    static ByteBuffer encodeTransaction(String transactionHash, Transaction transaction)
+            throws IOException {
+        RecordWriter writer = new RecordWriter();
+        writer.writeString(transactionHash);
+        writer.writeString(transaction.getBlockHash());
+        writer.writeBigInteger(transaction.getTransactionIndex());
+        writer.writeString(transaction.getSenderAddress());
+        writer.writeString(transaction.getReceiverAddress());
+        writer.writeBigInteger(transaction.getValue());
+        writer.writeBigInteger(transaction.getGas());
+        writer.writeBigInteger(transaction.getGasPrice());
+        writer.writeString(transaction.getData());
+        writer.writeBigInteger(transaction.getNonce());
+        writer.writeBigInteger(transaction.getGasUsed());
+        writer.writeBigInteger(transaction.getGasRefunded());
+        writer.writeString(transaction.getNewAddress());
+        writer.writeString(transaction.getOutput());
+        writer.writeBoolean(transaction.isExcepted());
+        writer.writeBigInteger(transaction.getConfirmationTimestamp());
+        return writer.toRecord(TRANSACTION);
+    }
+
+    static Transaction decodeTransaction(ByteBuffer payload) {
+        readString(payload); // transaction hash, only used for indexing
+        return new Transaction(
+                readString(payload),
+                readBigInteger(payload),
+                readString(payload),
+                readString(payload),
+                readBigInteger(payload),
+                readBigInteger(payload),
+                readBigInteger(payload),
+                readString(payload),
+                readBigInteger(payload),
+                readBigInteger(payload),
+                readBigInteger(payload),
+                readString(payload),
+                readString(payload),
+                readBoolean(payload),
+                readBigInteger(payload));
+    }
+
+    static ByteBuffer encodeReceipt(TransactionReceipt receipt) throws IOException {
+        RecordWriter writer = new RecordWriter();
+        writer.writeString(receipt.getHash());
+        writer.writeString(receipt.getBlockHash());
+        writer.writeString(receipt.getTransactionIndex());
+        writer.writeString(receipt.getSenderAddress());
+        writer.writeString(receipt.getReceiverAddress());
+        writer.writeBigInteger(receipt.getGasUsed());
+        writer.writeString(receipt.getNewAddress());
+        writer.writeBoolean(receipt.isExcepted());
+        writer.writeBigInteger(receipt.getBlockNumber());
+
+        List<Log> logs = receipt.getLogs();
+        if (logs == null) {
+            writer.writeVarInt(0);
+        } else {
+            writer.writeVarInt(logs.size() + 1);
+            for (Log log : logs) {
+                writer.writeBoolean(log.isRemoved());
+                writer.writeString(log.getLogIndexRaw());
+                writer.writeString(log.getTransactionIndexRaw());
+                writer.writeString(log.getTransactionHash());
+                writer.writeString(log.getBlockHash());
+                writer.writeString(log.getBlockNumberRaw());
+                writer.writeString(log.getAddress());
+                writer.writeString(log.getData());
+                writer.writeString(log.getType());
+                writer.writeStrings(log.getTopics());
+            }
+        }
+        return writer.toRecord(RECEIPT);
+    }
+
+    static TransactionReceipt decodeReceipt(ByteBuffer payload) {
+        String hash = readString(payload);
+        String blockHash = readString(payload);
+        String transactionIndex = readString(payload);
+        String senderAddress = readString(payload);
+        String receiverAddress = readString(payload);
+        BigInteger gasUsed = readBigInteger(payload);
+        String newAddress = readString(payload);
+        boolean excepted = readBoolean(payload);
+        BigInteger blockNumber = readBigInteger(payload);
+
+        List<Log> logs = null;
+        int logCount = readVarInt(payload) - 1;
+        if (logCount >= 0) {
+            logs = new ArrayList<>(logCount);
+            for (int i = 0; i < logCount; i++) {
+                logs.add(
+                        new Log(
+                                readBoolean(payload),
+                                readString(payload),
+                                readString(payload),
+                                readString(payload),
+                                readString(payload),
+                                readString(payload),
+                                readString(payload),
+                                readString(payload),
+                                readString(payload),
+                                readStrings(payload)));
+            }
+        }
+
+        return new TransactionReceipt(
+                blockHash,
+                transactionIndex,
+                senderAddress,
+                receiverAddress,
+                gasUsed,
+                newAddress,
+                excepted,
+                blockNumber,
+                hash,
+                logs);
+    }
+
+    static String readString(ByteBuffer payload) {
+        byte tag = payload.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case HEX:
+                return toHex(readBytes(payload), false);
+            case PREFIXED_HEX:
+                return toHex(readBytes(payload), true);
+            case TEXT:
+                return new String(readBytes(payload), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalStateException("Unknown string encoding: " + tag);
+        }
+    }
+
+    static BigInteger readBigInteger(ByteBuffer payload) {
+        int length = readVarInt(payload) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        payload.get(value);
+        return new BigInteger(value);
+    }
+
+    private static List<String> readStrings(ByteBuffer payload) {
+        int count = readVarInt(payload) - 1;
+        if (count < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(payload));
+        }
+        return values;
+    }
+
+    private static boolean readBoolean(ByteBuffer payload) {
+        return payload.get() != 0;
+    }
+
+    private static byte[] readBytes(ByteBuffer payload) {
+        byte[] value = new byte[readVarInt(payload)];
+        payload.get(value);
+        return value;
+    }
+
+    private static int readVarInt(ByteBuffer payload) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = payload.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static String toHex(byte[] value, boolean withPrefix) {
+        char[] chars = new char[value.length * 2 + (withPrefix ? 2 : 0)];
+        int i = 0;
+        if (withPrefix) {
+            chars[i++] = '0';
+            chars[i++] = 'x';
+        }
+        for (byte b : value) {
+            chars[i++] = HEX_DIGITS[(b >> 4) & 0xF];
+            chars[i++] = HEX_DIGITS[b & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the byte value of a lower case, even length hex string, or null if the string can't
+     * be restored exactly from its bytes.
+     */
+    private static byte[] fromHex(String value, int offset) {
+        int length = value.length() - offset;
+        if (length % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = lowerHexDigit(value.charAt(offset + 2 * i));
+            int low = lowerHexDigit(value.charAt(offset + 2 * i + 1));
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    private static int lowerHexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else {
+            return -1;
+        }
+    }
+
+    private static class RecordWriter {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        RecordWriter() throws IOException {
+            // reserve space for the record header
+            out.write(new byte[HEADER_SIZE]);
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeByte(NULL);
+                return;
+            }
+
+            boolean prefixed = value.startsWith("0x");
+            byte[] hex = fromHex(value, prefixed ? 2 : 0);
+            if (hex != null) {
+                out.writeByte(prefixed ? PREFIXED_HEX : HEX);
+                writeBytes(hex);
+            } else {
+                out.writeByte(TEXT);
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void writeStrings(List<String> values) throws IOException {
+            if (values == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(values.size() + 1);
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeBigInteger(BigInteger value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+            } else {
+                byte[] bytes = value.toByteArray();
+                writeVarInt(bytes.length + 1);
+                out.write(bytes);
+            }
+        }
+
+        void writeLong(long value) throws IOException {
+            out.writeLong(value);
+        }
+
+        void writeBoolean(boolean value) throws IOException {
+            out.writeBoolean(value);
+        }
+
+        void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+        private void writeBytes(byte[] value) throws IOException {
+            writeVarInt(value.length);
+            out.write(value);
+        }
+
+        ByteBuffer toRecord(byte type) {
+            ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+            record.put(0, type);
+            record.putInt(1, record.capacity() - HEADER_SIZE);
+            return record;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.store;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TolTransaction;
+
+/**
+ * Populates a {@link ChainStore} from a node by replaying a range of blocks.
+ *
+ * <p>Blocks are replayed via {@link Web3j#replayPastBlocksFlowable(DefaultBlockParameter,
+ * DefaultBlockParameter, boolean)}, the transactions and receipts of each block are fetched in a
+ * single batch request. Entries already held by the store are not requested again.
+ */
+public class ChainStoreLoader {
+
+    private final Web3j web3j;
+    private final ChainStore chainStore;
+    private final boolean includeTransactions;
+
+    public ChainStoreLoader(Web3j web3j, ChainStore chainStore) {
+        this(web3j, chainStore, true);
+    }
+
+    public ChainStoreLoader(Web3j web3j, ChainStore chainStore, boolean includeTransactions) {
+        this.web3j = web3j;
+        this.chainStore = chainStore;
+        this.includeTransactions = includeTransactions;
+    }
+
+    /**
+     * Replay and store a range of blocks.
+     *
+     * @param startBlock first block to store
+     * @param endBlock last block to store
+     * @return a {@link Flowable} emitting each block once it has been stored
+     */
+    public Flowable<TolBlock> replayBlocksFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock) {
+        return web3j.replayPastBlocksFlowable(startBlock, endBlock, includeTransactions)
+                .doOnNext(this::store);
+    }
+
+    void store(TolBlock tolBlock) throws IOException {
+        TolBlock.Block block = tolBlock.getBlock();
+        if (block == null) {
+            return;
+        }
+
+        if (includeTransactions && block.getTransactionHashes() != null) {
+            storeTransactions(block.getTransactionHashes());
+        }
+
+        if (!chainStore.containsBlock(block.getBlockIndex().longValueExact())) {
+            chainStore.putBlock(block);
+        }
+    }
+
+    private void storeTransactions(List<String> transactionHashes) throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        List<String> requestedHashes = new ArrayList<>();
+        for (String transactionHash : transactionHashes) {
+            if (!chainStore.containsTransaction(transactionHash)) {
+                batchRequest.add(web3j.tolGetTransaction(transactionHash));
+                requestedHashes.add(transactionHash);
+            }
+            if (!chainStore.containsTransactionReceipt(transactionHash)) {
+                batchRequest.add(web3j.tolGetTransactionReceipt(transactionHash));
+                requestedHashes.add(transactionHash);
+            }
+        }
+
+        if (requestedHashes.isEmpty()) {
+            return;
+        }
+
+        BatchResponse batchResponse = batchRequest.send();
+        List<? extends Response<?>> responses = batchResponse.getResponses();
+        for (int i = 0; i < responses.size(); i++) {
+            Response<?> response = responses.get(i);
+            if (response.hasError()) {
+                throw new IOException(
+                        "Failed to fetch transaction "
+                                + requestedHashes.get(i)
+                                + ": "
+                                + response.getError().getMessage());
+            }
+
+            if (response instanceof TolTransaction) {
+                TolTransaction transaction = (TolTransaction) response;
+                if (transaction.getTransaction().isPresent()) {
+                    chainStore.putTransaction(
+                            requestedHashes.get(i), transaction.getTransaction().get());
+                }
+            } else if (response instanceof TolGetTransactionReceipt) {
+                TolGetTransactionReceipt receipt = (TolGetTransactionReceipt) response;
+                if (receipt.getTransactionReceipt().isPresent()) {
+                    chainStore.putTransactionReceipt(receipt.getTransactionReceipt().get());
+                }
+            }
+        }
+    }
+}
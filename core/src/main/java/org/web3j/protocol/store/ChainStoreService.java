@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.store;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+/**
+ * {@link Web3jService} implementation serving historical blocks, transactions and receipts from a
+ * {@link ChainStore}.
+ *
+ * <p>Requests which can't be answered by the store are passed on to the underlying service, and
+ * the historical entries it returns are added to the store. Without an underlying service the
+ * store is used offline, requests the store can't answer fail with a {@link
+ * ClientConnectionException}.
+ *
+ * <p>Closing this service closes the underlying service but not the store.
+ */
+public class ChainStoreService implements Web3jService {
+
+    private static final String GET_BLOCK_BY_INDEX = "tol_getBlockByIndex";
+    private static final String GET_BLOCK_BY_HASH = "tol_getBlockByHash";
+    private static final String GET_TRANSACTION = "tol_getTransaction";
+    private static final String GET_TRANSACTION_RECEIPT = "tol_getTransactionReceipt";
+
+    private final ChainStore chainStore;
+    private final Web3jService web3jService;
+
+    public ChainStoreService(ChainStore chainStore) {
+        this(chainStore, null);
+    }
+
+    public ChainStoreService(ChainStore chainStore, Web3jService web3jService) {
+        this.chainStore = chainStore;
+        this.web3jService = web3jService;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        Optional<Object> stored = lookup(request);
+        if (stored.isPresent()) {
+            return createResponse(request, responseType, stored.get());
+        }
+
+        T response = requireService(request).send(request, responseType);
+        store(request, response);
+        return response;
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return Async.run(() -> send(request, responseType));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        BatchRequest missing = null;
+
+        for (Request<?, ? extends Response<?>> request : requests) {
+            Optional<Object> stored = lookup(request);
+            if (stored.isPresent()) {
+                responses.add(createResponse(request, request.getResponseType(), stored.get()));
+            } else {
+                if (missing == null) {
+                    missing = new BatchRequest(requireService(request));
+                }
+                missing.add(request);
+                responses.add(null);
+            }
+        }
+
+        if (missing != null) {
+            List<? extends Response<?>> fetched = missing.send().getResponses();
+            int next = 0;
+            for (int i = 0; i < responses.size(); i++) {
+                if (responses.get(i) == null) {
+                    Response<?> response = fetched.get(next++);
+                    store(requests.get(i), response);
+                    responses.set(i, response);
+                }
+            }
+        }
+
+        return new BatchResponse(requests, responses);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return requireService(request).subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (web3jService != null) {
+            web3jService.close();
+        }
+    }
+
+    private Optional<Object> lookup(Request<?, ?> request) throws IOException {
+        List<?> params = request.getParams();
+        if (params == null || params.isEmpty() || params.get(0) == null) {
+            return Optional.empty();
+        }
+
+        String param = params.get(0).toString();
+        switch (request.getMethod()) {
+            case GET_BLOCK_BY_INDEX:
+                BigInteger blockIndex = toBlockIndex(param);
+                return blockIndex == null
+                        ? Optional.empty()
+                        : chainStore.getBlock(blockIndex).map(Object.class::cast);
+            case GET_BLOCK_BY_HASH:
+                return chainStore.getBlockByHash(param).map(Object.class::cast);
+            case GET_TRANSACTION:
+                return chainStore.getTransaction(param).map(Object.class::cast);
+            case GET_TRANSACTION_RECEIPT:
+                return chainStore.getTransactionReceipt(param).map(Object.class::cast);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private BigInteger toBlockIndex(String param) {
+        try {
+            return new BigInteger(param);
+        } catch (NumberFormatException e) {
+            if (web3jService == null
+                    && isLatest(param)
+                    && chainStore.getLatestBlockIndex() >= 0) {
+                // offline, the latest block is the latest one we know of
+                return BigInteger.valueOf(chainStore.getLatestBlockIndex());
+            }
+            return null;
+        }
+    }
+
+    private static boolean isLatest(String param) {
+        return DefaultBlockParameterName.LATEST.getValue().equals(param)
+                || DefaultBlockParameterName.PENDING.getValue().equals(param);
+    }
+
+    private void store(Request<?, ?> request, Response<?> response) throws IOException {
+        if (response == null || response.hasError() || response.getResult() == null) {
+            return;
+        }
+
+        Object result = response.getResult();
+        String param = request.getParams().isEmpty() ? null : request.getParams().get(0).toString();
+        switch (request.getMethod()) {
+            case GET_BLOCK_BY_INDEX:
+                TolBlock.Block block = (TolBlock.Block) result;
+                if (!chainStore.containsBlock(block.getBlockIndex().longValueExact())) {
+                    chainStore.putBlock(block);
+                }
+                break;
+            case GET_BLOCK_BY_HASH:
+                TolBlock.Block hashedBlock = (TolBlock.Block) result;
+                if (!chainStore.containsBlock(hashedBlock.getBlockIndex().longValueExact())) {
+                    chainStore.putBlock(param, hashedBlock);
+                }
+                break;
+            case GET_TRANSACTION:
+                chainStore.putTransaction(param, (Transaction) result);
+                break;
+            case GET_TRANSACTION_RECEIPT:
+                chainStore.putTransactionReceipt((TransactionReceipt) result);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Web3jService requireService(Request<?, ?> request) {
+        if (web3jService == null) {
+            throw new ClientConnectionException(
+                    "Request "
+                            + request.getMethod()
+                            + " can't be served from the chain store and no node is available");
+        }
+        return web3jService;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Response> T createResponse(
+            Request<?, ?> request, Class<T> responseType, Object result) {
+        T response;
+        try {
+            response = responseType.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Unable to create response of type " + responseType.getName(), e);
+        }
+        response.setId(request.getId());
+        response.setJsonrpc(request.getJsonrpc());
+        response.setResult(result);
+        return response;
+    }
+}
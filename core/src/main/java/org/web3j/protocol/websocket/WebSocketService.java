@@ -75,6 +75,7 @@ public class WebSocketService implements Web3jService {
     private final ScheduledExecutorService executor;
     // Object mapper to map incoming JSON objects
     private final ObjectMapper objectMapper;
+    private final boolean includeRawResponses;
 
     // Map of a sent request id to objects necessary to process this request
     private Map<Long, WebSocketRequest<?>> requestForId = new ConcurrentHashMap<>();
@@ -100,6 +101,7 @@ public class WebSocketService implements Web3jService {
         this.webSocketClient = webSocketClient;
         this.executor = executor;
         this.objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        this.includeRawResponses = includeRawResponses;
     }
 
     /**
@@ -281,6 +283,10 @@ public class WebSocketService implements Web3jService {
         WebSocketRequest request = getAndRemoveRequest(replyId);
         try {
             Object reply = objectMapper.convertValue(replyJson, request.getResponseType());
+            if (includeRawResponses && reply instanceof Response) {
+                // the message has been received as text already, so it can be used as it is
+                ((Response<?>) reply).setRawResponse(replyStr);
+            }
             // Instead of sending a reply to a caller asynchronously we need to process it here
             // to avoid race conditions we need to modify state of this class.
             if (reply instanceof EthSubscribe) {
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.web3j.abi.EventEncoder;
@@ -28,6 +29,7 @@ import org.web3j.abi.EventValues;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.FunctionReturnDecoder;
 import org.web3j.abi.TypeReference;
+import org.web3j.abi.WordCodec;
 import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Function;
@@ -46,6 +48,7 @@ import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.gas.StaticGasProvider;
+import org.web3j.tx.response.EmptyTransactionReceipt;
 import org.web3j.utils.Numeric;
 
 /**
@@ -292,10 +295,42 @@ public abstract class Contract extends ManagedTransaction {
         return FunctionReturnDecoder.decode(value, function.getOutputParameters());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Execute a constant function call which has already been encoded, as done by wrappers
+     * generated with static codecs.
+     *
+     * @param encodedFunction the encoded function call
+     * @param outputWords the number of 32 byte words the output consists of
+     * @return the output of the call without its hex prefix
+     */
+    protected String executeCall(String encodedFunction, int outputWords) throws IOException {
+        String value =
+                Numeric.cleanHexPrefix(
+                        call(contractAddress, encodedFunction, GAS_LIMIT, GAS_PRICE));
+        if (value.isEmpty()) {
+            throw new ContractCallException("Empty value (0x) returned from contract");
+        } else if (value.length() < outputWords * WordCodec.WORD_LENGTH) {
+            throw new ContractCallException(
+                    "Unable to decode response: expected "
+                            + outputWords
+                            + " words but got "
+                            + value);
+        }
+        return value;
+    }
+
     protected <T extends Type> T executeCallSingleValueReturn(Function function)
             throws IOException {
-        List<Type> values = executeCall(function);
+        return singleValue(executeCall(function));
+    }
+
+    protected <T extends Type, R> R executeCallSingleValueReturn(
+            Function function, Class<R> returnType) throws IOException {
+        return convertSingleValue(executeCall(function), returnType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Type> T singleValue(List<Type> values) {
         if (!values.isEmpty()) {
             return (T) values.get(0);
         } else {
@@ -304,9 +339,8 @@ public abstract class Contract extends ManagedTransaction {
     }
 
     @SuppressWarnings("unchecked")
-    protected <T extends Type, R> R executeCallSingleValueReturn(
-            Function function, Class<R> returnType) throws IOException {
-        T result = executeCallSingleValueReturn(function);
+    private static <R> R convertSingleValue(List<Type> values, Class<R> returnType) {
+        Type result = singleValue(values);
         if (result == null) {
             throw new ContractCallException("Empty value (0x) returned from contract");
         }
@@ -339,9 +373,10 @@ public abstract class Contract extends ManagedTransaction {
         return executeTransaction(FunctionEncoder.encode(function), weiValue, function.getName());
     }
 
-    TransactionReceipt executeTransaction(String data, BigInteger weiValue, String funcName)
+    protected TransactionReceipt executeTransaction(
+            String data, BigInteger weiValue, String funcName)
             throws TransactionException, IOException {
-        throw new UnsupportedOperationException();
+        return executeTransaction(data, weiValue, null, funcName, null);
     }
 
     /**
@@ -361,13 +396,22 @@ public abstract class Contract extends ManagedTransaction {
             BigInteger nonce)
             throws TransactionException, IOException {
 
+        // deployments have no contract address yet, their gas isn't tracked per function
+        boolean deployed = contractAddress != null;
         TransactionReceipt receipt =
                 send(
                         contractAddress,
                         weiValue,
-                        gasProvider.getGasLimit(funcName),
+                        deployed
+                                ? gasProvider.getGasLimit(contractAddress, funcName, data)
+                                : gasProvider.getGasLimit(funcName),
                         gasProvider.getGasPrice(funcName),
                         data);
+        if (deployed
+                && !(receipt instanceof EmptyTransactionReceipt)
+                && receipt.getGasUsed() != null) {
+            gasProvider.recordGasUsed(contractAddress, data, receipt.getGasUsed());
+        }
 
         // TODO see what to do with this
         /*if (!receipt.isStatusOK()) {
@@ -385,18 +429,33 @@ public abstract class Contract extends ManagedTransaction {
 
     protected <T extends Type> RemoteFunctionCall<T> executeRemoteCallSingleValueReturn(
             Function function) {
-        return new RemoteFunctionCall<>(function, () -> executeCallSingleValueReturn(function));
+        return new RemoteFunctionCall<>(
+                function, () -> executeCallSingleValueReturn(function), Contract::singleValue);
     }
 
     protected <T> RemoteFunctionCall<T> executeRemoteCallSingleValueReturn(
             Function function, Class<T> returnType) {
         return new RemoteFunctionCall<>(
-                function, () -> executeCallSingleValueReturn(function, returnType));
+                function,
+                () -> executeCallSingleValueReturn(function, returnType),
+                values -> convertSingleValue(values, returnType));
     }
 
     protected RemoteFunctionCall<List<Type>> executeRemoteCallMultipleValueReturn(
             Function function) {
-        return new RemoteFunctionCall<>(function, () -> executeCallMultipleValueReturn(function));
+        return new RemoteFunctionCall<>(
+                function, () -> executeCallMultipleValueReturn(function), values -> values);
+    }
+
+    /**
+     * Adds a constant function call of this contract to a batch instead of sending it on its own.
+     *
+     * @param batch the batch the call is sent with
+     * @param call a call returned by one of the constant functions of this contract
+     * @return a future completed with the result of the call once the batch has been sent
+     */
+    public <T> CompletableFuture<T> enlist(ContractCallBatch batch, RemoteFunctionCall<T> call) {
+        return batch.add(this, call);
     }
 
     protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransaction(
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.web3j.abi.WordCodec;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.RemoteFunctionCall;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.TolTryCallTransaction;
+import org.web3j.tx.exceptions.ContractCallException;
+import org.web3j.utils.Async;
+import org.web3j.utils.Numeric;
+
+/**
+ * Collects constant function calls of any number of contracts and sends them together in JSON-RPC
+ * batch requests of bounded size.
+ *
+ * <p>Every call added returns a future which is completed with its decoded result, or
+ * exceptionally if the call reverted or its batch failed, once the batch has been sent. A batch
+ * can be reused, each {@link #send()} sends the calls added since the previous one.
+ *
+ * <pre>{@code
+ * ContractCallBatch batch = new ContractCallBatch(web3j);
+ * CompletableFuture<BigInteger> balance = token.enlist(batch, token.balanceOf(owner));
+ * CompletableFuture<String> name = token.enlist(batch, token.name());
+ * batch.send();
+ * }</pre>
+ */
+public class ContractCallBatch {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Web3j web3j;
+    private final int maxBatchSize;
+
+    private List<PendingCall<?>> pendingCalls = new ArrayList<>();
+
+    public ContractCallBatch(Web3j web3j) {
+        this(web3j, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public ContractCallBatch(Web3j web3j, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum batch size: " + maxBatchSize);
+        }
+        this.web3j = web3j;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Adds a call returned by a constant function of a contract wrapper.
+     *
+     * @throws IllegalArgumentException if the result of the call can't be decoded separately
+     */
+    public <T> CompletableFuture<T> add(Contract contract, RemoteFunctionCall<T> call) {
+        if (!call.canDecodeResult()) {
+            throw new IllegalArgumentException(
+                    "Call of "
+                            + call.getFunction().getName()
+                            + " can't be batched as its result can't be decoded separately");
+        }
+        return add(
+                contract,
+                call.getFunction().getName(),
+                call.encodeFunctionCall(),
+                call::decodeResult);
+    }
+
+    /**
+     * Adds an encoded call which is decoded by a static decoder, as generated with static codecs.
+     *
+     * @param functionName name of the function, used to look up the gas of the call
+     * @param outputWords the number of 32 byte words the output consists of
+     * @param decoder decodes the output of the call without its hex prefix
+     */
+    public <T> CompletableFuture<T> add(
+            Contract contract,
+            String functionName,
+            String encodedFunction,
+            int outputWords,
+            Function<String, T> decoder) {
+        int outputLength = outputWords * WordCodec.WORD_LENGTH;
+        return add(
+                contract,
+                functionName,
+                encodedFunction,
+                output -> {
+                    String value = Numeric.cleanHexPrefix(output);
+                    if (value.length() < Math.max(1, outputLength)) {
+                        throw new ContractCallException(
+                                "Unable to decode response: expected "
+                                        + outputWords
+                                        + " words but got "
+                                        + value);
+                    }
+                    return decoder.apply(value);
+                });
+    }
+
+    private <T> CompletableFuture<T> add(
+            Contract contract,
+            String functionName,
+            String encodedFunction,
+            Function<String, T> decoder) {
+        Transaction transaction =
+                Transaction.createTryCallTransaction(
+                        contract.transactionManager.getSenderAddress(),
+                        contract.getContractAddress(),
+                        contract.gasProvider.getGasLimit(functionName),
+                        contract.gasProvider.getGasPrice(functionName),
+                        encodedFunction);
+        PendingCall<T> pendingCall = new PendingCall<>(transaction, decoder);
+        synchronized (this) {
+            pendingCalls.add(pendingCall);
+        }
+        return pendingCall.future;
+    }
+
+    /** Returns the number of calls which haven't been sent yet. */
+    public synchronized int size() {
+        return pendingCalls.size();
+    }
+
+    /**
+     * Sends all calls added since the previous send, in as many batch requests as needed.
+     *
+     * <p>If a batch request fails, the futures of its calls are completed exceptionally, the
+     * remaining batch requests are still sent and the first failure is thrown afterwards.
+     */
+    public void send() throws IOException {
+        List<PendingCall<?>> calls;
+        synchronized (this) {
+            calls = pendingCalls;
+            pendingCalls = new ArrayList<>();
+        }
+
+        IOException failure = null;
+        for (int from = 0; from < calls.size(); from += maxBatchSize) {
+            List<PendingCall<?>> chunk =
+                    calls.subList(from, Math.min(calls.size(), from + maxBatchSize));
+            try {
+                send(chunk);
+            } catch (IOException | RuntimeException e) {
+                for (PendingCall<?> call : chunk) {
+                    call.future.completeExceptionally(e);
+                }
+                if (failure == null) {
+                    failure = e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public CompletableFuture<Void> sendAsync() {
+        return Async.run(
+                () -> {
+                    send();
+                    return null;
+                });
+    }
+
+    private void send(List<PendingCall<?>> calls) throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (PendingCall<?> call : calls) {
+            batchRequest.add(web3j.tolTryCallTransaction(call.transaction));
+        }
+        List<? extends Response<?>> responses = batchRequest.send().getResponses();
+
+        for (int i = 0; i < calls.size(); i++) {
+            calls.get(i).complete((TolTryCallTransaction) responses.get(i));
+        }
+    }
+
+    private static class PendingCall<T> {
+
+        final Transaction transaction;
+        final Function<String, T> decoder;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        PendingCall(Transaction transaction, Function<String, T> decoder) {
+            this.transaction = transaction;
+            this.decoder = decoder;
+        }
+
+        void complete(TolTryCallTransaction response) {
+            try {
+                TransactionManager.assertCallNotReverted(response);
+                future.complete(decoder.apply(response.getOutput()));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.WordCodec;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Bytes;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Int;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Uint;
+import org.web3j.abi.datatypes.generated.Uint160;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+/**
+ * Decodes the logs of many event types and contracts in a single pass.
+ *
+ * <p>The signature topic of every registered event is computed once, as well as a reader for every
+ * parameter of an elementary static type, such as {@code uint256}, {@code address} or {@code
+ * bytes32}, which decodes its word with {@link WordCodec}. Decoding a log is a hash lookup of its
+ * first topic followed by reading its words; parameters of other types, and non indexed ones
+ * following them, are decoded with {@link FunctionReturnDecoder}. Events can be restricted to
+ * contract addresses; when all of them are, logs of other contracts are rejected before their
+ * topics are looked at.
+ *
+ * <p>Events sharing a signature, such as the ERC-20 and ERC-721 {@code Transfer} events, are told
+ * apart by their number of indexed parameters.
+ */
+public class EventDecoderRegistry {
+
+    private final Map<String, List<Decoder>> decoders = new ConcurrentHashMap<>();
+    private final Set<String> addresses = ConcurrentHashMap.newKeySet();
+    private volatile boolean anyAddress;
+
+    /** Register an event emitted by any contract. */
+    public EventDecoderRegistry register(Event event) {
+        anyAddress = true;
+        addDecoder(new Decoder(event, Collections.emptySet()));
+        return this;
+    }
+
+    /** Register an event emitted by the given contracts only. */
+    public EventDecoderRegistry register(Event event, String... contractAddresses) {
+        if (contractAddresses.length == 0) {
+            return register(event);
+        }
+        Set<String> normalised = new HashSet<>();
+        for (String contractAddress : contractAddresses) {
+            normalised.add(normalise(contractAddress));
+        }
+        addresses.addAll(normalised);
+        addDecoder(new Decoder(event, normalised));
+        return this;
+    }
+
+    private synchronized void addDecoder(Decoder decoder) {
+        List<Decoder> registered =
+                new ArrayList<>(decoders.getOrDefault(decoder.topic, Collections.emptyList()));
+        registered.add(decoder);
+        decoders.put(decoder.topic, registered);
+    }
+
+    /**
+     * Decode a log.
+     *
+     * @param log log to decode
+     * @return the decoded event, or empty if the log doesn't belong to any registered event
+     */
+    public Optional<DecodedEvent> decode(Log log) {
+        return Optional.ofNullable(decodeOrNull(log));
+    }
+
+    /**
+     * Decode the logs of registered events, in the order of the logs.
+     *
+     * @param logs logs to decode
+     * @return the decoded events, logs of other events are skipped
+     */
+    public List<DecodedEvent> decode(List<Log> logs) {
+        List<DecodedEvent> events = new ArrayList<>();
+        for (Log log : logs) {
+            DecodedEvent event = decodeOrNull(log);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Decode the logs of registered events in parallel, in the order of the logs.
+     *
+     * @param logs logs to decode
+     * @param forkJoinPool pool to decode the logs on
+     * @return the decoded events, logs of other events are skipped
+     */
+    public List<DecodedEvent> decode(List<Log> logs, ForkJoinPool forkJoinPool) {
+        return forkJoinPool
+                .submit(
+                        () ->
+                                logs.parallelStream()
+                                        .map(this::decodeOrNull)
+                                        .filter(Objects::nonNull)
+                                        .collect(Collectors.toList()))
+                .join();
+    }
+
+    /** Decode the logs of transaction receipts, for instance those of a block. */
+    public List<DecodedEvent> decodeReceipts(List<TransactionReceipt> receipts) {
+        return decode(logsOf(receipts));
+    }
+
+    public List<DecodedEvent> decodeReceipts(
+            List<TransactionReceipt> receipts, ForkJoinPool forkJoinPool) {
+        return decode(logsOf(receipts), forkJoinPool);
+    }
+
+    private DecodedEvent decodeOrNull(Log log) {
+        List<String> topics = log.getTopics();
+        if (topics == null || topics.isEmpty()) {
+            return null;
+        }
+
+        String address = null;
+        if (!anyAddress) {
+            address = normalise(log.getAddress());
+            if (!addresses.contains(address)) {
+                return null;
+            }
+        }
+
+        List<Decoder> candidates = decoders.get(normalise(topics.get(0)));
+        if (candidates == null) {
+            return null;
+        }
+        for (Decoder decoder : candidates) {
+            if (decoder.indexedParameters.size() != topics.size() - 1) {
+                continue;
+            }
+            if (!decoder.contractAddresses.isEmpty()) {
+                if (address == null) {
+                    address = normalise(log.getAddress());
+                }
+                if (!decoder.contractAddresses.contains(address)) {
+                    continue;
+                }
+            }
+            return new DecodedEvent(decoder.event, decoder.decode(log, topics), log);
+        }
+        return null;
+    }
+
+    private static List<Log> logsOf(List<TransactionReceipt> receipts) {
+        List<Log> logs = new ArrayList<>();
+        for (TransactionReceipt receipt : receipts) {
+            if (receipt.getLogs() != null) {
+                logs.addAll(receipt.getLogs());
+            }
+        }
+        return logs;
+    }
+
+    private static String normalise(String hex) {
+        return hex == null ? "" : Numeric.cleanHexPrefix(hex).toLowerCase();
+    }
+
+    private static class Decoder {
+        private final Event event;
+        private final String topic;
+        private final List<TypeReference<Type>> indexedParameters;
+        private final List<TypeReference<Type>> nonIndexedParameters;
+        private final Set<String> contractAddresses;
+        // null where a parameter isn't of an elementary static type
+        private final WordReader[] indexedReaders;
+        // null unless all non indexed parameters are of elementary static types
+        private final WordReader[] nonIndexedReaders;
+
+        Decoder(Event event, Set<String> contractAddresses) {
+            this.event = event;
+            this.topic = normalise(EventEncoder.encode(event));
+            this.indexedParameters = event.getIndexedParameters();
+            this.nonIndexedParameters = event.getNonIndexedParameters();
+            this.contractAddresses = contractAddresses;
+
+            indexedReaders = new WordReader[indexedParameters.size()];
+            for (int i = 0; i < indexedReaders.length; i++) {
+                indexedReaders[i] = WordReader.of(indexedParameters.get(i));
+            }
+            WordReader[] readers = new WordReader[nonIndexedParameters.size()];
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = WordReader.of(nonIndexedParameters.get(i));
+                if (readers[i] == null) {
+                    readers = null;
+                    break;
+                }
+            }
+            nonIndexedReaders = readers;
+        }
+
+        EventValues decode(Log log, List<String> topics) {
+            Type[] indexedValues = new Type[indexedParameters.size()];
+            for (int i = 0; i < indexedValues.length; i++) {
+                String value = topics.get(i + 1);
+                indexedValues[i] =
+                        indexedReaders[i] != null
+                                ? indexedReaders[i].read(Numeric.cleanHexPrefix(value), 0)
+                                : FunctionReturnDecoder.decodeIndexedValue(
+                                        value, indexedParameters.get(i));
+            }
+            return new EventValues(Arrays.asList(indexedValues), decodeNonIndexed(log));
+        }
+
+        private List<Type> decodeNonIndexed(Log log) {
+            if (nonIndexedParameters.isEmpty()) {
+                return Collections.emptyList();
+            }
+            String data = Numeric.cleanHexPrefix(log.getData());
+            if (nonIndexedReaders == null
+                    || data.length() < nonIndexedReaders.length * WordCodec.WORD_LENGTH) {
+                // the generic decoder also deals with missing data
+                return FunctionReturnDecoder.decode(log.getData(), nonIndexedParameters);
+            }
+            Type[] values = new Type[nonIndexedReaders.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = nonIndexedReaders[i].read(data, i);
+            }
+            return Arrays.asList(values);
+        }
+    }
+
+    /** Reads a value of an elementary static type from a word, as the generic decoder does. */
+    private interface WordReader {
+
+        Type read(String data, int word);
+
+        static WordReader of(TypeReference<Type> typeReference) {
+            Class<Type> type;
+            try {
+                type = typeReference.getClassType();
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+
+            if (Address.class.equals(type)) {
+                return (data, word) ->
+                        new Address(
+                                new Uint160(
+                                        WordCodec.readUint(data, word, Address.DEFAULT_LENGTH)));
+            } else if (Bool.class.equals(type)) {
+                return (data, word) -> new Bool(WordCodec.readBool(data, word));
+            } else if (Int.class.isAssignableFrom(type) || Uint.class.isAssignableFrom(type)) {
+                boolean signed = Int.class.isAssignableFrom(type);
+                int bitSize = getSize(type, signed ? Int.class : Uint.class, Type.MAX_BIT_LENGTH);
+                Constructor<Type> constructor = getConstructor(type, BigInteger.class);
+                if (constructor == null
+                        || bitSize <= 0
+                        || bitSize > Type.MAX_BIT_LENGTH
+                        || bitSize % 8 != 0) {
+                    return null;
+                }
+                return (data, word) ->
+                        newInstance(
+                                constructor,
+                                signed
+                                        ? WordCodec.readInt(data, word, bitSize)
+                                        : WordCodec.readUint(data, word, bitSize));
+            } else if (Bytes.class.isAssignableFrom(type) && !Bytes.class.equals(type)) {
+                int length = getSize(type, Bytes.class, -1);
+                Constructor<Type> constructor = getConstructor(type, byte[].class);
+                if (constructor == null || length <= 0 || length > Type.MAX_BYTE_LENGTH) {
+                    return null;
+                }
+                return (data, word) ->
+                        newInstance(constructor, WordCodec.readBytes(data, word, length));
+            }
+            return null;
+        }
+
+        /** Size in the name of a generated type, such as 256 for {@code Uint256}. */
+        static int getSize(Class<?> type, Class<?> baseType, int defaultSize) {
+            String name = type.getSimpleName();
+            if (!name.startsWith(baseType.getSimpleName())) {
+                return -1;
+            }
+            String size = name.substring(baseType.getSimpleName().length());
+            try {
+                return size.isEmpty() ? defaultSize : Integer.parseInt(size);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        static Constructor<Type> getConstructor(Class<Type> type, Class<?> parameterType) {
+            try {
+                return type.getConstructor(parameterType);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        static Type newInstance(Constructor<Type> constructor, Object value) {
+            try {
+                return constructor.newInstance(value);
+            } catch (InstantiationException
+                    | IllegalAccessException
+                    | InvocationTargetException e) {
+                throw new UnsupportedOperationException(
+                        "Unable to create instance of " + constructor.getName(), e);
+            }
+        }
+    }
+
+    /** A log decoded into the values of its event. */
+    public static class DecodedEvent {
+        private final Event event;
+        private final EventValues eventValues;
+        private final Log log;
+
+        private DecodedEvent(Event event, EventValues eventValues, Log log) {
+            this.event = event;
+            this.eventValues = eventValues;
+            this.log = log;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public EventValues getEventValues() {
+            return eventValues;
+        }
+
+        public List<Type> getIndexedValues() {
+            return eventValues.getIndexedValues();
+        }
+
+        public List<Type> getNonIndexedValues() {
+            return eventValues.getNonIndexedValues();
+        }
+
+        public Log getLog() {
+            return log;
+        }
+    }
+}
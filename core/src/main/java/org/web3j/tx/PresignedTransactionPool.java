@@ -0,0 +1,419 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.SignedTransaction;
+import org.web3j.protocol.core.methods.response.AccountSendRawTransaction;
+
+/**
+ * Queue of transactions which are signed ahead of time, so that they can be sent without signing
+ * them first when they are needed.
+ *
+ * <p>Added transactions are given consecutive nonces, starting with the nonce of the pool, and are
+ * signed in the background by the signing executor. By default this is a single low priority
+ * thread, so signing mostly happens while the application is idle. Transactions are taken from
+ * the head of the queue; one which hasn't been signed yet is signed when it is taken.
+ *
+ * <p>When the nonce of the account moves, for instance because a transaction has been sent by
+ * someone else or has been dropped, {@link #setNonce(BigInteger)} renumbers the queued
+ * transactions and signs them again in the background. The nonces given to the added transactions
+ * are ignored.
+ *
+ * <p>Operations which take the head of the queue or move the nonce are serialized, so the head is
+ * never handed out twice. While {@link #send()} waits for the reply of the node, they wait for it.
+ */
+public class PresignedTransactionPool implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PresignedTransactionPool.class);
+
+    private final Web3j web3j;
+    private final Credentials credentials;
+    private final ExecutorService signingExecutor;
+    private final boolean shutdownExecutor;
+
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Object sendLock = new Object();
+    private BigInteger nonce;
+    // moves with every setNonce, transactions taken before can't be put back afterwards
+    private long generation;
+
+    public PresignedTransactionPool(Web3j web3j, Credentials credentials, BigInteger nonce) {
+        this(
+                web3j,
+                credentials,
+                nonce,
+                Executors.newSingleThreadExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "transaction-presigning");
+                            thread.setDaemon(true);
+                            thread.setPriority(Thread.MIN_PRIORITY);
+                            return thread;
+                        }),
+                true);
+    }
+
+    public PresignedTransactionPool(
+            Web3j web3j,
+            Credentials credentials,
+            BigInteger nonce,
+            ExecutorService signingExecutor) {
+        this(web3j, credentials, nonce, signingExecutor, false);
+    }
+
+    private PresignedTransactionPool(
+            Web3j web3j,
+            Credentials credentials,
+            BigInteger nonce,
+            ExecutorService signingExecutor,
+            boolean shutdownExecutor) {
+        this.web3j = web3j;
+        this.credentials = credentials;
+        this.nonce = nonce;
+        this.signingExecutor = signingExecutor;
+        this.shutdownExecutor = shutdownExecutor;
+    }
+
+    /**
+     * Create a pool starting with the current nonce of the account.
+     *
+     * @throws IOException if the nonce can't be retrieved
+     */
+    public static PresignedTransactionPool create(Web3j web3j, Credentials credentials)
+            throws IOException {
+        return new PresignedTransactionPool(
+                web3j, credentials, web3j.tolGetNonce(credentials.getAddress()).send().getNonce());
+    }
+
+    /** Returns the nonce of the transaction at the head of the queue. */
+    public synchronized BigInteger getNonce() {
+        return nonce;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Returns the number of queued transactions which have already been signed. */
+    public synchronized int getSignedCount() {
+        int count = 0;
+        for (Entry entry : entries) {
+            if (entry.signedTransaction != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Add a transaction to the end of the queue, to be signed in the background.
+     *
+     * @param transaction transaction to send, its nonce is ignored
+     * @return the nonce given to the transaction
+     */
+    public BigInteger add(RawTransaction transaction) {
+        Entry entry;
+        synchronized (this) {
+            entry = new Entry(transaction, nonce.add(BigInteger.valueOf(entries.size())));
+            entries.add(entry);
+        }
+        scheduleSigning(entry);
+        return entry.nonce;
+    }
+
+    public void addAll(Collection<RawTransaction> transactions) {
+        for (RawTransaction transaction : transactions) {
+            add(transaction);
+        }
+    }
+
+    /**
+     * Move the nonce of the transaction at the head of the queue. All queued transactions are
+     * renumbered, their signatures are dropped and they are signed again in the background.
+     * Transactions taken before aren't put back into the queue if they fail.
+     *
+     * @param nonce the next nonce of the account
+     */
+    public void setNonce(BigInteger nonce) {
+        List<Entry> renumbered;
+        synchronized (sendLock) {
+            synchronized (this) {
+                generation++;
+                if (this.nonce.equals(nonce)) {
+                    return;
+                }
+                this.nonce = nonce;
+                renumbered = new ArrayList<>(entries);
+                for (int i = 0; i < renumbered.size(); i++) {
+                    Entry entry = renumbered.get(i);
+                    entry.nonce = nonce.add(BigInteger.valueOf(i));
+                    entry.signedTransaction = null;
+                }
+            }
+        }
+        for (Entry entry : renumbered) {
+            scheduleSigning(entry);
+        }
+    }
+
+    /**
+     * Set the nonce to the next nonce of the account as known by the node.
+     *
+     * @throws IOException if the nonce can't be retrieved
+     */
+    public void resetNonce() throws IOException {
+        setNonce(web3j.tolGetNonce(credentials.getAddress()).send().getNonce());
+    }
+
+    /**
+     * Take the transaction at the head of the queue.
+     *
+     * @return the signed transaction, or empty if the queue is empty
+     */
+    public Optional<SignedTransaction> poll() {
+        synchronized (sendLock) {
+            Entry entry = take();
+            if (entry == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(signed(entry));
+            } catch (RuntimeException e) {
+                putBack(entry);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Send the transaction at the head of the queue. It is only removed from the queue once the
+     * node has accepted it, so a transaction which can't be sent or is rejected stays at the head.
+     *
+     * @return the reply of the node, or empty if the queue is empty
+     * @throws IOException if the transaction can't be sent
+     */
+    public Optional<AccountSendRawTransaction> send() throws IOException {
+        synchronized (sendLock) {
+            Entry entry;
+            BigInteger entryNonce;
+            SignedTransaction signedTransaction;
+            synchronized (this) {
+                entry = entries.peek();
+                if (entry == null) {
+                    return Optional.empty();
+                }
+                entryNonce = entry.nonce;
+                signedTransaction = entry.signedTransaction;
+            }
+            if (signedTransaction == null) {
+                signedTransaction = sign(entry.transaction, entryNonce);
+                synchronized (this) {
+                    if (entryNonce.equals(entry.nonce)) {
+                        entry.signedTransaction = signedTransaction;
+                    }
+                }
+            }
+
+            AccountSendRawTransaction response =
+                    web3j.txSendSignedTransaction(signedTransaction).send();
+            if (!response.hasError()) {
+                synchronized (this) {
+                    if (entries.peek() == entry
+                            && entryNonce.equals(entry.nonce)
+                            && entryNonce.equals(nonce)) {
+                        entries.poll();
+                        entry.taken = true;
+                        nonce = nonce.add(BigInteger.ONE);
+                    }
+                }
+            }
+            return Optional.of(response);
+        }
+    }
+
+    /**
+     * Send the transaction at the head of the queue without waiting for the reply of the node.
+     * The transaction is taken from the queue right away and put back if it can't be sent or is
+     * rejected, unless other transactions have been taken or the nonce has been set in the
+     * meantime.
+     *
+     * @return the reply of the node, or empty if the queue is empty
+     */
+    public Optional<CompletableFuture<AccountSendRawTransaction>> sendAsync() {
+        Entry entry;
+        CompletableFuture<AccountSendRawTransaction> response;
+        synchronized (sendLock) {
+            entry = take();
+            if (entry == null) {
+                return Optional.empty();
+            }
+            try {
+                response = web3j.txSendSignedTransaction(signed(entry)).sendAsync();
+            } catch (RuntimeException e) {
+                putBack(entry);
+                throw e;
+            }
+        }
+        return Optional.of(
+                response.whenComplete(
+                        (result, throwable) -> {
+                            if (throwable != null || result.hasError()) {
+                                putBack(entry);
+                            }
+                        }));
+    }
+
+    /**
+     * Send up to the given number of transactions from the head of the queue, one after the
+     * other so that they reach the node in nonce order. Sending stops at the first transaction
+     * which is rejected by the node, it stays at the head of the queue.
+     *
+     * @param count maximum number of transactions to send
+     * @return the replies of the node
+     * @throws IOException if a transaction can't be sent, it and the following ones stay queued
+     */
+    public List<AccountSendRawTransaction> drain(int count) throws IOException {
+        List<AccountSendRawTransaction> responses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Optional<AccountSendRawTransaction> response = send();
+            if (!response.isPresent()) {
+                break;
+            }
+            responses.add(response.get());
+            if (response.get().hasError()) {
+                break;
+            }
+        }
+        return responses;
+    }
+
+    /** Removes all queued transactions and stops the signing executor if the pool owns it. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            for (Entry entry : entries) {
+                entry.taken = true;
+            }
+            entries.clear();
+        }
+        if (shutdownExecutor) {
+            signingExecutor.shutdownNow();
+        }
+    }
+
+    private synchronized Entry take() {
+        Entry entry = entries.poll();
+        if (entry != null) {
+            entry.taken = true;
+            entry.generation = generation;
+            nonce = nonce.add(BigInteger.ONE);
+        }
+        return entry;
+    }
+
+    private synchronized void putBack(Entry entry) {
+        if (entry.generation == generation && nonce.equals(entry.nonce.add(BigInteger.ONE))) {
+            entries.addFirst(entry);
+            entry.taken = false;
+            nonce = entry.nonce;
+        } else {
+            log.warn(
+                    "Unable to requeue transaction with nonce {}, the nonce has moved",
+                    entry.nonce);
+        }
+    }
+
+    private SignedTransaction signed(Entry entry) {
+        SignedTransaction signedTransaction = entry.signedTransaction;
+        return signedTransaction != null ? signedTransaction : sign(entry.transaction, entry.nonce);
+    }
+
+    private void scheduleSigning(Entry entry) {
+        BigInteger entryNonce = entry.nonce;
+        try {
+            signingExecutor.execute(() -> presign(entry, entryNonce));
+        } catch (RejectedExecutionException e) {
+            // the transaction is signed when it is taken from the queue
+            log.debug("Unable to schedule signing of transaction with nonce {}", entryNonce, e);
+        }
+    }
+
+    private void presign(Entry entry, BigInteger entryNonce) {
+        synchronized (this) {
+            if (!entryNonce.equals(entry.nonce) || entry.taken) {
+                // renumbered or taken in the meantime
+                return;
+            }
+        }
+
+        SignedTransaction signedTransaction;
+        try {
+            signedTransaction = sign(entry.transaction, entryNonce);
+        } catch (RuntimeException e) {
+            log.warn("Unable to presign transaction with nonce {}", entryNonce, e);
+            return;
+        }
+
+        synchronized (this) {
+            if (entryNonce.equals(entry.nonce)) {
+                entry.signedTransaction = signedTransaction;
+            }
+        }
+    }
+
+    private SignedTransaction sign(RawTransaction transaction, BigInteger nonce) {
+        return SignedTransactionManager.signTransaction(
+                RawTransaction.createTransaction(
+                        transaction.getSenderAddress(),
+                        transaction.getReceiverAddress(),
+                        transaction.getAmount(),
+                        transaction.getGas(),
+                        transaction.getGasPrice(),
+                        transaction.getData(),
+                        nonce),
+                credentials,
+                web3j);
+    }
+
+    private static class Entry {
+        private final RawTransaction transaction;
+        private volatile BigInteger nonce;
+        private volatile SignedTransaction signedTransaction;
+        private volatile boolean taken;
+        private long generation;
+
+        Entry(RawTransaction transaction, BigInteger nonce) {
+            this.transaction = transaction;
+            this.nonce = nonce;
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.web3j.tx;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.bouncycastle.util.encoders.Base64;
 
@@ -30,6 +31,10 @@ import org.web3j.protocol.core.methods.response.AccountSendRawTransaction;
 import org.web3j.protocol.core.methods.response.EthGetCode;
 import org.web3j.protocol.core.methods.response.TolGetNonce;
 import org.web3j.protocol.core.methods.response.TolTryCallTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.exceptions.TxHashMismatchException;
+import org.web3j.tx.response.SubmittedTransaction;
 import org.web3j.tx.response.TransactionReceiptProcessor;
 import org.web3j.utils.Numeric;
 import org.web3j.utils.SignatureData;
@@ -150,8 +155,66 @@ public class SignedTransactionManager extends TransactionManager {
 
     public CompletableFuture<AccountSendRawTransaction> signAndSendAsync(
             RawTransaction transaction) {
-        return web3j.txSendSignedTransaction(signTransaction(transaction, credentials, web3j))
-                .sendAsync();
+        return submit(transaction).getResponse();
+    }
+
+    /**
+     * Sign a transaction and send it without waiting for the reply of the node.
+     *
+     * <p>The returned transaction hash is the one which has been signed, the hash returned by the
+     * node is compared to it with the {@link TxHashVerifier} once the reply arrives.
+     *
+     * @param transaction transaction to sign and send
+     * @return the hash of the transaction and the pending reply of the node
+     */
+    public SubmittedTransaction submit(RawTransaction transaction) {
+        SignedTransaction signedTransaction = signTransaction(transaction, credentials, web3j);
+        String transactionHash = signedTransaction.getSignatureData().getHash();
+        CompletableFuture<AccountSendRawTransaction> response =
+                web3j.txSendSignedTransaction(signedTransaction)
+                        .sendAsync()
+                        .thenApply(sent -> verifyTransactionHash(transactionHash, sent));
+        return new SubmittedTransaction(transactionHash, response);
+    }
+
+    /**
+     * Sign and send a transaction and wait for its receipt, which is polled for once the node has
+     * accepted the transaction.
+     *
+     * @param transaction transaction to sign and send
+     * @return the receipt of the transaction, or the error returned by the node
+     */
+    public CompletableFuture<TransactionReceipt> submitAndWaitForReceipt(
+            RawTransaction transaction) {
+        SubmittedTransaction submitted = submit(transaction);
+        return submitted
+                .getResponse()
+                .thenCompose(
+                        response -> {
+                            if (response.hasError()) {
+                                CompletableFuture<TransactionReceipt> failed =
+                                        new CompletableFuture<>();
+                                failed.completeExceptionally(
+                                        new TransactionException(
+                                                "Error processing transaction request: "
+                                                        + response.getError().getMessage()));
+                                return failed;
+                            }
+                            return waitForTransactionReceiptAsync(
+                                    submitted.getTransactionHash());
+                        });
+    }
+
+    private AccountSendRawTransaction verifyTransactionHash(
+            String transactionHash, AccountSendRawTransaction response) {
+        if (!response.hasError() && response.getTransactionHash() != null) {
+            String remoteHash = Numeric.cleanHexPrefix(response.getTransactionHash());
+            if (!txHashVerifier.verify(transactionHash, remoteHash)) {
+                throw new CompletionException(
+                        new TxHashMismatchException(transactionHash, remoteHash));
+            }
+        }
+        return response;
     }
 
     public static SignedTransaction signTransaction(
@@ -14,6 +14,7 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
@@ -25,6 +26,7 @@ import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
 import org.web3j.tx.response.PollingTransactionReceiptProcessor;
 import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
 
 import static org.web3j.protocol.core.JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME;
 
@@ -105,6 +107,18 @@ public abstract class TransactionManager {
         return senderAddress;
     }
 
+    /**
+     * Wait for the receipt of a transaction in the background.
+     *
+     * @param transactionHash hash of the transaction
+     * @return the receipt, as returned by the transaction receipt processor
+     */
+    protected CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        return Async.run(
+                () -> transactionReceiptProcessor.waitForTransactionReceipt(transactionHash));
+    }
+
     private TransactionReceipt processResponse(AccountSendRawTransaction transactionResponse)
             throws IOException, TransactionException {
         if (transactionResponse.hasError()) {
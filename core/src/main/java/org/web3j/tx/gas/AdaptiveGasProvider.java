@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.TolGetGasEstimate;
+import org.web3j.protocol.instrumentation.Histogram;
+import org.web3j.utils.Async;
+import org.web3j.utils.Numeric;
+
+/**
+ * Gas provider learning the gas limits of contract functions from gas estimates and the gas used
+ * by mined transactions.
+ *
+ * <p>Limits are kept per contract address and function selector. The first transaction to a
+ * function is sent with the limit returned by {@code tol_getGasEstimate}, after that the
+ * configured percentile of the gas used by previous transactions is served from memory. Both are
+ * increased by the safety margin and capped at the maximum gas limit.
+ *
+ * <p>When the gas used by a transaction differs from the last estimate by more than the drift
+ * threshold, the function is estimated again in the background and the observations made so far
+ * are discarded.
+ */
+@SuppressWarnings("deprecation")
+public class AdaptiveGasProvider implements ContractGasProvider {
+
+    public static final double DEFAULT_PERCENTILE = 99;
+    public static final double DEFAULT_SAFETY_MARGIN = 0.1;
+    public static final double DEFAULT_DRIFT_THRESHOLD = 0.25;
+
+    /** Number of observations required before they are preferred to the estimate. */
+    static final int MIN_OBSERVATIONS = 4;
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveGasProvider.class);
+
+    private final Web3j web3j;
+    private final String senderAddress;
+    private final BigInteger gasPrice;
+    private final BigInteger maxGasLimit;
+    private final double percentile;
+    private final double safetyMargin;
+    private final double driftThreshold;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public AdaptiveGasProvider(Web3j web3j, String senderAddress) {
+        this(web3j, senderAddress, DefaultGasProvider.GAS_PRICE, DefaultGasProvider.GAS_LIMIT);
+    }
+
+    public AdaptiveGasProvider(
+            Web3j web3j, String senderAddress, BigInteger gasPrice, BigInteger maxGasLimit) {
+        this(
+                web3j,
+                senderAddress,
+                gasPrice,
+                maxGasLimit,
+                DEFAULT_PERCENTILE,
+                DEFAULT_SAFETY_MARGIN,
+                DEFAULT_DRIFT_THRESHOLD);
+    }
+
+    public AdaptiveGasProvider(
+            Web3j web3j,
+            String senderAddress,
+            BigInteger gasPrice,
+            BigInteger maxGasLimit,
+            double percentile,
+            double safetyMargin,
+            double driftThreshold) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+        if (safetyMargin < 0 || driftThreshold <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid safety margin or drift threshold: "
+                            + safetyMargin
+                            + ", "
+                            + driftThreshold);
+        }
+        this.web3j = web3j;
+        this.senderAddress = senderAddress;
+        this.gasPrice = gasPrice;
+        this.maxGasLimit = maxGasLimit;
+        this.percentile = percentile;
+        this.safetyMargin = safetyMargin;
+        this.driftThreshold = driftThreshold;
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return gasPrice;
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return gasPrice;
+    }
+
+    /** Returns the maximum gas limit, the function is unknown without the contract address. */
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return maxGasLimit;
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return maxGasLimit;
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractAddress, String contractFunc, String data) {
+        Entry entry = entries.computeIfAbsent(keyOf(contractAddress, data), key -> new Entry());
+        BigInteger gasLimit = entry.gasLimit;
+        if (gasLimit == null && entry.estimating.compareAndSet(false, true)) {
+            // first transaction to this function, its limit is estimated before sending it
+            estimate(entry, contractAddress, data);
+            gasLimit = entry.gasLimit;
+        }
+        return gasLimit == null ? maxGasLimit : gasLimit;
+    }
+
+    @Override
+    public void recordGasUsed(String contractAddress, String data, BigInteger gasUsed) {
+        Entry entry = entries.computeIfAbsent(keyOf(contractAddress, data), key -> new Entry());
+        entry.observations.record(gasUsed.longValue());
+        update(entry);
+
+        long estimate = entry.estimate;
+        if (estimate > 0 && Math.abs(gasUsed.longValue() - estimate) > driftThreshold * estimate) {
+            if (entry.estimating.compareAndSet(false, true)) {
+                log.debug(
+                        "Gas used {} of {} drifted from estimate {}, estimating again",
+                        gasUsed,
+                        contractAddress,
+                        estimate);
+                Async.run(() -> estimate(entry, contractAddress, data));
+            }
+        }
+    }
+
+    /**
+     * Returns the gas limit learned for a contract function, if any.
+     *
+     * @param contractAddress address of the contract
+     * @param data encoded function call, only the selector is used
+     * @return the learned gas limit, or empty if neither estimates nor observations are known
+     */
+    public Optional<BigInteger> getLearnedGasLimit(String contractAddress, String data) {
+        Entry entry = entries.get(keyOf(contractAddress, data));
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.gasLimit);
+    }
+
+    private Void estimate(Entry entry, String contractAddress, String data) {
+        try {
+            TolGetGasEstimate gasEstimate =
+                    web3j.tolGetGasEstimate(
+                                    Transaction.createExecuteFunctionTransaction(
+                                            senderAddress,
+                                            contractAddress,
+                                            maxGasLimit,
+                                            gasPrice,
+                                            data,
+                                            BigInteger.ZERO))
+                            .send();
+            if (gasEstimate.hasError() || gasEstimate.getGasEstimate() == null) {
+                log.warn(
+                        "Unable to estimate gas of {}: {}",
+                        contractAddress,
+                        gasEstimate.hasError() ? gasEstimate.getError().getMessage() : null);
+            } else {
+                // previous observations no longer describe the function
+                entry.observations = new Histogram();
+                entry.estimate = gasEstimate.getGasEstimate().longValue();
+                update(entry);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to estimate gas of " + contractAddress, e);
+        } finally {
+            entry.estimating.set(false);
+        }
+        return null;
+    }
+
+    private void update(Entry entry) {
+        Histogram.Snapshot snapshot = entry.observations.snapshot();
+        long gas =
+                snapshot.getCount() >= MIN_OBSERVATIONS || entry.estimate == 0
+                        ? snapshot.getValueAtPercentile(percentile)
+                        : Math.max(entry.estimate, snapshot.getMax());
+        if (gas == 0) {
+            return;
+        }
+        BigInteger gasLimit =
+                new BigDecimal(gas)
+                        .multiply(BigDecimal.valueOf(1 + safetyMargin))
+                        .toBigInteger();
+        entry.gasLimit = gasLimit.min(maxGasLimit);
+    }
+
+    private static String keyOf(String contractAddress, String data) {
+        String selector = Numeric.cleanHexPrefix(data);
+        if (selector.length() > 8) {
+            selector = selector.substring(0, 8);
+        }
+        return Numeric.cleanHexPrefix(contractAddress).toLowerCase() + selector.toLowerCase();
+    }
+
+    private static class Entry {
+        private final AtomicBoolean estimating = new AtomicBoolean();
+        private volatile Histogram observations = new Histogram();
+        private volatile long estimate;
+        private volatile BigInteger gasLimit;
+    }
+}
@@ -24,4 +24,26 @@ public interface ContractGasProvider {
 
     @Deprecated
     BigInteger getGasLimit();
+
+    /**
+     * Returns the gas limit of a transaction calling a contract function.
+     *
+     * @param contractAddress address of the contract
+     * @param contractFunc name of the function
+     * @param data encoded function call
+     * @return the gas limit, by default {@link #getGasLimit(String)}
+     */
+    default BigInteger getGasLimit(String contractAddress, String contractFunc, String data) {
+        return getGasLimit(contractFunc);
+    }
+
+    /**
+     * Called with the gas used by a mined transaction calling a contract function, ignored by
+     * default.
+     *
+     * @param contractAddress address of the contract
+     * @param data encoded function call
+     * @param gasUsed gas used by the transaction
+     */
+    default void recordGasUsed(String contractAddress, String data, BigInteger gasUsed) {}
 }
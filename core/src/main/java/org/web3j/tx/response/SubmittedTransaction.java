@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.web3j.protocol.core.methods.response.AccountSendRawTransaction;
+
+/**
+ * A signed transaction which is being sent to the node.
+ *
+ * <p>The hash of the transaction is computed when it is signed, so it is available before the node
+ * replied, for instance to start waiting for its receipt.
+ */
+public class SubmittedTransaction {
+
+    private final String transactionHash;
+    private final CompletableFuture<AccountSendRawTransaction> response;
+
+    public SubmittedTransaction(
+            String transactionHash, CompletableFuture<AccountSendRawTransaction> response) {
+        this.transactionHash = transactionHash;
+        this.response = response;
+    }
+
+    public String getTransactionHash() {
+        return transactionHash;
+    }
+
+    /**
+     * Returns the reply of the node, completed exceptionally if the transaction hash returned by
+     * the node doesn't match the local one.
+     */
+    public CompletableFuture<AccountSendRawTransaction> getResponse() {
+        return response;
+    }
+}
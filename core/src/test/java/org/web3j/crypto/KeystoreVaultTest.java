@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.TempFileProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.web3j.crypto.SampleKeys.PASSWORD;
+
+public class KeystoreVaultTest extends TempFileProvider {
+
+    @Test
+    public void testLoadDirectory() throws Exception {
+        File directory = new File(tempDirPath);
+        for (int i = 0; i < 4; i++) {
+            WalletUtils.generateLightNewWalletFile(PASSWORD, directory);
+        }
+
+        // enough for a single light wallet file at a time
+        try (KeystoreVault vault = new KeystoreVault(4 * 1024 * 1024)) {
+            List<String> addresses = vault.loadDirectory(directory, PASSWORD);
+            assertEquals(4, addresses.size());
+            assertEquals(4, vault.size());
+
+            for (File file : directory.listFiles()) {
+                Credentials expected = WalletUtils.loadCredentials(PASSWORD, file);
+                assertEquals(expected, vault.getCredentials(expected.getAddress()).get());
+            }
+
+            String address = addresses.get(0);
+            assertTrue(vault.remove(address));
+            assertFalse(vault.contains(address));
+            assertFalse(vault.getCredentials(address).isPresent());
+        }
+    }
+
+    @Test
+    public void testInvalidPassword() throws Exception {
+        WalletFile walletFile = Wallet.createLight(PASSWORD, Keys.createEcKeyPair());
+        try (KeystoreVault vault = new KeystoreVault(1024 * 1024)) {
+            assertThrows(CipherException.class, () -> vault.load(walletFile, "invalid"));
+            assertEquals(0, vault.size());
+        }
+    }
+
+    @Test
+    public void testRequiredMemory() throws Exception {
+        WalletFile walletFile = Wallet.createLight(PASSWORD, Keys.createEcKeyPair());
+        // 128 * r * (N + p) bytes with r = 8, N = 4096 and p = 6
+        assertEquals(4102, KeystoreVault.requiredMemoryKb(walletFile));
+    }
+}
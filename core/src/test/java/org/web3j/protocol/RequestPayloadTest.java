@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolBlock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RequestPayloadTest {
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    @Test
+    public void testRequest() throws Exception {
+        assertSamePayload(
+                new Request<>(
+                        "tol_getBlockByIndex",
+                        Arrays.asList(BigInteger.TEN, DefaultBlockParameterName.LATEST),
+                        null,
+                        TolBlock.class));
+        assertSamePayload(
+                new Request<>(
+                        "tol_sendRawTransaction",
+                        Collections.singletonList("0xé€\"\n"),
+                        null,
+                        Response.class));
+        assertSamePayload(new Request<>());
+
+        Request<String, Response> request =
+                new Request<>("net_version", Collections.emptyList(), null, Response.class);
+        request.setJsonrpc("1.0");
+        assertSamePayload(request);
+    }
+
+    @Test
+    public void testSupplementaryCharacters() throws Exception {
+        Request<?, ?> request =
+                new Request<>("tol_call", Collections.singletonList("😀"), null, Response.class);
+
+        // the UTF-8 generator escapes surrogate pairs, the value stays the same
+        try (RequestPayload payload = RequestPayload.of(objectMapper, request)) {
+            assertEquals(
+                    objectMapper.readTree(objectMapper.writeValueAsString(request)),
+                    objectMapper.readTree(payload.toString()));
+        }
+    }
+
+    @Test
+    public void testBatchRequest() throws Exception {
+        List<Request<?, ?>> requests =
+                Arrays.asList(
+                        new Request<>("net_version", Collections.emptyList(), null, Response.class),
+                        new Request<>(
+                                "tol_getBlockByHash",
+                                Collections.singletonList("0xabcd"),
+                                null,
+                                TolBlock.class));
+
+        try (RequestPayload payload = RequestPayload.of(objectMapper, requests)) {
+            assertEquals(objectMapper.writeValueAsString(requests), payload.toString());
+        }
+    }
+
+    @Test
+    public void testPayloadCanBeWrittenAfterClose() throws Exception {
+        Request<?, ?> request =
+                new Request<>("net_version", Collections.emptyList(), null, Response.class);
+
+        RequestPayload payload = RequestPayload.of(objectMapper, request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payload.writeTo(out);
+        assertEquals(payload.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(out.size(), payload.asByteBuffer().remaining());
+        payload.close();
+
+        // the released buffer is reused by the next payload
+        try (RequestPayload next =
+                RequestPayload.of(objectMapper, Collections.singletonList(request))) {
+            assertEquals(objectMapper.writeValueAsString(request), payload.toString());
+            assertEquals("[" + payload + "]", next.toString());
+        }
+        payload.close();
+    }
+
+    private void assertSamePayload(Request<?, ?> request) throws Exception {
+        try (RequestPayload payload = RequestPayload.of(objectMapper, request)) {
+            String expected = objectMapper.writeValueAsString(request);
+            assertEquals(expected, payload.toString());
+            assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, payload.size());
+        }
+    }
+}
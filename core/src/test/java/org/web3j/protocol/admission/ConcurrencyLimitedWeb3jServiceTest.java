@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.admission;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.exceptions.RequestRejectedException;
+import org.web3j.protocol.websocket.events.Notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimitedWeb3jServiceTest {
+
+    private final TestService node = new TestService();
+
+    @Test
+    public void testRequestsAreAdmittedByPriority() throws Exception {
+        ConcurrencyLimitedWeb3jService service =
+                new ConcurrencyLimitedWeb3jService(node, new GradientLimit(2, 1, 2), 3, 60000);
+
+        send(service, "tol_getBalance");
+        send(service, "tol_getNonce");
+        CompletableFuture<Web3ClientVersion> history = send(service, "tol_getBlockByIndex");
+        send(service, "tol_getBalance");
+        send(service, "tx_sendSignedTransaction");
+        assertEquals(2, node.methods.size());
+        assertEquals(2, service.getInFlight());
+        assertEquals(3, service.getQueueDepth());
+        assertEquals(1, service.getQueueDepth(RequestPriority.HISTORY));
+
+        // the queue is full, a receipt replaces the history request
+        send(service, "tol_getTransactionReceipt");
+        assertRejected(history);
+        assertEquals(0, service.getQueueDepth(RequestPriority.HISTORY));
+
+        // nothing of a lower priority is left to replace
+        assertRejected(send(service, "tol_getBlockchainInfo"));
+        assertEquals(2, service.getRejectedCount());
+
+        node.complete(0);
+        assertEquals("tx_sendSignedTransaction", node.methods.get(2));
+        node.complete(1);
+        assertEquals("tol_getTransactionReceipt", node.methods.get(3));
+        node.complete(2);
+        node.complete(3);
+        node.complete(4);
+        assertEquals("tol_getBalance", node.methods.get(4));
+        assertEquals(0, service.getQueueDepth());
+        assertEquals(0, service.getInFlight());
+    }
+
+    @Test
+    public void testRequestsWaitingTooLongAreRejected() throws Exception {
+        ConcurrencyLimitedWeb3jService service =
+                new ConcurrencyLimitedWeb3jService(node, new GradientLimit(1, 1, 1), 10, 1);
+
+        send(service, "tol_getBalance");
+        CompletableFuture<Web3ClientVersion> queued = send(service, "tol_getBalance");
+        Thread.sleep(10);
+        node.complete(0);
+
+        assertRejected(queued);
+        assertEquals(1, node.methods.size());
+        assertEquals(0, service.getInFlight());
+    }
+
+    @Test
+    public void testFailedRequestsReleaseTheirAdmission() throws Exception {
+        ConcurrencyLimitedWeb3jService service =
+                new ConcurrencyLimitedWeb3jService(node, new GradientLimit(1, 1, 1), 10, 60000);
+
+        CompletableFuture<Web3ClientVersion> failing = send(service, "tol_getBalance");
+        CompletableFuture<Web3ClientVersion> queued = send(service, "tol_getNonce");
+        node.results.get(0).completeExceptionally(new IOException("Node is down"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, failing::get);
+        assertFalse(e.getCause() instanceof RequestRejectedException);
+        node.complete(1);
+        assertEquals("tol_getNonce", queued.get().getResult());
+    }
+
+    @Test
+    public void testRequestsQueuedBehindAHungRequestAreRejected() throws Exception {
+        ConcurrencyLimitedWeb3jService service =
+                new ConcurrencyLimitedWeb3jService(node, new GradientLimit(1, 1, 1), 10, 50);
+
+        CompletableFuture<Web3ClientVersion> hung = send(service, "tol_getBalance");
+        CompletableFuture<Web3ClientVersion> queued = send(service, "tol_getNonce");
+
+        // no other request completes, the queued request expires on its own
+        ExecutionException e =
+                assertThrows(ExecutionException.class, () -> queued.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RequestRejectedException);
+        assertFalse(hung.isDone());
+        assertEquals(0, service.getQueueDepth());
+        assertEquals(1, node.methods.size());
+    }
+
+    @Test
+    public void testBlockingRequestsQueuedBehindAHungRequestAreRejected() throws Exception {
+        ConcurrencyLimitedWeb3jService service =
+                new ConcurrencyLimitedWeb3jService(node, new GradientLimit(1, 1, 1), 10, 50);
+
+        Thread hung =
+                new Thread(
+                        () -> {
+                            try {
+                                sendBlocking(service, "tol_getBalance");
+                            } catch (IOException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        hung.start();
+        node.sending.await();
+
+        assertThrows(RequestRejectedException.class, () -> sendBlocking(service, "tol_getNonce"));
+        assertEquals(0, service.getQueueDepth());
+        assertEquals(1, service.getRejectedCount());
+
+        node.released.countDown();
+        hung.join();
+        assertEquals(0, service.getInFlight());
+    }
+
+    private static Web3ClientVersion sendBlocking(Web3jService service, String method)
+            throws IOException {
+        return new Request<>(method, Collections.emptyList(), service, Web3ClientVersion.class)
+                .send();
+    }
+
+    private static CompletableFuture<Web3ClientVersion> send(Web3jService service, String method) {
+        return new Request<>(method, Collections.emptyList(), service, Web3ClientVersion.class)
+                .sendAsync();
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof RequestRejectedException);
+    }
+
+    private static class TestService implements Web3jService {
+
+        private final List<String> methods = new ArrayList<>();
+        private final List<CompletableFuture<Web3ClientVersion>> results = new ArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        void complete(int index) {
+            Web3ClientVersion response = new Web3ClientVersion();
+            response.setResult(methods.get(index));
+            results.get(index).complete(response);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Response> T send(Request request, Class<T> responseType)
+                throws IOException {
+            methods.add(request.getMethod());
+            sending.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            Web3ClientVersion response = new Web3ClientVersion();
+            response.setResult(request.getMethod());
+            return (T) response;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Response> CompletableFuture<T> sendAsync(
+                Request request, Class<T> responseType) {
+            CompletableFuture<Web3ClientVersion> result = new CompletableFuture<>();
+            methods.add(request.getMethod());
+            results.add(result);
+            return (CompletableFuture<T>) result;
+        }
+
+        @Override
+        public BatchResponse sendBatch(BatchRequest batchRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends Notification<?>> Flowable<T> subscribe(
+                Request request, String unsubscribeMethod, Class<T> responseType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GradientLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void testLimitGrowsWhileRttIsStable() {
+        GradientLimit limit = new GradientLimit(10, 2, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, limit.getLimit(), false);
+        }
+        assertEquals(100, limit.getLimit());
+        assertEquals(RTT, limit.getRtt());
+    }
+
+    @Test
+    public void testLimitDoesNotGrowWhileUnused() {
+        GradientLimit limit = new GradientLimit(10, 2, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 1, false);
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksWhenRttGrows() {
+        GradientLimit limit = new GradientLimit(50, 2, 100);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT, limit.getLimit(), false);
+        }
+        int before = limit.getLimit();
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT * 10, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < before / 2);
+    }
+
+    @Test
+    public void testLimitBacksOffOnFailures() {
+        GradientLimit limit = new GradientLimit(20, 2, 100);
+        limit.onSample(RTT, 20, true);
+        assertEquals(18, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 20, true);
+        }
+        assertEquals(2, limit.getLimit());
+
+        assertThrows(IllegalArgumentException.class, () -> new GradientLimit(1, 2, 100));
+    }
+}
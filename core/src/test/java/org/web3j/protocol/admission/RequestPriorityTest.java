@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RequestPriorityTest {
+
+    @Test
+    public void testTransactionsAndTheirPreparationAreWrites() {
+        assertEquals(RequestPriority.WRITE, RequestPriority.of("tx_sendSignedTransaction"));
+        assertEquals(RequestPriority.WRITE, RequestPriority.of("account_sendRawTransaction"));
+        assertEquals(RequestPriority.WRITE, RequestPriority.of("tol_getTransactionProtobuf"));
+    }
+
+    @Test
+    public void testReadsArePrioritizedByAge() {
+        assertEquals(RequestPriority.RECEIPT, RequestPriority.of("tol_getTransactionReceipt"));
+        assertEquals(RequestPriority.READ, RequestPriority.of("tol_getBalance"));
+        assertEquals(RequestPriority.READ, RequestPriority.of(null));
+        assertEquals(RequestPriority.HISTORY, RequestPriority.of("tol_getBlockByIndex"));
+        assertEquals(RequestPriority.HISTORY, RequestPriority.of("tol_getTransaction"));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FilterPollerTest {
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+    private FilterPoller filterPoller;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        web3j = mock(Web3j.class);
+        filterPoller = new FilterPoller(web3j, mock(ScheduledExecutorService.class), 1000, 2000);
+
+        when(web3j.newBatch()).thenAnswer(invocation -> new BatchRequest(web3jService));
+        doReturn(mock(Request.class)).when(web3j).ethGetFilterChanges(any(BigInteger.class));
+        doReturn(
+                        requestReturning(
+                                read(
+                                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}",
+                                        EthFilter.class)))
+                .when(web3j)
+                .ethNewBlockFilter();
+        doReturn(
+                        requestReturning(
+                                read(
+                                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":true}",
+                                        EthUninstallFilter.class)))
+                .when(web3j)
+                .ethUninstallFilter(any(BigInteger.class));
+    }
+
+    @Test
+    public void testChangesOfAllFiltersArePolledInOneBatch() throws Exception {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        BlockFilter firstFilter = new BlockFilter(web3j, first::add);
+        BlockFilter secondFilter = new BlockFilter(web3j, second::add);
+        firstFilter.run(filterPoller);
+        secondFilter.run(filterPoller);
+
+        returnBatch(hashes("0x01"), hashes("0x02", "0x03"));
+        filterPoller.poll();
+
+        verify(web3jService, times(1)).sendBatch(any(BatchRequest.class));
+        assertEquals(Collections.singletonList("0x01"), first);
+        assertEquals(Arrays.asList("0x02", "0x03"), second);
+        assertEquals(1000, filterPoller.getCurrentPollingInterval());
+
+        returnBatch(hashes(), hashes());
+        filterPoller.poll();
+        filterPoller.poll();
+        filterPoller.poll();
+        assertEquals(2000, filterPoller.getCurrentPollingInterval());
+
+        firstFilter.cancel();
+        secondFilter.cancel();
+        assertEquals(0, filterPoller.getFilterCount());
+    }
+
+    @Test
+    public void testFilterNotFoundIsReinstalled() throws Exception {
+        List<String> results = new ArrayList<>();
+        BlockFilter filter = new BlockFilter(web3j, results::add);
+        filter.run(filterPoller);
+
+        EthLog notFound =
+                read(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,"
+                                + "\"error\":{\"code\":-32000,\"message\":\"filter not found\"}}",
+                        EthLog.class);
+        EthFilter reinstalled =
+                read("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x2\"}", EthFilter.class);
+        BatchResponse changes =
+                new BatchResponse(Collections.emptyList(), Collections.singletonList(notFound));
+        BatchResponse install =
+                new BatchResponse(Collections.emptyList(), Collections.singletonList(reinstalled));
+        when(web3jService.sendBatch(any(BatchRequest.class))).thenReturn(changes, install);
+
+        filterPoller.poll();
+
+        assertEquals(2, filter.getFilterId().intValue());
+        verify(web3jService, times(2)).sendBatch(any(BatchRequest.class));
+
+        returnBatch(hashes("0x04"));
+        filterPoller.poll();
+        assertEquals(Collections.singletonList("0x04"), results);
+    }
+
+    private void returnBatch(EthLog... ethLogs) throws Exception {
+        List<Response<?>> responses = Arrays.asList(ethLogs);
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenReturn(new BatchResponse(Collections.emptyList(), responses));
+    }
+
+    private static Request<?, ?> requestReturning(Response<?> response) throws Exception {
+        Request<?, ?> request = mock(Request.class);
+        doReturn(response).when(request).send();
+        return request;
+    }
+
+    private EthLog hashes(String... hashes) throws Exception {
+        StringBuilder result = new StringBuilder();
+        for (String hash : hashes) {
+            result.append(result.length() == 0 ? "" : ",").append('"').append(hash).append('"');
+        }
+        return read("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[" + result + "]}", EthLog.class);
+    }
+
+    private <T> T read(String json, Class<T> type) throws Exception {
+        return objectMapper.readValue(json, type);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.lite;
+
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TolTransaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LiteResponseTest {
+
+    private static final String SENDER = "5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb";
+    private static final String RECEIVER = "5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5";
+    private static final String BLOCK_HASH =
+            "0abfdd5b4b2d2e55b3cda4b0959ea7cf4de0cd0e8fb4804105ad2eec5c2ae9ae";
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    @Test
+    public void testBlock() throws Exception {
+        String json =
+                response(
+                        "{\"block_index\":7,"
+                                + "\"previous_block_hash\":\""
+                                + BLOCK_HASH
+                                + "\",\"transaction_hashes\":[\"00ff\",\"0xABCD\"],"
+                                + "\"confirmation_timestamp\":1580000000007,"
+                                + "\"unknown\":{\"nested\":[1,2]}}");
+
+        LiteBlock block = objectMapper.readValue(json, LiteTolBlock.class).getBlock();
+        assertEquals(7, block.getBlockIndex());
+        assertEquals(2, block.getTransactionCount());
+        assertEquals("0xABCD", block.getTransactionHash(1));
+        assertEquals(objectMapper.readValue(json, TolBlock.class).getBlock(), block.toBlock());
+    }
+
+    @Test
+    public void testTransaction() throws Exception {
+        String json =
+                response(
+                        "{\"block_hash\":\""
+                                + BLOCK_HASH
+                                + "\",\"transaction_index\":1,"
+                                + "\"sender_address\":\""
+                                + SENDER
+                                + "\",\"receiver_address\":\""
+                                + RECEIVER
+                                + "\",\"value\":1000000000000000000000000,"
+                                + "\"gas\":6000000,\"gas_price\":\"1\",\"data\":\"0xcfae3217\","
+                                + "\"nonce\":7,\"gas_used\":21272,\"gas_refunded\":0,"
+                                + "\"new_address\":null,\"output\":\"\",\"excepted\":false,"
+                                + "\"confirmation_timestamp\":1580000000000}");
+
+        LiteTransaction transaction =
+                objectMapper.readValue(json, LiteTolTransaction.class).getTransaction().get();
+        assertEquals(new BigInteger("1000000000000000000000000"), transaction.getValue());
+        assertEquals(BigInteger.ONE, transaction.getGasPrice());
+        assertEquals(6000000, transaction.getGas());
+        assertNull(transaction.getNewAddress());
+        assertEquals(
+                objectMapper.readValue(json, TolTransaction.class).getTransaction().get(),
+                transaction.toTransaction());
+
+        LiteTransaction other =
+                objectMapper.readValue(json, LiteTolTransaction.class).getTransaction().get();
+        assertSame(transaction.getSenderAddress(), other.getSenderAddress());
+    }
+
+    @Test
+    public void testTransactionReceipt() throws Exception {
+        String json =
+                response(
+                        "{\"block_hash\":\""
+                                + BLOCK_HASH
+                                + "\",\"transaction_index\":0,"
+                                + "\"sender_address\":\""
+                                + SENDER
+                                + "\",\"receiver_address\":\""
+                                + RECEIVER
+                                + "\",\"gas_used\":21272,\"new_address\":null,"
+                                + "\"excepted\":false,\"block_number\":1,"
+                                + "\"hash\":\""
+                                + BLOCK_HASH
+                                + "\",\"logs\":[{\"removed\":false,\"logIndex\":\"0x0\","
+                                + "\"transactionIndex\":\"0x0\","
+                                + "\"transactionHash\":\"0x"
+                                + BLOCK_HASH
+                                + "\",\"blockHash\":\"0x"
+                                + BLOCK_HASH
+                                + "\",\"blockNumber\":\"0x1\",\"address\":\""
+                                + RECEIVER
+                                + "\",\"data\":\"0x\",\"type\":\"mined\","
+                                + "\"topics\":[\"0xabcd\",\"0x1234\"]}]}");
+
+        LiteTransactionReceipt receipt =
+                objectMapper
+                        .readValue(json, LiteTolGetTransactionReceipt.class)
+                        .getTransactionReceipt()
+                        .get();
+        assertEquals(1, receipt.getBlockNumber());
+        assertEquals(1, receipt.getLogs().size());
+        assertEquals("0x1234", receipt.getLogs().get(0).getTopic(1));
+        assertEquals(
+                objectMapper
+                        .readValue(json, TolGetTransactionReceipt.class)
+                        .getTransactionReceipt()
+                        .get(),
+                receipt.toTransactionReceipt());
+    }
+
+    @Test
+    public void testNullResult() throws Exception {
+        assertFalse(
+                objectMapper
+                        .readValue(response("null"), LiteTolTransaction.class)
+                        .getTransaction()
+                        .isPresent());
+    }
+
+    private static String response(String result) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":" + result + "}";
+    }
+}
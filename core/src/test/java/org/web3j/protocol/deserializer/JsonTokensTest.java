@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonTokensTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Test
+    public void testQuantities() throws Exception {
+        assertEquals(0, readQuantity("\"0x0\""));
+        assertEquals(0x1b4, readQuantity("\"0x1b4\""));
+        assertEquals(0x1b4, readQuantity("\"0x1B4\""));
+        assertEquals(0x1b4, readQuantity("\"0x0001b4\""));
+        assertEquals(436, readQuantity("\"436\""));
+        assertEquals(436, readQuantity("\"000436\""));
+        assertEquals(436, readQuantity("436"));
+        assertEquals(Long.MAX_VALUE, readQuantity("\"0x7fffffffffffffff\""));
+        assertEquals(Long.MAX_VALUE, readQuantity("\"9223372036854775807\""));
+        assertEquals(JsonTokens.ABSENT, readQuantity("null"));
+        assertEquals(JsonTokens.ABSENT, readQuantity("\"\""));
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        assertEquals(JsonTokens.OVERFLOW, readQuantity("\"0x8000000000000000\""));
+        assertEquals(JsonTokens.OVERFLOW, readQuantity("\"9223372036854775808\""));
+        assertEquals(JsonTokens.OVERFLOW, readQuantity("9223372036854775808"));
+        assertEquals(
+                new BigInteger("8000000000000000", 16),
+                JsonTokens.toBigInteger("0x8000000000000000"));
+        assertEquals(
+                new BigInteger("9223372036854775808"),
+                JsonTokens.toBigInteger("9223372036854775808"));
+
+        assertThrows(
+                JsonMappingException.class,
+                () -> read("\"0x8000000000000000\"", JsonTokens::readLong));
+    }
+
+    @Test
+    public void testInvalidQuantities() {
+        assertThrows(JsonMappingException.class, () -> readQuantity("\"0x\""));
+        assertThrows(JsonMappingException.class, () -> readQuantity("\"0xzz\""));
+        assertThrows(JsonMappingException.class, () -> readQuantity("\"-1\""));
+        assertThrows(JsonMappingException.class, () -> readQuantity("\"+1\""));
+        assertThrows(JsonMappingException.class, () -> readQuantity("\"0X1\""));
+        assertThrows(JsonMappingException.class, () -> readQuantity("-1"));
+        assertThrows(JsonMappingException.class, () -> readQuantity("1.5"));
+        // digits after the point of overflow are validated as well
+        assertThrows(JsonMappingException.class, () -> readQuantity("\"0x80000000000000000z\""));
+        assertThrows(JsonMappingException.class, () -> readQuantity("\"92233720368547758080z\""));
+    }
+
+    @Test
+    public void testBigIntegers() throws Exception {
+        assertEquals(BigInteger.valueOf(0x1b4), readBigInteger("\"0x1b4\""));
+        BigInteger value = new BigInteger("1000000000000000000000");
+        assertEquals(value, readBigInteger("\"0x3635c9adc5dea00000\""));
+        assertEquals(value, readBigInteger("1000000000000000000000"));
+        assertEquals(BigInteger.valueOf(-1), readBigInteger("-1"));
+        assertEquals(BigInteger.ONE, readBigInteger("1.5"));
+        assertNull(readBigInteger("null"));
+        assertNull(readBigInteger("\"\""));
+    }
+
+    @Test
+    public void testFirstField() throws Exception {
+        assertEquals("a", read("{\"a\":1}", p -> JsonTokens.firstField(p, Object.class)));
+        assertNull(read("{}", p -> JsonTokens.firstField(p, Object.class)));
+        assertThrows(
+                JsonMappingException.class,
+                () -> read("[]", p -> JsonTokens.firstField(p, Object.class)));
+    }
+
+    private static long readQuantity(String json) throws IOException {
+        return read(json, JsonTokens::readQuantity);
+    }
+
+    private static BigInteger readBigInteger(String json) throws IOException {
+        return read(json, JsonTokens::readBigInteger);
+    }
+
+    private static <T> T read(String json, Reader<T> reader) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parser.nextToken();
+            return reader.read(parser);
+        }
+    }
+
+    private interface Reader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.deserializer;
+
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetTransactionList;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResponseDeserializersTest {
+
+    private static final String BLOCK_HASH =
+            "0abfdd5b4b2d2e55b3cda4b0959ea7cf4de0cd0e8fb4804105ad2eec5c2ae9ae";
+
+    private static final String TRANSACTION =
+            "{\"block_hash\":\""
+                    + BLOCK_HASH
+                    + "\",\"transaction_index\":1,"
+                    + "\"sender_address\":\"5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb\","
+                    + "\"receiver_address\":\"5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5\","
+                    + "\"value\":1000000000000000000000000,\"gas\":\"6000000\","
+                    + "\"gas_price\":1,\"data\":\"0xcfae3217\",\"nonce\":7,"
+                    + "\"gas_used\":21272,\"gas_refunded\":0,\"new_address\":null,"
+                    + "\"output\":\"\",\"excepted\":false,"
+                    + "\"confirmation_timestamp\":1580000000000,\"unknown\":[{}]}";
+
+    private static final String LOG =
+            "{\"removed\":false,\"logIndex\":\"0x1\",\"transactionIndex\":\"0x0\","
+                    + "\"transactionHash\":\"0x"
+                    + BLOCK_HASH
+                    + "\",\"blockHash\":\"0x"
+                    + BLOCK_HASH
+                    + "\",\"blockNumber\":\"0x1b4\","
+                    + "\"address\":\"0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+                    + "\"data\":\"0x00000000000000000000000000000001\","
+                    + "\"type\":\"mined\",\"topics\":[\"0xabcd\",\"0x1234\"]}";
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final ObjectMapper beanObjectMapper =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    public void testBlock() throws Exception {
+        String json =
+                "{\"block_index\":7,\"previous_block_hash\":\""
+                        + BLOCK_HASH
+                        + "\",\"transaction_hashes\":[\"00ff\",\"0xABCD\"],"
+                        + "\"confirmation_timestamp\":1580000000007}";
+
+        assertSameResult(json, TolBlock.Block.class);
+        assertSameResult("{}", TolBlock.Block.class);
+    }
+
+    @Test
+    public void testTransactions() throws Exception {
+        assertSameResult(TRANSACTION, Transaction.class);
+
+        String json = "{\"transactions\":[" + TRANSACTION + ",null," + TRANSACTION + "]}";
+        assertEquals(
+                beanObjectMapper
+                        .readValue(json, TolGetTransactionList.TransactionList.class)
+                        .getTransactions(),
+                objectMapper
+                        .readValue(json, TolGetTransactionList.TransactionList.class)
+                        .getTransactions());
+    }
+
+    @Test
+    public void testTransactionReceipt() throws Exception {
+        String json =
+                "{\"block_hash\":\""
+                        + BLOCK_HASH
+                        + "\",\"transaction_index\":0,\"sender_address\":\"54\","
+                        + "\"receiver_address\":null,\"gas_used\":21272,"
+                        + "\"new_address\":\"57\",\"excepted\":true,\"block_number\":1,"
+                        + "\"hash\":\""
+                        + BLOCK_HASH
+                        + "\",\"logs\":["
+                        + LOG
+                        + "]}";
+
+        assertSameResult(json, TransactionReceipt.class);
+    }
+
+    @Test
+    public void testLogs() throws Exception {
+        assertSameResult(LOG, Log.class);
+        assertSameResult(LOG, EthLog.LogObject.class);
+    }
+
+    @Test
+    public void testQuantities() throws Exception {
+        Transaction transaction =
+                objectMapper.readValue(
+                        "{\"value\":\"0x3635c9adc5dea00000\",\"gas\":\"0x5b8d80\","
+                                + "\"nonce\":\"12345678901234567890\",\"gas_used\":\"\"}",
+                        Transaction.class);
+
+        assertEquals(new BigInteger("1000000000000000000000"), transaction.getValue());
+        assertEquals(BigInteger.valueOf(6000000), transaction.getGas());
+        assertEquals(new BigInteger("12345678901234567890"), transaction.getNonce());
+        assertEquals(null, transaction.getGasUsed());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(
+                JsonMappingException.class,
+                () -> objectMapper.readValue("{\"value\":\"0xzz\"}", Transaction.class));
+        assertThrows(
+                JsonMappingException.class,
+                () -> objectMapper.readValue("{\"data\":{}}", Transaction.class));
+        assertThrows(
+                JsonMappingException.class,
+                () -> objectMapper.readValue("[]", TolBlock.Block.class));
+    }
+
+    private <T> void assertSameResult(String json, Class<T> type) throws Exception {
+        assertEquals(beanObjectMapper.readValue(json, type), objectMapper.readValue(json, type));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.instrumentation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HistogramTest {
+
+    @Test
+    public void testBucketBoundaries() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123456789L, Long.MAX_VALUE}) {
+            int index = Histogram.indexOf(value);
+            assertTrue(Histogram.highestValueAt(index) >= value);
+            if (index > 0) {
+                assertTrue(Histogram.highestValueAt(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(1000000, snapshot.getMax());
+        assertEquals(500500.0, snapshot.getMean());
+        assertEquals(1000000, snapshot.getValueAtPercentile(100));
+
+        long median = snapshot.getValueAtPercentile(50);
+        assertTrue(median >= 500000 && median <= 500000 * 17 / 16, "median " + median);
+        long p99 = snapshot.getValueAtPercentile(99);
+        assertTrue(p99 >= 990000 && p99 <= 1000000, "p99 " + p99);
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        Histogram.Snapshot snapshot = new Histogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+}
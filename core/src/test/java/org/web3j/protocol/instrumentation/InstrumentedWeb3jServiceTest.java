@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.instrumentation;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.NetPeerCount;
+import org.web3j.protocol.core.methods.response.TolGetBlockCount;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InstrumentedWeb3jServiceTest {
+
+    private Web3jService web3jService;
+    private Web3jMetrics metrics;
+    private Web3j web3j;
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        metrics = new Web3jMetrics();
+        web3j = Web3j.build(new InstrumentedWeb3jService(web3jService, metrics));
+    }
+
+    @Test
+    public void testRequestsAreRecordedPerMethod() throws Exception {
+        TolGetBlockCount error = new TolGetBlockCount();
+        error.setError(new Response.Error(-32000, "failed"));
+        when(web3jService.send(any(Request.class), eq(TolGetBlockCount.class)))
+                .thenReturn(new TolGetBlockCount(), error);
+        when(web3jService.send(any(Request.class), eq(NetPeerCount.class)))
+                .thenThrow(new IOException("connection refused"));
+
+        web3j.tolGetBlockCount().send();
+        web3j.tolGetBlockCount().send();
+        assertThrows(IOException.class, () -> web3j.netPeerCount().send());
+
+        Web3jMetrics.MethodSnapshot blockCount =
+                metrics.snapshot().getMethods().get("tol_getBlockCount");
+        assertEquals(2, blockCount.getLatencies().getCount());
+        assertEquals(0, blockCount.getInFlight());
+        assertEquals(1L, blockCount.getErrors().get(-32000));
+
+        Web3jMetrics.MethodSnapshot peerCount =
+                metrics.snapshot().getMethods().get("net_peerCount");
+        assertEquals(1, peerCount.getFailures());
+        assertEquals(0, peerCount.getInFlight());
+    }
+
+    @Test
+    public void testBatchSizesAreRecorded() throws Exception {
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenReturn(
+                        new BatchResponse(
+                                null,
+                                Arrays.asList(new TolGetBlockCount(), new TolGetBlockCount())));
+
+        web3j.newBatch().add(web3j.tolGetBlockCount()).add(web3j.tolGetBlockCount()).send();
+
+        Web3jMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getBatchSizes().getCount());
+        assertEquals(2, snapshot.getBatchSizes().getMax());
+        assertEquals(2, snapshot.getMethods().get("tol_getBlockCount").getLatencies().getCount());
+    }
+
+    @Test
+    public void testDisabledMetricsRecordNothing() throws Exception {
+        when(web3jService.send(any(Request.class), eq(TolGetBlockCount.class)))
+                .thenReturn(new TolGetBlockCount());
+        metrics.setEnabled(false);
+
+        web3j.tolGetBlockCount().send();
+
+        assertEquals(0, metrics.snapshot().getMethods().size());
+    }
+}
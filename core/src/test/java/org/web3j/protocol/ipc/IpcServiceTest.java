@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.response.Web3ClientVersion;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,4 +53,28 @@ public class IpcServiceTest {
 
         verify(ioFacade).write("{\"jsonrpc\":\"2.0\",\"method\":null,\"params\":null,\"id\":0}");
     }
+
+    @Test
+    public void testSendWithRawResponse() throws IOException {
+        String response =
+                "{\"jsonrpc\":\"2.0\",\"id\":1,"
+                        + "\"result\":\"Geth/v1.5.4-stable-b70acf3c/darwin/go1.7.3\"}";
+        when(ioFacade.read()).thenReturn(response + "\n");
+        IpcService rawIpcService =
+                new IpcService(true) {
+                    @Override
+                    protected IOFacade getIO() {
+                        return ioFacade;
+                    }
+                };
+
+        for (int i = 0; i < 2; i++) {
+            Web3ClientVersion web3ClientVersion =
+                    rawIpcService.send(new Request(), Web3ClientVersion.class);
+            assertEquals(
+                    "Geth/v1.5.4-stable-b70acf3c/darwin/go1.7.3",
+                    web3ClientVersion.getWeb3ClientVersion());
+            assertEquals(response, web3ClientVersion.getRawResponse());
+        }
+    }
 }
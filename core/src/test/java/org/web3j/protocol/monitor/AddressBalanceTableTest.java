@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.monitor;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AddressBalanceTableTest {
+
+    @Test
+    public void testAddFindRemove() {
+        AddressBalanceTable table = new AddressBalanceTable(4);
+        byte[] address = address(1);
+
+        assertTrue(table.add(address));
+        assertFalse(table.add(address));
+        assertNull(table.balance(table.find(address)));
+
+        table.setBalance(table.find(address), BigInteger.TEN);
+        assertEquals(BigInteger.TEN, table.balance(table.find(address)));
+
+        assertTrue(table.remove(address));
+        assertFalse(table.remove(address));
+        assertEquals(-1, table.find(address));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        AddressBalanceTable table = new AddressBalanceTable(0);
+        Map<Integer, BigInteger> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            byte[] address = address(key);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.containsKey(key), table.remove(address));
+                expected.remove(key);
+            } else {
+                assertEquals(!expected.containsKey(key), table.add(address));
+                BigInteger balance = BigInteger.valueOf(i);
+                table.setBalance(table.find(address), balance);
+                expected.put(key, balance);
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        for (int key = 0; key < 2000; key++) {
+            int slot = table.find(address(key));
+            if (expected.containsKey(key)) {
+                assertEquals(expected.get(key), table.balance(slot));
+            } else {
+                assertEquals(-1, slot);
+            }
+        }
+    }
+
+    private static byte[] address(int value) {
+        byte[] address = new byte[AddressBalanceTable.ADDRESS_SIZE];
+        address[0] = 0x54;
+        address[AddressBalanceTable.ADDRESS_SIZE - 2] = (byte) (value >> 8);
+        address[AddressBalanceTable.ADDRESS_SIZE - 1] = (byte) value;
+        return address;
+    }
+}
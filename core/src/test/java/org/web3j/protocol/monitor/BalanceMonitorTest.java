@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.monitor;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetBalance;
+import org.web3j.protocol.core.methods.response.TolTransaction;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BalanceMonitorTest {
+
+    private static final String ADDRESS_A = "5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb";
+    private static final String ADDRESS_B = "5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5";
+    private static final String ADDRESS_C = "54c2d45e3a1a3f2dc1f5f2e4b0a5d58bd77e15b72a7a0f2c11";
+    private static final String UNWATCHED = "5493b8597964a2a7f0c93c49f9e4c4a170e0c42a5eb3beda0d";
+
+    private final Map<String, BigInteger> balances = new HashMap<>();
+    private final Map<String, Transaction> transactions = new HashMap<>();
+    private final List<String> requestedBalances = new ArrayList<>();
+
+    private BalanceMonitor balanceMonitor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        balanceMonitor = new BalanceMonitor(createWeb3j(), 2, 0);
+
+        balances.put(ADDRESS_A, BigInteger.valueOf(100));
+        balances.put(ADDRESS_B, BigInteger.valueOf(200));
+        balances.put(ADDRESS_C, BigInteger.valueOf(300));
+        balanceMonitor.watchAll(Arrays.asList(ADDRESS_A, "0x" + ADDRESS_B, ADDRESS_C));
+    }
+
+    @Test
+    public void testOnlyAddressesOfTheBlockAreRefreshed() throws Exception {
+        assertTrue(balanceMonitor.refresh(createBlock(1)).isEmpty());
+        assertEquals(3, requestedBalances.size());
+        assertEquals(BigInteger.valueOf(200), balanceMonitor.getBalance(ADDRESS_B).get());
+
+        requestedBalances.clear();
+        balances.put(ADDRESS_A, BigInteger.valueOf(90));
+        balances.put(UNWATCHED, BigInteger.valueOf(10));
+        transactions.put("01", createTransaction(ADDRESS_A, UNWATCHED));
+
+        List<BalanceChange> changes = balanceMonitor.refresh(createBlock(2, "01"));
+
+        assertEquals(
+                Collections.singletonList(
+                        new BalanceChange(
+                                ADDRESS_A,
+                                BigInteger.valueOf(100),
+                                BigInteger.valueOf(90),
+                                BigInteger.valueOf(2))),
+                changes);
+        assertEquals(Collections.singletonList(ADDRESS_A), requestedBalances);
+    }
+
+    @Test
+    public void testSweepRefreshesOtherAddresses() throws Exception {
+        BalanceMonitor sweeping = new BalanceMonitor(createWeb3j(), 10, 3);
+        sweeping.watchAll(Arrays.asList(ADDRESS_A, ADDRESS_B, ADDRESS_C));
+        sweeping.refresh(createBlock(1));
+        balances.put(ADDRESS_C, BigInteger.valueOf(302));
+
+        List<BalanceChange> changes = sweeping.refresh(createBlock(2));
+        assertEquals(1, changes.size());
+        assertEquals(BigInteger.valueOf(302), changes.get(0).getBalance());
+    }
+
+    private Web3j createWeb3j() throws Exception {
+        Web3jService web3jService = mock(Web3jService.class);
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)));
+        return Web3j.build(web3jService);
+    }
+
+    private BatchResponse respond(BatchRequest batchRequest) {
+        List<Response<?>> responses = new ArrayList<>();
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            String param = request.getParams().get(0).toString();
+            if (request.getMethod().equals("tol_getTransaction")) {
+                TolTransaction response = new TolTransaction();
+                response.setResult(transactions.get(param));
+                responses.add(response);
+            } else {
+                requestedBalances.add(param);
+                TolGetBalance response = new TolGetBalance();
+                response.setResult(
+                        new TolGetBalance.BlockBalance(
+                                balances.get(param), (BigInteger) request.getParams().get(1)));
+                responses.add(response);
+            }
+        }
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+
+    private static TolBlock.Block createBlock(long index, String... transactionHashes) {
+        return new TolBlock.Block(
+                BigInteger.valueOf(index), "00", Arrays.asList(transactionHashes), index);
+    }
+
+    private static Transaction createTransaction(String sender, String receiver) {
+        return new Transaction(
+                "00",
+                BigInteger.ZERO,
+                sender,
+                receiver,
+                BigInteger.TEN,
+                BigInteger.valueOf(6000000L),
+                BigInteger.ONE,
+                "",
+                BigInteger.ZERO,
+                BigInteger.valueOf(21272),
+                BigInteger.ZERO,
+                null,
+                "",
+                false,
+                BigInteger.ONE);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.routing;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolGetBlockCount;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.websocket.events.Notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoutingWeb3jServiceTest {
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWritesGoToExactlyOneNode() throws Exception {
+        TestNode failing = new TestNode("failing", 0, true);
+        TestNode working = new TestNode("working", 0, false);
+        RoutingWeb3jService service =
+                new RoutingWeb3jService(Arrays.asList(failing, working), executor, 0);
+
+        int failures = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                request(service, "tx_sendSignedTransaction").send();
+            } catch (IOException e) {
+                failures++;
+            }
+        }
+
+        assertEquals(20, failing.calls.get() + working.calls.get());
+        assertEquals(failing.calls.get(), failures);
+    }
+
+    @Test
+    public void testSlowReadsAreHedged() throws Exception {
+        TestNode slow = new TestNode("slow", 5000, false);
+        TestNode fast = new TestNode("fast", 0, false);
+        RoutingWeb3jService service =
+                new RoutingWeb3jService(Arrays.asList(slow, fast), executor, 0);
+
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            Response<?> response = request(service, "tol_getBlockByIndex").send();
+            assertEquals("fast", response.getResult());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        }
+        // the slow node is avoided once its requests are pending
+        assertTrue(slow.calls.get() <= 2);
+    }
+
+    @Test
+    public void testFailedReadsAreSentToAnotherNode() throws Exception {
+        TestNode failing = new TestNode("failing", 0, true);
+        TestNode working = new TestNode("working", 0, false);
+        RoutingWeb3jService service =
+                new RoutingWeb3jService(Arrays.asList(failing, working), executor, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("working", request(service, "tol_tryCallTransaction").send().getResult());
+        }
+        assertEquals(failing.calls.get() > 0, service.getNodes().get(0).getErrorRate() > 0);
+        assertEquals(0.0, service.getNodes().get(1).getErrorRate());
+
+        RoutingWeb3jService failingOnly =
+                new RoutingWeb3jService(Collections.singletonList(failing), executor, 0);
+        assertThrows(IOException.class, () -> request(failingOnly, "tol_getBalance").send());
+    }
+
+    @Test
+    public void testInterruptedReadsKeepTheInterruptFlag() {
+        TestNode slow = new TestNode("slow", 5000, false);
+        RoutingWeb3jService service =
+                new RoutingWeb3jService(Collections.singletonList(slow), executor, 0);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(IOException.class, () -> request(service, "tol_getBalance").send());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testLaggingNodesAreUnhealthy() throws Exception {
+        TestNode behind = new TestNode("behind", 0, false);
+        TestNode ahead = new TestNode("ahead", 0, false);
+        behind.blockCount = 90;
+        ahead.blockCount = 100;
+        RoutingWeb3jService service =
+                new RoutingWeb3jService(Arrays.asList(behind, ahead), executor, 20);
+
+        waitFor(() -> !service.getNodes().get(0).isHealthy());
+        assertTrue(service.getNodes().get(1).isHealthy());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("ahead", request(service, "tx_sendSignedTransaction").send().getResult());
+        }
+
+        behind.blockCount = 100;
+        waitFor(() -> service.getNodes().get(0).isHealthy());
+        service.close();
+        assertTrue(behind.closed && ahead.closed);
+    }
+
+    @Test
+    public void testIdempotentReads() {
+        RoutingWeb3jService service =
+                new RoutingWeb3jService(
+                        Collections.singletonList(new TestNode("node", 0, false)), executor, 0);
+
+        assertTrue(service.isIdempotentRead("tol_getBlockByHash"));
+        assertTrue(service.isIdempotentRead("tol_tryCallTransaction"));
+        assertFalse(service.isIdempotentRead("tx_sendSignedTransaction"));
+        assertFalse(service.isIdempotentRead("net_peerCount"));
+        assertFalse(service.isIdempotentRead(null));
+    }
+
+    private static Request<?, Web3ClientVersion> request(Web3jService service, String method) {
+        return new Request<>(method, Collections.emptyList(), service, Web3ClientVersion.class);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private class TestNode implements Web3jService {
+
+        private final String name;
+        private final long delay;
+        private final boolean failing;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private volatile long blockCount;
+        private volatile boolean closed;
+
+        TestNode(String name, long delay, boolean failing) {
+            this.name = name;
+            this.delay = delay;
+            this.failing = failing;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Response> T send(Request request, Class<T> responseType)
+                throws IOException {
+            if (!request.getMethod().equals("tol_getBlockCount")) {
+                calls.incrementAndGet();
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (failing) {
+                throw new IOException("Node " + name + " is down");
+            }
+
+            T response;
+            try {
+                response = responseType.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+            response.setResult(
+                    responseType == TolGetBlockCount.class ? String.valueOf(blockCount) : name);
+            return response;
+        }
+
+        @Override
+        public <T extends Response> CompletableFuture<T> sendAsync(
+                Request request, Class<T> responseType) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            executor.execute(
+                    () -> {
+                        try {
+                            result.complete(send(request, responseType));
+                        } catch (Throwable e) {
+                            result.completeExceptionally(e);
+                        }
+                    });
+            return result;
+        }
+
+        @Override
+        public BatchResponse sendBatch(BatchRequest batchRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends Notification<?>> Flowable<T> subscribe(
+                Request request, String unsubscribeMethod, Class<T> responseType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Flowable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.core.filters.Callback;
+import org.web3j.protocol.core.filters.Filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class FilterPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final Filter<Integer> filter = mock(Filter.class);
+
+    private final AtomicReference<Callback<Integer>> filterCallback = new AtomicReference<>();
+
+    @Test
+    public void testDropOldest() {
+        FilterBackpressure backpressure =
+                new FilterBackpressure(3, FilterBackpressure.OverflowPolicy.DROP_OLDEST);
+        TestSubscriber<Integer> subscriber = subscribe(backpressure);
+
+        subscriber.request(1);
+        emit(0, 1, 2, 3, 4, 5);
+
+        subscriber.assertValues(0);
+        assertEquals(3, backpressure.getMetrics().getBuffered());
+        assertEquals(2, backpressure.getMetrics().getDropped());
+        assertEquals(1, backpressure.getMetrics().getPausedFilters());
+        verify(filter).pause();
+
+        subscriber.request(10);
+
+        subscriber.assertValues(0, 3, 4, 5);
+        assertEquals(0, backpressure.getMetrics().getBuffered());
+        assertEquals(3, backpressure.getMetrics().getPeakBuffered());
+        assertEquals(0, backpressure.getMetrics().getPausedFilters());
+        verify(filter).resume();
+
+        subscriber.cancel();
+        verify(filter, times(1)).cancel();
+    }
+
+    @Test
+    public void testLatest() {
+        FilterBackpressure backpressure =
+                new FilterBackpressure(3, FilterBackpressure.OverflowPolicy.LATEST);
+        TestSubscriber<Integer> subscriber = subscribe(backpressure);
+
+        emit(0, 1, 2, 3);
+        subscriber.request(10);
+
+        subscriber.assertValues(3);
+        assertEquals(3, backpressure.getMetrics().getDropped());
+    }
+
+    @Test
+    public void testError() {
+        FilterBackpressure backpressure =
+                new FilterBackpressure(2, FilterBackpressure.OverflowPolicy.ERROR);
+        TestSubscriber<Integer> subscriber = subscribe(backpressure);
+
+        emit(0, 1, 2);
+
+        subscriber.assertNoValues();
+        subscriber.assertError(MissingBackpressureException.class);
+        assertEquals(0, backpressure.getMetrics().getBuffered());
+        verify(filter).cancel();
+    }
+
+    private TestSubscriber<Integer> subscribe(FilterBackpressure backpressure) {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+        Flowable.fromPublisher(
+                        new FilterPublisher<Integer>(
+                                callback -> {
+                                    filterCallback.set(callback);
+                                    return filter;
+                                },
+                                started -> {},
+                                backpressure))
+                .subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void emit(int... values) {
+        for (int value : values) {
+            filterCallback.get().onEvent(value);
+        }
+    }
+}
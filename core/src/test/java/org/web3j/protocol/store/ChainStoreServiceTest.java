@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.store;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.TempFileProvider;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChainStoreServiceTest extends TempFileProvider {
+
+    private ChainStore chainStore;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        chainStore = new ChainStore(Paths.get(tempDirPath));
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() throws Exception {
+        chainStore.close();
+        super.tearDown();
+    }
+
+    @Test
+    public void testOfflineBlockRequests() throws Exception {
+        chainStore.putBlock(createBlock(1));
+        chainStore.putBlock(createBlock(2));
+
+        Web3j web3j = Web3j.build(new ChainStoreService(chainStore));
+
+        TolBlock tolBlock = web3j.tolGetBlockByIndex(new DefaultBlockParameterNumber(2)).send();
+        assertEquals(createBlock(2), tolBlock.getBlock());
+
+        BatchResponse batchResponse =
+                web3j.newBatch()
+                        .add(web3j.tolGetBlockByIndex(new DefaultBlockParameterNumber(1)))
+                        .add(web3j.tolGetBlockByHash("01"))
+                        .send();
+        assertEquals(createBlock(1), ((TolBlock) batchResponse.getResponses().get(0)).getBlock());
+        assertEquals(createBlock(1), ((TolBlock) batchResponse.getResponses().get(1)).getBlock());
+
+        assertThrows(
+                ClientConnectionException.class,
+                () -> web3j.tolGetBlockByIndex(new DefaultBlockParameterNumber(3)).send());
+    }
+
+    @Test
+    public void testOfflineLatestBlockRequests() throws Exception {
+        chainStore.putBlock(createBlock(1));
+        chainStore.putBlock(createBlock(2));
+
+        Web3j web3j = Web3j.build(new ChainStoreService(chainStore));
+
+        assertEquals(
+                createBlock(2),
+                web3j.tolGetBlockByIndex(DefaultBlockParameterName.LATEST).send().getBlock());
+        assertEquals(
+                createBlock(2),
+                web3j.tolGetBlockByIndex(DefaultBlockParameterName.PENDING).send().getBlock());
+        assertThrows(
+                ClientConnectionException.class,
+                () -> web3j.tolGetBlockByIndex(DefaultBlockParameterName.EARLIEST).send());
+    }
+
+    @Test
+    public void testMissingEntriesAreFetchedAndStored() throws Exception {
+        TolBlock response = new TolBlock();
+        response.setResult(createBlock(7));
+
+        Web3jService web3jService = mock(Web3jService.class);
+        when(web3jService.send(any(Request.class), eq(TolBlock.class))).thenReturn(response);
+
+        Web3j web3j = Web3j.build(new ChainStoreService(chainStore, web3jService));
+
+        for (int i = 0; i < 3; i++) {
+            TolBlock tolBlock = web3j.tolGetBlockByIndex(new DefaultBlockParameterNumber(7)).send();
+            assertEquals(createBlock(7), tolBlock.getBlock());
+        }
+
+        verify(web3jService, times(1)).send(any(Request.class), eq(TolBlock.class));
+        assertTrue(chainStore.containsBlock(7));
+    }
+
+    @Test
+    public void testBlocksFetchedByHashAreStoredOnce() throws Exception {
+        chainStore.putBlock(createBlock(7));
+        long size = storeSize();
+
+        TolBlock response = new TolBlock();
+        response.setResult(createBlock(7));
+
+        Web3jService web3jService = mock(Web3jService.class);
+        when(web3jService.send(any(Request.class), eq(TolBlock.class))).thenReturn(response);
+
+        Web3j web3j = Web3j.build(new ChainStoreService(chainStore, web3jService));
+
+        assertEquals(createBlock(7), web3j.tolGetBlockByHash("07").send().getBlock());
+        assertEquals(size, storeSize());
+    }
+
+    private long storeSize() throws IOException {
+        long size = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(tempDirPath))) {
+            for (Path path : stream) {
+                size += Files.size(path);
+            }
+        }
+        return size;
+    }
+
+    private static TolBlock.Block createBlock(long index) {
+        return new TolBlock.Block(
+                BigInteger.valueOf(index),
+                String.format("%02x", index - 1),
+                Collections.emptyList(),
+                1580000000000L + index);
+    }
+}
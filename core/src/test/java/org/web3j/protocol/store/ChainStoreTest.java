@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.store;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.TempFileProvider;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChainStoreTest extends TempFileProvider {
+
+    private static final String TRANSACTION_HASH =
+            "0abfdd5b4b2d2e55b3cda4b0959ea7cf4de0cd0e8fb4804105ad2eec5c2ae9ae";
+
+    @Test
+    public void testBlockRoundTrip() throws Exception {
+        try (ChainStore chainStore = new ChainStore(Paths.get(tempDirPath))) {
+            TolBlock.Block block = createBlock(5);
+            chainStore.putBlock("0xabcd", block);
+
+            assertEquals(block, chainStore.getBlock(5).get());
+            assertEquals(block, chainStore.getBlockByHash("abcd").get());
+            assertFalse(chainStore.getBlockByHash(hashOf(4)).isPresent());
+            assertFalse(chainStore.getBlock(6).isPresent());
+            assertEquals(5, chainStore.getLatestBlockIndex());
+        }
+    }
+
+    @Test
+    public void testTransactionAndReceiptRoundTrip() throws Exception {
+        Transaction transaction =
+                new Transaction(
+                        hashOf(1),
+                        BigInteger.ONE,
+                        "5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb",
+                        "5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5",
+                        BigInteger.TEN,
+                        BigInteger.valueOf(6000000L),
+                        BigInteger.ONE,
+                        "0xcfae3217",
+                        BigInteger.valueOf(7L),
+                        BigInteger.valueOf(21272),
+                        BigInteger.ZERO,
+                        null,
+                        "",
+                        false,
+                        BigInteger.valueOf(1580000000000L));
+        TransactionReceipt receipt =
+                new TransactionReceipt(
+                        hashOf(1),
+                        "0",
+                        "5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb",
+                        "5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5",
+                        BigInteger.valueOf(21272),
+                        null,
+                        false,
+                        BigInteger.ONE,
+                        TRANSACTION_HASH,
+                        Collections.singletonList(
+                                new Log(
+                                        false,
+                                        "0x0",
+                                        "0x0",
+                                        TRANSACTION_HASH,
+                                        hashOf(1),
+                                        "0x1",
+                                        "5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5",
+                                        "0x",
+                                        "mined",
+                                        Arrays.asList("0xABCD", "0x1234"))));
+
+        try (ChainStore chainStore = new ChainStore(Paths.get(tempDirPath))) {
+            chainStore.putTransaction(TRANSACTION_HASH, transaction);
+            chainStore.putTransactionReceipt(receipt);
+
+            assertEquals(transaction, chainStore.getTransaction(TRANSACTION_HASH).get());
+            assertEquals(receipt, chainStore.getTransactionReceipt(TRANSACTION_HASH).get());
+            assertTrue(chainStore.containsTransactionReceipt("0x" + TRANSACTION_HASH));
+        }
+    }
+
+    @Test
+    public void testIndexIsRebuiltOnOpen() throws Exception {
+        Path directory = Paths.get(tempDirPath);
+        try (ChainStore chainStore = new ChainStore(directory, 128)) {
+            for (int i = 0; i < 20; i++) {
+                chainStore.putBlock(createBlock(i));
+            }
+        }
+
+        // simulate a partially written record
+        File[] segments = directory.toFile().listFiles();
+        Arrays.sort(segments);
+        assertTrue(segments.length > 1);
+        Files.write(
+                segments[segments.length - 1].toPath(),
+                new byte[] {ChainStoreCodec.BLOCK, 0, 0},
+                StandardOpenOption.APPEND);
+
+        try (ChainStore chainStore = new ChainStore(directory, 128)) {
+            assertEquals(19, chainStore.getLatestBlockIndex());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(createBlock(i), chainStore.getBlock(i).get());
+            }
+            assertEquals(createBlock(3), chainStore.getBlockByHash(hashOf(3)).get());
+
+            chainStore.putBlock(createBlock(20));
+            assertEquals(createBlock(20), chainStore.getBlock(20).get());
+        }
+    }
+
+    private static TolBlock.Block createBlock(long index) {
+        return new TolBlock.Block(
+                BigInteger.valueOf(index),
+                hashOf(index - 1),
+                Arrays.asList(hashOf(index * 2), hashOf(index * 2 + 1)),
+                1580000000000L + index);
+    }
+
+    private static String hashOf(long value) {
+        return String.format("%064x", value);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.time.Duration;
+import java.util.Random;
+
+/** Distribution of the time a {@link StubTolarNode} takes to answer a request. */
+public interface LatencyDistribution {
+
+    LatencyDistribution NONE = random -> 0;
+
+    /**
+     * @param random source of randomness, owned by the caller
+     * @return the next latency in nanoseconds
+     */
+    long nextNanos(Random random);
+
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long range = max.toNanos() - minNanos;
+        if (range < 0) {
+            throw new IllegalArgumentException("max latency must not be less than min latency");
+        }
+        return random -> minNanos + (long) (random.nextDouble() * range);
+    }
+
+    static LatencyDistribution exponential(Duration mean) {
+        double meanNanos = mean.toNanos();
+        return random -> (long) (-meanNanos * Math.log(1 - random.nextDouble()));
+    }
+
+    /**
+     * Log-normal latencies, the usual shape of network round trips: most requests are close to
+     * the median while a few take many times longer.
+     *
+     * @param median the median latency
+     * @param sigma standard deviation of the logarithm of the latency, 0.5 gives a p99 of about
+     *     three times the median
+     * @return the distribution
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        double mu = Math.log(median.toNanos());
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Synthetic Tolar chain of a {@link StubTolarNode}.
+ *
+ * <p>Blocks, transactions and receipts are generated from a seed, so two chains created with the
+ * same arguments produce the same data, and are kept in the JSON form the node returns them in.
+ */
+public class StubChain {
+
+    public static final BigInteger INITIAL_BALANCE = BigInteger.TEN.pow(21);
+
+    static final BigInteger GAS = BigInteger.valueOf(21000);
+    static final BigInteger GAS_PRICE = BigInteger.ONE;
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String ZERO_HASH = new String(new char[64]).replace('\0', '0');
+
+    private final Random random;
+    private final int transactionsPerBlock;
+    private final int logsPerReceipt;
+
+    private final List<String> accounts = new ArrayList<>();
+    private final Map<String, BigInteger> balances = new HashMap<>();
+    private final Map<String, BigInteger> nonces = new HashMap<>();
+
+    private final List<ObjectNode> blocks = new ArrayList<>();
+    private final List<String> blockHashes = new ArrayList<>();
+    private final Map<String, Integer> blockIndexes = new HashMap<>();
+    private final Map<String, ObjectNode> transactions = new HashMap<>();
+    private final Map<String, ObjectNode> receipts = new HashMap<>();
+    private final Map<String, Long> sequences = new HashMap<>();
+    private final Map<String, List<String>> transactionsByAddress = new HashMap<>();
+    private final List<ObjectNode> pending = new ArrayList<>();
+
+    public StubChain() {
+        this(0, 16, 4, 1);
+    }
+
+    /**
+     * @param seed seed of the synthetic data
+     * @param accountCount number of funded accounts
+     * @param transactionsPerBlock number of synthetic transfers in every produced block
+     * @param logsPerReceipt number of logs in the receipt of every synthetic transfer
+     */
+    public StubChain(long seed, int accountCount, int transactionsPerBlock, int logsPerReceipt) {
+        this.random = new Random(seed);
+        this.transactionsPerBlock = transactionsPerBlock;
+        this.logsPerReceipt = logsPerReceipt;
+
+        for (int i = 0; i < accountCount; i++) {
+            String account = "54" + randomHex(24);
+            accounts.add(account);
+            balances.put(account, INITIAL_BALANCE);
+            nonces.put(account, BigInteger.ZERO);
+        }
+        appendBlock(ZERO_HASH, Collections.emptyList());
+    }
+
+    public synchronized List<String> getAccounts() {
+        return new ArrayList<>(accounts);
+    }
+
+    /**
+     * Add an account without funds.
+     *
+     * @return the address of the account
+     */
+    public synchronized String createAccount() {
+        String account = "54" + randomHex(24);
+        accounts.add(account);
+        return account;
+    }
+
+    /**
+     * Seal the pending transactions, and a batch of synthetic transfers, into a new block.
+     *
+     * @return the index of the new block
+     */
+    public synchronized long produceBlock() {
+        List<ObjectNode> included = new ArrayList<>(pending);
+        pending.clear();
+        for (int i = 0; i < transactionsPerBlock && accounts.size() > 1; i++) {
+            String sender = accounts.get(random.nextInt(accounts.size()));
+            String receiver = sender;
+            while (receiver.equals(sender)) {
+                receiver = accounts.get(random.nextInt(accounts.size()));
+            }
+            included.add(
+                    transaction(
+                            sender,
+                            receiver,
+                            BigInteger.valueOf(random.nextInt(1000) + 1),
+                            GAS,
+                            GAS_PRICE,
+                            "",
+                            getNonce(sender),
+                            randomHex(32)));
+        }
+        return appendBlock(blockHashes.get(blockHashes.size() - 1), included);
+    }
+
+    /**
+     * Add a transaction to the pool, it is included in the next block.
+     *
+     * @return the hash of the transaction
+     */
+    public synchronized String submit(
+            String sender,
+            String receiver,
+            BigInteger amount,
+            BigInteger gas,
+            BigInteger gasPrice,
+            String data,
+            BigInteger nonce) {
+        String hash = randomHex(32);
+        pending.add(
+                transaction(
+                        sender,
+                        receiver,
+                        amount,
+                        gas,
+                        gasPrice,
+                        data,
+                        nonce != null ? nonce : getNonce(sender),
+                        hash));
+        return hash;
+    }
+
+    public synchronized long getBlockCount() {
+        return blocks.size();
+    }
+
+    public synchronized String getLastBlockHash() {
+        return blockHashes.get(blockHashes.size() - 1);
+    }
+
+    public synchronized ObjectNode getBlock(long index) {
+        return index >= 0 && index < blocks.size() ? blocks.get((int) index) : null;
+    }
+
+    public synchronized ObjectNode getBlockByHash(String hash) {
+        Integer index = blockIndexes.get(hash);
+        return index == null ? null : blocks.get(index);
+    }
+
+    public synchronized String getBlockHash(long index) {
+        return blockHashes.get((int) index);
+    }
+
+    public synchronized ObjectNode getTransaction(String hash) {
+        return transactions.get(hash);
+    }
+
+    public synchronized ObjectNode getReceipt(String hash) {
+        return receipts.get(hash);
+    }
+
+    public synchronized BigInteger getBalance(String address) {
+        return balances.getOrDefault(address, BigInteger.ZERO);
+    }
+
+    public synchronized BigInteger getNonce(String address) {
+        return nonces.getOrDefault(address, BigInteger.ZERO);
+    }
+
+    /** Transactions sent or received by any of the addresses, most recent first. */
+    public synchronized List<ObjectNode> getTransactions(
+            List<String> addresses, long limit, long skip) {
+        Set<String> unique = new HashSet<>();
+        for (String address : addresses) {
+            unique.addAll(transactionsByAddress.getOrDefault(address, Collections.emptyList()));
+        }
+        List<String> hashes = new ArrayList<>(unique);
+        hashes.sort((a, b) -> Long.compare(sequences.get(b), sequences.get(a)));
+
+        List<ObjectNode> result = new ArrayList<>();
+        for (long i = skip; i < hashes.size() && result.size() < limit; i++) {
+            result.add(transactions.get(hashes.get((int) i)));
+        }
+        return result;
+    }
+
+    private long appendBlock(String previousHash, List<ObjectNode> included) {
+        long index = blocks.size();
+        long timestamp = System.currentTimeMillis();
+        String hash = randomHex(32);
+
+        ArrayNode transactionHashes = NODES.arrayNode();
+        for (int i = 0; i < included.size(); i++) {
+            ObjectNode transaction = included.get(i);
+            String transactionHash = transaction.remove("hash").asText();
+            apply(transaction);
+            transaction.put("block_hash", hash);
+            transaction.put("transaction_index", i);
+            transaction.put("confirmation_timestamp", timestamp);
+            transactions.put(transactionHash, transaction);
+            sequences.put(transactionHash, (long) sequences.size());
+            receipts.put(transactionHash, receipt(transaction, transactionHash, index, i));
+            index(
+                    transactionHash,
+                    transaction.get("sender_address").asText(),
+                    transaction.get("receiver_address").asText());
+            transactionHashes.add(transactionHash);
+        }
+
+        ObjectNode block = NODES.objectNode();
+        block.put("block_index", index);
+        block.put("previous_block_hash", previousHash);
+        block.set("transaction_hashes", transactionHashes);
+        block.put("confirmation_timestamp", timestamp);
+
+        blocks.add(block);
+        blockHashes.add(hash);
+        blockIndexes.put(hash, (int) index);
+        return index;
+    }
+
+    private void apply(ObjectNode transaction) {
+        String sender = transaction.get("sender_address").asText();
+        String receiver = transaction.get("receiver_address").asText();
+        BigInteger amount = transaction.get("value").bigIntegerValue();
+        BigInteger balance = getBalance(sender);
+        boolean excepted = balance.compareTo(amount) < 0;
+
+        if (!excepted) {
+            balances.put(sender, balance.subtract(amount));
+            balances.put(receiver, getBalance(receiver).add(amount));
+        }
+        nonces.put(sender, getNonce(sender).add(BigInteger.ONE));
+        transaction.put("gas_used", excepted ? 0 : GAS.longValue());
+        transaction.put("excepted", excepted);
+    }
+
+    private void index(String hash, String sender, String receiver) {
+        transactionsByAddress.computeIfAbsent(sender, k -> new ArrayList<>()).add(hash);
+        if (!receiver.equals(sender)) {
+            transactionsByAddress.computeIfAbsent(receiver, k -> new ArrayList<>()).add(hash);
+        }
+    }
+
+    private ObjectNode transaction(
+            String sender,
+            String receiver,
+            BigInteger amount,
+            BigInteger gas,
+            BigInteger gasPrice,
+            String data,
+            BigInteger nonce,
+            String hash) {
+        ObjectNode transaction = NODES.objectNode();
+        transaction.put("hash", hash);
+        transaction.put("sender_address", sender);
+        transaction.put("receiver_address", receiver);
+        transaction.set("value", NODES.numberNode(amount));
+        transaction.set("gas", NODES.numberNode(gas));
+        transaction.set("gas_price", NODES.numberNode(gasPrice));
+        transaction.put("data", data);
+        transaction.set("nonce", NODES.numberNode(nonce));
+        transaction.put("gas_refunded", 0);
+        transaction.put("new_address", "");
+        transaction.put("output", "");
+        return transaction;
+    }
+
+    private ObjectNode receipt(
+            ObjectNode transaction, String hash, long blockIndex, int transactionIndex) {
+        String sender = transaction.get("sender_address").asText();
+        String receiver = transaction.get("receiver_address").asText();
+
+        ObjectNode receipt = NODES.objectNode();
+        receipt.put("block_hash", transaction.get("block_hash").asText());
+        receipt.put("transaction_index", String.valueOf(transactionIndex));
+        receipt.put("sender_address", sender);
+        receipt.put("receiver_address", receiver);
+        receipt.put("gas_used", transaction.get("gas_used").asLong());
+        receipt.put("new_address", "");
+        receipt.put("excepted", transaction.get("excepted").asBoolean());
+        receipt.put("block_number", blockIndex);
+        receipt.put("hash", hash);
+
+        ArrayNode logs = receipt.putArray("logs");
+        for (int i = 0; i < logsPerReceipt; i++) {
+            ObjectNode log = logs.addObject();
+            log.put("removed", false);
+            log.put("logIndex", "0x" + Integer.toHexString(i));
+            log.put("transactionIndex", "0x" + Integer.toHexString(transactionIndex));
+            log.put("transactionHash", hash);
+            log.put("blockHash", transaction.get("block_hash").asText());
+            log.put("blockNumber", "0x" + Long.toHexString(blockIndex));
+            log.put("address", receiver);
+            log.put("data", "0x" + randomHex(32));
+            log.put("type", "mined");
+            ArrayNode topics = log.putArray("topics");
+            topics.add("0x" + randomHex(32));
+            topics.add("0x" + randomHex(32));
+        }
+        return receipt;
+    }
+
+    private String randomHex(int bytes) {
+        char[] hex = new char[bytes * 2];
+        for (int i = 0; i < hex.length; i++) {
+            hex[i] = HEX[random.nextInt(16)];
+        }
+        return new String(hex);
+    }
+}
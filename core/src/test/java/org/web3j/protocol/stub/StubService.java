@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import org.web3j.protocol.RequestPayload;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+/** Service calling a {@link StubTolarNode} in the same thread, without any transport. */
+public class StubService extends Service {
+
+    private final StubTolarNode node;
+
+    public StubService(StubTolarNode node, boolean includeRawResponses) {
+        super(includeRawResponses);
+        this.node = node;
+    }
+
+    public StubService(StubTolarNode node) {
+        this(node, false);
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        return performIO(new ByteArrayInputStream(payload.getBytes("UTF-8")));
+    }
+
+    @Override
+    protected InputStream performIO(RequestPayload payload) throws IOException {
+        return performIO(new ByteBufferBackedInputStream(payload.asByteBuffer()));
+    }
+
+    private InputStream performIO(InputStream payload) throws IOException {
+        byte[] response = node.handle(payload);
+        if (response == null) {
+            throw new ClientConnectionException("Request dropped by the stub node");
+        }
+        return new ByteArrayInputStream(response);
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.utils.Numeric;
+
+/**
+ * In-process Tolar node answering the JSON-RPC methods of {@link
+ * org.web3j.protocol.core.JsonRpc2_0Web3j} from a synthetic {@link StubChain}.
+ *
+ * <p>The node is transport agnostic, it is exposed over HTTP, WebSocket and Unix domain sockets by
+ * {@link StubHttpServer}, {@link StubWebSocketServer} and {@link StubUnixSocketServer}, and
+ * without any transport by {@link StubService}. Latency, failures and block production are
+ * configurable, so the same node serves functional tests and end-to-end benchmarks.
+ */
+public class StubTolarNode implements Closeable {
+
+    public static final int INJECTED_ERROR_CODE = -32000;
+    public static final int METHOD_NOT_FOUND_CODE = -32601;
+    public static final int INVALID_REQUEST_CODE = -32600;
+    public static final int INVALID_PARAMS_CODE = -32602;
+
+    static final String CONTRACT_DEPLOY_ADDRESS =
+            "54000000000000000000000000000000000000000023199e2b";
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final StubChain chain;
+    private final Map<String, JsonNode> methodErrors = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private volatile LatencyDistribution latency = LatencyDistribution.NONE;
+    private volatile double errorRate;
+    private volatile double dropRate;
+    private volatile int peerCount = 8;
+
+    private ScheduledExecutorService blockProducer;
+
+    public StubTolarNode() {
+        this(new StubChain());
+    }
+
+    public StubTolarNode(StubChain chain) {
+        this.chain = chain;
+    }
+
+    public StubChain getChain() {
+        return chain;
+    }
+
+    /** Delay every request, or batch of requests, by a latency drawn from the distribution. */
+    public void setLatency(LatencyDistribution latency) {
+        this.latency = latency;
+    }
+
+    /** Answer the given fraction of calls with a JSON-RPC error of {@link #INJECTED_ERROR_CODE}. */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Drop the given fraction of requests, which the transports turn into their own failure: an
+     * HTTP 503, a WebSocket request which is never answered or a closed Unix domain socket.
+     */
+    public void setDropRate(double dropRate) {
+        this.dropRate = dropRate;
+    }
+
+    public void setPeerCount(int peerCount) {
+        this.peerCount = peerCount;
+    }
+
+    /** Answer every call of the method with the given error, until {@link #clearFailures()}. */
+    public void failMethod(String method, int code, String message) {
+        methodErrors.put(method, error(code, message));
+    }
+
+    public void clearFailures() {
+        methodErrors.clear();
+    }
+
+    /** @return the number of calls answered, counting every call of a batch */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /** Produce a block at a fixed rate, until {@link #stopBlockProduction()} is called. */
+    public synchronized void startBlockProduction(Duration interval) {
+        stopBlockProduction();
+        blockProducer =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            Thread thread = new Thread(r, "stub-tolar-node-blocks");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        long nanos = interval.toNanos();
+        blockProducer.scheduleAtFixedRate(chain::produceBlock, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public synchronized void stopBlockProduction() {
+        if (blockProducer != null) {
+            blockProducer.shutdownNow();
+            blockProducer = null;
+        }
+    }
+
+    /**
+     * @param request a JSON-RPC request or batch of requests
+     * @return the response, or null if the request is dropped
+     * @throws IOException if the request is not valid JSON
+     */
+    public String handle(String request) throws IOException {
+        JsonNode response = respond(objectMapper.readTree(request));
+        return response == null ? null : objectMapper.writeValueAsString(response);
+    }
+
+    /**
+     * @param request a JSON-RPC request or batch of requests
+     * @return the UTF-8 encoded response, or null if the request is dropped
+     * @throws IOException if the request is not valid JSON
+     */
+    public byte[] handle(InputStream request) throws IOException {
+        JsonNode response = respond(objectMapper.readTree(request));
+        return response == null ? null : objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * @param request a JSON-RPC request or batch of requests
+     * @return the response, or null if the request is dropped
+     */
+    public JsonNode respond(JsonNode request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        sleep(latency.nextNanos(random));
+        if (dropRate > 0 && random.nextDouble() < dropRate) {
+            return null;
+        }
+
+        if (!request.isArray()) {
+            return call(request);
+        }
+        ArrayNode responses = NODES.arrayNode();
+        for (JsonNode call : request) {
+            responses.add(call(call));
+        }
+        return responses;
+    }
+
+    @Override
+    public void close() {
+        stopBlockProduction();
+    }
+
+    private ObjectNode call(JsonNode request) {
+        requestCount.incrementAndGet();
+
+        ObjectNode response = NODES.objectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", request.has("id") ? request.get("id") : NODES.nullNode());
+
+        String method = request.path("method").asText(null);
+        if (method == null) {
+            response.set("error", error(INVALID_REQUEST_CODE, "Invalid request"));
+            return response;
+        }
+
+        JsonNode error = methodErrors.get(method);
+        double errorRate = this.errorRate;
+        if (error == null
+                && errorRate > 0
+                && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            error = error(INJECTED_ERROR_CODE, "Injected error");
+        }
+        if (error != null) {
+            response.set("error", error);
+            return response;
+        }
+
+        JsonNode params = request.path("params");
+        try {
+            response.set("result", dispatch(method, params));
+        } catch (UnsupportedOperationException e) {
+            response.set("error", error(METHOD_NOT_FOUND_CODE, "Method not found: " + method));
+        } catch (RuntimeException e) {
+            response.set("error", error(INVALID_PARAMS_CODE, "Invalid params: " + e));
+        }
+        return response;
+    }
+
+    private JsonNode dispatch(String method, JsonNode params) {
+        switch (method) {
+            case "net_peerCount":
+                return NODES.numberNode(peerCount);
+            case "net_isMasterNode":
+                return NODES.booleanNode(true);
+            case "net_maxPeerCount":
+                return NODES.numberNode(32);
+            case "net_masterNodeCount":
+                return NODES.numberNode(4);
+
+            case "tol_getBlockCount":
+                return NODES.numberNode(chain.getBlockCount());
+            case "tol_getBlockchainInfo":
+                return blockchainInfo();
+            case "tol_getBlockByHash":
+                return orNull(chain.getBlockByHash(params.path(0).asText()));
+            case "tol_getBlockByIndex":
+                return orNull(chain.getBlock(blockIndex(params.path(0))));
+            case "tol_getTransaction":
+                return orNull(chain.getTransaction(params.path(0).asText()));
+            case "tol_getTransactionReceipt":
+                return orNull(chain.getReceipt(params.path(0).asText()));
+            case "tol_getTransactionList":
+                return transactionList(params);
+            case "tol_getBalance":
+            case "tol_getLatestBalance":
+                return balance(params.path(0).asText());
+            case "tol_getNonce":
+                return NODES.numberNode(chain.getNonce(params.path(0).asText()));
+            case "tol_getGasEstimate":
+                return NODES.numberNode(gasEstimate(params.path(0).path("data").asText("")));
+            case "tol_tryCallTransaction":
+                return tryCall();
+            case "tol_getTransactionProtobuf":
+                return NODES.textNode(
+                        Numeric.toHexStringNoPrefix(
+                                params.path(0).toString().getBytes(StandardCharsets.UTF_8)));
+
+            case "tx_sendSignedTransaction":
+                return submit(params.path(0).path("body"));
+            case "account_sendRawTransaction":
+            case "account_sendExecuteFunctionTransaction":
+                return submit(params, params.path(0), params.path(1), params.path(6));
+            case "account_sendFundTransferTransaction":
+                return submit(params, params.path(0), params.path(1), NODES.textNode(""));
+            case "account_sendDeployContractTransaction":
+                return submitDeployment(params);
+
+            case "account_create":
+            case "account_open":
+            case "account_verifyAddress":
+            case "account_importKeyFile":
+            case "account_changePassword":
+            case "account_changeAddressPassword":
+                return NODES.booleanNode(true);
+            case "account_createNewAddress":
+                return NODES.textNode(chain.createAccount());
+            case "account_exportKeyFile":
+                return NODES.textNode("{\"address\":\"" + params.path(0).asText() + "\"}");
+            case "account_listAddresses":
+                return addresses();
+            case "account_listBalancePerAddress":
+                return balancePerAddress();
+            default:
+                throw new UnsupportedOperationException(method);
+        }
+    }
+
+    private JsonNode blockchainInfo() {
+        ObjectNode info = NODES.objectNode();
+        long blockCount = chain.getBlockCount();
+        info.put("confirmed_blocks_count", blockCount);
+        info.put("total_block_count", blockCount);
+        info.put("last_confirmed_block_hash", chain.getLastBlockHash());
+        return info;
+    }
+
+    private JsonNode transactionList(JsonNode params) {
+        List<String> addresses = new ArrayList<>();
+        for (JsonNode address : params.path(0)) {
+            addresses.add(address.asText());
+        }
+        ObjectNode list = NODES.objectNode();
+        ArrayNode transactions = list.putArray("transactions");
+        transactions.addAll(
+                chain.getTransactions(
+                        addresses, params.path(1).asLong(10), params.path(2).asLong(0)));
+        return list;
+    }
+
+    private JsonNode balance(String address) {
+        ObjectNode balance = NODES.objectNode();
+        balance.set("balance", NODES.numberNode(chain.getBalance(address)));
+        balance.put("block_index", chain.getBlockCount() - 1);
+        return balance;
+    }
+
+    private JsonNode tryCall() {
+        ObjectNode result = NODES.objectNode();
+        result.put("output", "");
+        result.put("excepted", false);
+        return result;
+    }
+
+    private JsonNode submit(JsonNode transaction) {
+        return NODES.textNode(
+                chain.submit(
+                        transaction.path("sender_address").asText(),
+                        transaction.path("receiver_address").asText(),
+                        quantity(transaction.path("amount")),
+                        quantity(transaction.path("gas")),
+                        quantity(transaction.path("gas_price")),
+                        transaction.path("data").asText(""),
+                        quantity(transaction.path("nonce"))));
+    }
+
+    /** Accounts transactions are positional: sender, receiver, amount, password, gas, price... */
+    private JsonNode submit(JsonNode params, JsonNode sender, JsonNode receiver, JsonNode data) {
+        return NODES.textNode(
+                chain.submit(
+                        sender.asText(),
+                        receiver.asText(),
+                        quantity(params.path(2)),
+                        quantity(params.path(4)),
+                        quantity(params.path(5)),
+                        data.asText(""),
+                        quantity(params.path(params.size() - 1))));
+    }
+
+    private JsonNode submitDeployment(JsonNode params) {
+        return NODES.textNode(
+                chain.submit(
+                        params.path(0).asText(),
+                        CONTRACT_DEPLOY_ADDRESS,
+                        quantity(params.path(1)),
+                        quantity(params.path(3)),
+                        quantity(params.path(4)),
+                        params.path(5).asText(""),
+                        quantity(params.path(6))));
+    }
+
+    private JsonNode addresses() {
+        ArrayNode addresses = NODES.arrayNode();
+        for (String account : chain.getAccounts()) {
+            addresses.add(account);
+        }
+        return addresses;
+    }
+
+    private JsonNode balancePerAddress() {
+        ArrayNode balances = NODES.arrayNode();
+        List<String> accounts = chain.getAccounts();
+        for (int i = 0; i < accounts.size(); i++) {
+            ObjectNode balance = balances.addObject();
+            balance.put("address", accounts.get(i));
+            balance.set("balance", NODES.numberNode(chain.getBalance(accounts.get(i))));
+            balance.put("address_name", "account-" + i);
+        }
+        return balances;
+    }
+
+    private long blockIndex(JsonNode value) {
+        switch (value.asText()) {
+            case "earliest":
+                return 0;
+            case "latest":
+            case "pending":
+                return chain.getBlockCount() - 1;
+            default:
+                return quantity(value).longValue();
+        }
+    }
+
+    private static long gasEstimate(String data) {
+        return StubChain.GAS.longValue() + 16L * Numeric.cleanHexPrefix(data).length() / 2;
+    }
+
+    private static BigInteger quantity(JsonNode value) {
+        if (value.isNumber()) {
+            return value.bigIntegerValue();
+        }
+        if (value.isTextual() && !value.asText().isEmpty()) {
+            return Numeric.decodeQuantity(value.asText());
+        }
+        return null;
+    }
+
+    private static JsonNode orNull(JsonNode value) {
+        return value == null ? NODES.nullNode() : value;
+    }
+
+    private static JsonNode error(int code, String message) {
+        ObjectNode error = NODES.objectNode();
+        error.put("code", code);
+        error.put("message", message);
+        return error;
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.TolBlock;
+import org.web3j.protocol.core.methods.response.TolGetBalance;
+import org.web3j.protocol.core.methods.response.TolGetBlockCount;
+import org.web3j.protocol.core.methods.response.TolGetNonce;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StubTolarNodeTest {
+
+    private final StubTolarNode node = new StubTolarNode(new StubChain(1, 4, 3, 2));
+    private final Web3j web3j = Web3j.build(new StubService(node));
+
+    @AfterEach
+    public void tearDown() {
+        web3j.shutdown();
+        node.close();
+    }
+
+    @Test
+    public void testBlocks() throws Exception {
+        StubChain chain = node.getChain();
+        chain.produceBlock();
+
+        assertEquals(BigInteger.valueOf(2), web3j.tolGetBlockCount().send().getBlockCount());
+
+        TolBlock.Block block =
+                web3j.tolGetBlockByIndex(DefaultBlockParameter.valueOf(BigInteger.ONE))
+                        .send()
+                        .getBlock();
+        assertEquals(BigInteger.ONE, block.getBlockIndex());
+        assertEquals(chain.getBlockHash(0), block.getPreviousBlockHash());
+        assertEquals(3, block.getTransactionHashes().size());
+
+        TolBlock.Block latest =
+                web3j.tolGetBlockByIndex(DefaultBlockParameterName.LATEST).send().getBlock();
+        assertEquals(BigInteger.ONE, latest.getBlockIndex());
+
+        TolBlock.Block byHash = web3j.tolGetBlockByHash(chain.getBlockHash(1)).send().getBlock();
+        assertEquals(block.getTransactionHashes(), byHash.getTransactionHashes());
+
+        assertNull(web3j.tolGetBlockByHash("unknown").send().getBlock());
+    }
+
+    @Test
+    public void testSubmittedTransactionIsMined() throws Exception {
+        List<String> accounts = web3j.accountListAddresses().send().getResult();
+        Transaction transaction =
+                new Transaction(
+                        accounts.get(0),
+                        null,
+                        BigInteger.ONE,
+                        BigInteger.valueOf(21000),
+                        accounts.get(1),
+                        BigInteger.valueOf(100),
+                        "",
+                        "password");
+
+        String hash =
+                web3j.accountSendFundTransferTransaction(transaction)
+                        .send()
+                        .getTransactionHash();
+        assertFalse(
+                web3j.tolGetTransactionReceipt(hash).send().getTransactionReceipt().isPresent());
+
+        node.getChain().produceBlock();
+
+        TransactionReceipt receipt =
+                web3j.tolGetTransactionReceipt(hash).send().getTransactionReceipt().get();
+        assertEquals(hash, receipt.getHash());
+        assertEquals(BigInteger.ONE, receipt.getBlockNumber());
+        assertEquals(2, receipt.getLogs().size());
+        assertEquals(
+                BigInteger.valueOf(100),
+                web3j.tolGetTransaction(hash).send().getTransaction().get().getValue());
+        assertEquals(BigInteger.ONE, web3j.tolGetNonce(accounts.get(0)).send().getNonce());
+
+        List<org.web3j.protocol.core.methods.response.Transaction> transactions =
+                web3j.tolGetTransactionList(Collections.singletonList(accounts.get(1)), 100, 0)
+                        .send()
+                        .getTransactionList();
+        assertTrue(
+                transactions.stream()
+                        .anyMatch(
+                                t ->
+                                        t.getSenderAddress().equals(accounts.get(0))
+                                                && t.getValue().equals(BigInteger.valueOf(100))));
+    }
+
+    @Test
+    public void testBalances() throws Exception {
+        String account = node.getChain().getAccounts().get(0);
+        TolGetBalance balance = web3j.tolGetBalance(account, BigInteger.ZERO).send();
+
+        assertEquals(StubChain.INITIAL_BALANCE, balance.getBalance());
+        assertEquals(BigInteger.ZERO, balance.getBlockIndex());
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        String account = node.getChain().getAccounts().get(0);
+        BatchResponse response =
+                web3j.newBatch()
+                        .add(web3j.tolGetBlockCount())
+                        .add(web3j.tolGetNonce(account))
+                        .add(web3j.netPeerCount())
+                        .send();
+
+        assertEquals(3, response.getResponses().size());
+        TolGetBlockCount blockCount = (TolGetBlockCount) response.getResponses().get(0);
+        assertEquals(BigInteger.ONE, blockCount.getBlockCount());
+        assertEquals(BigInteger.ZERO, ((TolGetNonce) response.getResponses().get(1)).getNonce());
+        assertEquals(3, node.getRequestCount());
+    }
+
+    @Test
+    public void testMethodFailure() throws Exception {
+        node.failMethod("tol_getBlockCount", -32005, "Limit exceeded");
+
+        Response.Error error = web3j.tolGetBlockCount().send().getError();
+        assertEquals(-32005, error.getCode());
+        assertEquals("Limit exceeded", error.getMessage());
+
+        node.clearFailures();
+        assertFalse(web3j.tolGetBlockCount().send().hasError());
+    }
+
+    @Test
+    public void testErrorRate() throws Exception {
+        node.setErrorRate(1);
+
+        assertEquals(
+                StubTolarNode.INJECTED_ERROR_CODE,
+                web3j.tolGetBlockCount().send().getError().getCode());
+    }
+
+    @Test
+    public void testUnknownMethod() throws Exception {
+        Response<?> response =
+                new Request<>(
+                                "tol_unknown",
+                                Collections.<String>emptyList(),
+                                new StubService(node),
+                                TolGetBlockCount.class)
+                        .send();
+
+        assertEquals(StubTolarNode.METHOD_NOT_FOUND_CODE, response.getError().getCode());
+    }
+
+    @Test
+    public void testDroppedRequest() {
+        node.setDropRate(1);
+
+        assertThrows(ClientConnectionException.class, () -> web3j.tolGetBlockCount().send());
+    }
+
+    @Test
+    public void testBlockProduction() throws Exception {
+        node.startBlockProduction(Duration.ofMillis(5));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (node.getChain().getBlockCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        node.stopBlockProduction();
+
+        assertTrue(web3j.tolGetBlockCount().send().getBlockCount().intValue() >= 3);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.math.BigInteger;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.methods.response.TolGetBlockCount;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.ipc.UnixIpcService;
+import org.web3j.protocol.websocket.WebSocketService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StubTolarServersTest {
+
+    private final StubTolarNode node = new StubTolarNode();
+
+    @AfterEach
+    public void tearDown() {
+        node.close();
+    }
+
+    @Test
+    public void testHttpService() throws Exception {
+        node.setLatency(LatencyDistribution.fixed(Duration.ofMillis(1)));
+        try (StubHttpServer server = new StubHttpServer(node)) {
+            assertAnswers(new HttpService(server.getUrl()));
+        }
+    }
+
+    @Test
+    public void testHttpServiceDroppedRequest() throws Exception {
+        node.setDropRate(1);
+        try (StubHttpServer server = new StubHttpServer(node)) {
+            Web3j web3j = Web3j.build(new HttpService(server.getUrl()));
+
+            assertThrows(ClientConnectionException.class, () -> web3j.tolGetBlockCount().send());
+            web3j.shutdown();
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    public void testUnixIpcService() throws Exception {
+        try (StubUnixSocketServer server = new StubUnixSocketServer(node)) {
+            assertAnswers(new UnixIpcService(server.getPath()));
+        }
+    }
+
+    @Test
+    public void testWebSocketService() throws Exception {
+        try (StubWebSocketServer server = new StubWebSocketServer(node)) {
+            WebSocketService service = new WebSocketService(server.getUrl(), false);
+            service.connect();
+            assertAnswers(service);
+        }
+    }
+
+    private void assertAnswers(Web3jService service) throws Exception {
+        Web3j web3j = Web3j.build(service);
+        node.getChain().produceBlock();
+
+        assertEquals(BigInteger.valueOf(2), web3j.tolGetBlockCount().send().getBlockCount());
+
+        String account = node.getChain().getAccounts().get(0);
+        BatchResponse response =
+                web3j.newBatch()
+                        .add(web3j.tolGetBlockCount())
+                        .add(web3j.tolGetBalance(account, BigInteger.ONE))
+                        .send();
+        assertEquals(2, response.getResponses().size());
+        TolGetBlockCount blockCount = (TolGetBlockCount) response.getResponses().get(0);
+        assertEquals(BigInteger.valueOf(2), blockCount.getBlockCount());
+
+        web3j.shutdown();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jnr.unixsocket.UnixServerSocketChannel;
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+
+import org.web3j.protocol.ObjectMapperFactory;
+
+/**
+ * Serves a {@link StubTolarNode} over a Unix domain socket, for {@code UnixIpcService}.
+ *
+ * <p>Every response is terminated by a new line, which is how {@code UnixDomainSocket} finds the
+ * end of a response. A dropped request closes the connection.
+ */
+public class StubUnixSocketServer implements Closeable {
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final StubTolarNode node;
+    private final File socketFile;
+    private final boolean ownsDirectory;
+    private final UnixServerSocketChannel serverChannel;
+    private final ExecutorService executor;
+    private final Set<UnixSocketChannel> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Start serving the node on a socket in a new temporary directory.
+     *
+     * @throws IOException if the socket cannot be bound
+     */
+    public StubUnixSocketServer(StubTolarNode node) throws IOException {
+        this(
+                node,
+                new File(Files.createTempDirectory("stub-tolar-node").toFile(), "node.ipc"),
+                true);
+    }
+
+    public StubUnixSocketServer(StubTolarNode node, File socketFile) throws IOException {
+        this(node, socketFile, false);
+    }
+
+    private StubUnixSocketServer(StubTolarNode node, File socketFile, boolean ownsDirectory)
+            throws IOException {
+        this.node = node;
+        this.socketFile = socketFile;
+        this.ownsDirectory = ownsDirectory;
+        this.executor =
+                Executors.newCachedThreadPool(
+                        r -> {
+                            Thread thread = new Thread(r, "stub-tolar-node-ipc");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+
+        Files.deleteIfExists(socketFile.toPath());
+        serverChannel = UnixServerSocketChannel.open();
+        serverChannel.socket().bind(new UnixSocketAddress(socketFile));
+        executor.execute(this::accept);
+    }
+
+    public String getPath() {
+        return socketFile.getAbsolutePath();
+    }
+
+    private void accept() {
+        while (serverChannel.isOpen()) {
+            UnixSocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                // closed
+                return;
+            }
+            connections.add(channel);
+            executor.execute(() -> serve(channel));
+        }
+    }
+
+    private void serve(UnixSocketChannel channel) {
+        try (InputStream in = Channels.newInputStream(channel);
+                OutputStream out = Channels.newOutputStream(channel);
+                JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            while (parser.nextToken() != null) {
+                JsonNode response = node.respond(objectMapper.readTree(parser));
+                if (response == null) {
+                    return;
+                }
+                out.write(objectMapper.writeValueAsBytes(response));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // the client went away or sent something which is not JSON
+        } finally {
+            connections.remove(channel);
+            closeQuietly(channel);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(serverChannel);
+        for (UnixSocketChannel connection : connections) {
+            closeQuietly(connection);
+        }
+        executor.shutdownNow();
+        socketFile.delete();
+        if (ownsDirectory) {
+            socketFile.getParentFile().delete();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // nothing left to do
+        }
+    }
+}
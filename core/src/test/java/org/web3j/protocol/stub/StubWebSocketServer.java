@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.stub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+/**
+ * Serves a {@link StubTolarNode} over WebSocket on a loopback port, for {@code WebSocketService}.
+ *
+ * <p>Requests are answered concurrently, in the order their latency elapses, like a node which
+ * pipelines the requests of a connection.
+ */
+public class StubWebSocketServer implements Closeable {
+
+    private final StubTolarNode node;
+    private final WebSocketServer server;
+    private final ExecutorService executor;
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private volatile Exception startFailure;
+
+    /**
+     * Start serving the node on an ephemeral port.
+     *
+     * @throws IOException if the server cannot be started
+     */
+    public StubWebSocketServer(StubTolarNode node) throws IOException {
+        this(node, 0);
+    }
+
+    public StubWebSocketServer(StubTolarNode node, int port) throws IOException {
+        this.node = node;
+        this.executor =
+                Executors.newCachedThreadPool(
+                        r -> {
+                            Thread thread = new Thread(r, "stub-tolar-node-websocket");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.server =
+                new WebSocketServer(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), port)) {
+                    @Override
+                    public void onOpen(WebSocket conn, ClientHandshake handshake) {}
+
+                    @Override
+                    public void onClose(WebSocket conn, int code, String reason, boolean remote) {}
+
+                    @Override
+                    public void onMessage(WebSocket conn, String message) {
+                        executor.execute(() -> answer(conn, message));
+                    }
+
+                    @Override
+                    public void onError(WebSocket conn, Exception e) {
+                        if (conn == null) {
+                            startFailure = e;
+                            started.countDown();
+                        }
+                    }
+
+                    @Override
+                    public void onStart() {
+                        started.countDown();
+                    }
+                };
+        server.setReuseAddr(true);
+        server.start();
+        awaitStart();
+    }
+
+    public String getUrl() {
+        return "ws://" + server.getAddress().getHostString() + ":" + server.getPort();
+    }
+
+    private void awaitStart() throws IOException {
+        try {
+            if (!started.await(10, TimeUnit.SECONDS)) {
+                throw new IOException("WebSocket server did not start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while starting the WebSocket server", e);
+        }
+        if (startFailure != null) {
+            close();
+            throw new IOException("WebSocket server failed to start", startFailure);
+        }
+    }
+
+    private void answer(WebSocket conn, String message) {
+        String response;
+        try {
+            response = node.handle(message);
+        } catch (IOException e) {
+            // not JSON, there is no id to answer to
+            return;
+        }
+        if (response != null && conn.isOpen()) {
+            conn.send(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            server.stop(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Int256;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.ens.EnsResolver;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.RemoteFunctionCall;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TolTryCallTransaction;
+import org.web3j.tx.exceptions.ContractCallException;
+import org.web3j.tx.gas.DefaultGasProvider;
+import org.web3j.tx.gas.StaticGasProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ContractCallBatchTest {
+
+    private static final String CONTRACT_ADDRESS =
+            "5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb";
+    private static final String SENDER_ADDRESS =
+            "5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5";
+
+    private Web3jService web3jService;
+    private TestContract contract;
+    private ContractCallBatch batch;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        Web3j web3j = Web3j.build(web3jService);
+
+        EnsResolver ensResolver = mock(EnsResolver.class);
+        when(ensResolver.resolve(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        contract =
+                new TestContract(
+                        ensResolver,
+                        web3j,
+                        new ReadonlyTransactionManager(web3j, SENDER_ADDRESS));
+        batch = new ContractCallBatch(web3j, 2);
+
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                // the call data encodes the value to return
+                                String data = (String) request.getParams().get(5);
+                                responses.add(createResponse(data));
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+    }
+
+    @Test
+    public void testCallsAreSentInBoundedBatches() throws Exception {
+        List<CompletableFuture<BigInteger>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(contract.enlist(batch, contract.get(i)));
+        }
+        assertEquals(5, batch.size());
+
+        batch.send();
+
+        assertEquals(0, batch.size());
+        verify(web3jService, times(3)).sendBatch(any(BatchRequest.class));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(BigInteger.valueOf(i), results.get(i).get());
+        }
+    }
+
+    @Test
+    public void testRevertedCallsFailIndividually() throws Exception {
+        CompletableFuture<BigInteger> reverted = contract.enlist(batch, contract.get(-1));
+        CompletableFuture<BigInteger> succeeded = contract.enlist(batch, contract.get(7));
+
+        batch.send();
+
+        ExecutionException e = assertThrows(ExecutionException.class, reverted::get);
+        assertTrue(e.getCause() instanceof ContractCallException);
+        assertEquals(BigInteger.valueOf(7), succeeded.get());
+    }
+
+    @Test
+    public void testCallsUseTheGasOfTheContract() throws Exception {
+        contract.setGasProvider(
+                new StaticGasProvider(BigInteger.valueOf(3), BigInteger.valueOf(50000)));
+        CompletableFuture<BigInteger> call = contract.enlist(batch, contract.get(1));
+        CompletableFuture<BigInteger> encoded =
+                batch.add(
+                        contract,
+                        "get",
+                        FunctionEncoder.encode(contract.getFunction(2)),
+                        1,
+                        output -> new BigInteger(output, 16));
+
+        batch.send();
+
+        assertEquals(BigInteger.ONE, call.get());
+        assertEquals(BigInteger.valueOf(2), encoded.get());
+        ArgumentCaptor<BatchRequest> captor = ArgumentCaptor.forClass(BatchRequest.class);
+        verify(web3jService).sendBatch(captor.capture());
+        for (Request<?, ?> request : captor.getValue().getRequests()) {
+            assertEquals(BigInteger.valueOf(50000), request.getParams().get(3));
+            assertEquals(BigInteger.valueOf(3), request.getParams().get(4));
+        }
+    }
+
+    @Test
+    public void testUndecodableCallsAreRejected() {
+        RemoteFunctionCall<BigInteger> call =
+                new RemoteFunctionCall<>(contract.getFunction(1), () -> BigInteger.ONE);
+        assertThrows(IllegalArgumentException.class, () -> batch.add(contract, call));
+    }
+
+    private static TolTryCallTransaction createResponse(String data) {
+        BigInteger value = new BigInteger(data.substring(data.length() - 64), 16);
+        TolTryCallTransaction response = new TolTryCallTransaction();
+        if (value.testBit(255)) {
+            response.setResult(new TolTryCallTransaction.TryTransactionResult("0x", true));
+        } else {
+            response.setResult(
+                    new TolTryCallTransaction.TryTransactionResult(
+                            "0x" + TypeEncoder.encode(new Uint256(value)), false));
+        }
+        return response;
+    }
+
+    private static class TestContract extends Contract {
+
+        TestContract(
+                EnsResolver ensResolver, Web3j web3j, TransactionManager transactionManager) {
+            super(
+                    ensResolver,
+                    "",
+                    CONTRACT_ADDRESS,
+                    web3j,
+                    transactionManager,
+                    new DefaultGasProvider());
+        }
+
+        Function getFunction(long value) {
+            // negative values encode with the top bit set and make the call revert
+            return new Function(
+                    "get",
+                    Collections.<Type>singletonList(new Int256(value)),
+                    Collections.<TypeReference<?>>singletonList(
+                            new TypeReference<Uint256>() {}));
+        }
+
+        RemoteFunctionCall<BigInteger> get(long value) {
+            return executeRemoteCallSingleValueReturn(getFunction(value), BigInteger.class);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.math.BigInteger;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.ens.EnsResolver;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.RemoteFunctionCall;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.gas.ContractGasProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ContractGasProviderHooksTest {
+
+    private static final String CONTRACT_ADDRESS =
+            "5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb";
+    private static final BigInteger GAS_PRICE = BigInteger.ONE;
+    private static final BigInteger GAS_LIMIT = BigInteger.valueOf(50_000);
+    private static final BigInteger GAS_USED = BigInteger.valueOf(26_000);
+
+    private TransactionManager transactionManager;
+    private ContractGasProvider gasProvider;
+    private TestContract contract;
+    private TransactionReceipt receipt;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        transactionManager = mock(TransactionManager.class);
+        gasProvider = mock(ContractGasProvider.class);
+        when(gasProvider.getGasPrice(anyString())).thenReturn(GAS_PRICE);
+        when(gasProvider.getGasLimit(anyString())).thenReturn(GAS_LIMIT);
+        when(gasProvider.getGasLimit(anyString(), anyString(), anyString()))
+                .thenReturn(GAS_LIMIT);
+
+        receipt = new TransactionReceipt();
+        receipt.setGasUsed(GAS_USED);
+        when(transactionManager.executeTransaction(any(), any(), any(), any(), anyString()))
+                .thenReturn(receipt);
+
+        EnsResolver ensResolver = mock(EnsResolver.class);
+        when(ensResolver.resolve(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        contract =
+                new TestContract(ensResolver, mock(Web3j.class), transactionManager, gasProvider);
+    }
+
+    @Test
+    public void testTransactionsUseAndFeedTheGasProvider() throws Exception {
+        Function function = TestContract.setFunction(42);
+        String data = FunctionEncoder.encode(function);
+
+        assertEquals(receipt, contract.set(function).send());
+
+        verify(gasProvider).getGasLimit(CONTRACT_ADDRESS, "set", data);
+        verify(transactionManager)
+                .executeTransaction(CONTRACT_ADDRESS, BigInteger.ZERO, GAS_LIMIT, GAS_PRICE, data);
+        verify(gasProvider).recordGasUsed(CONTRACT_ADDRESS, data, GAS_USED);
+    }
+
+    @Test
+    public void testDeploymentsUseTheFunctionGasLimit() throws Exception {
+        contract.setContractAddress(null);
+
+        contract.executeTransaction("0x6080", BigInteger.ZERO, Contract.FUNC_DEPLOY);
+
+        verify(gasProvider).getGasLimit(Contract.FUNC_DEPLOY);
+        verify(gasProvider, never()).recordGasUsed(any(), any(), any());
+    }
+
+    private static class TestContract extends Contract {
+
+        TestContract(
+                EnsResolver ensResolver,
+                Web3j web3j,
+                TransactionManager transactionManager,
+                ContractGasProvider gasProvider) {
+            super(ensResolver, "", CONTRACT_ADDRESS, web3j, transactionManager, gasProvider);
+        }
+
+        static Function setFunction(long value) {
+            return new Function(
+                    "set",
+                    Collections.<Type>singletonList(new Uint256(value)),
+                    Collections.<TypeReference<?>>emptyList());
+        }
+
+        RemoteFunctionCall<TransactionReceipt> set(Function function) {
+            return executeRemoteCallTransaction(function);
+        }
+    }
+}
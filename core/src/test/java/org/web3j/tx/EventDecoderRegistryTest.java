@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes4;
+import org.web3j.abi.datatypes.generated.Int8;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EventDecoderRegistryTest {
+
+    private static final Event TOKEN_TRANSFER =
+            new Event(
+                    "Transfer",
+                    Arrays.asList(
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Uint256>() {}));
+    private static final Event NFT_TRANSFER =
+            new Event(
+                    "Transfer",
+                    Arrays.asList(
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Uint256>(true) {}));
+    private static final Event APPROVAL =
+            new Event(
+                    "Approval",
+                    Arrays.asList(
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Address>(true) {},
+                            new TypeReference<Uint256>() {}));
+
+    private static final String TOKEN = "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a";
+    private static final String OTHER = "0xef678007d18427e6022059dbc264f27507cd1ffc";
+    private static final String FROM =
+            "0x000000000000000000000000ef678007d18427e6022059dbc264f27507cd1ffc";
+    private static final String TO =
+            "0x0000000000000000000000003d6cb163f7c72d20b0fcd6baae5889329d138a4a";
+    private static final String SEVEN =
+            "0x0000000000000000000000000000000000000000000000000000000000000007";
+
+    @Test
+    public void testDecodesEventsSharingSignature() {
+        EventDecoderRegistry registry =
+                new EventDecoderRegistry().register(TOKEN_TRANSFER).register(NFT_TRANSFER);
+
+        EventDecoderRegistry.DecodedEvent token =
+                registry.decode(createLog(OTHER, SEVEN, TOKEN_TRANSFER, FROM, TO)).get();
+        assertSame(TOKEN_TRANSFER, token.getEvent());
+        assertEquals(new Address(OTHER), token.getIndexedValues().get(0));
+        assertEquals(new Address(TOKEN), token.getIndexedValues().get(1));
+        assertEquals(new Uint256(7), token.getNonIndexedValues().get(0));
+
+        EventDecoderRegistry.DecodedEvent nft =
+                registry.decode(createLog(OTHER, "0x", NFT_TRANSFER, FROM, TO, SEVEN)).get();
+        assertSame(NFT_TRANSFER, nft.getEvent());
+        assertEquals(new Uint256(7), nft.getIndexedValues().get(2));
+        assertEquals(Collections.emptyList(), nft.getNonIndexedValues());
+
+        assertFalse(registry.decode(createLog(OTHER, SEVEN, APPROVAL, FROM, TO)).isPresent());
+    }
+
+    @Test
+    public void testAddressFilter() {
+        EventDecoderRegistry registry =
+                new EventDecoderRegistry()
+                        .register(TOKEN_TRANSFER, TOKEN.toUpperCase().replace("0X", "0x"))
+                        .register(APPROVAL, TOKEN);
+
+        List<Log> logs =
+                Arrays.asList(
+                        createLog(TOKEN, SEVEN, TOKEN_TRANSFER, FROM, TO),
+                        createLog(OTHER, SEVEN, TOKEN_TRANSFER, FROM, TO),
+                        createLog(TOKEN, SEVEN, APPROVAL, FROM, TO));
+
+        List<EventDecoderRegistry.DecodedEvent> events = registry.decode(logs);
+        assertEquals(2, events.size());
+        assertSame(TOKEN_TRANSFER, events.get(0).getEvent());
+        assertSame(logs.get(0), events.get(0).getLog());
+        assertSame(APPROVAL, events.get(1).getEvent());
+    }
+
+    @Test
+    public void testParallelDecodingKeepsOrder() {
+        EventDecoderRegistry registry =
+                new EventDecoderRegistry().register(TOKEN_TRANSFER).register(APPROVAL);
+
+        List<TransactionReceipt> receipts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String value = String.format("0x%064x", i);
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setLogs(
+                    Arrays.asList(
+                            createLog(TOKEN, value, TOKEN_TRANSFER, FROM, TO),
+                            createLog(TOKEN, value, APPROVAL, FROM, TO)));
+            receipts.add(receipt);
+        }
+
+        List<EventDecoderRegistry.DecodedEvent> events =
+                registry.decodeReceipts(receipts, ForkJoinPool.commonPool());
+        assertEquals(200, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertSame(i % 2 == 0 ? TOKEN_TRANSFER : APPROVAL, events.get(i).getEvent());
+            assertEquals(
+                    new Uint256(BigInteger.valueOf(i / 2)),
+                    events.get(i).getNonIndexedValues().get(0));
+        }
+        assertEquals(events.size(), registry.decodeReceipts(receipts).size());
+    }
+
+    @Test
+    public void testPrecomputedDecodingMatchesGenericDecoding() {
+        Event staticValues =
+                new Event(
+                        "Values",
+                        Arrays.asList(
+                                new TypeReference<Int8>(true) {},
+                                new TypeReference<Bytes4>(true) {},
+                                new TypeReference<Bool>() {},
+                                new TypeReference<Int8>() {},
+                                new TypeReference<Bytes4>() {},
+                                new TypeReference<Address>() {}));
+        Event dynamicValues =
+                new Event(
+                        "Named",
+                        Arrays.asList(
+                                new TypeReference<Utf8String>(true) {},
+                                new TypeReference<Uint256>() {},
+                                new TypeReference<Utf8String>() {}));
+        EventDecoderRegistry registry =
+                new EventDecoderRegistry().register(staticValues).register(dynamicValues);
+
+        String minusOne = "0x" + TypeEncoder.encode(new Int8(-1));
+        String bytes = "0x" + TypeEncoder.encode(new Bytes4(new byte[] {1, 2, 3, 4}));
+        String data =
+                "0x"
+                        + FunctionEncoder.encodeConstructor(
+                                Arrays.<Type>asList(
+                                        new Bool(true),
+                                        new Int8(-128),
+                                        new Bytes4(new byte[] {-1, 0, 1, 2}),
+                                        new Address(TOKEN)));
+        assertDecodedAsGeneric(
+                registry, staticValues, createLog(TOKEN, data, staticValues, minusOne, bytes));
+
+        String named =
+                "0x"
+                        + FunctionEncoder.encodeConstructor(
+                                Arrays.<Type>asList(new Uint256(7), new Utf8String("seven")));
+        assertDecodedAsGeneric(
+                registry, dynamicValues, createLog(TOKEN, named, dynamicValues, SEVEN));
+    }
+
+    private static void assertDecodedAsGeneric(
+            EventDecoderRegistry registry, Event event, Log log) {
+        EventDecoderRegistry.DecodedEvent decoded = registry.decode(log).get();
+        assertSame(event, decoded.getEvent());
+        assertEquals(
+                FunctionReturnDecoder.decode(log.getData(), event.getNonIndexedParameters()),
+                decoded.getNonIndexedValues());
+        for (int i = 0; i < event.getIndexedParameters().size(); i++) {
+            assertEquals(
+                    FunctionReturnDecoder.decodeIndexedValue(
+                            log.getTopics().get(i + 1), event.getIndexedParameters().get(i)),
+                    decoded.getIndexedValues().get(i));
+        }
+    }
+
+    private static Log createLog(String address, String data, Event event, String... topics) {
+        List<String> allTopics = new ArrayList<>();
+        allTopics.add(EventEncoder.encode(event));
+        allTopics.addAll(Arrays.asList(topics));
+        return new Log(false, "0x0", "0x0", "0x0", "0x0", "0x0", address, data, "mined", allTopics);
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bouncycastle.util.encoders.Base64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.SignedTransaction;
+import org.web3j.protocol.core.methods.response.AccountSendRawTransaction;
+import org.web3j.protocol.core.methods.response.TolGetTransactionProtobuf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PresignedTransactionPoolTest {
+
+    private Web3j web3j;
+    private ExecutorService signingExecutor;
+    private PresignedTransactionPool pool;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        web3j = mock(Web3j.class);
+        when(web3j.tolGetTransactionProtobuf(any(RawTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            RawTransaction transaction = invocation.getArgument(0);
+                            TolGetTransactionProtobuf response = new TolGetTransactionProtobuf();
+                            response.setResult(
+                                    Base64.toBase64String(transaction.getNonce().toByteArray()));
+                            Request<?, TolGetTransactionProtobuf> request = mock(Request.class);
+                            when(request.send()).thenReturn(response);
+                            return request;
+                        });
+
+        AccountSendRawTransaction sent = new AccountSendRawTransaction();
+        sent.setResult("0xHASH");
+        Request<?, AccountSendRawTransaction> sendRequest = mock(Request.class);
+        when(sendRequest.send()).thenReturn(sent);
+        when(web3j.txSendSignedTransaction(any(SignedTransaction.class)))
+                .thenReturn((Request) sendRequest);
+
+        signingExecutor = Executors.newSingleThreadExecutor();
+        pool =
+                new PresignedTransactionPool(
+                        web3j, SampleKeys.CREDENTIALS, BigInteger.valueOf(5), signingExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+        signingExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testTransactionsArePresigned() throws Exception {
+        pool.addAll(Arrays.asList(createTransaction(), createTransaction(), createTransaction()));
+        awaitSigning();
+
+        assertEquals(3, pool.getSignedCount());
+        assertEquals(BigInteger.valueOf(5), pool.poll().get().getTransaction().getNonce());
+        assertEquals(BigInteger.valueOf(6), pool.getNonce());
+
+        List<AccountSendRawTransaction> responses = pool.drain(5);
+        assertEquals(2, responses.size());
+        assertEquals(0, pool.size());
+        assertFalse(pool.poll().isPresent());
+
+        verify(web3j, times(3)).tolGetTransactionProtobuf(any(RawTransaction.class));
+        verify(web3j, times(2)).txSendSignedTransaction(any(SignedTransaction.class));
+    }
+
+    @Test
+    public void testTransactionsAreSignedAgainWhenNonceMoves() throws Exception {
+        pool.add(createTransaction());
+        pool.add(createTransaction());
+        awaitSigning();
+
+        pool.setNonce(BigInteger.valueOf(10));
+        awaitSigning();
+        assertEquals(2, pool.getSignedCount());
+
+        SignedTransaction first = pool.poll().get();
+        SignedTransaction second = pool.poll().get();
+        assertEquals(BigInteger.valueOf(10), first.getTransaction().getNonce());
+        assertEquals(BigInteger.valueOf(11), second.getTransaction().getNonce());
+        assertEquals(BigInteger.valueOf(12), pool.getNonce());
+        verify(web3j, times(4)).tolGetTransactionProtobuf(any(RawTransaction.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransactionStaysQueuedWhenSendFails() throws Exception {
+        AccountSendRawTransaction sent = new AccountSendRawTransaction();
+        sent.setResult("0xHASH");
+        Request<?, AccountSendRawTransaction> sendRequest = mock(Request.class);
+        when(sendRequest.send()).thenThrow(new IOException("timeout")).thenReturn(sent);
+        when(web3j.txSendSignedTransaction(any(SignedTransaction.class)))
+                .thenReturn((Request) sendRequest);
+
+        pool.addAll(Arrays.asList(createTransaction(), createTransaction()));
+        assertThrows(IOException.class, () -> pool.drain(2));
+        assertEquals(2, pool.size());
+        assertEquals(BigInteger.valueOf(5), pool.getNonce());
+
+        assertEquals(2, pool.drain(2).size());
+        assertEquals(0, pool.size());
+        assertEquals(BigInteger.valueOf(7), pool.getNonce());
+
+        ArgumentCaptor<SignedTransaction> captor =
+                ArgumentCaptor.forClass(SignedTransaction.class);
+        verify(web3j, times(3)).txSendSignedTransaction(captor.capture());
+        List<SignedTransaction> sentTransactions = captor.getAllValues();
+        assertEquals(BigInteger.valueOf(5), sentTransactions.get(0).getTransaction().getNonce());
+        assertEquals(BigInteger.valueOf(5), sentTransactions.get(1).getTransaction().getNonce());
+        assertEquals(BigInteger.valueOf(6), sentTransactions.get(2).getTransaction().getNonce());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransactionIsRequeuedWhenAsyncSendFails() throws Exception {
+        CompletableFuture<AccountSendRawTransaction> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("timeout"));
+        Request<?, AccountSendRawTransaction> sendRequest = mock(Request.class);
+        when(sendRequest.sendAsync()).thenReturn(failed);
+        when(web3j.txSendSignedTransaction(any(SignedTransaction.class)))
+                .thenReturn((Request) sendRequest);
+
+        pool.add(createTransaction());
+        CompletableFuture<AccountSendRawTransaction> response = pool.sendAsync().get();
+
+        assertTrue(response.isCompletedExceptionally());
+        assertEquals(1, pool.size());
+        assertEquals(BigInteger.valueOf(5), pool.getNonce());
+        assertEquals(BigInteger.valueOf(5), pool.poll().get().getTransaction().getNonce());
+    }
+
+    @Test
+    public void testHeadIsNotTakenWhileItIsBeingSent() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch reply = new CountDownLatch(1);
+        blockSending(sending, reply);
+
+        pool.addAll(Arrays.asList(createTransaction(), createTransaction()));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> send = executor.submit(() -> pool.send());
+            sending.await();
+            Future<Optional<SignedTransaction>> poll = executor.submit(() -> pool.poll());
+            assertThrows(TimeoutException.class, () -> poll.get(100, TimeUnit.MILLISECONDS));
+
+            reply.countDown();
+            send.get();
+            assertEquals(BigInteger.valueOf(6), poll.get().get().getTransaction().getNonce());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, pool.size());
+        assertEquals(BigInteger.valueOf(7), pool.getNonce());
+        verify(web3j, times(1)).txSendSignedTransaction(any(SignedTransaction.class));
+    }
+
+    @Test
+    public void testNonceIsNotSetWhileHeadIsBeingSent() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch reply = new CountDownLatch(1);
+        blockSending(sending, reply);
+
+        pool.addAll(Arrays.asList(createTransaction(), createTransaction()));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> send = executor.submit(() -> pool.send());
+            sending.await();
+            Future<?> setNonce = executor.submit(() -> pool.setNonce(BigInteger.valueOf(20)));
+            assertThrows(TimeoutException.class, () -> setNonce.get(100, TimeUnit.MILLISECONDS));
+
+            reply.countDown();
+            send.get();
+            setNonce.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        // the sent transaction is gone, the one after it is renumbered
+        assertEquals(1, pool.size());
+        assertEquals(BigInteger.valueOf(20), pool.getNonce());
+        assertEquals(BigInteger.valueOf(20), pool.poll().get().getTransaction().getNonce());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAsyncTransactionIsNotRequeuedAfterNonceIsSet() throws Exception {
+        CompletableFuture<AccountSendRawTransaction> pending = new CompletableFuture<>();
+        Request<?, AccountSendRawTransaction> sendRequest = mock(Request.class);
+        when(sendRequest.sendAsync()).thenReturn(pending);
+        when(web3j.txSendSignedTransaction(any(SignedTransaction.class)))
+                .thenReturn((Request) sendRequest);
+
+        pool.addAll(Arrays.asList(createTransaction(), createTransaction()));
+        CompletableFuture<AccountSendRawTransaction> response = pool.sendAsync().get();
+        // the node reports nonce 5 as used although the reply is lost
+        pool.setNonce(BigInteger.valueOf(6));
+        pending.completeExceptionally(new IOException("timeout"));
+
+        assertTrue(response.isCompletedExceptionally());
+        assertEquals(1, pool.size());
+        assertEquals(BigInteger.valueOf(6), pool.getNonce());
+        assertEquals(BigInteger.valueOf(6), pool.poll().get().getTransaction().getNonce());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void blockSending(CountDownLatch sending, CountDownLatch reply) throws Exception {
+        AccountSendRawTransaction sent = new AccountSendRawTransaction();
+        sent.setResult("0xHASH");
+        Request<?, AccountSendRawTransaction> sendRequest = mock(Request.class);
+        when(sendRequest.send())
+                .thenAnswer(
+                        invocation -> {
+                            sending.countDown();
+                            reply.await();
+                            return sent;
+                        });
+        when(web3j.txSendSignedTransaction(any(SignedTransaction.class)))
+                .thenReturn((Request) sendRequest);
+    }
+
+    private void awaitSigning() throws Exception {
+        // the executor runs one task after the other
+        signingExecutor.submit(() -> {}).get();
+    }
+
+    private static RawTransaction createTransaction() {
+        return RawTransaction.createTransaction(
+                SampleKeys.ADDRESS,
+                "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a",
+                BigInteger.ONE,
+                BigInteger.valueOf(21000),
+                BigInteger.ONE,
+                "",
+                BigInteger.ZERO);
+    }
+}
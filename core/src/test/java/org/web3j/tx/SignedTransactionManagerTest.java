@@ -13,11 +13,148 @@
 package org.web3j.tx;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.Test;
 
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.SignedTransaction;
+import org.web3j.protocol.core.methods.response.AccountSendRawTransaction;
+import org.web3j.protocol.core.methods.response.TolGetTransactionProtobuf;
+import org.web3j.protocol.core.methods.response.TolGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.exceptions.TxHashMismatchException;
+import org.web3j.tx.response.SubmittedTransaction;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.TxHashVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 public class SignedTransactionManagerTest extends ManagedTransactionTester {
 
+    private static final String PROTOBUF = "AQID";
+    private static final String LOCAL_HASH =
+            Numeric.toHexStringNoPrefix(Hash.sha3(new byte[] {1, 2, 3}));
+
+    @Test
+    public void testTransactionHashKnownBeforeReply() throws Exception {
+        CompletableFuture<AccountSendRawTransaction> reply = new CompletableFuture<>();
+        prepareSignedTransaction(reply);
+
+        SignedTransactionManager transactionManager =
+                new SignedTransactionManager(web3j, SampleKeys.CREDENTIALS);
+        transactionManager.setTxHashVerifier(txHashVerifier);
+        SubmittedTransaction submitted = transactionManager.submit(createTransaction());
+
+        assertEquals(LOCAL_HASH, submitted.getTransactionHash());
+        reply.complete(sendResponse("0x" + LOCAL_HASH));
+        assertEquals("0x" + LOCAL_HASH, submitted.getResponse().get().getTransactionHash());
+    }
+
+    @Test
+    public void testTxHashMismatch() throws IOException {
+        CompletableFuture<AccountSendRawTransaction> reply = new CompletableFuture<>();
+        prepareSignedTransaction(reply);
+
+        SignedTransactionManager transactionManager =
+                new SignedTransactionManager(web3j, SampleKeys.CREDENTIALS);
+        transactionManager.setTxHashVerifier(new TxHashVerifier());
+        CompletableFuture<AccountSendRawTransaction> response =
+                transactionManager.signAndSendAsync(createTransaction());
+
+        reply.complete(sendResponse(TRANSACTION_HASH));
+        ExecutionException exception = assertThrows(ExecutionException.class, response::get);
+        assertTrue(exception.getCause() instanceof TxHashMismatchException);
+    }
+
     @Test
-    public void testTxHashMismatch() throws IOException {}
+    @SuppressWarnings("unchecked")
+    public void testReceiptIsPolledOnceTheNodeAcceptedTheTransaction() throws Exception {
+        CompletableFuture<AccountSendRawTransaction> reply = new CompletableFuture<>();
+        prepareSignedTransaction(reply);
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        TolGetTransactionReceipt tolGetTransactionReceipt = new TolGetTransactionReceipt();
+        tolGetTransactionReceipt.setResult(transactionReceipt);
+        Request<?, TolGetTransactionReceipt> receiptRequest = mock(Request.class);
+        when(receiptRequest.send()).thenReturn(tolGetTransactionReceipt);
+        when(web3j.tolGetTransactionReceipt(LOCAL_HASH)).thenReturn((Request) receiptRequest);
+
+        SignedTransactionManager transactionManager =
+                new SignedTransactionManager(web3j, SampleKeys.CREDENTIALS);
+        transactionManager.setTxHashVerifier(txHashVerifier);
+        CompletableFuture<TransactionReceipt> receipt =
+                transactionManager.submitAndWaitForReceipt(createTransaction());
+
+        verify(web3j, never()).tolGetTransactionReceipt(any());
+        reply.complete(sendResponse("0x" + LOCAL_HASH));
+        assertEquals(transactionReceipt, receipt.get());
+    }
+
+    @Test
+    public void testReceiptIsNotPolledWhenTheNodeRejectsTheTransaction() throws Exception {
+        CompletableFuture<AccountSendRawTransaction> reply = new CompletableFuture<>();
+        prepareSignedTransaction(reply);
+
+        SignedTransactionManager transactionManager =
+                new SignedTransactionManager(web3j, SampleKeys.CREDENTIALS);
+        transactionManager.setTxHashVerifier(txHashVerifier);
+        CompletableFuture<TransactionReceipt> receipt =
+                transactionManager.submitAndWaitForReceipt(createTransaction());
+
+        AccountSendRawTransaction rejected = new AccountSendRawTransaction();
+        rejected.setError(new Response.Error(-32000, "nonce too low"));
+        reply.complete(rejected);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, receipt::get);
+        assertTrue(exception.getCause() instanceof TransactionException);
+        verify(web3j, never()).tolGetTransactionReceipt(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void prepareSignedTransaction(CompletableFuture<AccountSendRawTransaction> reply)
+            throws IOException {
+        TolGetTransactionProtobuf tolGetTransactionProtobuf = new TolGetTransactionProtobuf();
+        tolGetTransactionProtobuf.setResult(PROTOBUF);
+
+        Request<?, TolGetTransactionProtobuf> protobufRequest = mock(Request.class);
+        when(protobufRequest.send()).thenReturn(tolGetTransactionProtobuf);
+        when(web3j.tolGetTransactionProtobuf(any(RawTransaction.class)))
+                .thenReturn((Request) protobufRequest);
+
+        Request<?, AccountSendRawTransaction> sendRequest = mock(Request.class);
+        when(sendRequest.sendAsync()).thenReturn(reply);
+        when(web3j.txSendSignedTransaction(any(SignedTransaction.class)))
+                .thenReturn((Request) sendRequest);
+    }
+
+    private static RawTransaction createTransaction() {
+        return RawTransaction.createTransaction(
+                SampleKeys.ADDRESS,
+                ADDRESS,
+                BigInteger.ONE,
+                BigInteger.valueOf(21000),
+                BigInteger.ONE,
+                "",
+                BigInteger.ZERO);
+    }
+
+    private static AccountSendRawTransaction sendResponse(String transactionHash) {
+        AccountSendRawTransaction accountSendRawTransaction = new AccountSendRawTransaction();
+        accountSendRawTransaction.setResult(transactionHash);
+        return accountSendRawTransaction;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.TolGetGasEstimate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveGasProviderTest {
+
+    private static final String CONTRACT = "5484c512b1cf3d45e7506a772b7358375acc571b2930d27deb";
+    private static final String SENDER = "5457c2d11f05725f4fa5c0cd119b75415b95cd40d059dfc2d5";
+    private static final String SET =
+            "0x60fe47b1000000000000000000000000000000000000000000000000000000000000002a";
+    private static final String SET_OTHER =
+            "0x60fe47b10000000000000000000000000000000000000000000000000000000000000007";
+    private static final String GET = "0x6d4ce63c";
+
+    @Test
+    public void testGasLimitLearnedFromGasUsed() {
+        AdaptiveGasProvider gasProvider =
+                new AdaptiveGasProvider(
+                        null, SENDER, BigInteger.ONE, BigInteger.valueOf(1_000_000), 100, 0.5, 1);
+
+        assertFalse(gasProvider.getLearnedGasLimit(CONTRACT, SET).isPresent());
+        gasProvider.recordGasUsed(CONTRACT, SET, BigInteger.valueOf(10));
+        gasProvider.recordGasUsed(CONTRACT, SET_OTHER, BigInteger.valueOf(14));
+
+        // calls of the same function share their limit, other functions are unaffected
+        assertEquals(BigInteger.valueOf(21), gasProvider.getLearnedGasLimit(CONTRACT, SET).get());
+        assertEquals(
+                BigInteger.valueOf(21),
+                gasProvider.getGasLimit("0x" + CONTRACT.toUpperCase(), "set", SET_OTHER));
+        assertFalse(gasProvider.getLearnedGasLimit(CONTRACT, GET).isPresent());
+
+        gasProvider.recordGasUsed(CONTRACT, GET, BigInteger.valueOf(900_000));
+        assertEquals(
+                BigInteger.valueOf(1_000_000), gasProvider.getLearnedGasLimit(CONTRACT, GET).get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEstimatedOnceAndAgainOnDrift() throws Exception {
+        Web3j web3j = mock(Web3j.class);
+        Request<?, TolGetGasEstimate> request = mock(Request.class);
+        when(web3j.tolGetGasEstimate(any(Transaction.class))).thenAnswer(invocation -> request);
+        when(request.send()).thenReturn(gasEstimate(20_000), gasEstimate(40_000));
+
+        AdaptiveGasProvider gasProvider =
+                new AdaptiveGasProvider(
+                        web3j,
+                        SENDER,
+                        BigInteger.ONE,
+                        BigInteger.valueOf(1_000_000),
+                        99,
+                        0.1,
+                        0.25);
+
+        assertEquals(BigInteger.valueOf(22_000), gasProvider.getGasLimit(CONTRACT, "set", SET));
+        gasProvider.recordGasUsed(CONTRACT, SET, BigInteger.valueOf(21_000));
+        assertEquals(BigInteger.valueOf(23_100), gasProvider.getGasLimit(CONTRACT, "set", SET));
+        verify(request, times(1)).send();
+
+        gasProvider.recordGasUsed(CONTRACT, SET, BigInteger.valueOf(39_000));
+        verify(request, timeout(1000).times(2)).send();
+        BigInteger reestimated = BigInteger.valueOf(44_000);
+        for (int i = 0;
+                i < 100 && !reestimated.equals(gasProvider.getGasLimit(CONTRACT, "set", SET));
+                i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(reestimated, gasProvider.getGasLimit(CONTRACT, "set", SET));
+    }
+
+    private static TolGetGasEstimate gasEstimate(long gas) {
+        TolGetGasEstimate gasEstimate = new TolGetGasEstimate();
+        gasEstimate.setResult(BigInteger.valueOf(gas));
+        return gasEstimate;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+
+/**
+ * Generates many secp256k1 key pairs and their addresses at once.
+ *
+ * <p>Compared to calling {@link Keys#createEcKeyPair()} and {@link Keys#getAddress(ECKeyPair)} for
+ * every key, the public key points of a chunk of keys are converted to affine coordinates together
+ * with Montgomery's batch inversion, i.e. a single field inversion per chunk instead of one per
+ * key. Chunks are generated in parallel on a {@link ForkJoinPool}, and the results are written
+ * into contiguous arrays of a {@link KeyBatch}.
+ */
+public class BatchKeyGenerator {
+
+    private static final int CHUNK_SIZE = 256;
+
+    private final SecureRandom secureRandom;
+    private final ForkJoinPool forkJoinPool;
+
+    public BatchKeyGenerator() {
+        this(SecureRandomUtils.secureRandom(), ForkJoinPool.commonPool());
+    }
+
+    public BatchKeyGenerator(SecureRandom secureRandom, ForkJoinPool forkJoinPool) {
+        this.secureRandom = secureRandom;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Generate key pairs.
+     *
+     * @param count number of key pairs
+     * @return the private keys and addresses of the new key pairs
+     */
+    public KeyBatch generate(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid number of keys: " + count);
+        }
+
+        byte[] privateKeys = new byte[count * KeyBatch.PRIVATE_KEY_LENGTH];
+        byte[] addresses = new byte[count * KeyBatch.ADDRESS_LENGTH];
+        forkJoinPool.invoke(new GenerateKeys(privateKeys, addresses, 0, count));
+        return new KeyBatch(privateKeys, addresses);
+    }
+
+    private void generateChunk(byte[] privateKeys, byte[] addresses, int from, int to) {
+        int privateKeyLength = KeyBatch.PRIVATE_KEY_LENGTH;
+        byte[] randomBytes = new byte[(to - from) * privateKeyLength];
+        secureRandom.nextBytes(randomBytes);
+
+        FixedPointCombMultiplier multiplier = new FixedPointCombMultiplier();
+        ECPoint[] points = new ECPoint[to - from];
+        byte[] privateKey = new byte[privateKeyLength];
+        for (int i = 0; i < points.length; i++) {
+            System.arraycopy(randomBytes, i * privateKeyLength, privateKey, 0, privateKeyLength);
+            BigInteger value = new BigInteger(1, privateKey);
+            while (value.signum() == 0 || value.compareTo(Sign.CURVE.getN()) >= 0) {
+                secureRandom.nextBytes(privateKey);
+                value = new BigInteger(1, privateKey);
+            }
+            System.arraycopy(
+                    privateKey, 0, privateKeys, (from + i) * privateKeyLength, privateKeyLength);
+            points[i] = multiplier.multiply(Sign.CURVE.getG(), value);
+        }
+        Arrays.fill(randomBytes, (byte) 0);
+        Arrays.fill(privateKey, (byte) 0);
+
+        Sign.CURVE.getCurve().normalizeAll(points);
+
+        Keccak.DigestKeccak keccak = new Keccak.Digest256();
+        for (int i = 0; i < points.length; i++) {
+            byte[] encoded = points[i].getEncoded(false);
+            keccak.update(encoded, 1, encoded.length - 1);
+            byte[] hash = keccak.digest();
+            System.arraycopy(
+                    hash,
+                    hash.length - KeyBatch.ADDRESS_LENGTH,
+                    addresses,
+                    (from + i) * KeyBatch.ADDRESS_LENGTH,
+                    KeyBatch.ADDRESS_LENGTH);
+        }
+    }
+
+    private class GenerateKeys extends RecursiveAction {
+
+        private final byte[] privateKeys;
+        private final byte[] addresses;
+        private final int from;
+        private final int to;
+
+        GenerateKeys(byte[] privateKeys, byte[] addresses, int from, int to) {
+            this.privateKeys = privateKeys;
+            this.addresses = addresses;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                generateChunk(privateKeys, addresses, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new GenerateKeys(privateKeys, addresses, from, middle),
+                        new GenerateKeys(privateKeys, addresses, middle, to));
+            }
+        }
+    }
+}
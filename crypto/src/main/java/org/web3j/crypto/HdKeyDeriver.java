@@ -0,0 +1,301 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.bouncycastle.crypto.digests.SHA512Digest;
+import org.bouncycastle.crypto.macs.HMac;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+
+import static org.web3j.crypto.Bip32ECKeyPair.HARDENED_BIT;
+
+/**
+ * Bulk BIP-32 key and address derivation.
+ *
+ * <p>Unlike {@link Bip32ECKeyPair#deriveKeyPair(Bip32ECKeyPair, int[])}, which walks the whole path
+ * from the master key on every call, the intermediate nodes of a path (e.g. {@code m/44'/60'/0'/0})
+ * are derived once and cached. Ranges of child addresses are derived in parallel on the common
+ * fork join pool.
+ *
+ * <p>A deriver created with {@link #fromPublicKey(byte[], byte[])} or {@link #neuter(int...)} only
+ * knows a public key and chain code (an xpub), and can derive addresses of non-hardened children
+ * without access to any private key.
+ *
+ * <p>Addresses are 25 byte Tolar addresses, the bytes of {@link Credentials#getAddress()}: the
+ * {@code 0x54} prefix, the 20 byte Keccak address and a 4 byte checksum.
+ */
+public class HdKeyDeriver {
+
+    public static final int ADDRESS_LENGTH = 1 + Keys.ADDRESS_SIZE / 8 + 4;
+
+    private static final byte ADDRESS_PREFIX = 'T';
+
+    private static final int CHUNK_SIZE = 256;
+
+    private static final ThreadLocal<HMac> HMAC =
+            ThreadLocal.withInitial(() -> new HMac(new SHA512Digest()));
+
+    private final Node root;
+    private final Map<Path, Node> nodes = new ConcurrentHashMap<>();
+
+    public HdKeyDeriver(Bip32ECKeyPair master) {
+        this(
+                new Node(
+                        master.getPrivateKey(),
+                        master.getPublicKeyPoint().normalize(),
+                        master.getChainCode()));
+    }
+
+    private HdKeyDeriver(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Create a public only deriver.
+     *
+     * @param publicKey encoded public key, compressed or uncompressed
+     * @param chainCode 32 byte chain code
+     * @return a deriver which can derive non-hardened children only
+     */
+    public static HdKeyDeriver fromPublicKey(byte[] publicKey, byte[] chainCode) {
+        ECPoint point = Sign.CURVE.getCurve().decodePoint(publicKey).normalize();
+        return new HdKeyDeriver(new Node(null, point, chainCode));
+    }
+
+    /**
+     * Create a public only deriver for the node at the given path, e.g. to hand out the account
+     * level xpub to a service generating deposit addresses.
+     */
+    public HdKeyDeriver neuter(int... path) {
+        Node node = node(path);
+        return new HdKeyDeriver(new Node(null, node.publicKey, node.chainCode));
+    }
+
+    public boolean hasPrivateKey() {
+        return root.privateKey != null;
+    }
+
+    /** @return the compressed public key of the node at the given path */
+    public byte[] getPublicKey(int... path) {
+        return node(path).publicKey.getEncoded(true);
+    }
+
+    public byte[] getChainCode(int... path) {
+        byte[] chainCode = node(path).chainCode;
+        return Arrays.copyOf(chainCode, chainCode.length);
+    }
+
+    /**
+     * Derive the key pair at the given path, the same as {@link
+     * Bip32ECKeyPair#deriveKeyPair(Bip32ECKeyPair, int[])} does.
+     *
+     * @throws IllegalStateException if this deriver doesn't have a private key
+     */
+    public ECKeyPair deriveKeyPair(int... path) {
+        if (!hasPrivateKey()) {
+            throw new IllegalStateException("Key pairs can't be derived from a public key");
+        }
+        Node node = node(path);
+        return new ECKeyPair(node.privateKey, toPublicKey(node.publicKey));
+    }
+
+    /** @return the 25 byte Tolar address of the node at the given path */
+    public byte[] deriveAddress(int... path) {
+        return address(node(path).publicKey);
+    }
+
+    /**
+     * Derive the addresses of a range of children of the node at the given path. The parent node
+     * is cached, the children are not.
+     *
+     * @param parentPath path of the parent node
+     * @param fromIndex child number of the first child
+     * @param count number of children
+     * @return the concatenated 25 byte Tolar addresses of all children, in order of their child
+     *     numbers
+     */
+    public byte[] deriveAddresses(int[] parentPath, int fromIndex, int count) {
+        int toIndex = fromIndex + count - 1;
+        if (count < 0 || (count > 0 && (fromIndex & HARDENED_BIT) != (toIndex & HARDENED_BIT))) {
+            throw new IllegalArgumentException(
+                    "Invalid range of child numbers: " + fromIndex + ", " + count);
+        }
+
+        Node parent = node(parentPath);
+        byte[] addresses = new byte[count * ADDRESS_LENGTH];
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks)
+                .parallel()
+                .forEach(
+                        chunk -> {
+                            int from = chunk * CHUNK_SIZE;
+                            int to = Math.min(count, from + CHUNK_SIZE);
+                            deriveAddresses(parent, fromIndex, from, to, addresses);
+                        });
+        return addresses;
+    }
+
+    private static void deriveAddresses(
+            Node parent, int fromIndex, int from, int to, byte[] addresses) {
+        HMac hMac = HMAC.get();
+        hMac.init(new KeyParameter(parent.chainCode));
+
+        ECPoint[] points = new ECPoint[to - from];
+        for (int i = from; i < to; i++) {
+            byte[] digest = hmac(hMac, parent, fromIndex + i);
+            BigInteger tweak = new BigInteger(1, Arrays.copyOf(digest, 32));
+            Arrays.fill(digest, (byte) 0);
+            points[i - from] = derivePublicKey(parent, tweak);
+        }
+
+        // a single field inversion for the whole chunk instead of one per point
+        Sign.CURVE.getCurve().normalizeAll(points);
+        for (int i = from; i < to; i++) {
+            byte[] address = address(points[i - from]);
+            System.arraycopy(address, 0, addresses, i * ADDRESS_LENGTH, ADDRESS_LENGTH);
+        }
+    }
+
+    private Node node(int[] path) {
+        if (path == null || path.length == 0) {
+            return root;
+        }
+
+        Path key = new Path(path);
+        Node node = nodes.get(key);
+        if (node == null) {
+            Node parent = node(Arrays.copyOf(path, path.length - 1));
+            node = nodes.computeIfAbsent(key, k -> deriveChild(parent, path[path.length - 1]));
+        }
+        return node;
+    }
+
+    private static Node deriveChild(Node parent, int childNumber) {
+        HMac hMac = HMAC.get();
+        hMac.init(new KeyParameter(parent.chainCode));
+        byte[] digest = hmac(hMac, parent, childNumber);
+        BigInteger tweak = new BigInteger(1, Arrays.copyOf(digest, 32));
+        byte[] chainCode = Arrays.copyOfRange(digest, 32, 64);
+        Arrays.fill(digest, (byte) 0);
+
+        if (parent.privateKey != null) {
+            BigInteger privateKey = parent.privateKey.add(tweak).mod(Sign.CURVE.getN());
+            return new Node(privateKey, multiplyG(privateKey).normalize(), chainCode);
+        } else {
+            return new Node(null, derivePublicKey(parent, tweak).normalize(), chainCode);
+        }
+    }
+
+    private static byte[] hmac(HMac hMac, Node parent, int childNumber) {
+        byte[] data = new byte[37];
+        if ((childNumber & HARDENED_BIT) != 0) {
+            if (parent.privateKey == null) {
+                throw new IllegalStateException(
+                        "Hardened children can't be derived from a public key");
+            }
+            byte[] privateKey = toBytes32(parent.privateKey);
+            System.arraycopy(privateKey, 0, data, 1, 32);
+            Arrays.fill(privateKey, (byte) 0);
+        } else {
+            System.arraycopy(parent.compressedPublicKey, 0, data, 0, 33);
+        }
+        data[33] = (byte) (childNumber >>> 24);
+        data[34] = (byte) (childNumber >>> 16);
+        data[35] = (byte) (childNumber >>> 8);
+        data[36] = (byte) childNumber;
+
+        hMac.update(data, 0, data.length);
+        byte[] digest = new byte[64];
+        hMac.doFinal(digest, 0);
+        Arrays.fill(data, (byte) 0);
+        return digest;
+    }
+
+    /** @return the not normalized public key of the child with the given tweak */
+    private static ECPoint derivePublicKey(Node parent, BigInteger tweak) {
+        if (parent.privateKey != null) {
+            return multiplyG(parent.privateKey.add(tweak).mod(Sign.CURVE.getN()));
+        } else {
+            return multiplyG(tweak).add(parent.publicKey);
+        }
+    }
+
+    private static ECPoint multiplyG(BigInteger value) {
+        return new FixedPointCombMultiplier().multiply(Sign.CURVE.getG(), value);
+    }
+
+    private static byte[] address(ECPoint publicKey) {
+        byte[] encoded = publicKey.getEncoded(false);
+        byte[] keccakAddress = Keys.getAddress(Arrays.copyOfRange(encoded, 1, encoded.length));
+
+        // the checksum is the end of the hash of the hash, as in Credentials.create
+        byte[] checksum = Hash.sha3(Hash.sha3(keccakAddress));
+        byte[] address = new byte[ADDRESS_LENGTH];
+        address[0] = ADDRESS_PREFIX;
+        System.arraycopy(keccakAddress, 0, address, 1, keccakAddress.length);
+        System.arraycopy(checksum, checksum.length - 4, address, 1 + keccakAddress.length, 4);
+        return address;
+    }
+
+    private static BigInteger toPublicKey(ECPoint point) {
+        byte[] encoded = point.getEncoded(false);
+        return new BigInteger(1, Arrays.copyOfRange(encoded, 1, encoded.length));
+    }
+
+    private static byte[] toBytes32(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] result = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, result, 32 - length, length);
+        return result;
+    }
+
+    private static class Node {
+        private final BigInteger privateKey;
+        private final ECPoint publicKey;
+        private final byte[] compressedPublicKey;
+        private final byte[] chainCode;
+
+        Node(BigInteger privateKey, ECPoint publicKey, byte[] chainCode) {
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.compressedPublicKey = publicKey.getEncoded(true);
+            this.chainCode = Arrays.copyOf(chainCode, chainCode.length);
+        }
+    }
+
+    private static class Path {
+        private final int[] childNumbers;
+
+        Path(int[] path) {
+            this.childNumbers = Arrays.copyOf(path, path.length);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Path && Arrays.equals(childNumbers, ((Path) o).childNumbers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(childNumbers);
+        }
+    }
+}
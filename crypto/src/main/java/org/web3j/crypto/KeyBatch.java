@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Key pairs created by {@link BatchKeyGenerator}, stored as contiguous arrays of 32 byte private
+ * keys and 20 byte addresses.
+ */
+public class KeyBatch {
+
+    public static final int PRIVATE_KEY_LENGTH = Keys.PRIVATE_KEY_SIZE;
+    public static final int ADDRESS_LENGTH = Keys.ADDRESS_SIZE / 8;
+
+    private final byte[] privateKeys;
+    private final byte[] addresses;
+
+    KeyBatch(byte[] privateKeys, byte[] addresses) {
+        this.privateKeys = privateKeys;
+        this.addresses = addresses;
+    }
+
+    public int size() {
+        return addresses.length / ADDRESS_LENGTH;
+    }
+
+    /** @return the private keys of all key pairs, 32 bytes each */
+    public byte[] getPrivateKeys() {
+        return privateKeys;
+    }
+
+    /** @return the addresses of all key pairs, 20 bytes each */
+    public byte[] getAddresses() {
+        return addresses;
+    }
+
+    public BigInteger getPrivateKey(int index) {
+        return Numeric.toBigInt(privateKeys, index * PRIVATE_KEY_LENGTH, PRIVATE_KEY_LENGTH);
+    }
+
+    public byte[] getAddress(int index) {
+        return Arrays.copyOfRange(addresses, index * ADDRESS_LENGTH, (index + 1) * ADDRESS_LENGTH);
+    }
+
+    public ECKeyPair getKeyPair(int index) {
+        return ECKeyPair.create(getPrivateKey(index));
+    }
+
+    /** Overwrite all private keys with zeros. */
+    public void destroy() {
+        Arrays.fill(privateKeys, (byte) 0);
+    }
+}
@@ -18,13 +18,17 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import org.bouncycastle.crypto.digests.SHA512Digest;
-import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.params.KeyParameter;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -40,7 +44,13 @@ public class MnemonicUtils {
 
     private static final int SEED_ITERATIONS = 2048;
     private static final int SEED_KEY_SIZE = 512;
-    private static List<String> WORD_LIST = null;
+    private static final byte[] SEED_BLOCK_INDEX = {0, 0, 0, 1};
+
+    private static final ThreadLocal<HMac> SEED_HMAC =
+            ThreadLocal.withInitial(() -> new HMac(new SHA512Digest()));
+
+    private static volatile List<String> WORD_LIST = null;
+    private static volatile Map<String, Integer> WORD_INDEX = null;
 
     /**
      * The mnemonic must encode entropy in a multiple of 32 bits. With more entropy security is
@@ -93,34 +103,12 @@ public class MnemonicUtils {
      * @return Byte array representation of the entropy
      */
     public static byte[] generateEntropy(String mnemonic) {
-        final BitSet bits = new BitSet();
-        final int size = mnemonicToBits(mnemonic, bits);
-        if (size == 0) {
-            throw new IllegalArgumentException("Empty mnemonic");
-        }
-
-        final int ent = 32 * size / 33;
-        if (ent % 8 != 0) {
-            throw new IllegalArgumentException("Wrong mnemonic size");
-        }
-        final byte[] entropy = new byte[ent / 8];
-        for (int i = 0; i < entropy.length; i++) {
-            entropy[i] = readByte(bits, i);
-        }
-        validateEntropy(entropy);
-
-        final byte expectedChecksum = calculateChecksum(entropy);
-        final byte actualChecksum = readByte(bits, entropy.length);
-        if (expectedChecksum != actualChecksum) {
-            throw new IllegalArgumentException("Wrong checksum");
-        }
-
-        return entropy;
+        return decodeEntropy(mnemonic, true);
     }
 
     public static List<String> getWords() {
         if (WORD_LIST == null) {
-            WORD_LIST = Collections.unmodifiableList(populateWordList());
+            loadWords();
         }
         return WORD_LIST;
     }
@@ -143,19 +131,71 @@ public class MnemonicUtils {
         passphrase = passphrase == null ? "" : passphrase;
 
         String salt = String.format("mnemonic%s", passphrase);
-        PKCS5S2ParametersGenerator gen = new PKCS5S2ParametersGenerator(new SHA512Digest());
-        gen.init(mnemonic.getBytes(UTF_8), salt.getBytes(UTF_8), SEED_ITERATIONS);
+        return pbkdf2(SEED_HMAC.get(), mnemonic.getBytes(UTF_8), salt.getBytes(UTF_8));
+    }
 
-        return ((KeyParameter) gen.generateDerivedParameters(SEED_KEY_SIZE)).getKey();
+    /**
+     * Generate the seeds of many mnemonics in parallel on the common fork join pool.
+     *
+     * @param mnemonics The input mnemonics
+     * @param passphrase The passphrase used for all mnemonics
+     * @return The seeds, in the order of the mnemonics
+     * @see #generateSeed(String, String)
+     */
+    public static List<byte[]> generateSeeds(List<String> mnemonics, String passphrase) {
+        return generateSeeds(mnemonics, passphrase, ForkJoinPool.commonPool());
+    }
+
+    public static List<byte[]> generateSeeds(
+            List<String> mnemonics, String passphrase, ForkJoinPool forkJoinPool) {
+        byte[][] seeds = new byte[mnemonics.size()][];
+        IntConsumer generateSeed = i -> seeds[i] = generateSeed(mnemonics.get(i), passphrase);
+        forkJoinPool
+                .submit(() -> IntStream.range(0, seeds.length).parallel().forEach(generateSeed))
+                .join();
+        return Arrays.asList(seeds);
     }
 
     public static boolean validateMnemonic(String mnemonic) {
-        try {
-            generateEntropy(mnemonic);
-            return true;
-        } catch (Exception ex) {
-            return false;
+        return mnemonic != null && decodeEntropy(mnemonic, false) != null;
+    }
+
+    /**
+     * Validate the words and checksums of many mnemonics.
+     *
+     * @param mnemonics The mnemonics to validate
+     * @return for every mnemonic whether it is valid
+     */
+    public static boolean[] validateMnemonics(List<String> mnemonics) {
+        boolean[] valid = new boolean[mnemonics.size()];
+        for (int i = 0; i < valid.length; i++) {
+            valid[i] = validateMnemonic(mnemonics.get(i));
         }
+        return valid;
+    }
+
+    /** PBKDF2 with HMAC-SHA512, deriving a single block like {@code PKCS5S2ParametersGenerator}. */
+    private static byte[] pbkdf2(HMac hMac, byte[] password, byte[] salt) {
+        byte[] seed = new byte[SEED_KEY_SIZE / 8];
+        byte[] block = new byte[hMac.getMacSize()];
+
+        hMac.init(new KeyParameter(password));
+        hMac.update(salt, 0, salt.length);
+        hMac.update(SEED_BLOCK_INDEX, 0, SEED_BLOCK_INDEX.length);
+        hMac.doFinal(block, 0);
+        System.arraycopy(block, 0, seed, 0, seed.length);
+        for (int i = 1; i < SEED_ITERATIONS; i++) {
+            hMac.update(block, 0, block.length);
+            hMac.doFinal(block, 0);
+            for (int j = 0; j < seed.length; j++) {
+                seed[j] ^= block[j];
+            }
+        }
+
+        // don't keep state derived from the mnemonic in the thread local
+        hMac.init(new KeyParameter(new byte[0]));
+        Arrays.fill(block, (byte) 0);
+        return seed;
     }
 
     private static boolean isMnemonicEmpty(String mnemonic) {
@@ -216,36 +256,84 @@ public class MnemonicUtils {
         return value;
     }
 
-    private static int mnemonicToBits(String mnemonic, BitSet bits) {
-        int bit = 0;
-        final List<String> vocabulary = getWords();
+    /**
+     * Decode the entropy of a mnemonic, by looking up its words in the word list index and
+     * packing their 11 bit values into bytes.
+     *
+     * @param strict whether an invalid mnemonic raises an exception or returns null
+     */
+    private static byte[] decodeEntropy(String mnemonic, boolean strict) {
+        final Map<String, Integer> wordIndex = getWordIndex();
         final StringTokenizer tokenizer = new StringTokenizer(mnemonic, " ");
+        final int size = tokenizer.countTokens() * 11;
+        if (size == 0) {
+            return invalidMnemonic(strict, "Empty mnemonic");
+        }
+
+        final int ent = 32 * size / 33;
+        if (ent % 8 != 0) {
+            return invalidMnemonic(strict, "Wrong mnemonic size");
+        }
+        if (ent < 128 || ent > 256 || ent % 32 != 0) {
+            return invalidMnemonic(
+                    strict, "The allowed size of ENT is 128-256 bits of multiples of 32");
+        }
+
+        // the entropy followed by the byte containing the checksum
+        final byte[] bytes = new byte[ent / 8 + 1];
+        int buffer = 0;
+        int bufferedBits = 0;
+        int next = 0;
         while (tokenizer.hasMoreTokens()) {
             final String word = tokenizer.nextToken();
-            final int index = vocabulary.indexOf(word);
-            if (index < 0) {
-                throw new IllegalArgumentException(
+            final Integer index = wordIndex.get(word);
+            if (index == null) {
+                return invalidMnemonic(
+                        strict,
                         String.format("Mnemonic word '%s' should be in the word list", word));
             }
-            for (int k = 0; k < 11; k++) {
-                bits.set(bit++, isBitSet(index, 10 - k));
+            buffer = (buffer << 11) | index;
+            bufferedBits += 11;
+            while (bufferedBits >= 8) {
+                bufferedBits -= 8;
+                bytes[next++] = (byte) (buffer >>> bufferedBits);
             }
         }
-        return bit;
+        if (bufferedBits > 0) {
+            bytes[next] = (byte) (buffer << (8 - bufferedBits));
+        }
+
+        final byte[] entropy = Arrays.copyOf(bytes, ent / 8);
+        if (calculateChecksum(entropy) != bytes[entropy.length]) {
+            return invalidMnemonic(strict, "Wrong checksum");
+        }
+        return entropy;
     }
 
-    private static byte readByte(BitSet bits, int startByte) {
-        byte res = 0;
-        for (int k = 0; k < 8; k++) {
-            if (bits.get(startByte * 8 + k)) {
-                res = (byte) (res | (1 << (7 - k)));
-            }
+    private static byte[] invalidMnemonic(boolean strict, String message) {
+        if (strict) {
+            throw new IllegalArgumentException(message);
         }
-        return res;
+        return null;
     }
 
-    private static boolean isBitSet(int n, int k) {
-        return ((n >> k) & 1) == 1;
+    private static Map<String, Integer> getWordIndex() {
+        if (WORD_INDEX == null) {
+            loadWords();
+        }
+        return WORD_INDEX;
+    }
+
+    private static synchronized void loadWords() {
+        if (WORD_LIST == null) {
+            List<String> words = populateWordList();
+            Map<String, Integer> wordIndex = new HashMap<>(words.size() * 2);
+            for (int i = 0; i < words.size(); i++) {
+                wordIndex.put(words.get(i), i);
+            }
+            WORD_INDEX = wordIndex;
+            WORD_LIST = Collections.unmodifiableList(words);
+        }
     }
 
     public static byte calculateChecksum(byte[] initialEntropy) {
@@ -0,0 +1,495 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.web3j.utils.Numeric;
+
+import static org.web3j.crypto.Hash.sha3;
+
+/**
+ * Compiled EIP-712 types, for hashing many structured data messages of the same schema.
+ *
+ * <p>Compared to {@link StructuredDataEncoder}, the types are validated, encoded and hashed once
+ * when the schema is created, and every field gets an encoder writing its 32 byte word directly,
+ * so hashing a message neither parses JSON nor builds strings or ABI types.
+ *
+ * <p>Messages are given as maps of field names to values, as returned by Jackson for JSON objects.
+ * Integers may be numbers or decimal or hex strings, addresses and bytes are hex strings, and
+ * nested structs are maps again.
+ */
+public class TypedDataSchema {
+
+    public static final String DOMAIN_TYPE = "EIP712Domain";
+
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("^[a-zA-Z_$][a-zA-Z_$0-9]*$");
+    private static final Pattern TYPE_PATTERN =
+            Pattern.compile("^[a-zA-Z_$][a-zA-Z_$0-9]*(\\[([1-9]\\d*)*\\])*$");
+
+    private static final int WORD_LENGTH = 32;
+    private static final byte[] MESSAGE_PREFIX = {0x19, 0x01};
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, StructType> structTypes = new HashMap<>();
+    private final byte[] domainSeparator;
+
+    TypedDataSchema(Map<String, List<StructuredData.Entry>> types, Map<String, ?> domain) {
+        for (Map.Entry<String, List<StructuredData.Entry>> type : types.entrySet()) {
+            structTypes.put(type.getKey(), new StructType(type.getKey(), type.getValue()));
+        }
+        for (StructType structType : structTypes.values()) {
+            compile(structType);
+        }
+        this.domainSeparator = domain == null ? null : hashStruct(DOMAIN_TYPE, domain);
+    }
+
+    /**
+     * Compiles the types of an EIP-712 JSON document.
+     *
+     * @param json document with a {@code types} and an optional {@code domain} object, other
+     *     members such as the message are ignored
+     * @return the compiled schema, with the domain separator of the domain if present
+     * @throws IOException if the document can't be parsed
+     */
+    public static TypedDataSchema fromJson(String json) throws IOException {
+        JsonNode root = objectMapper.readTree(json);
+        if (root == null || !root.has("types")) {
+            throw new IllegalArgumentException("Structured data has no types");
+        }
+        Map<String, List<StructuredData.Entry>> types =
+                objectMapper.convertValue(
+                        root.get("types"),
+                        new TypeReference<Map<String, List<StructuredData.Entry>>>() {});
+        Map<String, Object> domain =
+                root.hasNonNull("domain")
+                        ? objectMapper.convertValue(
+                                root.get("domain"), new TypeReference<Map<String, Object>>() {})
+                        : null;
+        return new TypedDataSchema(types, domain);
+    }
+
+    public Optional<byte[]> getDomainSeparator() {
+        return Optional.ofNullable(domainSeparator).map(byte[]::clone);
+    }
+
+    public String encodeType(String primaryType) {
+        return requireStructType(primaryType).encodedType;
+    }
+
+    public byte[] typeHash(String primaryType) {
+        return requireStructType(primaryType).typeHash.clone();
+    }
+
+    public byte[] encodeData(String primaryType, Map<String, ?> data) {
+        return encodeData(requireStructType(primaryType), data);
+    }
+
+    public byte[] hashStruct(String primaryType, Map<String, ?> data) {
+        return sha3(encodeData(primaryType, data));
+    }
+
+    /**
+     * Hash a message for signing with the domain separator of this schema.
+     *
+     * @param primaryType type of the message
+     * @param message field values of the message
+     * @return hash of the message prefixed with the domain separator
+     * @throws IllegalStateException if this schema was created without a domain
+     */
+    public byte[] hashStructuredData(String primaryType, Map<String, ?> message) {
+        return hashStructuredData(requireDomainSeparator(), primaryType, message);
+    }
+
+    public byte[] hashStructuredData(
+            byte[] domainSeparator, String primaryType, Map<String, ?> message) {
+        return hashStructuredData(domainSeparator, requireStructType(primaryType), message);
+    }
+
+    /**
+     * Hash many messages of the same type in parallel on the common fork join pool.
+     *
+     * @param primaryType type of the messages
+     * @param messages field values of the messages
+     * @return the hashes of the messages, in the order of the messages
+     * @throws IllegalStateException if this schema was created without a domain
+     */
+    public List<byte[]> hashAll(String primaryType, List<? extends Map<String, ?>> messages) {
+        return hashAll(primaryType, messages, ForkJoinPool.commonPool());
+    }
+
+    public List<byte[]> hashAll(
+            String primaryType,
+            List<? extends Map<String, ?>> messages,
+            ForkJoinPool forkJoinPool) {
+        byte[] separator = requireDomainSeparator();
+        StructType structType = requireStructType(primaryType);
+
+        byte[][] hashes = new byte[messages.size()][];
+        IntConsumer hashMessage =
+                i -> hashes[i] = hashStructuredData(separator, structType, messages.get(i));
+        forkJoinPool
+                .submit(() -> IntStream.range(0, hashes.length).parallel().forEach(hashMessage))
+                .join();
+        return Arrays.asList(hashes);
+    }
+
+    private byte[] hashStructuredData(
+            byte[] domainSeparator, StructType structType, Map<?, ?> message) {
+        byte[] data = new byte[MESSAGE_PREFIX.length + 2 * WORD_LENGTH];
+        System.arraycopy(MESSAGE_PREFIX, 0, data, 0, MESSAGE_PREFIX.length);
+        System.arraycopy(domainSeparator, 0, data, MESSAGE_PREFIX.length, WORD_LENGTH);
+        System.arraycopy(
+                sha3(encodeData(structType, message)),
+                0,
+                data,
+                MESSAGE_PREFIX.length + WORD_LENGTH,
+                WORD_LENGTH);
+        return sha3(data);
+    }
+
+    private byte[] encodeData(StructType structType, Map<?, ?> data) {
+        byte[] encoded = new byte[(structType.encoders.length + 1) * WORD_LENGTH];
+        System.arraycopy(structType.typeHash, 0, encoded, 0, WORD_LENGTH);
+        for (int i = 0; i < structType.encoders.length; i++) {
+            Object value = data.get(structType.fieldNames[i]);
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Missing value of " + structType.fieldNames[i] + " in " + structType.name);
+            }
+            structType.encoders[i].encode(value, encoded, (i + 1) * WORD_LENGTH);
+        }
+        return encoded;
+    }
+
+    private void compile(StructType structType) {
+        Set<String> dependencies = new TreeSet<>();
+        collectDependencies(structType, dependencies);
+        dependencies.remove(structType.name);
+
+        StringBuilder encodedType = new StringBuilder(structType.encodedStruct);
+        for (String dependency : dependencies) {
+            encodedType.append(structTypes.get(dependency).encodedStruct);
+        }
+        structType.encodedType = encodedType.toString();
+        structType.typeHash = sha3(structType.encodedType.getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < structType.fieldTypes.length; i++) {
+            structType.encoders[i] = compileField(structType.fieldTypes[i]);
+        }
+    }
+
+    private void collectDependencies(StructType structType, Set<String> dependencies) {
+        if (!dependencies.add(structType.name)) {
+            return;
+        }
+        for (String fieldType : structType.fieldTypes) {
+            int bracket = fieldType.indexOf('[');
+            StructType dependency =
+                    structTypes.get(bracket < 0 ? fieldType : fieldType.substring(0, bracket));
+            if (dependency != null) {
+                collectDependencies(dependency, dependencies);
+            }
+        }
+    }
+
+    private FieldEncoder compileField(String type) {
+        if (type.endsWith("]")) {
+            return compileArray(type);
+        }
+
+        StructType structType = structTypes.get(type);
+        if (structType != null) {
+            return (value, out, offset) ->
+                    writeWord(sha3(encodeData(structType, asMap(type, value))), out, offset);
+        }
+
+        switch (type) {
+            case "string":
+                return (value, out, offset) ->
+                        writeWord(
+                                sha3(asString(type, value).getBytes(StandardCharsets.UTF_8)),
+                                out,
+                                offset);
+            case "bytes":
+                return (value, out, offset) ->
+                        writeWord(
+                                sha3(Numeric.hexStringToByteArray(asString(type, value))),
+                                out,
+                                offset);
+            case "bool":
+                return (value, out, offset) -> {
+                    if (!(value instanceof Boolean)) {
+                        throw invalidValue(type, value);
+                    }
+                    out[offset + WORD_LENGTH - 1] = (byte) ((Boolean) value ? 1 : 0);
+                };
+            case "address":
+                return (value, out, offset) ->
+                        writeInteger(
+                                type,
+                                Numeric.toBigInt(asString(type, value)),
+                                160,
+                                false,
+                                out,
+                                offset);
+            default:
+                break;
+        }
+
+        if (type.startsWith("bytes")) {
+            int length = parseSize(type, "bytes".length());
+            if (length < 1 || length > WORD_LENGTH) {
+                throw unsupportedType(type);
+            }
+            return (value, out, offset) -> {
+                byte[] bytes = Numeric.hexStringToByteArray(asString(type, value));
+                if (bytes.length != length) {
+                    throw invalidValue(type, value);
+                }
+                System.arraycopy(bytes, 0, out, offset, length);
+            };
+        }
+
+        boolean signed = type.startsWith("int");
+        if (signed || type.startsWith("uint")) {
+            int bitSize = parseSize(type, signed ? "int".length() : "uint".length());
+            if (bitSize < 8 || bitSize > 256 || bitSize % 8 != 0) {
+                throw unsupportedType(type);
+            }
+            return (value, out, offset) ->
+                    writeInteger(type, asBigInteger(type, value), bitSize, signed, out, offset);
+        }
+
+        throw unsupportedType(type);
+    }
+
+    private FieldEncoder compileArray(String type) {
+        int bracket = type.indexOf('[');
+        String baseType = type.substring(0, bracket);
+        int[] dimensions = parseDimensions(type.substring(bracket));
+
+        // like StructuredDataEncoder, struct elements are encoded, primitive ones are words
+        StructType structType = structTypes.get(baseType);
+        FieldEncoder elementEncoder = structType == null ? compileField(baseType) : null;
+
+        return (value, out, offset) -> {
+            List<Object> elements = new ArrayList<>();
+            flatten(type, value, 0, dimensions.clone(), elements);
+
+            int elementLength =
+                    structType == null
+                            ? WORD_LENGTH
+                            : (structType.encoders.length + 1) * WORD_LENGTH;
+            byte[] encoded = new byte[elements.size() * elementLength];
+            for (int i = 0; i < elements.size(); i++) {
+                if (structType == null) {
+                    elementEncoder.encode(elements.get(i), encoded, i * elementLength);
+                } else {
+                    byte[] element = encodeData(structType, asMap(baseType, elements.get(i)));
+                    System.arraycopy(element, 0, encoded, i * elementLength, elementLength);
+                }
+            }
+            writeWord(sha3(encoded), out, offset);
+        };
+    }
+
+    private static void flatten(
+            String type, Object value, int depth, int[] dimensions, List<Object> elements) {
+        if (depth == dimensions.length) {
+            if (value instanceof List) {
+                throw invalidValue(type, value);
+            }
+            elements.add(value);
+            return;
+        }
+        if (!(value instanceof List)) {
+            throw invalidValue(type, value);
+        }
+
+        List<?> values = (List<?>) value;
+        if (dimensions[depth] < 0) {
+            // dynamic dimensions must have the same length at the same depth
+            dimensions[depth] = values.size();
+        } else if (dimensions[depth] != values.size()) {
+            throw invalidValue(type, value);
+        }
+        for (Object item : values) {
+            flatten(type, item, depth + 1, dimensions, elements);
+        }
+    }
+
+    private static int[] parseDimensions(String declaration) {
+        List<Integer> dimensions = new ArrayList<>();
+        int start = 0;
+        while (start < declaration.length()) {
+            int end = declaration.indexOf(']', start);
+            String dimension = declaration.substring(start + 1, end);
+            dimensions.add(dimension.isEmpty() ? -1 : Integer.parseInt(dimension));
+            start = end + 1;
+        }
+        return dimensions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int parseSize(String type, int offset) {
+        try {
+            return Integer.parseInt(type.substring(offset));
+        } catch (NumberFormatException e) {
+            throw unsupportedType(type);
+        }
+    }
+
+    private static void writeWord(byte[] word, byte[] out, int offset) {
+        System.arraycopy(word, 0, out, offset, WORD_LENGTH);
+    }
+
+    private static void writeInteger(
+            String type, BigInteger value, int bitSize, boolean signed, byte[] out, int offset) {
+        boolean valid =
+                signed
+                        ? value.bitLength() < bitSize
+                        : value.signum() >= 0 && value.bitLength() <= bitSize;
+        if (!valid) {
+            throw invalidValue(type, value);
+        }
+        byte[] bytes = value.toByteArray();
+        if (value.signum() < 0) {
+            Arrays.fill(out, offset, offset + WORD_LENGTH, (byte) 0xff);
+        }
+        int length = Math.min(bytes.length, WORD_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, out, offset + WORD_LENGTH - length, length);
+    }
+
+    private static BigInteger asBigInteger(String type, Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof Long
+                || value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        } else if (value instanceof String) {
+            String string = (String) value;
+            try {
+                return Numeric.containsHexPrefix(string)
+                        ? Numeric.toBigInt(string)
+                        : new BigInteger(string);
+            } catch (NumberFormatException e) {
+                throw invalidValue(type, value);
+            }
+        }
+        throw invalidValue(type, value);
+    }
+
+    private static String asString(String type, Object value) {
+        if (!(value instanceof String)) {
+            throw invalidValue(type, value);
+        }
+        return (String) value;
+    }
+
+    private static Map<?, ?> asMap(String type, Object value) {
+        if (!(value instanceof Map)) {
+            throw invalidValue(type, value);
+        }
+        return (Map<?, ?>) value;
+    }
+
+    private StructType requireStructType(String name) {
+        StructType structType = structTypes.get(name);
+        if (structType == null) {
+            throw new IllegalArgumentException("Unknown type " + name);
+        }
+        return structType;
+    }
+
+    private byte[] requireDomainSeparator() {
+        if (domainSeparator == null) {
+            throw new IllegalStateException("Structured data schema has no domain");
+        }
+        return domainSeparator;
+    }
+
+    private static IllegalArgumentException invalidValue(String type, Object value) {
+        return new IllegalArgumentException("Invalid value " + value + " of type " + type);
+    }
+
+    private static IllegalArgumentException unsupportedType(String type) {
+        return new IllegalArgumentException("Unsupported type " + type);
+    }
+
+    @FunctionalInterface
+    private interface FieldEncoder {
+        void encode(Object value, byte[] out, int offset);
+    }
+
+    private static class StructType {
+        private final String name;
+        private final String[] fieldNames;
+        private final String[] fieldTypes;
+        private final FieldEncoder[] encoders;
+        private final String encodedStruct;
+
+        private String encodedType;
+        private byte[] typeHash;
+
+        StructType(String name, List<StructuredData.Entry> fields) {
+            this.name = name;
+            this.fieldNames = new String[fields.size()];
+            this.fieldTypes = new String[fields.size()];
+            this.encoders = new FieldEncoder[fields.size()];
+
+            StringBuilder encodedStruct = new StringBuilder(name).append('(');
+            Set<String> names = new LinkedHashSet<>();
+            for (int i = 0; i < fields.size(); i++) {
+                StructuredData.Entry field = fields.get(i);
+                if (!IDENTIFIER_PATTERN.matcher(field.getName()).find()
+                        || !names.add(field.getName())) {
+                    throw new IllegalArgumentException(
+                            "Invalid Identifier " + field.getName() + " in " + name);
+                }
+                if (!TYPE_PATTERN.matcher(field.getType()).find()) {
+                    throw new IllegalArgumentException(
+                            "Invalid Type " + field.getType() + " in " + name);
+                }
+                fieldNames[i] = field.getName();
+                fieldTypes[i] = field.getType();
+                if (i > 0) {
+                    encodedStruct.append(',');
+                }
+                encodedStruct.append(field.getType()).append(' ').append(field.getName());
+            }
+            this.encodedStruct = encodedStruct.append(')').toString();
+        }
+    }
+}
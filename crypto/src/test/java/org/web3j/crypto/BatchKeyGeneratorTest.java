@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchKeyGeneratorTest {
+
+    @Test
+    public void testAddressesMatchPrivateKeys() {
+        KeyBatch keyBatch = new BatchKeyGenerator().generate(1000);
+
+        assertEquals(1000, keyBatch.size());
+        assertEquals(1000 * KeyBatch.PRIVATE_KEY_LENGTH, keyBatch.getPrivateKeys().length);
+        assertEquals(1000 * KeyBatch.ADDRESS_LENGTH, keyBatch.getAddresses().length);
+
+        Set<BigInteger> privateKeys = new HashSet<>();
+        for (int i = 0; i < keyBatch.size(); i++) {
+            BigInteger privateKey = keyBatch.getPrivateKey(i);
+            assertTrue(privateKey.signum() > 0 && privateKey.compareTo(Sign.CURVE.getN()) < 0);
+            privateKeys.add(privateKey);
+
+            assertEquals(
+                    Keys.getAddress(ECKeyPair.create(privateKey)),
+                    Numeric.toHexStringNoPrefix(keyBatch.getAddress(i)));
+        }
+        assertEquals(1000, privateKeys.size());
+    }
+
+    @Test
+    public void testDestroy() {
+        KeyBatch keyBatch = new BatchKeyGenerator().generate(3);
+        keyBatch.destroy();
+
+        for (byte b : keyBatch.getPrivateKeys()) {
+            assertEquals(0, b);
+        }
+    }
+}
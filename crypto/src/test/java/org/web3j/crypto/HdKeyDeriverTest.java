@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.web3j.crypto.Bip32ECKeyPair.HARDENED_BIT;
+
+public class HdKeyDeriverTest {
+
+    private static final int[] ACCOUNT_PATH = {44 | HARDENED_BIT, 60 | HARDENED_BIT, HARDENED_BIT};
+    private static final int[] CHAIN_PATH = {44 | HARDENED_BIT, 60 | HARDENED_BIT, HARDENED_BIT, 0};
+
+    private final Bip32ECKeyPair master =
+            Bip32ECKeyPair.generateKeyPair(
+                    Numeric.hexStringToByteArray("000102030405060708090a0b0c0d0e0f"));
+
+    @Test
+    public void testKeyPairsMatchBip32ECKeyPair() {
+        HdKeyDeriver deriver = new HdKeyDeriver(master);
+        int[][] paths = {
+            {},
+            {HARDENED_BIT},
+            {HARDENED_BIT, 1},
+            {HARDENED_BIT, 1, 2 | HARDENED_BIT, 2, 1000000000}
+        };
+
+        for (int[] path : paths) {
+            Bip32ECKeyPair expected = Bip32ECKeyPair.deriveKeyPair(master, path);
+            ECKeyPair keyPair = deriver.deriveKeyPair(path);
+            assertEquals(expected.getPrivateKey(), keyPair.getPrivateKey());
+            assertEquals(expected.getPublicKey(), keyPair.getPublicKey());
+            assertArrayEquals(expected.getChainCode(), deriver.getChainCode(path));
+            assertEquals(
+                    Credentials.create(expected).getAddress(),
+                    Numeric.toHexStringNoPrefix(deriver.deriveAddress(path)));
+        }
+    }
+
+    @Test
+    public void testDeriveAddressRange() {
+        HdKeyDeriver deriver = new HdKeyDeriver(master);
+        byte[] addresses = deriver.deriveAddresses(CHAIN_PATH, 0, 600);
+
+        assertEquals(600 * HdKeyDeriver.ADDRESS_LENGTH, addresses.length);
+        for (int index : new int[] {0, 1, 255, 256, 599}) {
+            int[] path = Arrays.copyOf(CHAIN_PATH, CHAIN_PATH.length + 1);
+            path[CHAIN_PATH.length] = index;
+            assertEquals(
+                    Credentials.create(Bip32ECKeyPair.deriveKeyPair(master, path)).getAddress(),
+                    Numeric.toHexStringNoPrefix(address(addresses, index)));
+        }
+    }
+
+    @Test
+    public void testPublicOnlyDerivation() {
+        HdKeyDeriver deriver = new HdKeyDeriver(master);
+        HdKeyDeriver accountXpub =
+                HdKeyDeriver.fromPublicKey(
+                        deriver.getPublicKey(ACCOUNT_PATH), deriver.getChainCode(ACCOUNT_PATH));
+
+        assertFalse(accountXpub.hasPrivateKey());
+        assertArrayEquals(
+                deriver.deriveAddresses(CHAIN_PATH, 10, 300),
+                accountXpub.deriveAddresses(new int[] {0}, 10, 300));
+        assertArrayEquals(
+                deriver.deriveAddresses(CHAIN_PATH, 0, 5),
+                deriver.neuter(CHAIN_PATH).deriveAddresses(new int[0], 0, 5));
+
+        assertThrows(IllegalStateException.class, () -> accountXpub.deriveAddress(HARDENED_BIT));
+        assertThrows(IllegalStateException.class, () -> accountXpub.deriveKeyPair(0));
+    }
+
+    private static byte[] address(byte[] addresses, int index) {
+        return Arrays.copyOfRange(
+                addresses,
+                index * HdKeyDeriver.ADDRESS_LENGTH,
+                (index + 1) * HdKeyDeriver.ADDRESS_LENGTH);
+    }
+}
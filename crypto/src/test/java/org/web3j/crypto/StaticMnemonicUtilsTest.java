@@ -12,6 +12,10 @@
  */
 package org.web3j.crypto;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import org.web3j.utils.Numeric;
@@ -100,6 +104,40 @@ public class StaticMnemonicUtilsTest {
         assertThrows(IllegalArgumentException.class, () -> MnemonicUtils.generateEntropy(""));
     }
 
+    @Test
+    public void testValidateMnemonics() {
+        final boolean[] valid =
+                MnemonicUtils.validateMnemonics(
+                        Arrays.asList(
+                                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo wrong",
+                                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo",
+                                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo wrongly",
+                                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo wrong",
+                                "",
+                                null));
+        assertArrayEquals(new boolean[] {true, false, false, false, false, false}, valid);
+    }
+
+    @Test
+    public void testGenerateSeeds() {
+        final List<String> mnemonics = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final byte[] entropy = new byte[16];
+            Arrays.fill(entropy, (byte) i);
+            mnemonics.add(MnemonicUtils.generateMnemonic(entropy));
+        }
+
+        final List<byte[]> seeds = MnemonicUtils.generateSeeds(mnemonics, "TREZOR");
+        assertEquals(mnemonics.size(), seeds.size());
+        for (int i = 0; i < mnemonics.size(); i++) {
+            assertArrayEquals(MnemonicUtils.generateSeed(mnemonics.get(i), "TREZOR"), seeds.get(i));
+        }
+        assertEquals(
+                "c55257c360c07c72029aebc1b53c05ed0362ada38ead3e3e9efa3708e5349553"
+                        + "1f09a6987599d18264c1e1c92f2cf141630c7a3c4ab7c81b2f001698e7463b04",
+                Numeric.toHexStringNoPrefix(seeds.get(0)));
+    }
+
     private void assertCorrectEntropy(String expected, String mnemonic) {
         assertCorrectEntropy(expected, mnemonic, 32);
     }
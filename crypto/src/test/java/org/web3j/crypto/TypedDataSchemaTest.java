@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TypedDataSchemaTest {
+
+    private static final String RESOURCES = "build/resources/test/structured_data_json_files/";
+
+    @Test
+    public void testMatchesStructuredDataEncoder() throws IOException {
+        for (String file :
+                Arrays.asList(
+                        "ValidStructuredData.json",
+                        "ValidStructuredDataWithBytesTypes.json",
+                        "0xProtocolControlSample.json")) {
+            String json = getResource(file);
+            StructuredDataEncoder dataEncoder = new StructuredDataEncoder(json);
+            TypedDataSchema schema = TypedDataSchema.fromJson(json);
+            String primaryType = dataEncoder.jsonMessageObject.getPrimaryType();
+
+            assertEquals(dataEncoder.encodeType(primaryType), schema.encodeType(primaryType));
+            assertArrayEquals(dataEncoder.typeHash(primaryType), schema.typeHash(primaryType));
+            assertArrayEquals(dataEncoder.hashDomain(), schema.getDomainSeparator().get());
+            assertArrayEquals(
+                    dataEncoder.hashStructuredData(),
+                    schema.hashStructuredData(primaryType, getMessage(json)));
+        }
+    }
+
+    @Test
+    public void testHashAll() throws IOException {
+        String json = getResource("ValidStructuredData.json");
+        TypedDataSchema schema = TypedDataSchema.fromJson(json);
+
+        List<Map<String, Object>> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> message = getMessage(json);
+            message.put("contents", "Hello, Bob! #" + i);
+            messages.add(message);
+        }
+
+        List<byte[]> hashes = schema.hashAll("Mail", messages);
+        assertEquals(messages.size(), hashes.size());
+        for (int i = 0; i < messages.size(); i++) {
+            assertArrayEquals(schema.hashStructuredData("Mail", messages.get(i)), hashes.get(i));
+        }
+        assertEquals(
+                "0xbe609aee343fb3c4b28e1df9e632fca64fcfaede20f02e86244efddf30957bd2",
+                Numeric.toHexString(schema.hashStructuredData("Mail", getMessage(json))));
+    }
+
+    @Test
+    public void testArraysAndIntegers() {
+        Map<String, List<StructuredData.Entry>> types = new HashMap<>();
+        types.put(
+                "Order",
+                Arrays.asList(
+                        new StructuredData.Entry("amounts", "uint8[2][]"),
+                        new StructuredData.Entry("delta", "int16")));
+        TypedDataSchema schema = new TypedDataSchema(types, null);
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("amounts", Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)));
+        order.put("delta", "-2");
+        byte[] encoded = schema.encodeData("Order", order);
+
+        byte[] amounts = new byte[4 * 32];
+        for (int i = 0; i < 4; i++) {
+            amounts[i * 32 + 31] = (byte) (i + 1);
+        }
+        assertArrayEquals(Arrays.copyOfRange(encoded, 32, 64), Hash.sha3(amounts));
+        assertEquals(
+                "0xfffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffe",
+                Numeric.toHexString(Arrays.copyOfRange(encoded, 64, 96)));
+
+        order.put("amounts", Arrays.asList(Arrays.asList(1, 2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> schema.encodeData("Order", order));
+        order.put("amounts", Arrays.asList(Arrays.asList(1, 2)));
+        order.put("delta", 40000);
+        assertThrows(IllegalArgumentException.class, () -> schema.encodeData("Order", order));
+        assertThrows(IllegalStateException.class, () -> schema.hashStructuredData("Order", order));
+    }
+
+    @Test
+    public void testInvalidTypes() {
+        assertThrows(
+                RuntimeException.class,
+                () -> TypedDataSchema.fromJson(getResource("InvalidTypeStructuredData.json")));
+        assertThrows(
+                RuntimeException.class,
+                () ->
+                        TypedDataSchema.fromJson(
+                                getResource("InvalidIdentifierStructuredData.json")));
+
+        Map<String, List<StructuredData.Entry>> types = new HashMap<>();
+        types.put("Order", Arrays.asList(new StructuredData.Entry("amount", "uint7")));
+        assertThrows(IllegalArgumentException.class, () -> new TypedDataSchema(types, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getMessage(String json) throws IOException {
+        return (Map<String, Object>) new ObjectMapper().readValue(json, Map.class).get("message");
+    }
+
+    private static String getResource(String file) throws IOException {
+        return new String(
+                Files.readAllBytes(Paths.get(RESOURCES + file).toAbsolutePath()),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.parity.methods.response.StateDiff;
+import org.web3j.protocol.parity.methods.response.Trace;
+import org.web3j.protocol.parity.methods.response.VMTrace;
+
+/**
+ * Incremental reader of trace_* JSON-RPC responses.
+ *
+ * <p>Unlike {@link org.web3j.protocol.parity.methods.response.ParityTracesResponse} and {@link
+ * org.web3j.protocol.parity.methods.response.ParityFullTraceResponse}, which hold the complete
+ * result in memory, entries are decoded one at a time and handed to a {@link TraceVisitor}, so
+ * that memory usage doesn't grow with the size of the trace. VM operations are reported without
+ * their sub traces, which are streamed as well.
+ *
+ * <p>The decoded fields can be limited to a projection of the section names of a full trace
+ * ({@code output}, {@code trace}, {@code stateDiff}, {@code vmTrace}) and of the {@link Trace}
+ * properties ({@code action}, {@code result}, {@code error}, {@code transactionHash}, ...). Fields
+ * which are not part of the projection are skipped without being decoded.
+ *
+ * <p>A reader reads a single response, either using {@link #read(TraceVisitor)} or by calling
+ * {@link #nextTrace()} until the traces are exhausted.
+ */
+public class TraceReader implements Closeable {
+
+    public static final String OUTPUT = "output";
+    public static final String TRACE = "trace";
+    public static final String STATE_DIFF = "stateDiff";
+    public static final String VM_TRACE = "vmTrace";
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final Set<String> projection;
+
+    private boolean started;
+    private boolean inTraces;
+
+    public TraceReader(InputStream inputStream) throws IOException {
+        this(inputStream, null);
+    }
+
+    /**
+     * Create a reader decoding only the given fields.
+     *
+     * @param inputStream the JSON-RPC response
+     * @param projection names of the sections and trace properties to decode, or null to decode
+     *     everything
+     * @throws IOException if the response can't be read
+     */
+    public TraceReader(InputStream inputStream, Set<String> projection) throws IOException {
+        this.objectMapper = ObjectMapperFactory.getObjectMapper();
+        this.parser = objectMapper.getFactory().createParser(inputStream);
+        this.projection = projection;
+    }
+
+    /**
+     * Read the whole response, which may either be a list of traces or a full trace.
+     *
+     * @param visitor receives the decoded entries
+     * @throws IOException if the response can't be read or contains an error
+     */
+    public void read(TraceVisitor visitor) throws IOException {
+        JsonToken token = startResult();
+        if (token == JsonToken.START_ARRAY) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                visitor.onTrace(readTrace());
+            }
+        } else if (token == JsonToken.START_OBJECT) {
+            readFullTrace(visitor);
+        }
+    }
+
+    /**
+     * Read the next trace of a trace_block, trace_filter or trace_transaction response.
+     *
+     * @return the next trace, or empty once all traces have been read
+     * @throws IOException if the response can't be read, contains an error or isn't a list of
+     *     traces
+     */
+    public Optional<Trace> nextTrace() throws IOException {
+        if (!started) {
+            JsonToken token = startResult();
+            if (token != null && token != JsonToken.START_ARRAY) {
+                throw new IOException("Response does not contain a list of traces");
+            }
+            inTraces = token == JsonToken.START_ARRAY;
+        }
+
+        if (inTraces && parser.nextToken() == JsonToken.START_OBJECT) {
+            return Optional.of(readTrace());
+        }
+        inTraces = false;
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /** Move the parser to the start of the result, returns null if there is no result. */
+    private JsonToken startResult() throws IOException {
+        if (started) {
+            throw new IllegalStateException("Response has already been read");
+        }
+        started = true;
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid JSON-RPC response");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("result".equals(name)) {
+                return token == JsonToken.VALUE_NULL ? null : token;
+            } else if ("error".equals(name) && token != JsonToken.VALUE_NULL) {
+                Response.Error error = objectMapper.readValue(parser, Response.Error.class);
+                throw new IOException(
+                        "Error processing trace request: "
+                                + error.getCode()
+                                + "; "
+                                + error.getMessage());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    private void readFullTrace(TraceVisitor visitor) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL || !isProjected(name)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            switch (name) {
+                case OUTPUT:
+                    visitor.onOutput(parser.getValueAsString());
+                    break;
+                case TRACE:
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        visitor.onTrace(readTrace());
+                    }
+                    break;
+                case STATE_DIFF:
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String address = parser.getCurrentName();
+                        parser.nextToken();
+                        StateDiff stateDiff = objectMapper.readValue(parser, StateDiff.class);
+                        visitor.onStateDiff(address, stateDiff);
+                    }
+                    break;
+                case VM_TRACE:
+                    readVmTrace(visitor, 0);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    private Trace readTrace() throws IOException {
+        if (projection == null) {
+            return objectMapper.readValue(parser, Trace.class);
+        }
+
+        ObjectNode projected = objectMapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (isProjected(name)) {
+                projected.set(name, objectMapper.readTree(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return objectMapper.treeToValue(projected, Trace.class);
+    }
+
+    private void readVmTrace(TraceVisitor visitor, int depth) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("code".equals(name)) {
+                visitor.onVmCode(depth, parser.getValueAsString());
+            } else if ("ops".equals(name) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readVmOperation(visitor, depth);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Read a single operation, it is reported before its sub trace is streamed, which relies on
+     * the sub trace being the last field of the operation as it is for Parity nodes.
+     */
+    private void readVmOperation(TraceVisitor visitor, int depth) throws IOException {
+        VMTrace.VMOperation operation = new VMTrace.VMOperation();
+        boolean reported = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (name) {
+                case "cost":
+                    operation.setCost(objectMapper.readValue(parser, BigInteger.class));
+                    break;
+                case "ex":
+                    operation.setEx(objectMapper.readValue(parser, VMTrace.VMOperation.Ex.class));
+                    break;
+                case "pc":
+                    operation.setPc(objectMapper.readValue(parser, BigInteger.class));
+                    break;
+                case "sub":
+                    if (token == JsonToken.START_OBJECT) {
+                        visitor.onVmOperation(depth, operation);
+                        reported = true;
+                        readVmTrace(visitor, depth + 1);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        if (!reported) {
+            visitor.onVmOperation(depth, operation);
+        }
+    }
+
+    private boolean isProjected(String name) {
+        return projection == null || projection.contains(name);
+    }
+}
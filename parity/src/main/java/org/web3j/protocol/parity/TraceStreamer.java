@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Service;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.parity.methods.response.ParityTracesResponse;
+import org.web3j.protocol.parity.methods.response.Trace;
+
+/**
+ * Performs trace_* requests and streams their responses through a {@link TraceReader} instead of
+ * deserializing them into a single response object.
+ *
+ * <pre>
+ * TraceStreamer streamer = new TraceStreamer(httpService);
+ * streamer.stream(parity.traceReplayTransaction(hash, traceTypes), visitor);
+ * streamer.flowable(parity.traceBlock(blockParameter)).subscribe(trace -&gt; ...);
+ * </pre>
+ */
+public class TraceStreamer {
+
+    private final Service service;
+    private final Set<String> projection;
+
+    public TraceStreamer(Service service) {
+        this(service, null);
+    }
+
+    /**
+     * Create a streamer decoding only the given fields, see {@link TraceReader}.
+     *
+     * @param service the service to send requests with
+     * @param projection names of the sections and trace properties to decode, or null to decode
+     *     everything
+     */
+    public TraceStreamer(Service service, Set<String> projection) {
+        this.service = service;
+        this.projection = projection;
+    }
+
+    /**
+     * Perform a trace request and pass the entries of the response to the visitor as they are
+     * read.
+     *
+     * @param request any trace_* request
+     * @param visitor receives the decoded entries
+     * @throws IOException if the request fails or the response contains an error
+     */
+    public void stream(Request<?, ?> request, TraceVisitor visitor) throws IOException {
+        try (TraceReader reader = open(request)) {
+            reader.read(visitor);
+        }
+    }
+
+    /**
+     * Create a Flowable which performs a trace request on subscription and emits the traces of
+     * the response as they are requested by the subscriber.
+     *
+     * @param request a trace_block, trace_filter or trace_transaction request
+     * @return a Flowable of the traces of the response
+     */
+    public Flowable<Trace> flowable(Request<?, ParityTracesResponse> request) {
+        return Flowable.generate(
+                () -> open(request),
+                (reader, emitter) -> {
+                    Optional<Trace> trace = reader.nextTrace();
+                    if (trace.isPresent()) {
+                        emitter.onNext(trace.get());
+                    } else {
+                        emitter.onComplete();
+                    }
+                },
+                TraceReader::close);
+    }
+
+    private TraceReader open(Request<?, ?> request) throws IOException {
+        InputStream inputStream = service.sendStreaming(request);
+        if (inputStream == null) {
+            throw new IOException("No response received for " + request.getMethod());
+        }
+        return new TraceReader(inputStream, projection);
+    }
+}
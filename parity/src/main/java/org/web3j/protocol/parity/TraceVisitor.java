@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import org.web3j.protocol.parity.methods.response.StateDiff;
+import org.web3j.protocol.parity.methods.response.Trace;
+import org.web3j.protocol.parity.methods.response.VMTrace;
+
+/**
+ * Receives the entries of a trace response as they are read by a {@link TraceReader}.
+ *
+ * <p>All methods do nothing by default, so that only the entries of interest need to be handled.
+ */
+public interface TraceVisitor {
+
+    /** Called for every trace of a trace list or of the trace section of a full trace. */
+    default void onTrace(Trace trace) {}
+
+    /** Called for the state changes of every account of the state diff section. */
+    default void onStateDiff(String address, StateDiff stateDiff) {}
+
+    /**
+     * Called with the code of the VM trace and of each of its sub traces.
+     *
+     * @param depth 0 for the transaction, increased by one for every nested call
+     * @param code the executed code
+     */
+    default void onVmCode(int depth, String code) {}
+
+    /**
+     * Called for every operation of the VM trace. Sub traces are not attached to the operation,
+     * the operations of a sub trace follow the operation which created them with a higher depth.
+     *
+     * @param depth 0 for the transaction, increased by one for every nested call
+     * @param operation the executed operation
+     */
+    default void onVmOperation(int depth, VMTrace.VMOperation operation) {}
+
+    /** Called with the output of a full trace. */
+    default void onOutput(String output) {}
+}
@@ -175,7 +175,7 @@ public class RequestTest extends RequestTester {
 
         verifyResult(
                 "{\"jsonrpc\":\"2.0\",\"method\":\"parity_listAccounts\","
-                        + "\"params\":[100,null,\"0x1\"],\"id\":1}");
+                        + "\"params\":[100,null,\"1\"],\"id\":1}");
     }
 
     @Test
@@ -380,7 +380,7 @@ public class RequestTest extends RequestTester {
     @Test
     public void testTraceCall() throws Exception {
         Transaction transaction =
-                Transaction.createExecuteFunctionTransaction(
+                new Transaction(
                         "0xc171033d5cbff7175f29dfd3a63dda3d6f8f385e",
                         BigInteger.ONE,
                         Numeric.toBigInt("0x9184e72a000"),
@@ -398,13 +398,13 @@ public class RequestTest extends RequestTester {
         verifyResult(
                 "{\"jsonrpc\":\"2.0\",\"method\":\"trace_call\","
                         + "\"params\":["
-                        + "{\"from\":\"0xc171033d5cbff7175f29dfd3a63dda3d6f8f385e\","
-                        + "\"to\":\"0xb60e8dd61c5d32be8058bb8eb970870f07233155\","
-                        + "\"gas\":\"0x76c0\","
-                        + "\"gasPrice\":\"0x9184e72a000\","
-                        + "\"value\":\"0x9184e72a\","
+                        + "{\"gas\":30400,"
+                        + "\"amount\":2441406250,"
                         + "\"data\":\"0xd46e8dd67c5d32be8d46e8dd67c5d32be8058bb8eb970870f072445675058bb8eb970870f072445675\","
-                        + "\"nonce\":\"0x1\"},"
+                        + "\"nonce\":1,"
+                        + "\"sender_address\":\"0xc171033d5cbff7175f29dfd3a63dda3d6f8f385e\","
+                        + "\"receiver_address\":\"0xb60e8dd61c5d32be8058bb8eb970870f07233155\","
+                        + "\"gas_price\":10000000000000},"
                         + "[\"trace\",\"vmTrace\",\"stateDiff\"],"
                         + "\"latest\"],"
                         + "\"id\":1}");
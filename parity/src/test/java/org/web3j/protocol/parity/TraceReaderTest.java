@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.parity.methods.response.FullTraceInfo;
+import org.web3j.protocol.parity.methods.response.ParityFullTraceResponse;
+import org.web3j.protocol.parity.methods.response.ParityTracesResponse;
+import org.web3j.protocol.parity.methods.response.StateDiff;
+import org.web3j.protocol.parity.methods.response.Trace;
+import org.web3j.protocol.parity.methods.response.VMTrace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TraceReaderTest {
+
+    private static final String TRACES =
+            "[{\"action\":{\"callType\":\"call\","
+                    + "\"from\":\"0x14772e4f805b4dd2e69bd6d3f9b5edf0dfa5385a\","
+                    + "\"gas\":\"0x4f6c5\",\"input\":\"0xb46300ec\","
+                    + "\"to\":\"0x781ab1a38837e351bfe1e318c6587766848abffa\",\"value\":\"0x0\"},"
+                    + "\"blockHash\":\"0xf263b9364434a781057c467004e8d398d915529bdffa6f600d6d17fe733d3210\","
+                    + "\"blockNumber\":3740614,"
+                    + "\"result\":{\"gasUsed\":\"0x0\",\"output\":\"0x\"},"
+                    + "\"subtraces\":1,\"traceAddress\":[],"
+                    + "\"transactionHash\":\"0xea6649db0f88d5400159853bf2c5b752ce724435dfb85b35f8725cf4cdc1ad6d\","
+                    + "\"transactionPosition\":2,\"type\":\"call\"},"
+                    + "{\"action\":{\"address\":\"0xb8d2ac822f3d0445f5b83d32b0b176c2cb3d0e60\","
+                    + "\"balance\":\"0x0\","
+                    + "\"refundAddress\":\"0x14772e4f805b4dd2e69bd6d3f9b5edf0dfa5385a\"},"
+                    + "\"blockHash\":\"0xf263b9364434a781057c467004e8d398d915529bdffa6f600d6d17fe733d3210\","
+                    + "\"blockNumber\":3740614,\"result\":null,"
+                    + "\"subtraces\":0,\"traceAddress\":[0],"
+                    + "\"transactionHash\":\"0xea6649db0f88d5400159853bf2c5b752ce724435dfb85b35f8725cf4cdc1ad6d\","
+                    + "\"transactionPosition\":2,\"type\":\"suicide\"}]";
+
+    private static final String FULL_TRACE =
+            "{\"output\":\"0x\","
+                    + "\"stateDiff\":{\"0x00a0a24b9f0e5ec7aa4c7389b8302fd0123194de\":{"
+                    + "\"balance\":{\"*\":{\"from\":\"0x2067ee238a4648bed5797\","
+                    + "\"to\":\"0x2067ee23f5d09db3d0397\"}},"
+                    + "\"code\":\"=\",\"nonce\":\"=\",\"storage\":{}},"
+                    + "\"0x1a4298d0edc00618310e4c26f6479e5cccdfeaf8\":{"
+                    + "\"balance\":{\"+\":\"0x0\"},\"code\":\"=\",\"nonce\":{\"+\":\"0x1\"},"
+                    + "\"storage\":{\"0x00\":{\"+\":\"0x01\"}}}},"
+                    + "\"trace\":"
+                    + TRACES
+                    + ",\"vmTrace\":{\"code\":\"0x6060604052361561004a576000357c01\",\"ops\":["
+                    + "{\"cost\":20000,\"ex\":{\"mem\":null,\"push\":[],"
+                    + "\"store\":{\"key\":\"0x0\",\"val\":\"0x1\"},\"used\":241835},"
+                    + "\"pc\":79,\"sub\":null},"
+                    + "{\"cost\":9700,\"ex\":{\"mem\":{\"data\":\"0x\",\"off\":96},"
+                    + "\"push\":[\"0x1\"],"
+                    + "\"store\":null,\"used\":317494},\"pc\":337,"
+                    + "\"sub\":{\"code\":\"0x606060405236156100b75763ffffffff\",\"ops\":["
+                    + "{\"cost\":3,\"ex\":{\"mem\":null,\"push\":[\"0x60\"],\"store\":null,"
+                    + "\"used\":5753235},\"pc\":0,\"sub\":null}]}},"
+                    + "{\"cost\":2,\"ex\":null,\"pc\":338,\"sub\":null}]}}";
+
+    @Test
+    public void testNextTrace() throws Exception {
+        String json = response(TRACES);
+        List<Trace> expected =
+                ObjectMapperFactory.getObjectMapper()
+                        .readValue(json, ParityTracesResponse.class)
+                        .getTraces();
+
+        List<Trace> traces = new ArrayList<>();
+        try (TraceReader reader = new TraceReader(toStream(json))) {
+            Optional<Trace> trace;
+            while ((trace = reader.nextTrace()).isPresent()) {
+                traces.add(trace.get());
+            }
+            assertFalse(reader.nextTrace().isPresent());
+        }
+
+        assertEquals(expected, traces);
+    }
+
+    @Test
+    public void testReadFullTrace() throws Exception {
+        String json = response(FULL_TRACE);
+        FullTraceInfo expected =
+                ObjectMapperFactory.getObjectMapper()
+                        .readValue(json, ParityFullTraceResponse.class)
+                        .getFullTraceInfo();
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        try (TraceReader reader = new TraceReader(toStream(json))) {
+            reader.read(visitor);
+        }
+
+        assertEquals(Arrays.asList("0x"), visitor.outputs);
+        assertEquals(expected.getTrace(), visitor.traces);
+        assertEquals(expected.getStateDiff(), visitor.stateDiffs);
+        assertEquals(
+                Arrays.asList(
+                        "0:0x6060604052361561004a576000357c01",
+                        "0:79",
+                        "0:337",
+                        "1:0x606060405236156100b75763ffffffff",
+                        "1:0",
+                        "0:338"),
+                visitor.vmEvents);
+
+        List<VMTrace.VMOperation> expectedOps = expected.getVmTrace().getOps();
+        assertEquals(expectedOps.get(0), visitor.operations.get(0));
+        assertEquals(expectedOps.get(1).getEx(), visitor.operations.get(1).getEx());
+        assertNull(visitor.operations.get(1).getSub());
+        assertEquals(expectedOps.get(1).getSub().getOps().get(0), visitor.operations.get(2));
+        assertEquals(expectedOps.get(2), visitor.operations.get(3));
+    }
+
+    @Test
+    public void testProjection() throws Exception {
+        RecordingVisitor visitor = new RecordingVisitor();
+        try (TraceReader reader =
+                new TraceReader(
+                        toStream(response(FULL_TRACE)),
+                        new HashSet<>(Arrays.asList(TraceReader.TRACE, "action", "type")))) {
+            reader.read(visitor);
+        }
+
+        assertTrue(visitor.outputs.isEmpty());
+        assertTrue(visitor.stateDiffs.isEmpty());
+        assertTrue(visitor.vmEvents.isEmpty());
+        assertEquals(2, visitor.traces.size());
+
+        Trace trace = visitor.traces.get(0);
+        assertEquals(
+                "0x781ab1a38837e351bfe1e318c6587766848abffa",
+                ((Trace.CallAction) trace.getAction()).getTo());
+        assertEquals("call", trace.getType());
+        assertNull(trace.getBlockHash());
+        assertNull(trace.getResult());
+        assertEquals("suicide", visitor.traces.get(1).getType());
+    }
+
+    @Test
+    public void testErrorResponse() throws Exception {
+        String json =
+                "{\"jsonrpc\":\"2.0\",\"id\":1,"
+                        + "\"error\":{\"code\":-32000,\"message\":\"trace not found\"}}";
+        try (TraceReader reader = new TraceReader(toStream(json))) {
+            IOException e = assertThrows(IOException.class, reader::nextTrace);
+            assertEquals("Error processing trace request: -32000; trace not found", e.getMessage());
+        }
+    }
+
+    private static String response(String result) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":" + result + "}";
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class RecordingVisitor implements TraceVisitor {
+
+        private final List<String> outputs = new ArrayList<>();
+        private final List<Trace> traces = new ArrayList<>();
+        private final Map<String, StateDiff> stateDiffs = new LinkedHashMap<>();
+        private final List<String> vmEvents = new ArrayList<>();
+        private final List<VMTrace.VMOperation> operations = new ArrayList<>();
+
+        @Override
+        public void onTrace(Trace trace) {
+            traces.add(trace);
+        }
+
+        @Override
+        public void onStateDiff(String address, StateDiff stateDiff) {
+            stateDiffs.put(address, stateDiff);
+        }
+
+        @Override
+        public void onVmCode(int depth, String code) {
+            vmEvents.add(depth + ":" + code);
+        }
+
+        @Override
+        public void onVmOperation(int depth, VMTrace.VMOperation operation) {
+            vmEvents.add(depth + ":" + operation.getPc());
+            operations.add(operation);
+        }
+
+        @Override
+        public void onOutput(String output) {
+            outputs.add(output);
+        }
+    }
+}